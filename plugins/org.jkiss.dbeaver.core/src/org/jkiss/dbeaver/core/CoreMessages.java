@@ -414,6 +414,10 @@ public class CoreMessages extends NLS {
 	public static String pref_page_database_general_checkbox_show_row_count_tip;
 	public static String pref_page_database_general_server_side_object_filters;
 	public static String pref_page_database_general_server_side_object_filters_tip;
+	public static String pref_page_database_general_cache_snapshot;
+	public static String pref_page_database_general_cache_snapshot_tip;
+	public static String pref_page_database_general_parallel_meta_connection;
+	public static String pref_page_database_general_parallel_meta_connection_tip;
 	public static String pref_page_database_general_group_query_metadata;
 	// EntityEditor
 	public static String pref_page_ui_general_keep_database_editors_tip;
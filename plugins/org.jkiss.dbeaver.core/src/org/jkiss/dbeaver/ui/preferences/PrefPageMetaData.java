@@ -38,8 +38,10 @@ public class PrefPageMetaData extends TargetPrefPage
 
     private Button readExpensiveCheck;
     private Button separateMetaConnectionCheck;
+    private Button parallelMetaConnectionCheck;
     private Button caseSensitiveNamesCheck;
     private Button serverSideFiltersCheck;
+    private Button cacheSnapshotCheck;
 
     public PrefPageMetaData()
     {
@@ -53,8 +55,10 @@ public class PrefPageMetaData extends TargetPrefPage
         return
             store.contains(ModelPreferences.READ_EXPENSIVE_PROPERTIES) ||
             store.contains(ModelPreferences.META_SEPARATE_CONNECTION) ||
+            store.contains(ModelPreferences.CONNECTION_OPEN_PARALLEL) ||
             store.contains(ModelPreferences.META_CASE_SENSITIVE) ||
-            store.contains(ModelPreferences.META_USE_SERVER_SIDE_FILTERS)
+            store.contains(ModelPreferences.META_USE_SERVER_SIDE_FILTERS) ||
+            store.contains(ModelPreferences.META_CACHE_SNAPSHOT)
             ;
     }
 
@@ -72,9 +76,11 @@ public class PrefPageMetaData extends TargetPrefPage
             Group metadataGroup = UIUtils.createControlGroup(composite, CoreMessages.pref_page_database_general_group_metadata, 1, GridData.HORIZONTAL_ALIGN_BEGINNING, 0);
 
             separateMetaConnectionCheck = UIUtils.createCheckbox(metadataGroup, CoreMessages.pref_page_database_general_separate_meta_connection, CoreMessages.pref_page_database_general_separate_meta_connection_tip, false, 1);
+            parallelMetaConnectionCheck = UIUtils.createCheckbox(metadataGroup, CoreMessages.pref_page_database_general_parallel_meta_connection, CoreMessages.pref_page_database_general_parallel_meta_connection_tip, false, 1);
             caseSensitiveNamesCheck = UIUtils.createCheckbox(metadataGroup, CoreMessages.pref_page_database_general_checkbox_case_sensitive_names, CoreMessages.pref_page_database_general_checkbox_case_sensitive_names_tip, false, 1);
             readExpensiveCheck = UIUtils.createCheckbox(metadataGroup, CoreMessages.pref_page_database_general_checkbox_show_row_count, CoreMessages.pref_page_database_general_checkbox_show_row_count_tip, false, 1);
             serverSideFiltersCheck = UIUtils.createCheckbox(metadataGroup, CoreMessages.pref_page_database_general_server_side_object_filters, CoreMessages.pref_page_database_general_server_side_object_filters_tip, false, 1);
+            cacheSnapshotCheck = UIUtils.createCheckbox(metadataGroup, CoreMessages.pref_page_database_general_cache_snapshot, CoreMessages.pref_page_database_general_cache_snapshot_tip, false, 1);
         }
 
         return composite;
@@ -86,8 +92,10 @@ public class PrefPageMetaData extends TargetPrefPage
         try {
             readExpensiveCheck.setSelection(store.getBoolean(ModelPreferences.READ_EXPENSIVE_PROPERTIES));
             separateMetaConnectionCheck.setSelection(store.getBoolean(ModelPreferences.META_SEPARATE_CONNECTION));
+            parallelMetaConnectionCheck.setSelection(store.getBoolean(ModelPreferences.CONNECTION_OPEN_PARALLEL));
             caseSensitiveNamesCheck.setSelection(store.getBoolean(ModelPreferences.META_CASE_SENSITIVE));
             serverSideFiltersCheck.setSelection(store.getBoolean(ModelPreferences.META_USE_SERVER_SIDE_FILTERS));
+            cacheSnapshotCheck.setSelection(store.getBoolean(ModelPreferences.META_CACHE_SNAPSHOT));
 
         } catch (Exception e) {
             log.warn(e);
@@ -100,8 +108,10 @@ public class PrefPageMetaData extends TargetPrefPage
         try {
             store.setValue(ModelPreferences.READ_EXPENSIVE_PROPERTIES, readExpensiveCheck.getSelection());
             store.setValue(ModelPreferences.META_SEPARATE_CONNECTION, separateMetaConnectionCheck.getSelection());
+            store.setValue(ModelPreferences.CONNECTION_OPEN_PARALLEL, parallelMetaConnectionCheck.getSelection());
             store.setValue(ModelPreferences.META_CASE_SENSITIVE, caseSensitiveNamesCheck.getSelection());
             store.setValue(ModelPreferences.META_USE_SERVER_SIDE_FILTERS, serverSideFiltersCheck.getSelection());
+            store.setValue(ModelPreferences.META_CACHE_SNAPSHOT, cacheSnapshotCheck.getSelection());
 
         } catch (Exception e) {
             log.warn(e);
@@ -114,8 +124,10 @@ public class PrefPageMetaData extends TargetPrefPage
     {
         store.setToDefault(ModelPreferences.READ_EXPENSIVE_PROPERTIES);
         store.setToDefault(ModelPreferences.META_SEPARATE_CONNECTION);
+        store.setToDefault(ModelPreferences.CONNECTION_OPEN_PARALLEL);
         store.setToDefault(ModelPreferences.META_CASE_SENSITIVE);
         store.setToDefault(ModelPreferences.META_USE_SERVER_SIDE_FILTERS);
+        store.setToDefault(ModelPreferences.META_CACHE_SNAPSHOT);
 
     }
 
@@ -22,14 +22,14 @@ import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.DBUtils;
-import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
-import org.jkiss.dbeaver.model.data.DBDContent;
-import org.jkiss.dbeaver.model.data.DBDContentStorage;
-import org.jkiss.dbeaver.model.data.DBDDocument;
+import org.jkiss.dbeaver.model.DBValueFormatting;
+import org.jkiss.dbeaver.model.data.*;
 import org.jkiss.dbeaver.model.data.json.JSONUtils;
+import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCResultSet;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
 import org.jkiss.dbeaver.tools.transfer.stream.IDocumentDataExporter;
 import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
 import org.jkiss.dbeaver.utils.ContentUtils;
@@ -45,19 +45,32 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
 /**
- * JSON Exporter
+ * JSON Exporter.
+ *
+ * Values are written directly to the output stream, text content is escaped and written in chunks.
+ * In JSON Lines (NDJSON) mode each row is written as a standalone object on its own line,
+ * so the output may be split into several files without breaking the format.
  */
 public class DataExporterJSON extends StreamExporterAbstract implements IDocumentDataExporter {
 
     public static final String PROP_FORMAT_DATE_ISO = "formatDateISO";
     public static final String PROP_PRINT_TABLE_NAME = "printTableName";
+    public static final String PROP_JSON_LINES = "jsonLines";
+    public static final String PROP_NATIVE_NESTED_VALUES = "nativeNestedValues";
+
+    private static final int READ_BUFFER_SIZE = 2000;
 
     private DBDAttributeBinding[] columns;
+    private String[] columnNames;
     private String tableName;
     private int rowNum = 0;
 
     private boolean printTableName = true;
     private boolean formatDateISO = true;
+    private boolean jsonLines = false;
+    private boolean nativeNestedValues = false;
+
+    private final char[] readBuffer = new char[READ_BUFFER_SIZE];
 
     @Override
     public void init(IStreamDataExporterSite site) throws DBException
@@ -65,6 +78,8 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
         super.init(site);
         formatDateISO = CommonUtils.getBoolean(site.getProperties().get(PROP_FORMAT_DATE_ISO), true);
         printTableName = CommonUtils.getBoolean(site.getProperties().get(PROP_PRINT_TABLE_NAME), true);
+        jsonLines = CommonUtils.getBoolean(site.getProperties().get(PROP_JSON_LINES), false);
+        nativeNestedValues = CommonUtils.getBoolean(site.getProperties().get(PROP_NATIVE_NESTED_VALUES), false);
     }
 
     @Override
@@ -77,16 +92,28 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
     public void exportHeader(DBCSession session) throws DBException, IOException
     {
         columns = getSite().getAttributes();
+        columnNames = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            String columnName = columns[i].getLabel();
+            if (CommonUtils.isEmpty(columnName)) {
+                columnName = columns[i].getName();
+            }
+            columnNames[i] = columnName;
+        }
         tableName = getSite().getSource().getName();
         printHeader();
     }
 
     private void printHeader()
     {
+        if (jsonLines) {
+            return;
+        }
         PrintWriter out = getWriter();
         if (printTableName) {
             out.write("{\n");
-            out.write("\"" + JSONUtils.escapeJsonString(tableName) + "\": ");
+            writeString(tableName);
+            out.write(": ");
         }
         out.write("[\n");
     }
@@ -95,7 +122,7 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
     public void exportRow(DBCSession session, DBCResultSet resultSet, Object[] row) throws DBException, IOException
     {
         PrintWriter out = getWriter();
-        if (rowNum > 0) {
+        if (rowNum > 0 && !jsonLines) {
             out.write(",\n");
         }
         rowNum++;
@@ -104,19 +131,23 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
             ByteArrayOutputStream buffer = new ByteArrayOutputStream();
             document.serializeDocument(session.getProgressMonitor(), buffer, StandardCharsets.UTF_8);
             String jsonText = buffer.toString(StandardCharsets.UTF_8.name());
+            if (jsonLines) {
+                // Raw line feeds can't appear inside JSON strings so it is safe to replace them
+                jsonText = jsonText.replace('\r', ' ').replace('\n', ' ');
+            }
             out.write(jsonText);
         } else {
-            out.write("\t{\n");
+            out.write(jsonLines ? "{" : "\t{\n");
             for (int i = 0; i < columns.length; i++) {
                 DBDAttributeBinding column = columns[i];
-                String columnName = column.getLabel();
-                if (CommonUtils.isEmpty(columnName)) {
-                    columnName = column.getName();
+                if (!jsonLines) {
+                    out.write("\t\t");
                 }
-                out.write("\t\t\"" + JSONUtils.escapeJsonString(columnName) + "\" : ");
+                writeString(columnNames[i]);
+                out.write(jsonLines ? ":" : " : ");
                 Object cellValue = row[column.getOrdinalPosition()];
                 if (DBUtils.isNullValue(cellValue)) {
-                    writeTextCell(null);
+                    out.write("null");
                 } else if (cellValue instanceof DBDContent) {
                     // Content
                     // Inline textual content and handle binaries in some special way
@@ -138,20 +169,19 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
                         content.release();
                     }
                 } else {
-                    if (cellValue instanceof Number || cellValue instanceof Boolean) {
-                        out.write(cellValue.toString());
-                    } else if (cellValue instanceof Date && formatDateISO) {
-                        writeTextCell(JSONUtils.formatDate((Date) cellValue));
-                    } else {
-                        writeTextCell(super.getValueDisplayString(column, cellValue));
-                    }
+                    writeCellValue(column, cellValue);
                 }
                 if (i < columns.length - 1) {
                     out.write(",");
                 }
-                out.write("\n");
+                if (!jsonLines) {
+                    out.write("\n");
+                }
             }
-            out.write("\t}");
+            out.write(jsonLines ? "}" : "\t}");
+        }
+        if (jsonLines) {
+            out.write("\n");
         }
     }
 
@@ -171,6 +201,9 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
     @Override
     public void exportFooter(DBRProgressMonitor monitor) throws IOException
     {
+        if (jsonLines) {
+            return;
+        }
         PrintWriter out = getWriter();
         out.write("\n]");
         if (printTableName) {
@@ -179,25 +212,108 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
         out.write("\n");
     }
 
-    private void writeTextCell(@Nullable String value)
-    {
-        if (value != null) {
-            getWriter().write("\"" + JSONUtils.escapeJsonString(value) + "\"");
+    private void writeCellValue(@NotNull DBDAttributeBinding column, @NotNull Object cellValue) {
+        if (writeNativeValue(cellValue)) {
+            return;
+        }
+        if (nativeNestedValues && cellValue instanceof DBDCollection) {
+            writeCollection((DBDCollection) cellValue);
+        } else if (nativeNestedValues && cellValue instanceof DBDComposite) {
+            writeComposite((DBDComposite) cellValue);
         } else {
+            writeString(super.getValueDisplayString(column, cellValue));
+        }
+    }
+
+    private void writeNestedValue(@Nullable Object value) {
+        if (DBUtils.isNullValue(value)) {
             getWriter().write("null");
+        } else if (writeNativeValue(value)) {
+            // done
+        } else if (value instanceof DBDCollection) {
+            writeCollection((DBDCollection) value);
+        } else if (value instanceof DBDComposite) {
+            writeComposite((DBDComposite) value);
+        } else {
+            writeString(DBValueFormatting.getDefaultValueDisplayString(value, getSite().getExportFormat()));
+        }
+    }
+
+    /**
+     * Writes numbers, booleans and dates as is. Returns false for all other values.
+     */
+    private boolean writeNativeValue(@NotNull Object value) {
+        if (value instanceof Number) {
+            if ((value instanceof Double && !Double.isFinite((Double) value)) || (value instanceof Float && !Float.isFinite((Float) value))) {
+                // NaN and Infinity are not valid JSON numbers
+                writeString(value.toString());
+            } else {
+                getWriter().write(value.toString());
+            }
+        } else if (value instanceof Boolean) {
+            getWriter().write(value.toString());
+        } else if (value instanceof Date && formatDateISO) {
+            writeString(JSONUtils.formatDate((Date) value));
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private void writeCollection(@NotNull DBDCollection collection) {
+        PrintWriter out = getWriter();
+        out.write("[");
+        for (int i = 0; i < collection.getItemCount(); i++) {
+            if (i > 0) {
+                out.write(",");
+            }
+            writeNestedValue(collection.getItem(i));
+        }
+        out.write("]");
+    }
+
+    private void writeComposite(@NotNull DBDComposite composite) {
+        PrintWriter out = getWriter();
+        out.write("{");
+        DBSAttributeBase[] attributes = composite.getAttributes();
+        for (int i = 0; i < attributes.length; i++) {
+            if (i > 0) {
+                out.write(",");
+            }
+            writeString(attributes[i].getName());
+            out.write(":");
+            Object attrValue;
+            try {
+                attrValue = composite.getAttributeValue(attributes[i]);
+            } catch (DBCException e) {
+                attrValue = null;
+            }
+            writeNestedValue(attrValue);
+        }
+        out.write("}");
+    }
+
+    private void writeString(@Nullable String value)
+    {
+        PrintWriter out = getWriter();
+        if (value == null) {
+            out.write("null");
+            return;
         }
+        out.write('"');
+        out.write(JSONUtils.escapeJsonString(value));
+        out.write('"');
     }
 
     private void writeCellValue(Reader reader) throws IOException
     {
         // Copy reader
-        char buffer[] = new char[2000];
         for (;;) {
-            int count = reader.read(buffer);
+            int count = reader.read(readBuffer);
             if (count <= 0) {
                 break;
             }
-            getWriter().write(JSONUtils.escapeJsonString(new String(buffer, 0, count)));
+            getWriter().write(JSONUtils.escapeJsonString(new String(readBuffer, 0, count)));
         }
     }
 
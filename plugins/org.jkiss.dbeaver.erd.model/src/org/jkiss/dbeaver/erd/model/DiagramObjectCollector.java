@@ -39,6 +39,9 @@ public class DiagramObjectCollector {
 
     private static final Log log = Log.getLog(DiagramObjectCollector.class);
 
+    // Minimal percent of container children in diagram to read the whole container structure at once
+    private static final int MIN_BULK_LOAD_PERCENT = 25;
+
     private final ERDDiagram diagram;
     private final List<ERDEntity> erdEntities = new ArrayList<>();
     private boolean showViews;
@@ -147,17 +150,64 @@ public class DiagramObjectCollector {
         throws DBException
     {
         Collection<DBSEntity> tables = collectTables(monitor, roots, settings, showViews);
+        cacheEntitiesStructure(monitor, tables);
+
+        monitor.beginTask("Load entities metadata", tables.size());
         for (DBSEntity table : tables) {
+            if (monitor.isCanceled()) {
+                break;
+            }
             if (DBUtils.isHiddenObject(table)) {
                 // Skip hidden tables
                 continue;
             }
+            monitor.subTask("Load " + table.getName());
             addDiagramEntity(monitor, table);
+            monitor.worked(1);
         }
+        monitor.done();
 
         // Add new relations
+        monitor.beginTask("Load entities' relations", erdEntities.size());
         for (ERDEntity erdEntity : erdEntities) {
+            if (monitor.isCanceled()) {
+                break;
+            }
             erdEntity.addModelRelations(monitor, diagram, true, false);
+            monitor.worked(1);
+        }
+        monitor.done();
+    }
+
+    /**
+     * Reads attributes and associations of all entities of each container with a single cache pass.
+     * Otherwise each entity reads its own attributes and foreign keys which costs a few queries per entity.
+     */
+    private static void cacheEntitiesStructure(DBRProgressMonitor monitor, Collection<DBSEntity> tables) {
+        Map<DBSObjectContainer, Integer> containers = new IdentityHashMap<>();
+        for (DBSEntity table : tables) {
+            DBSObject parent = table.getParentObject();
+            if (parent instanceof DBSObjectContainer) {
+                containers.merge((DBSObjectContainer) parent, 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<DBSObjectContainer, Integer> entry : containers.entrySet()) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            DBSObjectContainer container = entry.getKey();
+            try {
+                // Children are already read by the entity lookup
+                Collection<? extends DBSObject> children = container.getChildren(monitor);
+                if (children == null || entry.getValue() * 100L < (long) children.size() * MIN_BULK_LOAD_PERCENT) {
+                    // Reading the whole container for a small part of its entities is more expensive
+                    continue;
+                }
+                monitor.subTask("Load '" + container.getName() + "' structure");
+                container.cacheStructure(monitor, DBSObjectContainer.STRUCT_ENTITIES | DBSObjectContainer.STRUCT_ATTRIBUTES | DBSObjectContainer.STRUCT_ASSOCIATIONS);
+            } catch (DBException e) {
+                log.debug("Error reading '" + container.getName() + "' structure", e);
+            }
         }
     }
 
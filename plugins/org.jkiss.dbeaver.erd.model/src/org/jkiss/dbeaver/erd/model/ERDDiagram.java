@@ -305,12 +305,7 @@ public class ERDDiagram extends ERDObject<DBSObject> implements ERDContainer {
     }
 
     public boolean containsTable(DBSEntity table) {
-        for (ERDEntity erdEntity : entities) {
-            if (erdEntity.getObject() == table) {
-                return true;
-            }
-        }
-        return false;
+        return entityMap.containsKey(table);
     }
 
     public Map<DBSEntity, ERDEntity> getEntityMap() {
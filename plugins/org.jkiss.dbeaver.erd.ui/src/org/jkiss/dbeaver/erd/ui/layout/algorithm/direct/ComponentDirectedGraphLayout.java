@@ -0,0 +1,217 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.erd.ui.layout.algorithm.direct;
+
+import org.eclipse.draw2dl.PositionConstants;
+import org.eclipse.draw2dl.geometry.Rectangle;
+import org.eclipse.draw2dl.graph.*;
+import org.eclipse.gef3.editparts.AbstractGraphicalEditPart;
+import org.eclipse.swt.graphics.Point;
+
+import java.util.*;
+
+/**
+ * Directed graph layout for large diagrams.
+ *
+ * Graph is split on connected components. Each component is laid out separately with
+ * {@link NodeJoiningDirectedGraphLayout} and then components are packed in rows.
+ * Layout of the whole graph costs much more than layout of its parts: unconnected nodes are joined
+ * with dummy edges which makes one huge graph from a lot of small ones.
+ * Standalone nodes don't need layout at all, they are just placed after components.
+ */
+public class ComponentDirectedGraphLayout {
+
+    private static final int COMPONENT_SPACING = 50;
+
+    private final AbstractGraphicalEditPart diagram;
+
+    public ComponentDirectedGraphLayout(AbstractGraphicalEditPart diagram)
+    {
+        this.diagram = diagram;
+    }
+
+    public void visit(DirectedGraph graph)
+    {
+        final List<Component> components = findComponents(graph);
+        for (Component component : components) {
+            if (!component.edges.isEmpty()) {
+                DirectedGraph componentGraph = new DirectedGraph();
+                componentGraph.setDirection(PositionConstants.EAST);
+                componentGraph.nodes.addAll(component.nodes);
+                componentGraph.edges.addAll(component.edges);
+                new NodeJoiningDirectedGraphLayout(diagram).visit(componentGraph);
+            }
+            component.calculateBounds();
+        }
+
+        // Bigger components go first. Standalone nodes are ordered by size
+        components.sort((c1, c2) -> {
+            if (c1.nodes.size() != c2.nodes.size()) {
+                return c2.nodes.size() - c1.nodes.size();
+            }
+            return c1.bounds.height - c2.bounds.height;
+        });
+
+        packComponents(components);
+    }
+
+    private static List<Component> findComponents(DirectedGraph graph)
+    {
+        final Map<Node, Node> parents = new IdentityHashMap<>();
+        for (int i = 0; i < graph.nodes.size(); i++) {
+            Node node = graph.nodes.getNode(i);
+            parents.put(node, node);
+        }
+        for (int i = 0; i < graph.edges.size(); i++) {
+            Edge edge = graph.edges.getEdge(i);
+            Node sourceRoot = findRoot(parents, getTopNode(edge.source));
+            Node targetRoot = findRoot(parents, getTopNode(edge.target));
+            if (sourceRoot != null && targetRoot != null && sourceRoot != targetRoot) {
+                parents.put(sourceRoot, targetRoot);
+            }
+        }
+
+        final Map<Node, Component> componentMap = new IdentityHashMap<>();
+        final List<Component> components = new ArrayList<>();
+        for (int i = 0; i < graph.nodes.size(); i++) {
+            Node node = graph.nodes.getNode(i);
+            Component component = componentMap.computeIfAbsent(findRoot(parents, node), root -> {
+                Component newComponent = new Component();
+                components.add(newComponent);
+                return newComponent;
+            });
+            component.nodes.add(node);
+        }
+        for (int i = 0; i < graph.edges.size(); i++) {
+            Edge edge = graph.edges.getEdge(i);
+            Component component = componentMap.get(findRoot(parents, getTopNode(edge.source)));
+            if (component != null) {
+                component.edges.add(edge);
+            }
+        }
+        return components;
+    }
+
+    private static Node getTopNode(Node node)
+    {
+        while (node.getParent() != null) {
+            node = node.getParent();
+        }
+        return node;
+    }
+
+    private static Node findRoot(Map<Node, Node> parents, Node node)
+    {
+        Node root = parents.get(node);
+        if (root == null) {
+            return null;
+        }
+        while (root != parents.get(root)) {
+            // Path halving keeps trees flat
+            Node grandParent = parents.get(parents.get(root));
+            parents.put(root, grandParent);
+            root = grandParent;
+        }
+        return root;
+    }
+
+    private void packComponents(List<Component> components)
+    {
+        long totalArea = 0;
+        int maxWidth = 0;
+        for (Component component : components) {
+            totalArea += (long) (component.bounds.width + COMPONENT_SPACING) * (component.bounds.height + COMPONENT_SPACING);
+            maxWidth = Math.max(maxWidth, component.bounds.width);
+        }
+        double horizontalRatio = 1.0;
+        final Point diagramSize = diagram.getViewer().getControl().getSize();
+        if (diagramSize.x > 0 && diagramSize.y > 0) {
+            horizontalRatio = (double) diagramSize.x / diagramSize.y;
+        }
+        final int rowWidth = Math.max(maxWidth, (int) Math.sqrt(totalArea * horizontalRatio));
+
+        int x = 0, y = 0, rowHeight = 0;
+        for (Component component : components) {
+            if (x > 0 && x + component.bounds.width > rowWidth) {
+                x = 0;
+                y += rowHeight + COMPONENT_SPACING;
+                rowHeight = 0;
+            }
+            component.translate(x - component.bounds.x, y - component.bounds.y);
+            x += component.bounds.width + COMPONENT_SPACING;
+            rowHeight = Math.max(rowHeight, component.bounds.height);
+        }
+    }
+
+    private static class Component {
+        final List<Node> nodes = new ArrayList<>();
+        final List<Edge> edges = new ArrayList<>();
+        Rectangle bounds;
+
+        void calculateBounds()
+        {
+            bounds = null;
+            for (Node node : nodes) {
+                addBounds(node);
+            }
+            for (Edge edge : edges) {
+                if (edge.vNodes != null) {
+                    for (int i = 0; i < edge.vNodes.size(); i++) {
+                        addBounds(edge.vNodes.getNode(i));
+                    }
+                }
+            }
+        }
+
+        private void addBounds(Node node)
+        {
+            Rectangle nodeBounds = new Rectangle(node.x, node.y, node.width, node.height);
+            if (bounds == null) {
+                bounds = nodeBounds;
+            } else {
+                bounds.union(nodeBounds);
+            }
+        }
+
+        void translate(int dx, int dy)
+        {
+            for (Node node : nodes) {
+                translateNode(node, dx, dy);
+            }
+            for (Edge edge : edges) {
+                if (edge.vNodes != null) {
+                    for (int i = 0; i < edge.vNodes.size(); i++) {
+                        translateNode(edge.vNodes.getNode(i), dx, dy);
+                    }
+                }
+            }
+            bounds.translate(dx, dy);
+        }
+
+        private static void translateNode(Node node, int dx, int dy)
+        {
+            node.x += dx;
+            node.y += dy;
+            if (node instanceof Subgraph) {
+                for (int i = 0; i < ((Subgraph) node).members.size(); i++) {
+                    translateNode(((Subgraph) node).members.getNode(i), dx, dy);
+                }
+            }
+        }
+    }
+
+}
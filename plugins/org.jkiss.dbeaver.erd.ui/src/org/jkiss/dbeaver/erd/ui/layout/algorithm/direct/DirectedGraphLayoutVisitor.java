@@ -48,6 +48,9 @@ import java.util.Map;
 public class DirectedGraphLayoutVisitor {
     private static final Log log = Log.getLog(DirectedGraphLayoutVisitor.class);
 
+    // Diagrams with more nodes are laid out by connected components
+    private static final int MIN_COMPONENT_LAYOUT_NODES = 100;
+
     private final ERDDecorator decorator;
     private Map<EditPart, Object> partToNodesMap;
     private DirectedGraph graph;
@@ -71,7 +74,11 @@ public class DirectedGraphLayoutVisitor {
             addDiagramEdges(diagram);
             try {
                 //new CompoundDirectedGraphLayout().visit(graph);
-                new NodeJoiningDirectedGraphLayout(diagram).visit(graph);
+                if (graph.nodes.size() >= MIN_COMPONENT_LAYOUT_NODES) {
+                    new ComponentDirectedGraphLayout(diagram).visit(graph);
+                } else {
+                    new NodeJoiningDirectedGraphLayout(diagram).visit(graph);
+                }
             } catch (Exception e) {
                 log.error("Diagram layout error", e);
             }
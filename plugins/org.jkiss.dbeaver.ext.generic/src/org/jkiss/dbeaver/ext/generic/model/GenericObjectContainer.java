@@ -27,6 +27,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructPrefetch;
 import org.jkiss.dbeaver.model.meta.Association;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSDataType;
@@ -229,55 +230,60 @@ public abstract class GenericObjectContainer implements GenericStructContainer,
             tableCache.getAllObjects(monitor, this);
         }
 
+        // Columns, keys and indexes are read independently
+        final JDBCStructPrefetch prefetch = new JDBCStructPrefetch(this);
         // Cache attributes
         if ((scope & STRUCT_ATTRIBUTES) != 0 && dataSource.supportsStructCache()) {
             // Try to cache columns
             // Cannot be sure that all jdbc drivers support reading of all catalog columns
             // So error here is not fatal
-            try {
-                monitor.subTask("Cache tables' columns");
-                tableCache.loadChildren(monitor, this, null);
-            } catch (Exception e) {
-                log.debug(e);
-            }
+            prefetch.addTask("Cache tables' columns", m -> {
+                try {
+                    tableCache.loadChildren(m, this, null);
+                } catch (Exception e) {
+                    log.debug(e);
+                }
+            });
         }
         // Cache associations
         if ((scope & STRUCT_ASSOCIATIONS) != 0 && dataSource.supportsStructCache()) {
             // Try to read all PKs
             // Try to read all FKs
-            try {
-                monitor.subTask("Cache primary keys");
-                Collection<GenericUniqueKey> objects = constraintKeysCache.getObjects(monitor, this, null);
-                if (CommonUtils.isEmpty(objects)) {
-                    // Nothing was read, Maybe driver doesn't support mass keys reading
-                    constraintKeysCache.clearCache();
+            prefetch.addTask("Cache primary keys", m -> {
+                try {
+                    Collection<GenericUniqueKey> objects = constraintKeysCache.getObjects(m, this, null);
+                    if (CommonUtils.isEmpty(objects)) {
+                        // Nothing was read, Maybe driver doesn't support mass keys reading
+                        constraintKeysCache.clearCache();
+                    }
+                } catch (Exception e) {
+                    // Failed - seems to be unsupported feature
+                    log.debug(e);
                 }
-            } catch (Exception e) {
-                // Failed - seems to be unsupported feature
-                log.debug(e);
-            }
+            });
 
             if (dataSource.getInfo().supportsIndexes()) {
                 // Try to read all indexes
-                monitor.subTask("Cache indexes");
-                cacheIndexes(monitor, false);
+                prefetch.addTask("Cache indexes", m -> cacheIndexes(m, false));
             }
 
             if (dataSource.getInfo().supportsReferentialIntegrity()) {
                 // Try to read all FKs
-                try {
-                    monitor.subTask("Cache foreign keys");
-                    Collection<GenericTableForeignKey> foreignKeys = foreignKeysCache.getObjects(monitor, this, null);
-                    if (CommonUtils.isEmpty(foreignKeys)) {
-                        // Nothing was read, Maybe driver doesn't support mass keys reading
-                        foreignKeysCache.clearCache();
+                prefetch.addTask("Cache foreign keys", m -> {
+                    try {
+                        Collection<GenericTableForeignKey> foreignKeys = foreignKeysCache.getObjects(m, this, null);
+                        if (CommonUtils.isEmpty(foreignKeys)) {
+                            // Nothing was read, Maybe driver doesn't support mass keys reading
+                            foreignKeysCache.clearCache();
+                        }
+                    } catch (Exception e) {
+                        // Failed - seems to be unsupported feature
+                        log.debug(e);
                     }
-                } catch (Exception e) {
-                    // Failed - seems to be unsupported feature
-                    log.debug(e);
-                }
+                });
             }
         }
+        prefetch.execute(monitor, tableCache.getCachedObjects().size());
     }
 
     @Override
@@ -33,6 +33,7 @@ import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCCompositeCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectLookupCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructLookupCache;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructPrefetch;
 import org.jkiss.dbeaver.model.meta.Association;
 import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.meta.PropertyLength;
@@ -279,14 +280,16 @@ public class SQLServerSchema implements DBSSchema, DBPSaveableObject, DBPQualifi
             tableCache.getAllObjects(monitor, this);
             synonymCache.getAllObjects(monitor, this);
         }
+        final JDBCStructPrefetch prefetch = new JDBCStructPrefetch(this);
         if ((scope & STRUCT_ATTRIBUTES) == STRUCT_ATTRIBUTES) {
-            tableCache.getChildren(monitor, this, null);
+            prefetch.addTask("Cache table columns", m -> tableCache.getChildren(m, this, null));
         }
         if ((scope & STRUCT_ASSOCIATIONS) == STRUCT_ASSOCIATIONS) {
-            indexCache.getAllObjects(monitor, this);
-            uniqueConstraintCache.getAllObjects(monitor, this);
-            foreignKeyCache.getAllObjects(monitor, this);
+            prefetch.addTask("Cache table indexes", m -> indexCache.getAllObjects(m, this));
+            prefetch.addTask("Cache table constraints", m -> uniqueConstraintCache.getAllObjects(m, this));
+            prefetch.addTask("Cache foreign keys", m -> foreignKeyCache.getAllObjects(m, this));
         }
+        prefetch.execute(monitor, tableCache.getCachedObjects().size());
     }
 
     @Override
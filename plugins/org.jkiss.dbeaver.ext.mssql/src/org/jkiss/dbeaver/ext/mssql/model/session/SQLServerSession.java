@@ -18,6 +18,7 @@ package org.jkiss.dbeaver.ext.mssql.model.session;
 
 import org.jkiss.dbeaver.model.DBConstants;
 import org.jkiss.dbeaver.model.admin.sessions.AbstractServerSession;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionStatistics;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.meta.Property;
 
@@ -28,7 +29,7 @@ import java.util.Objects;
 /**
  * SQL Server session
  */
-public class SQLServerSession extends AbstractServerSession {
+public class SQLServerSession extends AbstractServerSession implements DBAServerSessionStatistics {
     private static final String CAT_CLIENT = "Client";
     private static final String CAT_TIMING = "Timings";
 
@@ -211,6 +212,16 @@ public class SQLServerSession extends AbstractServerSession {
         return language;
     }
 
+    @Override
+    public Number getSessionCpuTime() {
+        return cpuTime;
+    }
+
+    @Override
+    public Number getSessionWaitTime() {
+        return null;
+    }
+
     @Override
     @Property(viewable = false, order = 9)
     public String getActiveQuery()
@@ -33,6 +33,7 @@ import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCCompositeCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectLookupCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructLookupCache;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructPrefetch;
 import org.jkiss.dbeaver.model.meta.*;
 import org.jkiss.dbeaver.model.preferences.DBPPropertySource;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -425,18 +426,18 @@ public class MySQLCatalog implements
         throws DBException
     {
         monitor.subTask("Cache tables");
-        tableCache.getAllObjects(monitor, this);
+        final List<MySQLTableBase> tables = tableCache.getAllObjects(monitor, this);
+        final JDBCStructPrefetch prefetch = new JDBCStructPrefetch(this);
         if ((scope & STRUCT_ATTRIBUTES) != 0) {
-            monitor.subTask("Cache table columns");
-            tableCache.loadChildren(monitor, this, null);
+            prefetch.addTask("Cache table columns", m -> tableCache.loadChildren(m, this, null));
         }
         if ((scope & STRUCT_ASSOCIATIONS) != 0) {
-            monitor.subTask("Cache table constraints");
-            uniqueKeyCache.getAllObjects(monitor, this);
+            prefetch.addTask("Cache table constraints", m -> uniqueKeyCache.getAllObjects(m, this));
             if (getDataSource().supportsCheckConstraints()) {
-                checkConstraintCache.getAllObjects(monitor, this);
+                prefetch.addTask("Cache check constraints", m -> checkConstraintCache.getAllObjects(m, this));
             }
         }
+        prefetch.execute(monitor, tables.size());
     }
 
     @Override
@@ -31,6 +31,7 @@ import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCCompositeCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectLookupCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructLookupCache;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructPrefetch;
 import org.jkiss.dbeaver.model.meta.Association;
 import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -50,7 +51,7 @@ import java.util.stream.Collectors;
 /**
  * OracleSchema
  */
-public class OracleSchema extends OracleGlobalObject implements DBSSchema, DBPRefreshableObject, DBPSystemObject, DBSProcedureContainer, DBPObjectStatisticsCollector
+public class OracleSchema extends OracleGlobalObject implements DBSSchema, DBPRefreshableObject, DBPSystemObject, DBSProcedureContainer, DBPObjectStatisticsCollector, DBPScriptObjectPrefetcher
 {
     private static final Log log = Log.getLog(OracleSchema.class);
 
@@ -401,18 +402,24 @@ public class OracleSchema extends OracleGlobalObject implements DBSSchema, DBPRe
         throws DBException
     {
         monitor.subTask("Cache tables");
-        tableCache.getAllObjects(monitor, this);
+        final List<OracleTableBase> tables = tableCache.getAllObjects(monitor, this);
+        final JDBCStructPrefetch prefetch = new JDBCStructPrefetch(this);
         if ((scope & STRUCT_ATTRIBUTES) != 0) {
-            monitor.subTask("Cache table columns");
-            tableCache.loadChildren(monitor, this, null);
+            prefetch.addTask("Cache table columns", m -> tableCache.loadChildren(m, this, null));
         }
         if ((scope & STRUCT_ASSOCIATIONS) != 0) {
-            monitor.subTask("Cache table indexes");
-            indexCache.getObjects(monitor, this, null);
-            monitor.subTask("Cache table constraints");
-            constraintCache.getObjects(monitor, this, null);
-            foreignKeyCache.getObjects(monitor, this, null);
+            prefetch.addTask("Cache table indexes", m -> indexCache.getObjects(m, this, null));
+            prefetch.addTask("Cache table constraints", m -> constraintCache.getObjects(m, this, null));
+            prefetch.addTask("Cache foreign keys", m -> foreignKeyCache.getObjects(m, this, null));
         }
+        prefetch.execute(monitor, tables.size());
+    }
+
+    @Override
+    public void prefetchObjectDefinitions(@NotNull DBRProgressMonitor monitor, @NotNull Collection<? extends DBSObject> objects, @NotNull Map<String, Object> options)
+        throws DBException
+    {
+        OracleUtils.prefetchDDL(monitor, this, objects, options);
     }
 
     @Override
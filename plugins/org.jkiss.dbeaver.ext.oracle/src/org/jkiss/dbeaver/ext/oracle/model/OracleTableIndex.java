@@ -164,6 +164,10 @@ public class OracleTableIndex extends JDBCTableIndex<OracleSchema, OracleTablePh
     @Property(hidden = true, editable = true, updatable = true, order = -1)
     public String getObjectDefinitionText(DBRProgressMonitor monitor, Map<String, Object> options) throws DBException {
         if (indexDDL == null && isPersisted()) {
+            String prefetchedDDL = OracleUtils.getPrefetchedDDL(this, null, options);
+            if (prefetchedDDL != null) {
+                return prefetchedDDL;
+            }
             try (JDBCSession session = DBUtils.openMetaSession(monitor, this, "Read index definition")) {
                 indexDDL = JDBCUtils.queryString(session,"SELECT DBMS_METADATA.GET_DDL('INDEX', ?, ?) TXT FROM DUAL",
                         getName(),
@@ -16,6 +16,7 @@
  */
 package org.jkiss.dbeaver.ext.oracle.model;
 
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ext.oracle.edit.OracleTableColumnManager;
@@ -47,10 +48,7 @@ import java.io.Reader;
 import java.io.StringWriter;
 import java.sql.Clob;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.StringTokenizer;
+import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -61,6 +59,8 @@ public class OracleUtils {
 
     private static final Log log = Log.getLog(OracleUtils.class);
 
+    private static final int DDL_PREFETCH_BATCH_SIZE = 100;
+
     public static String getDDL(
         DBRProgressMonitor monitor,
         String objectType,
@@ -80,27 +80,15 @@ public class OracleUtils {
 */
         final OracleDataSource dataSource = object.getDataSource();
 
+        String prefetchedDDL = getPrefetchedDDL(object, ddlFormat, options);
+        if (prefetchedDDL != null) {
+            // DDL was read together with other schema objects
+            return ddlFormat != OracleDDLFormat.COMPACT ? addCommentsToDDL(monitor, object, prefetchedDDL) : prefetchedDDL;
+        }
+
         monitor.beginTask("Load sources for " + objectType + " '" + objectFullName + "'...", 1);
         try (final JDBCSession session = DBUtils.openMetaSession(monitor, object, "Load source code for " + objectType + " '" + objectFullName + "'")) {
-            if (dataSource.isAtLeastV9()) {
-                try {
-                    // Do not add semicolon in the end
-//                    JDBCUtils.executeProcedure(
-//                        session,
-//                        "begin DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'SQLTERMINATOR',true); end;");
-                    JDBCUtils.executeProcedure(
-                        session,
-                        "begin\n" +
-                                "DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'SQLTERMINATOR',true);\n" +
-                                "DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'STORAGE'," + ddlFormat.isShowStorage() + ");\n" +
-                                "DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'TABLESPACE'," + ddlFormat.isShowTablespace() + ");\n" +
-                                "DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'SEGMENT_ATTRIBUTES'," + ddlFormat.isShowSegments() + ");\n" +
-                                "DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'EMIT_SCHEMA'," + CommonUtils.getOption(options, DBPScriptObject.OPTION_FULLY_QUALIFIED_NAMES, true) + ");\n" +
-                            "end;");
-                } catch (SQLException e) {
-                    log.error("Can't apply DDL transform parameters", e);
-                }
-            }
+            setDDLTransformParams(session, ddlFormat, options);
 
             String ddl;
             // Read main object DDL
@@ -113,19 +101,7 @@ public class OracleUtils {
                 }
                 try (JDBCResultSet dbResult = dbStat.executeQuery()) {
                     if (dbResult.next()) {
-                        Object ddlValue = dbResult.getObject(1);
-                        if (ddlValue instanceof Clob) {
-                            StringWriter buf = new StringWriter();
-                            try (Reader clobReader = ((Clob) ddlValue).getCharacterStream()) {
-                                IOUtils.copyText(clobReader, buf);
-                            } catch (IOException e) {
-                                e.printStackTrace(new PrintWriter(buf, true));
-                            }
-                            ddl = buf.toString();
-
-                        } else {
-                            ddl = CommonUtils.toString(ddlValue);
-                        }
+                        ddl = readDDLValue(dbResult.getObject(1));
                     } else {
                         log.warn("No DDL for " + objectType + " '" + objectFullName + "'");
                         return "-- EMPTY DDL";
@@ -171,6 +147,208 @@ public class OracleUtils {
         }
     }
 
+    private static void setDDLTransformParams(JDBCSession session, OracleDDLFormat ddlFormat, Map<String, Object> options) {
+        if (((OracleDataSource) session.getDataSource()).isAtLeastV9()) {
+            try {
+                // Do not add semicolon in the end
+//                JDBCUtils.executeProcedure(
+//                    session,
+//                    "begin DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'SQLTERMINATOR',true); end;");
+                JDBCUtils.executeProcedure(
+                    session,
+                    "begin\n" +
+                            "DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'SQLTERMINATOR',true);\n" +
+                            "DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'STORAGE'," + ddlFormat.isShowStorage() + ");\n" +
+                            "DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'TABLESPACE'," + ddlFormat.isShowTablespace() + ");\n" +
+                            "DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'SEGMENT_ATTRIBUTES'," + ddlFormat.isShowSegments() + ");\n" +
+                            "DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'EMIT_SCHEMA'," + CommonUtils.getOption(options, DBPScriptObject.OPTION_FULLY_QUALIFIED_NAMES, true) + ");\n" +
+                        "end;");
+            } catch (SQLException e) {
+                log.error("Can't apply DDL transform parameters", e);
+            }
+        }
+    }
+
+    private static String readDDLValue(Object ddlValue) throws SQLException {
+        if (ddlValue instanceof Clob) {
+            StringWriter buf = new StringWriter();
+            try (Reader clobReader = ((Clob) ddlValue).getCharacterStream()) {
+                IOUtils.copyText(clobReader, buf);
+            } catch (IOException e) {
+                e.printStackTrace(new PrintWriter(buf, true));
+            }
+            return buf.toString();
+        } else {
+            return CommonUtils.toString(ddlValue);
+        }
+    }
+
+    /**
+     * Reads DDL of many schema tables and indexes with a few DBMS_METADATA queries (one per DDL_PREFETCH_BATCH_SIZE objects).
+     * Table DDL includes dependent indexes, the same way as {@link #getDDL}. Table and column comments are read for the whole schema.
+     * Prefetched DDL is kept in options of the current script generation call, keyed by object, DDL format and DDL options.
+     * Objects of failed batches read their DDL themselves.
+     */
+    static void prefetchDDL(DBRProgressMonitor monitor, OracleSchema schema, Collection<? extends DBSObject> objects, Map<String, Object> options) throws DBException {
+        final OracleDataSource dataSource = schema.getDataSource();
+        if (!dataSource.isAtLeastV10()) {
+            // No SYS.ODCIVARCHAR2LIST
+            return;
+        }
+        final Map<String, OracleTable> tables = new LinkedHashMap<>();
+        final Map<String, OracleTableIndex> indexes = new LinkedHashMap<>();
+        for (DBSObject object : objects) {
+            if (object instanceof OracleTable && ((OracleTable) object).isPersisted()) {
+                tables.put(object.getName(), (OracleTable) object);
+            } else if (object instanceof OracleTableIndex && ((OracleTableIndex) object).isPersisted()) {
+                indexes.put(object.getName(), (OracleTableIndex) object);
+            }
+        }
+        final Map<Object, String> prefetchedDefinitions = DBStructUtils.getPrefetchedDefinitions(options);
+        if (prefetchedDefinitions == null || (tables.isEmpty() && indexes.isEmpty())) {
+            return;
+        }
+        final OracleDDLFormat ddlFormat = OracleDDLFormat.getCurrentFormat(dataSource);
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, schema, "Load DDL of schema '" + schema.getName() + "' objects")) {
+            setDDLTransformParams(session, ddlFormat, options);
+
+            List<String> tableNames = new ArrayList<>(tables.keySet());
+            for (int i = 0; i < tableNames.size() && !monitor.isCanceled(); i += DDL_PREFETCH_BATCH_SIZE) {
+                List<String> batch = tableNames.subList(i, Math.min(i + DDL_PREFETCH_BATCH_SIZE, tableNames.size()));
+                try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                    "SELECT t.COLUMN_VALUE,DBMS_METADATA.GET_DDL('TABLE',t.COLUMN_VALUE,?),\n" +
+                        "CASE WHEN EXISTS (SELECT 1 FROM " + getAdminAllViewPrefix(monitor, dataSource, "INDEXES") + " i " +
+                        "WHERE i.TABLE_OWNER=? AND i.TABLE_NAME=t.COLUMN_VALUE AND i.INDEX_TYPE<>'LOB') " +
+                        "THEN DBMS_METADATA.GET_DEPENDENT_DDL('INDEX',t.COLUMN_VALUE,?) END\n" +
+                        "FROM TABLE(SYS.ODCIVARCHAR2LIST(" + makeParameterList(batch.size()) + ")) t"))
+                {
+                    dbStat.setString(1, schema.getName());
+                    dbStat.setString(2, schema.getName());
+                    dbStat.setString(3, schema.getName());
+                    for (int k = 0; k < batch.size(); k++) {
+                        dbStat.setString(k + 4, batch.get(k));
+                    }
+                    try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                        while (dbResult.next()) {
+                            OracleTable table = tables.get(dbResult.getString(1));
+                            String ddl = readDDLValue(dbResult.getObject(2));
+                            if (table == null || ddl == null) {
+                                continue;
+                            }
+                            ddl = ddl.trim();
+                            String indexDDL = readDDLValue(dbResult.getObject(3));
+                            if (!CommonUtils.isEmpty(indexDDL)) {
+                                ddl += "\n\n" + indexDDL.trim();
+                            }
+                            prefetchedDefinitions.put(makePrefetchKey(table, ddlFormat, options), ddl);
+                        }
+                    }
+                } catch (SQLException e) {
+                    log.debug("Error reading tables DDL of schema '" + schema.getName() + "'", e);
+                }
+            }
+
+            List<String> indexNames = new ArrayList<>(indexes.keySet());
+            for (int i = 0; i < indexNames.size() && !monitor.isCanceled(); i += DDL_PREFETCH_BATCH_SIZE) {
+                List<String> batch = indexNames.subList(i, Math.min(i + DDL_PREFETCH_BATCH_SIZE, indexNames.size()));
+                try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                    "SELECT t.COLUMN_VALUE,DBMS_METADATA.GET_DDL('INDEX',t.COLUMN_VALUE,?)\n" +
+                        "FROM TABLE(SYS.ODCIVARCHAR2LIST(" + makeParameterList(batch.size()) + ")) t"))
+                {
+                    dbStat.setString(1, schema.getName());
+                    for (int k = 0; k < batch.size(); k++) {
+                        dbStat.setString(k + 2, batch.get(k));
+                    }
+                    try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                        while (dbResult.next()) {
+                            OracleTableIndex index = indexes.get(dbResult.getString(1));
+                            String ddl = readDDLValue(dbResult.getObject(2));
+                            if (index != null && ddl != null) {
+                                prefetchedDefinitions.put(makePrefetchKey(index, null, options), ddl);
+                            }
+                        }
+                    }
+                } catch (SQLException e) {
+                    log.debug("Error reading indexes DDL of schema '" + schema.getName() + "'", e);
+                }
+            }
+
+            if (ddlFormat != OracleDDLFormat.COMPACT && !tables.isEmpty()) {
+                prefetchComments(session, schema, tables);
+            }
+        }
+    }
+
+    @Nullable
+    static String getPrefetchedDDL(DBSObject object, @Nullable OracleDDLFormat ddlFormat, Map<String, Object> options) {
+        Map<Object, String> prefetchedDefinitions = DBStructUtils.getPrefetchedDefinitions(options);
+        return prefetchedDefinitions == null ? null : prefetchedDefinitions.get(makePrefetchKey(object, ddlFormat, options));
+    }
+
+    private static Object makePrefetchKey(DBSObject object, @Nullable OracleDDLFormat ddlFormat, Map<String, Object> options) {
+        // DDL depends on the format and EMIT_SCHEMA transform parameter
+        return Arrays.asList(object, ddlFormat, CommonUtils.getOption(options, DBPScriptObject.OPTION_FULLY_QUALIFIED_NAMES, true));
+    }
+
+    private static void prefetchComments(JDBCSession session, OracleSchema schema, Map<String, OracleTable> tables) {
+        final DBRProgressMonitor monitor = session.getProgressMonitor();
+        final OracleDataSource dataSource = schema.getDataSource();
+        try {
+            try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                "SELECT TABLE_NAME,COMMENTS FROM " + getAdminAllViewPrefix(monitor, dataSource, "TAB_COMMENTS") + " " +
+                    "WHERE OWNER=? AND TABLE_TYPE='TABLE'"))
+            {
+                dbStat.setString(1, schema.getName());
+                try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                    while (dbResult.next()) {
+                        OracleTable table = tables.get(dbResult.getString(1));
+                        if (table != null && table.getComment() == null) {
+                            table.setComment(CommonUtils.notEmpty(dbResult.getString(2)));
+                        }
+                    }
+                }
+            }
+            Map<String, Map<String, String>> columnComments = new HashMap<>();
+            try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                "SELECT TABLE_NAME,COLUMN_NAME,COMMENTS FROM " + getAdminAllViewPrefix(monitor, dataSource, "COL_COMMENTS") + " " +
+                    "WHERE OWNER=? AND COMMENTS IS NOT NULL"))
+            {
+                dbStat.setString(1, schema.getName());
+                try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                    while (dbResult.next()) {
+                        String tableName = dbResult.getString(1);
+                        if (tables.containsKey(tableName)) {
+                            columnComments.computeIfAbsent(tableName, n -> new HashMap<>()).put(dbResult.getString(2), dbResult.getString(3));
+                        }
+                    }
+                }
+            }
+            for (OracleTable table : tables.values()) {
+                Map<String, String> tableComments = columnComments.getOrDefault(table.getName(), Collections.emptyMap());
+                for (OracleTableColumn column : CommonUtils.safeCollection(table.getAttributes(monitor))) {
+                    String columnComment = tableComments.get(column.getName());
+                    if (columnComment != null) {
+                        column.setComment(columnComment);
+                    }
+                    column.cacheComment();
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Error reading comments of schema '" + schema.getName() + "'", e);
+        }
+    }
+
+    private static String makeParameterList(int count) {
+        StringBuilder params = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                params.append(",");
+            }
+            params.append("?");
+        }
+        return params.toString();
+    }
+
     private static String addCommentsToDDL(DBRProgressMonitor monitor, OracleTableBase object, String ddl) {
         StringBuilder ddlBuilder = new StringBuilder(ddl);
         String objectFullName = object.getFullyQualifiedName(DBPEvaluationContext.DDL);
@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.ext.oracle.model.session;
 
 import org.jkiss.dbeaver.model.admin.sessions.AbstractServerSession;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionStatistics;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.meta.Property;
 
@@ -27,7 +28,7 @@ import java.util.Objects;
 /**
  * Session
  */
-public class OracleServerSession extends AbstractServerSession {
+public class OracleServerSession extends AbstractServerSession implements DBAServerSessionStatistics {
 
     public static final String CAT_SESSION = "Session";
     public static final String CAT_SQL = "SQL";
@@ -258,6 +259,16 @@ public class OracleServerSession extends AbstractServerSession {
 //        return statCPU;
 //    }
 
+    @Override
+    public Number getSessionCpuTime() {
+        return null;
+    }
+
+    @Override
+    public Number getSessionWaitTime() {
+        return secondsInWait;
+    }
+
     @Override
     public String getActiveQuery() {
         return sql;
@@ -278,11 +289,11 @@ public class OracleServerSession extends AbstractServerSession {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         OracleServerSession that = (OracleServerSession) o;
-        return sid == that.sid && Objects.equals(event, that.event);
+        return instId == that.instId && sid == that.sid && serial == that.serial;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(sid, event);
+        return Objects.hash(instId, sid, serial);
     }
 }
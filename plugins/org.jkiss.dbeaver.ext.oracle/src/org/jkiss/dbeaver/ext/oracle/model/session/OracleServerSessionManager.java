@@ -26,12 +26,14 @@ import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -176,6 +178,11 @@ public class OracleServerSessionManager implements DBAServerSessionManager<Oracl
         return true;
     }
 
+    @Override
+    public boolean canFilterSessions() {
+        return true;
+    }
+
     @Override
     public String generateSessionReadQuery(Map<String, Object> options) {
         boolean atLeastV11 = dataSource.isAtLeastV11();
@@ -206,6 +213,11 @@ public class OracleServerSessionManager implements DBAServerSessionManager<Oracl
         if (!CommonUtils.getOption(options, OPTION_SHOW_INACTIVE)) {
             sql.append(" AND s.STATUS <> 'INACTIVE'");
         }
+        String queryFilter = options == null ? null : CommonUtils.toString(options.get(OPTION_QUERY_FILTER), null);
+        if (!CommonUtils.isEmpty(queryFilter)) {
+            sql.append(" AND UPPER(").append(atLeastV11 ? "sq.SQL_FULLTEXT" : "sq.SQL_TEXT").append(") LIKE ")
+                .append(SQLUtils.quoteString(dataSource, "%" + queryFilter.toUpperCase(Locale.ENGLISH) + "%"));
+        }
         return sql.toString();
     }
 }
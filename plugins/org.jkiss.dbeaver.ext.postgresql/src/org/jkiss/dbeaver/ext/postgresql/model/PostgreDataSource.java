@@ -40,6 +40,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.*;
 import org.jkiss.dbeaver.model.exec.plan.DBCQueryPlanner;
 import org.jkiss.dbeaver.model.impl.AsyncServerOutputReader;
 import org.jkiss.dbeaver.model.impl.jdbc.*;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCMetaSnapshot;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectLookupCache;
 import org.jkiss.dbeaver.model.impl.net.SSLHandlerTrustStoreImpl;
 import org.jkiss.dbeaver.model.impl.sql.QueryTransformerLimit;
@@ -390,6 +391,7 @@ public class PostgreDataSource extends JDBCDataSource implements DBSInstanceCont
 
         this.databaseCache.clearCache();
         this.activeDatabaseName = null;
+        JDBCMetaSnapshot.deleteAll(getContainer());
 
         this.initializeRemoteInstance(monitor);
         this.initialize(monitor);
@@ -33,6 +33,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCRemoteInstance;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCMetaSnapshot;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectLookupCache;
 import org.jkiss.dbeaver.model.meta.*;
@@ -66,6 +67,8 @@ public class PostgreDatabase extends JDBCRemoteInstance
 
     private static final Log log = Log.getLog(PostgreDatabase.class);
 
+    private static final String DATA_TYPES_SNAPSHOT_PREFIX = "postgresql-data-types-";
+
     private transient PostgreRole initialOwner;
     private transient PostgreTablespace initialTablespace;
     private transient PostgreCharset initialEncoding;
@@ -632,8 +635,10 @@ public class PostgreDatabase extends JDBCRemoteInstance
                     }
                 }
 
+                JDBCMetaSnapshot snapshot = JDBCMetaSnapshot.isEnabled(postgreDataSource) ?
+                    getDataTypesSnapshot(session, readAllTypes, supportsSysTypColumn) : null;
                 try (JDBCPreparedStatement dbStat = session.prepareStatement(sql.toString())) {
-                    try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                    try (JDBCResultSet dbResult = openDataTypesResultSet(session, dbStat, snapshot)) {
                         Set<PostgreSchema> schemaList = new HashSet<>();
                         while (dbResult.next()) {
                             PostgreDataType dataType = PostgreDataType.readDataType(session, this, dbResult, !readAllTypes);
@@ -661,6 +666,46 @@ public class PostgreDatabase extends JDBCRemoteInstance
         }
     }
 
+    /**
+     * Data types snapshot is bound to the server version and to the pg_type change marker.
+     * Any created, altered or dropped type changes row count, max oid or max xmin.
+     */
+    @Nullable
+    private JDBCMetaSnapshot getDataTypesSnapshot(JDBCSession session, boolean readAllTypes, boolean supportsSysTypColumn) {
+        try {
+            String marker = JDBCUtils.queryString(session,
+                "SELECT count(*) || ':' || max(t.oid) || ':' || max(t.xmin::text::bigint) FROM pg_catalog.pg_type t");
+            if (CommonUtils.isEmpty(marker)) {
+                return null;
+            }
+            String version = dataSource.getInfo().getDatabaseProductVersion() + "/" + readAllTypes + "/" + supportsSysTypColumn + "/" + marker;
+            return new JDBCMetaSnapshot(dataSource.getContainer(), DATA_TYPES_SNAPSHOT_PREFIX + getName(), version);
+        } catch (SQLException e) {
+            log.debug("Error reading data types change marker", e);
+            return null;
+        }
+    }
+
+    /**
+     * Deletes data types snapshot, so the next load reads types from the server
+     */
+    void deleteDataTypesSnapshot() {
+        JDBCMetaSnapshot.delete(dataSource.getContainer(), DATA_TYPES_SNAPSHOT_PREFIX + getName());
+    }
+
+    private static JDBCResultSet openDataTypesResultSet(JDBCSession session, JDBCPreparedStatement dbStat, @Nullable JDBCMetaSnapshot snapshot) throws SQLException {
+        if (snapshot == null) {
+            return dbStat.executeQuery();
+        }
+        JDBCResultSet snapshotResult = snapshot.readResultSet(session);
+        if (snapshotResult != null) {
+            return snapshotResult;
+        }
+        try (JDBCResultSet liveResult = dbStat.executeQuery()) {
+            return snapshot.captureResultSet(session, liveResult);
+        }
+    }
+
     // Column "typcategory" appeared only in PG version 8.4 and before we relied on DB version to verify the conditions, but it was not the most universal solution.
     // So make a separate request to the database for checking.
     boolean supportsSysTypCategoryColumn(JDBCSession session) {
@@ -774,6 +819,7 @@ public class PostgreDatabase extends JDBCRemoteInstance
         collationCache.clearCache();
         tablespaceCache.clearCache();
         schemaCache.clearCache();
+        deleteDataTypesSnapshot();
         cacheDataTypes(monitor, true);
 
         return this;
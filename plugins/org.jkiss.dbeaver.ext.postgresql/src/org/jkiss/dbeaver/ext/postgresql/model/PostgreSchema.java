@@ -35,6 +35,7 @@ import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCCompositeCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectLookupCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructLookupCache;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructPrefetch;
 import org.jkiss.dbeaver.model.impl.jdbc.struct.JDBCTable;
 import org.jkiss.dbeaver.model.meta.Association;
 import org.jkiss.dbeaver.model.meta.Property;
@@ -361,26 +362,26 @@ public class PostgreSchema implements
     public synchronized void cacheStructure(@NotNull DBRProgressMonitor monitor, int scope)
         throws DBException {
         monitor.subTask("Cache tables");
-        getTableCache().getAllObjects(monitor, this);
+        final List<PostgreTableBase> tables = getTableCache().getAllObjects(monitor, this);
+        // Columns, constraints, indexes and inheritance are read independently
+        final JDBCStructPrefetch prefetch = new JDBCStructPrefetch(this);
         if ((scope & STRUCT_ATTRIBUTES) != 0) {
-            monitor.subTask("Cache table columns");
-            getTableCache().loadChildren(monitor, this, null);
+            prefetch.addTask("Cache table columns", m -> getTableCache().loadChildren(m, this, null));
         }
         if ((scope & STRUCT_ASSOCIATIONS) != 0) {
-            monitor.subTask("Cache constraints");
-            constraintCache.getAllObjects(monitor, this);
-            monitor.subTask("Cache indexes");
-            indexCache.getAllObjects(monitor, this);
+            prefetch.addTask("Cache constraints", m -> constraintCache.getAllObjects(m, this));
+            prefetch.addTask("Cache indexes", m -> indexCache.getAllObjects(m, this));
             if (getDataSource().getServerType().supportsInheritance()) {
-                monitor.subTask("Cache inheritance");
-                try {
-                    cacheTableInheritance(monitor);
-                } catch (DBException e) {
-                    log.error(e);
-                }
+                prefetch.addTask("Cache inheritance", m -> {
+                    try {
+                        cacheTableInheritance(m);
+                    } catch (DBException e) {
+                        log.error(e);
+                    }
+                });
             }
-
         }
+        prefetch.execute(monitor, tables.size());
     }
 
     private void cacheTableInheritance(DBRProgressMonitor monitor) throws DBException {
@@ -428,6 +429,7 @@ public class PostgreSchema implements
     public synchronized DBSObject refreshObject(@NotNull DBRProgressMonitor monitor)
         throws DBException {
         PostgreSchema schema = database.schemaCache.refreshObject(monitor, database, this);
+        database.deleteDataTypesSnapshot();
         database.cacheDataTypes(monitor, true);
         return schema;
     }
@@ -25,6 +25,8 @@ import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.utils.CommonUtils;
 
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -89,8 +91,18 @@ public class PostgreSessionManager implements DBAServerSessionManager<PostgreSes
         return true;
     }
 
+    @Override
+    public boolean canFilterSessions() {
+        return true;
+    }
+
     @Override
     public String generateSessionReadQuery(Map<String, Object> options) {
-        return "SELECT sa.* FROM pg_catalog.pg_stat_activity sa";
+        StringBuilder sql = new StringBuilder("SELECT sa.* FROM pg_catalog.pg_stat_activity sa");
+        String queryFilter = options == null ? null : CommonUtils.toString(options.get(OPTION_QUERY_FILTER), null);
+        if (!CommonUtils.isEmpty(queryFilter)) {
+            sql.append("\nWHERE sa.query ILIKE ").append(SQLUtils.quoteString(dataSource, "%" + queryFilter + "%"));
+        }
+        return sql.toString();
     }
 }
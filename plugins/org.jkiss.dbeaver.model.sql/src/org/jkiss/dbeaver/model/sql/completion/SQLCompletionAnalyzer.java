@@ -50,6 +50,7 @@ import org.jkiss.dbeaver.model.text.TextUtils;
 import org.jkiss.dbeaver.model.text.parser.TPRuleBasedScanner;
 import org.jkiss.dbeaver.model.text.parser.TPToken;
 import org.jkiss.dbeaver.model.text.parser.TPTokenAbstract;
+import org.jkiss.dbeaver.model.virtual.DBVDictionaryCache;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.Pair;
@@ -490,7 +491,7 @@ public class SQLCompletionAnalyzer implements DBRRunnableParametrized<DBRProgres
                         if (dictEntity != null) {
                             DBSEntityAttribute refAttribute = DBUtils.getReferenceAttribute(monitor, (DBSEntityAssociation) enumConstraint, attribute, false);
                             if (refAttribute != null) {
-                                valueEnumeration = ((DBSDictionary) dictEntity).getDictionaryEnumeration(monitor, refAttribute, null, Collections.emptyList(), true, true, false, MAX_ATTRIBUTE_VALUE_PROPOSALS);
+                                valueEnumeration = DBVDictionaryCache.getDictionaryEnumeration(monitor, (DBSDictionary) dictEntity, refAttribute, null, Collections.emptyList(), true, true, false, MAX_ATTRIBUTE_VALUE_PROPOSALS);
                             }
                         }
                     }
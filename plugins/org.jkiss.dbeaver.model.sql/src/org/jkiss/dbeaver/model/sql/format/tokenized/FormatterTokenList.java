@@ -0,0 +1,126 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.format.tokenized;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Tokens list optimized for modifications near the previous modification point.
+ *
+ * Formatter passes walk through tokens sequentially and insert or remove tokens around the current one.
+ * ArrayList shifts the whole tail on each such operation, so formatting of big scripts becomes quadratic.
+ * Here tokens are kept in a gap buffer and modification cost is proportional to the distance from the previous one.
+ */
+class FormatterTokenList extends AbstractList<FormatterToken> implements RandomAccess {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private FormatterToken[] buffer;
+    // Gap is [gapStart, gapEnd)
+    private int gapStart;
+    private int gapEnd;
+
+    FormatterTokenList(int capacity) {
+        buffer = new FormatterToken[Math.max(capacity, MIN_CAPACITY)];
+        gapStart = 0;
+        gapEnd = buffer.length;
+    }
+
+    @Override
+    public FormatterToken get(int index) {
+        checkIndex(index, size());
+        return buffer[toBufferIndex(index)];
+    }
+
+    @Override
+    public FormatterToken set(int index, FormatterToken token) {
+        checkIndex(index, size());
+        int bufferIndex = toBufferIndex(index);
+        FormatterToken oldToken = buffer[bufferIndex];
+        buffer[bufferIndex] = token;
+        return oldToken;
+    }
+
+    @Override
+    public int size() {
+        return buffer.length - (gapEnd - gapStart);
+    }
+
+    @Override
+    public void add(int index, FormatterToken token) {
+        checkIndex(index, size() + 1);
+        if (gapStart == gapEnd) {
+            grow();
+        }
+        moveGap(index);
+        buffer[gapStart++] = token;
+        modCount++;
+    }
+
+    @Override
+    public FormatterToken remove(int index) {
+        checkIndex(index, size());
+        moveGap(index);
+        FormatterToken token = buffer[gapEnd];
+        buffer[gapEnd++] = null;
+        modCount++;
+        return token;
+    }
+
+    @Override
+    public void clear() {
+        buffer = new FormatterToken[MIN_CAPACITY];
+        gapStart = 0;
+        gapEnd = buffer.length;
+        modCount++;
+    }
+
+    private int toBufferIndex(int index) {
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            int count = gapStart - index;
+            System.arraycopy(buffer, index, buffer, gapEnd - count, count);
+            gapStart -= count;
+            gapEnd -= count;
+        } else if (index > gapStart) {
+            int count = index - gapStart;
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, count);
+            gapStart += count;
+            gapEnd += count;
+        }
+    }
+
+    private void grow() {
+        FormatterToken[] newBuffer = new FormatterToken[buffer.length * 2];
+        int tailLength = buffer.length - gapEnd;
+        System.arraycopy(buffer, 0, newBuffer, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, newBuffer, newBuffer.length - tailLength, tailLength);
+        gapEnd = newBuffer.length - tailLength;
+        buffer = newBuffer;
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+}
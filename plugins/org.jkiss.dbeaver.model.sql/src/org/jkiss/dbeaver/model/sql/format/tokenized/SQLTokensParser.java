@@ -158,7 +158,7 @@ class SQLTokensParser {
             fPos++;
             String commentString = null;
             for (String slc : singleLineComments) {
-                if (fBefore.length() >= start_pos + slc.length() && slc.equals(fBefore.substring(start_pos, start_pos + slc.length()))) {
+                if (fBefore.startsWith(slc, start_pos)) {
                     commentString = slc;
                     break;
                 }
@@ -169,7 +169,7 @@ class SQLTokensParser {
             fPos += commentString.length() - 1;
             while (fPos < fBefore.length()) {
                 fPos++;
-                if (fBefore.substring(fPos).startsWith(System.lineSeparator())) {
+                if (fBefore.startsWith(System.lineSeparator(), fPos)) {
                     break;
                 }
             }
@@ -297,7 +297,8 @@ class SQLTokensParser {
         fPos = 0;
         fBefore = argSql;
 
-        final List<FormatterToken> list = new ArrayList<>();
+        // Formatter inserts and removes tokens while walking through the list
+        final List<FormatterToken> list = new FormatterTokenList(argSql.length() / 4);
         for (;;) {
             final FormatterToken token = nextToken();
             if (token.getType() == TokenType.END) {
@@ -17,8 +17,11 @@
 package org.jkiss.dbeaver.model.sql.generator;
 
 import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBPScriptObject;
 import org.jkiss.dbeaver.model.DBPScriptObjectExt;
+import org.jkiss.dbeaver.model.DBPScriptObjectPrefetcher;
+import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLConstants;
 import org.jkiss.dbeaver.model.sql.SQLDialect;
@@ -36,6 +39,9 @@ import java.util.Map;
 
 public class SQLGeneratorDDL extends SQLGenerator<DBPScriptObject> {
 
+    // Definitions read in bulk by the current run
+    private Map<Object, String> prefetchedDefinitions;
+
     @Override
     public boolean isDDLOption() {
         return true;
@@ -54,7 +60,23 @@ public class SQLGeneratorDDL extends SQLGenerator<DBPScriptObject> {
             }
         }
         if (!allTables) {
-            super.run(monitor);
+            // Read definitions of all objects at once. Each object then takes its definition from cache
+            List<DBSObject> objectList = new ArrayList<>();
+            for (DBPScriptObject object : objects) {
+                if (object instanceof DBSObject) {
+                    objectList.add((DBSObject) object);
+                }
+            }
+            Map<String, Object> options = new HashMap<>();
+            addOptions(options);
+            DBStructUtils.prefetchObjectDefinitions(monitor, objectList, options);
+
+            prefetchedDefinitions = DBStructUtils.getPrefetchedDefinitions(options);
+            try {
+                super.run(monitor);
+            } finally {
+                prefetchedDefinitions = null;
+            }
             return;
         }
 
@@ -62,7 +84,8 @@ public class SQLGeneratorDDL extends SQLGenerator<DBPScriptObject> {
         Map<String, Object> options = new HashMap<>();
         addOptions(options);
         try {
-            DBStructUtils.generateTableListDDL(monitor, sql, tableList, options, false);
+            // DDL of each table is appended as soon as it is generated, so cancel keeps DDL of already processed tables
+            DBStructUtils.generateTableListDDL(monitor, sql::append, tableList, options, false);
         } catch (DBException e) {
             throw new InvocationTargetException(e);
         }
@@ -77,7 +100,13 @@ public class SQLGeneratorDDL extends SQLGenerator<DBPScriptObject> {
         Map<String, Object> options = new HashMap<>();
         options.put(DBPScriptObject.OPTION_REFRESH, true);
         addOptions(options);
+        if (prefetchedDefinitions != null) {
+            options.put(DBPScriptObjectPrefetcher.OPTION_PREFETCHED_DEFINITIONS, prefetchedDefinitions);
+        }
 
+        if (object instanceof DBSObject) {
+            monitor.subTask(DBUtils.getObjectFullName((DBSObject) object, DBPEvaluationContext.UI));
+        }
         String definitionText = CommonUtils.notEmpty(object.getObjectDefinitionText(monitor, options)).trim();
         sql.append(definitionText);
         String delimiter = SQLConstants.DEFAULT_STATEMENT_DELIMITER;
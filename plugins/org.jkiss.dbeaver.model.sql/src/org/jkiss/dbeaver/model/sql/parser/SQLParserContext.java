@@ -45,6 +45,8 @@ public class SQLParserContext {
 
     @Nullable
     private DBPPreferenceStore preferenceStore;
+    @Nullable
+    private SQLStatementIndex statementIndex;
 
     public SQLParserContext(@Nullable DBPDataSource dataSource, @NotNull SQLSyntaxManager syntaxManager, @NotNull SQLRuleManager ruleManager, @NotNull IDocument document) {
         this.dataSource = dataSource;
@@ -99,6 +101,15 @@ public class SQLParserContext {
         this.preferenceStore = preferenceStore;
     }
 
+    @Nullable
+    public SQLStatementIndex getStatementIndex() {
+        return statementIndex;
+    }
+
+    public void setStatementIndex(@Nullable SQLStatementIndex statementIndex) {
+        this.statementIndex = statementIndex;
+    }
+
     void startScriptEvaluation() {
         getScanner().startEval();
     }
@@ -412,6 +412,11 @@ public class SQLScriptParser
                 }
                 if (startPos == 0) {
                     startPos = document.getLineOffset(firstLine);
+                    SQLStatementIndex statementIndex = context.getStatementIndex();
+                    if (startPos == 0 && statementIndex != null) {
+                        // No statement boundaries found around current position. Do not parse the whole document prefix.
+                        startPos = statementIndex.getRestartOffset(currentPos);
+                    }
                 }
             }
 
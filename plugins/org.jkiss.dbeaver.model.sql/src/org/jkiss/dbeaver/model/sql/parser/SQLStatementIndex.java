@@ -0,0 +1,167 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jkiss.dbeaver.model.sql.parser;
+
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.Arrays;
+
+/**
+ * Index of statement boundaries in the parser context document.
+ *
+ * Keeps offsets where sequential statement parsing restarts (ends of parsed statements).
+ * Document change invalidates only boundaries after the changed offset. Index is re-parsed lazily from the
+ * last valid boundary and becomes valid again as soon as parser reaches a boundary known before the change.
+ * Thus query extraction doesn't need to parse the whole document prefix on each request.
+ */
+public class SQLStatementIndex implements IDocumentListener {
+
+    private final SQLParserContext context;
+    private int[] offsets = new int[64];
+    private int size;
+    // Boundaries before this offset are valid
+    private int validEnd;
+    // Boundaries after this offset are shifted boundaries known before the last changes
+    private int dirtyEnd;
+
+    public SQLStatementIndex(@NotNull SQLParserContext context) {
+        this.context = context;
+        context.getDocument().addDocumentListener(this);
+    }
+
+    public void dispose() {
+        context.getDocument().removeDocumentListener(this);
+    }
+
+    /**
+     * Returns offset from which parser may start to find the statement at specified position.
+     * It is a boundary before the previous statement, so the result is the same as parsing from the document start.
+     */
+    public synchronized int getRestartOffset(int position) {
+        ensureIndexed(position);
+        int index = upperBound(position) - 2;
+        return index >= 0 ? offsets[index] : 0;
+    }
+
+    @Override
+    public void documentAboutToBeChanged(DocumentEvent event) {
+    }
+
+    @Override
+    public synchronized void documentChanged(DocumentEvent event) {
+        final int changeStart = event.getOffset();
+        final int changeEnd = changeStart + event.getLength();
+        final int textLength = CommonUtils.notEmpty(event.getText()).length();
+        final int delta = textLength - event.getLength();
+
+        // Remove boundaries in the changed region and shift the following ones
+        final int removeFrom = lowerBound(changeStart);
+        removeRange(removeFrom, upperBound(changeEnd));
+        for (int i = removeFrom; i < size; i++) {
+            offsets[i] += delta;
+        }
+        if (dirtyEnd > changeEnd) {
+            dirtyEnd += delta;
+        }
+        dirtyEnd = Math.max(dirtyEnd, changeStart + textLength);
+        validEnd = Math.min(validEnd, changeStart);
+    }
+
+    private void ensureIndexed(int position) {
+        if (position < validEnd) {
+            return;
+        }
+        final IDocument document = context.getDocument();
+        final int docLength = document.getLength();
+        int index = lowerBound(validEnd);
+        int queryOffset = index > 0 ? offsets[index - 1] : 0;
+        for (;;) {
+            SQLScriptElement query = SQLScriptParser.parseQuery(context, queryOffset, docLength, queryOffset, false, false);
+            int nextOffset = query == null ? queryOffset : query.getOffset() + query.getLength();
+            if (nextOffset <= queryOffset) {
+                // End of document
+                size = index;
+                setValid(Integer.MAX_VALUE);
+                return;
+            }
+            // Remove outdated boundaries which are now inside the parsed statement
+            int staleEnd = index;
+            while (staleEnd < size && offsets[staleEnd] < nextOffset) {
+                staleEnd++;
+            }
+            removeRange(index, staleEnd);
+            if (index < size && offsets[index] == nextOffset && nextOffset >= dirtyEnd) {
+                // Reached boundary which was known before changes. The rest of index is valid
+                setValid(Integer.MAX_VALUE);
+                return;
+            }
+            insert(index++, nextOffset);
+            queryOffset = nextOffset;
+            if (nextOffset > position) {
+                validEnd = nextOffset + 1;
+                return;
+            }
+        }
+    }
+
+    private void setValid(int validEnd) {
+        this.validEnd = validEnd;
+        this.dirtyEnd = 0;
+    }
+
+    // First index with offset >= value
+    private int lowerBound(int value) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (offsets[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First index with offset > value
+    private int upperBound(int value) {
+        return value == Integer.MAX_VALUE ? size : lowerBound(value + 1);
+    }
+
+    private void insert(int index, int offset) {
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        System.arraycopy(offsets, index, offsets, index + 1, size - index);
+        offsets[index] = offset;
+        size++;
+    }
+
+    private void removeRange(int from, int to) {
+        if (to > from) {
+            System.arraycopy(offsets, to, offsets, from, size - to);
+            size -= to - from;
+        }
+    }
+
+}
@@ -50,6 +50,7 @@ public final class ModelPreferences
     public static final String EXECUTE_CANCEL_CHECK_TIMEOUT = "execute.cancel.checkTimeout"; //$NON-NLS-1$
 
     public static final String CONNECTION_OPEN_TIMEOUT = "connection.open.timeout"; //$NON-NLS-1$
+    public static final String CONNECTION_OPEN_PARALLEL = "connection.open.parallel"; //$NON-NLS-1$
     public static final String CONNECTION_VALIDATION_TIMEOUT = "connection.validation.timeout"; //$NON-NLS-1$
     public static final String CONNECTION_CLOSE_TIMEOUT = "connection.close.timeout"; //$NON-NLS-1$
 
@@ -66,6 +67,9 @@ public final class ModelPreferences
     public static final String META_SEPARATE_CONNECTION = "database.meta.separate.connection"; //$NON-NLS-1$
     public static final String META_CASE_SENSITIVE = "database.meta.casesensitive"; //$NON-NLS-1$
     public static final String META_USE_SERVER_SIDE_FILTERS = "database.meta.server.side.filters"; //$NON-NLS-1$
+    public static final String META_CACHE_SNAPSHOT = "database.meta.cache.snapshot"; //$NON-NLS-1$
+    public static final String META_PARALLEL_PREFETCH = "database.meta.parallel.prefetch"; //$NON-NLS-1$
+    public static final String META_PARALLEL_CONNECTIONS = "database.meta.parallel.connections"; //$NON-NLS-1$
 
     public static final String META_CLIENT_NAME_DISABLE = "database.meta.client.name.disable"; //$NON-NLS-1$
     public static final String META_CLIENT_NAME_OVERRIDE = "database.meta.client.name.override"; //$NON-NLS-1$
@@ -94,6 +98,13 @@ public final class ModelPreferences
     public static final String RESULT_SET_READ_METADATA = "resultset.read.metadata"; //$NON-NLS-1$
     public static final String RESULT_SET_READ_REFERENCES = "resultset.read.references"; //$NON-NLS-1$
     public static final String RESULT_SET_MAX_ROWS = "resultset.maxrows"; //$NON-NLS-1$
+    public static final String RESULT_CACHE_ENABLED = "resultset.cache.enabled"; //$NON-NLS-1$
+    public static final String RESULT_CACHE_TTL = "resultset.cache.ttl"; //$NON-NLS-1$
+    public static final String RESULT_CACHE_SIZE = "resultset.cache.size"; //$NON-NLS-1$
+
+    public static final String PLAN_HISTORY_ENABLED = "plan.history.enabled"; //$NON-NLS-1$
+    public static final String PLAN_HISTORY_SIZE = "plan.history.size"; //$NON-NLS-1$
+    public static final String PLAN_HISTORY_REGRESSION_THRESHOLD = "plan.history.regression.threshold"; //$NON-NLS-1$
 
 
     public static final String SQL_PARAMETERS_ENABLED = "sql.parameter.enabled"; //$NON-NLS-1$
@@ -141,6 +152,8 @@ public final class ModelPreferences
     public static final String TRANSACTIONS_AUTO_CLOSE_TTL = "transaction.auto.close.ttl"; //$NON-NLS-1$
 
     public static final String DICTIONARY_COLUMN_DIVIDER = "resultset.dictionary.columnDivider"; //$NON-NLS-1$
+    public static final String DICTIONARY_CACHE_TTL = "resultset.dictionary.cache.ttl"; //$NON-NLS-1$
+    public static final String DICTIONARY_CACHE_SIZE = "resultset.dictionary.cache.size"; //$NON-NLS-1$
 
     private static Bundle mainBundle;
     private static DBPPreferenceStore preferences;
@@ -178,6 +191,7 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, EXECUTE_CANCEL_CHECK_TIMEOUT, 0);
 
         PrefUtils.setDefaultPreferenceValue(store, CONNECTION_OPEN_TIMEOUT, 0);
+        PrefUtils.setDefaultPreferenceValue(store, CONNECTION_OPEN_PARALLEL, false);
         PrefUtils.setDefaultPreferenceValue(store, CONNECTION_VALIDATION_TIMEOUT, 10000);
         PrefUtils.setDefaultPreferenceValue(store, CONNECTION_CLOSE_TIMEOUT, 5000);
 
@@ -191,6 +205,9 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, META_SEPARATE_CONNECTION, true);
         PrefUtils.setDefaultPreferenceValue(store, META_CASE_SENSITIVE, false);
         PrefUtils.setDefaultPreferenceValue(store, META_USE_SERVER_SIDE_FILTERS, true);
+        PrefUtils.setDefaultPreferenceValue(store, META_CACHE_SNAPSHOT, false);
+        PrefUtils.setDefaultPreferenceValue(store, META_PARALLEL_PREFETCH, false);
+        PrefUtils.setDefaultPreferenceValue(store, META_PARALLEL_CONNECTIONS, 3);
 
         PrefUtils.setDefaultPreferenceValue(store, META_CLIENT_NAME_DISABLE, false);
         PrefUtils.setDefaultPreferenceValue(store, META_CLIENT_NAME_OVERRIDE, false);
@@ -207,6 +224,13 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_READ_METADATA, true);
         PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_READ_REFERENCES, true);
         PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_MAX_ROWS, 200);
+        PrefUtils.setDefaultPreferenceValue(store, RESULT_CACHE_ENABLED, false);
+        PrefUtils.setDefaultPreferenceValue(store, RESULT_CACHE_TTL, 300);
+        PrefUtils.setDefaultPreferenceValue(store, RESULT_CACHE_SIZE, 1000000);
+
+        PrefUtils.setDefaultPreferenceValue(store, PLAN_HISTORY_ENABLED, false);
+        PrefUtils.setDefaultPreferenceValue(store, PLAN_HISTORY_SIZE, 20);
+        PrefUtils.setDefaultPreferenceValue(store, PLAN_HISTORY_REGRESSION_THRESHOLD, 20);
 
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_HEX_ENCODING, GeneralUtils.getDefaultFileEncoding());
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_CACHE_CLOB, true);
@@ -273,6 +297,8 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, ModelPreferences.TRANSACTIONS_SHOW_NOTIFICATIONS, true);
 
         PrefUtils.setDefaultPreferenceValue(store, ModelPreferences.DICTIONARY_COLUMN_DIVIDER, " ");
+        PrefUtils.setDefaultPreferenceValue(store, ModelPreferences.DICTIONARY_CACHE_TTL, 60);
+        PrefUtils.setDefaultPreferenceValue(store, ModelPreferences.DICTIONARY_CACHE_SIZE, 5000);
 
         // Data formats
         DataFormatterProfile.initDefaultPreferences(store, Locale.getDefault());
@@ -0,0 +1,46 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Object container which can read definitions of many child objects at once.
+ * Prefetched definitions are returned by {@link DBPScriptObject#getObjectDefinitionText} calls with the same options.
+ */
+public interface DBPScriptObjectPrefetcher extends DBPObject {
+
+    /**
+     * Definitions read in bulk (Map&lt;Object, String&gt;). Lives in options of one script generation call.
+     */
+    String OPTION_PREFETCHED_DEFINITIONS = "ddl.prefetchedDefinitions"; //$NON-NLS-1$
+
+    /**
+     * Reads definitions of specified objects with set-based queries and puts them in the
+     * {@link #OPTION_PREFETCHED_DEFINITIONS} map of options. Keys are implementation specific.
+     * Objects which can't be prefetched must be ignored, they will read their definitions themselves.
+     */
+    void prefetchObjectDefinitions(@NotNull DBRProgressMonitor monitor, @NotNull Collection<? extends DBSObject> objects, @NotNull Map<String, Object> options)
+        throws DBException;
+
+}
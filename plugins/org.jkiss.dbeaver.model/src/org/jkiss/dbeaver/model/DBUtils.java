@@ -1639,6 +1639,10 @@ public final class DBUtils {
     @SuppressWarnings("unchecked")
     @NotNull
     public static <T extends DBCSession> T openMetaSession(@NotNull DBRProgressMonitor monitor, @NotNull DBSObject object, @NotNull String task) throws DBCException {
+        DBCExecutionContext threadContext = DBExecUtils.getThreadMetaContext();
+        if (threadContext != null && threadContext.getOwnerInstance() == getObjectOwnerInstance(object)) {
+            return (T) threadContext.openSession(monitor, DBCExecutionPurpose.META, task);
+        }
         DBCExecutionContext defaultContext = getOrOpenDefaultContext(object, true);
         if (defaultContext == null) {
             throw new DBCException("Default context not found");
@@ -1649,6 +1653,10 @@ public final class DBUtils {
     @SuppressWarnings("unchecked")
     @NotNull
     public static <T extends DBCSession> T openMetaSession(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSource dataSource, @NotNull String task) throws DBCException {
+        DBCExecutionContext threadContext = DBExecUtils.getThreadMetaContext();
+        if (threadContext != null && threadContext.getOwnerInstance() == dataSource.getDefaultInstance()) {
+            return (T) threadContext.openSession(monitor, DBCExecutionPurpose.META, task);
+        }
         return (T) dataSource.getDefaultInstance().getDefaultContext(monitor, true).openSession(monitor, DBCExecutionPurpose.META, task);
     }
 
@@ -20,7 +20,9 @@ package org.jkiss.dbeaver.model.admin.sessions;
 import org.jkiss.dbeaver.model.DBPObject;
 
 /**
- * Server session
+ * Server session.
+ * Implementations should implement equals/hashCode using server session identifier (e.g. pid),
+ * session manager uses them to match sessions between list refreshes.
  */
 public interface DBAServerSession extends DBPObject {
 
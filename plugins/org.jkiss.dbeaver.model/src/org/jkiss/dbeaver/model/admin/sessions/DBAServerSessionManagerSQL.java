@@ -24,8 +24,18 @@ import java.util.Map;
  */
 public interface DBAServerSessionManagerSQL {
 
+    /**
+     * Active query text filter (String). Sessions which query doesn't contain this text are filtered on the server side.
+     * Supported only if {@link #canFilterSessions()} returns true.
+     */
+    String OPTION_QUERY_FILTER = "queryFilter";
+
     boolean canGenerateSessionReadQuery();
 
+    default boolean canFilterSessions() {
+        return false;
+    }
+
     String generateSessionReadQuery(Map<String, Object> options);
 
 }
@@ -43,6 +43,14 @@ public interface DBDDataReceiver extends AutoCloseable {
     void fetchEnd(DBCSession session, DBCResultSet resultSet)
         throws DBCException;
 
+    /**
+     * Checks whether receiver can't accept more rows (e.g. because of memory limits).
+     * Fetch loop must stop reading rows in this case and finish normally.
+     */
+    default boolean isFetchStopped() {
+        return false;
+    }
+
     /**
      * Called after entire result set is fetched and closed.
      * This method is called even if fetchStart wasn't called in this data receiver (may occur if statement throws an error)
@@ -116,7 +116,12 @@ public class JSONUtils {
                     result.append("\\").append(c);
                     break;
                 default:
-                    result.append(c);
+                    if (c < 0x20) {
+                        // Other control characters are not allowed in JSON strings
+                        result.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        result.append(c);
+                    }
                     break;
             }
         }
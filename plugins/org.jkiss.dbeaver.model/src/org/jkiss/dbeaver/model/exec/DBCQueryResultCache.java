@@ -0,0 +1,589 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.data.DBDValueMeta;
+import org.jkiss.dbeaver.model.impl.AbstractResultSet;
+import org.jkiss.dbeaver.model.impl.local.LocalResultSetMeta;
+import org.jkiss.dbeaver.model.impl.local.LocalStatement;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.qm.QMMetaEvent;
+import org.jkiss.dbeaver.model.qm.QMMetaListener;
+import org.jkiss.dbeaver.model.qm.QMUtils;
+import org.jkiss.dbeaver.model.qm.meta.QMMObject;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementExecuteInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMTransactionInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMTransactionSavepointInfo;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-datasource cache of read-only query results.
+ *
+ * Results are keyed by execution context, normalized query text, default catalog/schema and fetch range.
+ * Entries live for a limited time (see {@link ModelPreferences#RESULT_CACHE_TTL}) and total number of cached values
+ * is limited (see {@link ModelPreferences#RESULT_CACHE_SIZE}), least recently used entries are evicted first.
+ * Cache is dropped when data modification statement or transaction end is seen in the same data source.
+ * Executors drop it right after data modifications, query manager events (which are dispatched with a delay)
+ * are used for statements executed by other components.
+ * Context results are dropped when context is closed or reconnected, whole cache is dropped on disconnect.
+ * Only results with simple values are cached, LOBs and complex values are always read from the server.
+ * Mutable values (binaries and dates) are copied on both cache write and read.
+ */
+public class DBCQueryResultCache {
+
+    private static final Log log = Log.getLog(DBCQueryResultCache.class);
+
+    private static final Map<String, DBCQueryResultCache> caches = new ConcurrentHashMap<>();
+    private static volatile boolean listenerRegistered;
+
+    private final DBPDataSourceContainer container;
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedValues;
+
+    private DBCQueryResultCache(@NotNull DBPDataSourceContainer container) {
+        this.container = container;
+    }
+
+    /**
+     * Returns results cache of the specified data source or null if results caching is disabled.
+     * Caching is also disabled if data modifications can't be tracked.
+     */
+    @Nullable
+    public static DBCQueryResultCache getInstance(@NotNull DBPDataSource dataSource) {
+        final DBPDataSourceContainer container = dataSource.getContainer();
+        if (!container.getPreferenceStore().getBoolean(ModelPreferences.RESULT_CACHE_ENABLED)) {
+            return null;
+        }
+        if (!registerListener()) {
+            return null;
+        }
+        return caches.computeIfAbsent(container.getId(), id -> new DBCQueryResultCache(container));
+    }
+
+    /**
+     * Drops all cached results of the specified data source
+     */
+    public static void invalidate(@Nullable DBPDataSourceContainer container) {
+        if (container != null) {
+            DBCQueryResultCache cache = caches.get(container.getId());
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    /**
+     * Checks whether there are cached results of the specified data source
+     */
+    public static boolean hasResults(@NotNull DBPDataSourceContainer container) {
+        DBCQueryResultCache cache = caches.get(container.getId());
+        return cache != null && cache.hasEntries();
+    }
+
+    /**
+     * Drops cached results of the specified context. Called on context close and reconnect.
+     */
+    public static void invalidate(@NotNull DBCExecutionContext context) {
+        DBCQueryResultCache cache = caches.get(context.getDataSource().getContainer().getId());
+        if (cache != null) {
+            cache.removeContextResults(context);
+        }
+    }
+
+    /**
+     * Removes cache of the specified data source. Called on disconnect and data source delete.
+     */
+    public static void evict(@NotNull DBPDataSourceContainer container) {
+        DBCQueryResultCache cache = caches.remove(container.getId());
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Makes cache key. Query results depend on the execution context (its session state and uncommitted changes)
+     * and on the default catalog/schema so they are the part of the key.
+     */
+    @NotNull
+    public static String makeKey(@NotNull DBCExecutionContext context, @NotNull String queryText, long offset, long maxRows) {
+        final StringBuilder key = new StringBuilder(queryText.length() + 64);
+        key.append(context.getContextId()).append(':');
+        final DBCExecutionContextDefaults contextDefaults = context.getContextDefaults();
+        if (contextDefaults != null) {
+            appendObjectName(key, contextDefaults.getDefaultCatalog());
+            appendObjectName(key, contextDefaults.getDefaultSchema());
+        }
+        key.append(offset).append(':').append(maxRows).append(':');
+        key.append(SQLUtils.normalizeQueryWhitespaces(queryText));
+        return key.toString();
+    }
+
+    /**
+     * Returns result set over the cached rows or null if there are no valid cached results.
+     */
+    @Nullable
+    public synchronized DBCResultSet openResultSet(@NotNull DBCSession session, @NotNull String key) {
+        final CacheEntry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.isValid(getTimeToLive())) {
+            removeEntry(key);
+            return null;
+        }
+        log.debug("Read " + entry.rows.size() + " row(s) from results cache");
+        return new CachedResultSet(session, new LocalStatement(session, key), entry);
+    }
+
+    /**
+     * Returns data receiver which passes all data to the specified receiver and saves fetched rows in cache.
+     */
+    @NotNull
+    public DBDDataReceiver cacheResults(@NotNull String key, @NotNull DBDDataReceiver receiver) {
+        return new CachingDataReceiver(key, receiver);
+    }
+
+    public synchronized void removeResults(@NotNull String key) {
+        removeEntry(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        cachedValues = 0;
+    }
+
+    private synchronized boolean hasEntries() {
+        return !entries.isEmpty();
+    }
+
+    private synchronized void removeContextResults(@NotNull DBCExecutionContext context) {
+        final String keyPrefix = context.getContextId() + ":";
+        for (Iterator<Map.Entry<String, CacheEntry>> iter = entries.entrySet().iterator(); iter.hasNext(); ) {
+            Map.Entry<String, CacheEntry> entry = iter.next();
+            if (entry.getKey().startsWith(keyPrefix)) {
+                cachedValues -= entry.getValue().getSize();
+                iter.remove();
+            }
+        }
+    }
+
+    private synchronized void putEntry(@NotNull String key, @NotNull CacheEntry entry) {
+        removeEntry(key);
+        final long maxSize = getMaxSize();
+        if (entry.getSize() > maxSize) {
+            return;
+        }
+        entries.put(key, entry);
+        cachedValues += entry.getSize();
+        // Evict least recently used entries
+        for (Iterator<CacheEntry> iter = entries.values().iterator(); cachedValues > maxSize && iter.hasNext(); ) {
+            cachedValues -= iter.next().getSize();
+            iter.remove();
+        }
+    }
+
+    private void removeEntry(@NotNull String key) {
+        final CacheEntry entry = entries.remove(key);
+        if (entry != null) {
+            cachedValues -= entry.getSize();
+        }
+    }
+
+    private long getTimeToLive() {
+        return container.getPreferenceStore().getInt(ModelPreferences.RESULT_CACHE_TTL) * 1000L;
+    }
+
+    private long getMaxSize() {
+        final DBPPreferenceStore store = container.getPreferenceStore();
+        return Math.max(store.getLong(ModelPreferences.RESULT_CACHE_SIZE), 1);
+    }
+
+    private static void appendObjectName(@NotNull StringBuilder key, @Nullable DBSObject object) {
+        if (object != null) {
+            key.append(object.getName());
+        }
+        key.append(':');
+    }
+
+    private static boolean isCacheableValue(@Nullable Object value) {
+        return value == null ||
+            value instanceof String ||
+            value instanceof Number ||
+            value instanceof Boolean ||
+            value instanceof Character ||
+            value instanceof Date ||
+            value instanceof TemporalAccessor ||
+            value instanceof UUID ||
+            value instanceof byte[];
+    }
+
+    /**
+     * Copies mutable values. Cached values must not be shared with result set models which may modify them.
+     */
+    @Nullable
+    private static Object copyValue(@Nullable Object value) {
+        if (value instanceof byte[]) {
+            return ((byte[]) value).clone();
+        } else if (value instanceof Date) {
+            // Keeps the actual type (e.g. java.sql.Timestamp with nanos)
+            return ((Date) value).clone();
+        }
+        return value;
+    }
+
+    private static boolean registerListener() {
+        if (listenerRegistered) {
+            return true;
+        }
+        synchronized (caches) {
+            if (!listenerRegistered) {
+                try {
+                    QMUtils.registerMetaListener(new DataModificationListener());
+                    listenerRegistered = true;
+                } catch (Exception e) {
+                    log.debug("Can't register results cache QM listener", e);
+                }
+            }
+            return listenerRegistered;
+        }
+    }
+
+    private static class CacheEntry {
+        private final List<DBCAttributeMetaData> attributes;
+        private final List<Object[]> rows;
+        private final long createTime = System.currentTimeMillis();
+
+        CacheEntry(List<DBCAttributeMetaData> attributes, List<Object[]> rows) {
+            this.attributes = attributes;
+            this.rows = rows;
+        }
+
+        long getSize() {
+            return (long) rows.size() * Math.max(attributes.size(), 1);
+        }
+
+        boolean isValid(long ttl) {
+            return System.currentTimeMillis() - createTime < ttl;
+        }
+    }
+
+    /**
+     * Read-only result set over cached rows
+     */
+    private static class CachedResultSet extends AbstractResultSet<DBCSession, DBCStatement> {
+        private final CacheEntry entry;
+        private int curRow = -1;
+
+        CachedResultSet(DBCSession session, DBCStatement statement, CacheEntry entry) {
+            super(session, statement);
+            this.entry = entry;
+        }
+
+        @Override
+        public Object getAttributeValue(int index) throws DBCException {
+            if (curRow < 0 || curRow >= entry.rows.size()) {
+                throw new DBCException("No current row in cached results");
+            }
+            final Object[] row = entry.rows.get(curRow);
+            if (index < 0 || index >= row.length) {
+                throw new DBCException("Attribute index out of range (" + index + "/" + row.length + ")");
+            }
+            return copyValue(row[index]);
+        }
+
+        @Override
+        public Object getAttributeValue(String name) throws DBCException {
+            for (int i = 0; i < entry.attributes.size(); i++) {
+                if (entry.attributes.get(i).getName().equals(name)) {
+                    return getAttributeValue(i);
+                }
+            }
+            throw new DBCException("Bad attribute name: " + name);
+        }
+
+        @Override
+        public boolean nextRow() {
+            if (curRow + 1 >= entry.rows.size()) {
+                curRow = entry.rows.size();
+                return false;
+            }
+            curRow++;
+            return true;
+        }
+
+        @Override
+        public boolean moveTo(int position) {
+            if (position < 0 || position >= entry.rows.size()) {
+                return false;
+            }
+            curRow = position;
+            return true;
+        }
+
+        @NotNull
+        @Override
+        public DBCResultSetMetaData getMeta() {
+            return new LocalResultSetMeta(entry.attributes);
+        }
+
+        @Override
+        public Object getFeature(String name) {
+            if (FEATURE_NAME_LOCAL.equals(name)) {
+                return true;
+            }
+            return super.getFeature(name);
+        }
+
+        @Override
+        public void close() {
+            curRow = entry.rows.size();
+        }
+    }
+
+    /**
+     * Reads row values with attribute value handlers, saves them and passes to the target receiver.
+     * Saved rows are put in cache after successful fetch end.
+     */
+    private class CachingDataReceiver implements DBDDataReceiver {
+        private final String key;
+        private final DBDDataReceiver receiver;
+        private List<DBCAttributeMetaData> attributes;
+        private DBDValueHandler[] valueHandlers;
+        private List<Object[]> rows;
+        private long size;
+
+        CachingDataReceiver(String key, DBDDataReceiver receiver) {
+            this.key = key;
+            this.receiver = receiver;
+        }
+
+        @Override
+        public void fetchStart(DBCSession session, DBCResultSet resultSet, long offset, long maxRows) throws DBCException {
+            rows = null;
+            size = 0;
+            // Other result sets may have values which depend on the cursor (e.g. documents)
+            if (resultSet.getFeature(DBCResultSet.FEATURE_NAME_JDBC) != null) {
+                attributes = new ArrayList<>(resultSet.getMeta().getAttributes());
+                valueHandlers = new DBDValueHandler[attributes.size()];
+                for (int i = 0; i < valueHandlers.length; i++) {
+                    valueHandlers[i] = DBUtils.findValueHandler(session, attributes.get(i));
+                }
+                rows = new ArrayList<>();
+            }
+            receiver.fetchStart(session, resultSet, offset, maxRows);
+        }
+
+        @Override
+        public void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException {
+            if (rows == null) {
+                receiver.fetchRow(session, resultSet);
+                return;
+            }
+            final Object[] row = new Object[valueHandlers.length];
+            Throwable[] errors = null;
+            for (int i = 0; i < valueHandlers.length; i++) {
+                try {
+                    row[i] = valueHandlers[i].fetchValueObject(session, resultSet, attributes.get(i), i);
+                    if (!isCacheableValue(row[i])) {
+                        rows = null;
+                    }
+                } catch (Throwable e) {
+                    if (errors == null) {
+                        errors = new Throwable[valueHandlers.length];
+                    }
+                    errors[i] = e;
+                    rows = null;
+                }
+            }
+            if (rows != null) {
+                size += row.length;
+                if (size > getMaxSize()) {
+                    rows = null;
+                } else {
+                    final Object[] cachedRow = new Object[row.length];
+                    for (int i = 0; i < row.length; i++) {
+                        cachedRow[i] = copyValue(row[i]);
+                    }
+                    rows.add(cachedRow);
+                }
+            }
+            // Values were read already. Pass them to the target receiver
+            receiver.fetchRow(session, new RowResultSet(resultSet, row, errors));
+        }
+
+        @Override
+        public void fetchEnd(DBCSession session, DBCResultSet resultSet) throws DBCException {
+            receiver.fetchEnd(session, resultSet);
+            if (rows != null && !receiver.isFetchStopped() && !session.getProgressMonitor().isCanceled()) {
+                putEntry(key, new CacheEntry(attributes, rows));
+            }
+            rows = null;
+        }
+
+        @Override
+        public boolean isFetchStopped() {
+            return receiver.isFetchStopped();
+        }
+
+        @Override
+        public void close() {
+            receiver.close();
+        }
+    }
+
+    /**
+     * Current row of the source result set with already fetched values
+     */
+    private static class RowResultSet implements DBCResultSet {
+        private final DBCResultSet resultSet;
+        private final Object[] values;
+        private final Throwable[] errors;
+
+        RowResultSet(DBCResultSet resultSet, Object[] values, Throwable[] errors) {
+            this.resultSet = resultSet;
+            this.values = values;
+            this.errors = errors;
+        }
+
+        @Override
+        public DBCSession getSession() {
+            return resultSet.getSession();
+        }
+
+        @Override
+        public DBCStatement getSourceStatement() {
+            return resultSet.getSourceStatement();
+        }
+
+        @Override
+        public Object getAttributeValue(int index) throws DBCException {
+            if (index < 0 || index >= values.length) {
+                throw new DBCException("Attribute index out of range (" + index + "/" + values.length + ")");
+            }
+            if (errors != null && errors[index] != null) {
+                throw new DBCException("Error reading attribute value", errors[index]);
+            }
+            return values[index];
+        }
+
+        @Override
+        public Object getAttributeValue(String name) throws DBCException {
+            final List<DBCAttributeMetaData> attributes = resultSet.getMeta().getAttributes();
+            for (int i = 0; i < attributes.size(); i++) {
+                if (attributes.get(i).getName().equals(name)) {
+                    return getAttributeValue(i);
+                }
+            }
+            throw new DBCException("Bad attribute name: " + name);
+        }
+
+        @Override
+        public DBDValueMeta getAttributeValueMeta(int index) throws DBCException {
+            return resultSet.getAttributeValueMeta(index);
+        }
+
+        @Override
+        public DBDValueMeta getRowMeta() throws DBCException {
+            return resultSet.getRowMeta();
+        }
+
+        @Override
+        public boolean nextRow() throws DBCException {
+            throw new DBCException("Row navigation is not supported");
+        }
+
+        @Override
+        public boolean moveTo(int position) throws DBCException {
+            throw new DBCException("Row navigation is not supported");
+        }
+
+        @NotNull
+        @Override
+        public DBCResultSetMetaData getMeta() throws DBCException {
+            return resultSet.getMeta();
+        }
+
+        @Override
+        public String getResultSetName() throws DBCException {
+            return resultSet.getResultSetName();
+        }
+
+        @Override
+        public Object getFeature(String name) {
+            if (FEATURE_NAME_JDBC.equals(name)) {
+                // Values must be read with getAttributeValue
+                return null;
+            }
+            return resultSet.getFeature(name);
+        }
+
+        @Override
+        public void close() {
+            // Source result set is closed by its owner
+        }
+    }
+
+    /**
+     * Drops data source results after data modifications and transaction ends
+     */
+    private static class DataModificationListener implements QMMetaListener {
+        @Override
+        public void metaInfoChanged(@NotNull DBRProgressMonitor monitor, @NotNull List<QMMetaEvent> events) {
+            if (caches.isEmpty()) {
+                return;
+            }
+            for (QMMetaEvent event : events) {
+                if (event.getAction() != QMMetaEvent.Action.END) {
+                    continue;
+                }
+                final QMMObject object = event.getObject();
+                String containerId = null;
+                if (object instanceof QMMStatementExecuteInfo) {
+                    QMMStatementExecuteInfo exec = (QMMStatementExecuteInfo) object;
+                    if (exec.isTransactional()) {
+                        containerId = exec.getStatement().getSession().getContainerId();
+                    }
+                } else if (object instanceof QMMTransactionInfo) {
+                    // Uncommitted data could be read in the same transaction
+                    containerId = ((QMMTransactionInfo) object).getSession().getContainerId();
+                } else if (object instanceof QMMTransactionSavepointInfo) {
+                    containerId = ((QMMTransactionSavepointInfo) object).getTransaction().getSession().getContainerId();
+                }
+                DBCQueryResultCache cache = containerId == null ? null : caches.get(containerId);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        }
+    }
+
+}
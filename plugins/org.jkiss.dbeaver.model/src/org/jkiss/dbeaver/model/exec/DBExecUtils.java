@@ -78,12 +78,29 @@ public class DBExecUtils {
      */
     private static final ThreadLocal<DBPDataSourceContainer> ACTIVE_CONTEXT = new ThreadLocal<>();
     private static final List<DBPDataSourceContainer> ACTIVE_CONTEXTS = new ArrayList<>();
+    /**
+     * Metadata context bound to the current thread. Used by parallel metadata reading
+     */
+    private static final ThreadLocal<DBCExecutionContext> THREAD_META_CONTEXT = new ThreadLocal<>();
     public static final boolean BROWSE_LAZY_ASSOCIATIONS = false;
 
     public static DBPDataSourceContainer getCurrentThreadContext() {
         return ACTIVE_CONTEXT.get();
     }
 
+    @Nullable
+    public static DBCExecutionContext getThreadMetaContext() {
+        return THREAD_META_CONTEXT.get();
+    }
+
+    public static void setThreadMetaContext(@Nullable DBCExecutionContext context) {
+        if (context == null) {
+            THREAD_META_CONTEXT.remove();
+        } else {
+            THREAD_META_CONTEXT.set(context);
+        }
+    }
+
     public static List<DBPDataSourceContainer> getActiveContexts() {
         synchronized (ACTIVE_CONTEXTS) {
             return new ArrayList<>(ACTIVE_CONTEXTS);
@@ -33,6 +33,8 @@ import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -51,6 +53,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
     protected final List<Object[]> values = new ArrayList<>();
     protected final DBDDataReceiver keysReceiver;
     protected final boolean reuseStatement;
+    private boolean[] executedRows;
 
     /**
      * Constructs new batch
@@ -81,6 +84,12 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         return processBatch(session, null, options);
     }
 
+    @Nullable
+    @Override
+    public boolean[] getExecutedRows() {
+        return executedRows;
+    }
+
     @NotNull
     @Override
     public void generatePersistActions(@NotNull DBCSession session, @NotNull List<DBEPersistAction> actions, Map<String, Object> options) throws DBCException {
@@ -119,6 +128,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
 
         DBCStatistics statistics = new DBCStatistics();
         DBCStatement statement = null;
+        executedRows = actions == null ? new boolean[values.size()] : null;
 
         try {
             // Here we'll try to reuse prepared statement.
@@ -129,6 +139,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
             boolean[] prevNulls = new boolean[attributes.length];
             boolean[] nulls = new boolean[attributes.length];
             int statementsInBatch = 0;
+            int batchStartRow = 0;
 
             for (int rowIndex = 0; rowIndex < values.size(); rowIndex++) {
                 Object[] rowValues = values.get(rowIndex);
@@ -151,7 +162,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
                     if (!reuse && statementsInBatch > 0) {
                         // Flush batch
                         if (actions == null) {
-                            flushBatch(statistics, statement);
+                            flushBatch(statistics, statement, batchStartRow, statementsInBatch);
                         }
                         statement.close();
                         statement = null;
@@ -170,6 +181,9 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
                     }
                     if (actions == null) {
                         if (useBatch) {
+                            if (statementsInBatch == 0) {
+                                batchStartRow = rowIndex;
+                            }
                             statement.addToBatch();
                             statementsInBatch++;
                         } else {
@@ -177,6 +191,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
                             long startTime = System.currentTimeMillis();
                             executeStatement(statistics, statement);
                             statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+                            executedRows[rowIndex] = true;
 
                             long rowCount = statement.getUpdateRowCount();
                             if (rowCount > 0) {
@@ -209,7 +224,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
 
             if (statementsInBatch > 0) {
                 if (actions == null) {
-                    flushBatch(statistics, statement);
+                    flushBatch(statistics, statement, batchStartRow, statementsInBatch);
                 }
                 statement.close();
                 statement = null;
@@ -221,6 +236,10 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
             if (!useBatch && !values.isEmpty()) {
                 values.clear();
             }
+            if (actions == null) {
+                // Query manager events are dispatched with a delay. Drop cached results right away
+                DBCQueryResultCache.invalidate(session.getDataSource().getContainer());
+            }
         }
 
         return statistics;
@@ -285,6 +304,28 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         return formatted.toString();
     }
 
+    private void flushBatch(DBCStatistics statistics, DBCStatement statement, int batchStartRow, int batchSize) throws DBCException {
+        try {
+            flushBatch(statistics, statement);
+            Arrays.fill(executedRows, batchStartRow, batchStartRow + batchSize, true);
+        } catch (DBCException e) {
+            // Driver reports status of batch commands in BatchUpdateException.
+            // Depending on driver it may stop on the first failed command or process the rest of batch.
+            for (Throwable ex = e; ex != null; ex = ex.getCause() == ex ? null : ex.getCause()) {
+                if (ex instanceof BatchUpdateException) {
+                    int[] updateCounts = ((BatchUpdateException) ex).getUpdateCounts();
+                    if (updateCounts != null) {
+                        for (int i = 0; i < updateCounts.length && i < batchSize; i++) {
+                            executedRows[batchStartRow + i] = updateCounts[i] != Statement.EXECUTE_FAILED;
+                        }
+                    }
+                    break;
+                }
+            }
+            throw e;
+        }
+    }
+
     void flushBatch(DBCStatistics statistics, DBCStatement statement) throws DBCException {
         long startTime = System.currentTimeMillis();
         int[] updatedRows = statement.executeStatementBatch();
@@ -111,7 +111,12 @@ public abstract class JDBCDataSource
         this.defaultRemoteInstance = new JDBCRemoteInstance(monitor, this, true);
     }
 
-    protected Connection openConnection(@NotNull DBRProgressMonitor monitor, @Nullable JDBCExecutionContext context, @NotNull String purpose)
+    /**
+     * Loads driver classes. Returns driver instance or null if connection must be obtained from DriverManager.
+     * Driver is cached by its descriptor so only the first call actually loads it.
+     */
+    @Nullable
+    protected Driver loadDriverInstance(@NotNull DBRProgressMonitor monitor)
         throws DBCException
     {
         // It MUST be a JDBC driver
@@ -133,6 +138,13 @@ public abstract class JDBCDataSource
                 }
             }
         }
+        return driverInstance;
+    }
+
+    protected Connection openConnection(@NotNull DBRProgressMonitor monitor, @Nullable JDBCExecutionContext context, @NotNull String purpose)
+        throws DBCException
+    {
+        Driver driverInstance = loadDriverInstance(monitor);
 
         DBPConnectionConfiguration connectionInfo = new DBPConnectionConfiguration(container.getActualConnectionConfiguration());
         Properties connectProps = getAllConnectionProperties(monitor, context, purpose, connectionInfo);
@@ -17,6 +17,8 @@
 package org.jkiss.dbeaver.model.impl.jdbc;
 
 import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
@@ -28,6 +30,7 @@ import org.jkiss.dbeaver.model.impl.AbstractExecutionContext;
 import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCSavepointImpl;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.qm.QMUtils;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
@@ -60,6 +63,10 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     private volatile Boolean autoCommit;
     private volatile Integer transactionIsolationLevel;
     private transient volatile boolean txnIsolationLevelReadInProgress;
+    @Nullable
+    private volatile PreopenJob preopenJob;
+    private long openTime;
+    private long bootstrapTime;
 
     public JDBCExecutionContext(@NotNull JDBCRemoteInstance instance, String purpose) {
         super(instance.getDataSource(), purpose);
@@ -100,10 +107,20 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
 
         Object exclusiveLock = currentInstance.getExclusiveLock().acquireExclusiveLock();
         try {
-            this.connection = dataSource.openConnection(monitor, this, purpose);
+            final PreopenJob openJob = this.preopenJob;
+            this.preopenJob = null;
+            if (openJob != null) {
+                monitor.subTask("Wait for " + purpose + " connection");
+                this.connection = openJob.waitForConnection();
+            } else {
+                long startTime = System.currentTimeMillis();
+                this.connection = dataSource.openConnection(monitor, this, purpose);
+                this.openTime = System.currentTimeMillis() - startTime;
+            }
             if (this.connection == null) {
                 throw new DBCException("Null connection returned");
             }
+            long bootstrapStartTime = System.currentTimeMillis();
             monitor.subTask("Set connection defaults");
             // Get defaults from preferences
             if (autoCommit == null) {
@@ -144,6 +161,8 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
             } catch (DBCException e) {
                 log.warn("Error while running context bootstrap", e);
             }
+            this.bootstrapTime = System.currentTimeMillis() - bootstrapStartTime;
+            log.debug("Context '" + purpose + "' connected in " + openTime + "ms (bootstrap " + bootstrapTime + "ms)");
 
             if (addContext) {
                 // Add self to context list
@@ -180,6 +199,41 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
 
     }
 
+    /**
+     * Physical connection open time (driver connect and authentication), in milliseconds
+     */
+    public long getOpenTime() {
+        return openTime;
+    }
+
+    /**
+     * Connection defaults and bootstrap queries time, in milliseconds
+     */
+    public long getBootstrapTime() {
+        return bootstrapTime;
+    }
+
+    /**
+     * Starts physical connection opening in background.
+     * Following {@link #connect} call picks up this connection instead of opening a new one.
+     */
+    void preopenConnection() {
+        PreopenJob openJob = new PreopenJob();
+        this.preopenJob = openJob;
+        openJob.schedule();
+    }
+
+    /**
+     * Closes connection opened by {@link #preopenConnection()} if context wasn't connected.
+     */
+    void discardPreopenedConnection() {
+        PreopenJob openJob = this.preopenJob;
+        this.preopenJob = null;
+        if (openJob != null) {
+            openJob.discard();
+        }
+    }
+
     protected void disconnect() {
         // [JDBC] Need sync here because real connection close could take some time
         // while UI may invoke callbacks to operate with connection
@@ -262,6 +316,8 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
             // Remove self from context list
             this.instance.removeContext(this);
         }
+        // Session state and uncommitted changes are lost
+        DBCQueryResultCache.invalidate(this);
 
         disconnect();
     }
@@ -463,6 +519,67 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         return null;
     }
 
+    private class PreopenJob extends AbstractJob {
+        private Connection openedConnection;
+        private DBCException openError;
+        private boolean discarded;
+
+        PreopenJob() {
+            super("Open " + purpose + " connection");
+            setSystem(true);
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            long startTime = System.currentTimeMillis();
+            Connection con = null;
+            DBCException error = null;
+            try {
+                con = dataSource.openConnection(monitor, JDBCExecutionContext.this, purpose);
+            } catch (DBCException e) {
+                error = e;
+            } catch (Throwable e) {
+                error = new DBCException("Error opening " + purpose + " connection", e);
+            }
+            openTime = System.currentTimeMillis() - startTime;
+            synchronized (this) {
+                if (discarded) {
+                    if (con != null) {
+                        dataSource.closeConnection(con, purpose, false);
+                    }
+                } else {
+                    openedConnection = con;
+                    openError = error;
+                }
+            }
+            return Status.OK_STATUS;
+        }
+
+        Connection waitForConnection() throws DBCException {
+            try {
+                join();
+            } catch (InterruptedException e) {
+                discard();
+                throw new DBCException("Connection open interrupted", e);
+            }
+            synchronized (this) {
+                if (openError != null) {
+                    throw openError;
+                }
+                return openedConnection;
+            }
+        }
+
+        synchronized void discard() {
+            discarded = true;
+            if (openedConnection != null) {
+                dataSource.closeConnection(openedConnection, purpose, false);
+                openedConnection = null;
+            }
+        }
+    }
+
     @Override
     public String toString() {
         if (CommonUtils.equalObjects(instance.getName(), dataSource.getName())) {
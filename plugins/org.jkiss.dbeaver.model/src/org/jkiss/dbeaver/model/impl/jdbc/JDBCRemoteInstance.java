@@ -26,6 +26,7 @@ import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBExecUtils;
 import org.jkiss.dbeaver.model.impl.SimpleExclusiveLock;
+import org.jkiss.dbeaver.model.impl.auth.AuthModelDatabaseNative;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.model.struct.DBSObject;
@@ -48,6 +49,9 @@ public class JDBCRemoteInstance implements DBSInstance {
     protected JDBCExecutionContext executionContext;
     @Nullable
     protected JDBCExecutionContext metaContext;
+    // Metadata context which connection is being opened in background
+    @Nullable
+    private JDBCExecutionContext pendingMetaContext;
     @NotNull
     private final List<JDBCExecutionContext> allContexts = new ArrayList<>();
     private final DBPExclusiveResource exclusiveLock = new SimpleExclusiveLock();
@@ -97,7 +101,18 @@ public class JDBCRemoteInstance implements DBSInstance {
         }
         if (executionContext == null) {
             this.executionContext = dataSource.createExecutionContext(this, getMainContextName());
-            this.executionContext.connect(monitor, null, null, null, true);
+            if (metaContext == null && pendingMetaContext == null && isSeparateMetaContext() && isParallelConnectSupported()) {
+                // Load driver once and then open metadata connection in parallel with the main one
+                dataSource.loadDriverInstance(monitor);
+                pendingMetaContext = dataSource.createExecutionContext(this, getMetadataContextName());
+                pendingMetaContext.preopenConnection();
+            }
+            try {
+                this.executionContext.connect(monitor, null, null, null, true);
+            } catch (DBCException e) {
+                discardPendingMetaContext();
+                throw e;
+            }
         }
     }
 
@@ -109,7 +124,14 @@ public class JDBCRemoteInstance implements DBSInstance {
         if (this.metaContext != null) {
             return this.metaContext;
         }
-        if (!dataSource.getContainer().getDriver().isEmbedded() && dataSource.getContainer().getPreferenceStore().getBoolean(ModelPreferences.META_SEPARATE_CONNECTION)) {
+        if (this.pendingMetaContext != null) {
+            // Connection was opened in background. Finish context initialization.
+            this.metaContext = this.pendingMetaContext;
+            this.pendingMetaContext = null;
+            this.metaContext.connect(monitor, true, null, null, true);
+            return this.metaContext;
+        }
+        if (isSeparateMetaContext()) {
         	// FIXME: do not sync expensive operations
             //synchronized (allContexts) {
                 this.metaContext = dataSource.createExecutionContext(this, getMetadataContextName());
@@ -121,6 +143,27 @@ public class JDBCRemoteInstance implements DBSInstance {
         }
     }
 
+    private boolean isSeparateMetaContext() {
+        return !dataSource.getContainer().getDriver().isEmbedded() &&
+            dataSource.getContainer().getPreferenceStore().getBoolean(ModelPreferences.META_SEPARATE_CONNECTION);
+    }
+
+    /**
+     * Contexts may be opened concurrently only if authentication doesn't need any interaction
+     * and doesn't change any global state (like Kerberos or cloud auth models may do).
+     */
+    protected boolean isParallelConnectSupported() {
+        return dataSource.getContainer().getPreferenceStore().getBoolean(ModelPreferences.CONNECTION_OPEN_PARALLEL) &&
+            AuthModelDatabaseNative.ID.equals(dataSource.getContainer().getActualConnectionConfiguration().getAuthModelId());
+    }
+
+    private void discardPendingMetaContext() {
+        if (pendingMetaContext != null) {
+            pendingMetaContext.discardPreopenedConnection();
+            pendingMetaContext = null;
+        }
+    }
+
     @NotNull
     protected String getMainContextName() {
         return JDBCExecutionContext.TYPE_MAIN;
@@ -204,6 +247,7 @@ public class JDBCRemoteInstance implements DBSInstance {
      * @param keepMeta do not close meta context
      */
     public void shutdown(DBRProgressMonitor monitor, boolean keepMeta) {
+        discardPendingMetaContext();
         // [JDBC] Need sync here because real connection close could take some time
         // while UI may invoke callbacks to operate with connection
         List<JDBCExecutionContext> ctxCopy;
@@ -0,0 +1,289 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCResultSetImpl;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * On-disk snapshot of a catalog query result.
+ *
+ * Snapshot is bound to a version marker (server version plus some catalog change marker).
+ * If marker matches then the saved rows are replayed through a regular {@link JDBCResultSet}
+ * so existing object readers may be used as is. Otherwise caller must re-read metadata and capture it again.
+ */
+public class JDBCMetaSnapshot {
+
+    private static final Log log = Log.getLog(JDBCMetaSnapshot.class);
+
+    private static final String SNAPSHOT_FOLDER = "metadata-snapshots";
+    private static final Gson gson = new GsonBuilder().create();
+
+    private final Path snapshotFile;
+    private final String version;
+
+    public JDBCMetaSnapshot(@NotNull DBPDataSourceContainer container, @NotNull String name, @NotNull String version) {
+        this.snapshotFile = getSnapshotFile(container, name);
+        this.version = version;
+    }
+
+    public static boolean isEnabled(@NotNull DBPDataSource dataSource) {
+        return dataSource.getContainer().getPreferenceStore().getBoolean(ModelPreferences.META_CACHE_SNAPSHOT);
+    }
+
+    /**
+     * Returns result set with snapshot rows or null if there is no valid snapshot
+     */
+    @Nullable
+    public JDBCResultSet readResultSet(@NotNull JDBCSession session) throws SQLException {
+        if (!Files.exists(snapshotFile)) {
+            return null;
+        }
+        SnapshotData data;
+        try (Reader reader = Files.newBufferedReader(snapshotFile, StandardCharsets.UTF_8)) {
+            data = gson.fromJson(reader, SnapshotData.class);
+        } catch (Exception e) {
+            log.debug("Error reading metadata snapshot " + snapshotFile, e);
+            return null;
+        }
+        if (data == null || !version.equals(data.version) || data.columns == null || data.rows == null) {
+            return null;
+        }
+        log.debug("Read " + data.rows.size() + " row(s) from metadata snapshot " + snapshotFile.getFileName());
+        return JDBCResultSetImpl.makeResultSet(session, null, makeResultSet(data), "Metadata snapshot", true);
+    }
+
+    /**
+     * Reads all rows from the live result set, saves them in snapshot and returns result set over saved rows.
+     * Live result set is not closed.
+     */
+    @NotNull
+    public JDBCResultSet captureResultSet(@NotNull JDBCSession session, @NotNull ResultSet liveResult) throws SQLException {
+        SnapshotData data = new SnapshotData();
+        data.version = version;
+        ResultSetMetaData metaData = liveResult.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        data.columns = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            data.columns[i] = metaData.getColumnLabel(i + 1);
+        }
+        data.rows = new ArrayList<>();
+        while (liveResult.next()) {
+            String[] row = new String[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                row[i] = liveResult.getString(i + 1);
+            }
+            data.rows.add(row);
+        }
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            try (Writer writer = Files.newBufferedWriter(snapshotFile, StandardCharsets.UTF_8)) {
+                gson.toJson(data, writer);
+            }
+        } catch (IOException e) {
+            log.debug("Error saving metadata snapshot " + snapshotFile, e);
+        }
+        return JDBCResultSetImpl.makeResultSet(session, null, makeResultSet(data), "Metadata snapshot", true);
+    }
+
+    /**
+     * Deletes snapshot. Called on explicit metadata refresh.
+     */
+    public static void delete(@NotNull DBPDataSourceContainer container, @NotNull String name) {
+        Path snapshotFile = getSnapshotFile(container, name);
+        try {
+            Files.deleteIfExists(snapshotFile);
+        } catch (IOException e) {
+            log.debug("Error deleting metadata snapshot " + snapshotFile, e);
+        }
+    }
+
+    /**
+     * Deletes all snapshots of the data source. Called on data source delete and full refresh.
+     */
+    public static void deleteAll(@NotNull DBPDataSourceContainer container) {
+        Path snapshotFolder = getSnapshotFolder(container);
+        if (!Files.exists(snapshotFolder)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(snapshotFolder)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(snapshotFolder);
+        } catch (IOException e) {
+            log.debug("Error deleting metadata snapshots of " + container.getName(), e);
+        }
+    }
+
+    @NotNull
+    private static Path getSnapshotFolder(@NotNull DBPDataSourceContainer container) {
+        return container.getProject().getMetadataFolder(false)
+            .resolve(SNAPSHOT_FOLDER)
+            .resolve(CommonUtils.escapeFileName(container.getId()));
+    }
+
+    @NotNull
+    private static Path getSnapshotFile(@NotNull DBPDataSourceContainer container, @NotNull String name) {
+        return getSnapshotFolder(container).resolve(CommonUtils.escapeFileName(name) + ".json");
+    }
+
+    private static ResultSet makeResultSet(@NotNull SnapshotData data) {
+        return (ResultSet) Proxy.newProxyInstance(
+            JDBCMetaSnapshot.class.getClassLoader(),
+            new Class[] { ResultSet.class },
+            new SnapshotResultSetHandler(data));
+    }
+
+    private static class SnapshotData {
+        String version;
+        String[] columns;
+        List<String[]> rows;
+    }
+
+    /**
+     * Read-only forward-only result set over the snapshot rows.
+     * Only value getters used by metadata readers are supported.
+     */
+    private static class SnapshotResultSetHandler implements InvocationHandler {
+        private final SnapshotData data;
+        private int curRow = -1;
+        private boolean wasNull;
+
+        SnapshotResultSetHandler(SnapshotData data) {
+            this.data = data;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            final String methodName = method.getName();
+            switch (methodName) {
+                case "next":
+                    if (curRow + 1 >= data.rows.size()) {
+                        curRow = data.rows.size();
+                        return false;
+                    }
+                    curRow++;
+                    return true;
+                case "close":
+                    curRow = data.rows.size();
+                    return null;
+                case "isClosed":
+                    return false;
+                case "wasNull":
+                    return wasNull;
+                case "findColumn":
+                    return findColumn((String) args[0]);
+                case "getWarnings":
+                    return null;
+                case "clearWarnings":
+                    return null;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "Metadata snapshot result set";
+            }
+            if (methodName.startsWith("get") && args != null && args.length == 1) {
+                String value = getValue(args[0]);
+                wasNull = value == null;
+                return convertValue(value, method.getReturnType());
+            }
+            throw new SQLFeatureNotSupportedException("Method " + methodName + " is not supported by metadata snapshot");
+        }
+
+        private int findColumn(String label) throws SQLException {
+            for (int i = 0; i < data.columns.length; i++) {
+                if (data.columns[i].equalsIgnoreCase(label)) {
+                    return i + 1;
+                }
+            }
+            throw new SQLException("Column '" + label + "' not found in metadata snapshot");
+        }
+
+        private String getValue(Object column) throws SQLException {
+            if (curRow < 0 || curRow >= data.rows.size()) {
+                throw new SQLException("No current row in metadata snapshot");
+            }
+            int index = column instanceof String ? findColumn((String) column) : (Integer) column;
+            if (index < 1 || index > data.columns.length) {
+                throw new SQLException("Column index " + index + " out of range");
+            }
+            return data.rows.get(curRow)[index - 1];
+        }
+
+        private static Object convertValue(String value, Class<?> type) throws SQLException {
+            if (type == String.class || type == Object.class) {
+                return value;
+            }
+            boolean empty = CommonUtils.isEmpty(value);
+            try {
+                if (type == Boolean.TYPE) {
+                    return !empty && (value.equals("t") || value.equalsIgnoreCase("true") || value.equals("1") || value.equalsIgnoreCase("y"));
+                } else if (type == Integer.TYPE) {
+                    return empty ? 0 : Integer.parseInt(value);
+                } else if (type == Long.TYPE) {
+                    return empty ? 0L : Long.parseLong(value);
+                } else if (type == Short.TYPE) {
+                    return empty ? (short) 0 : Short.parseShort(value);
+                } else if (type == Byte.TYPE) {
+                    return empty ? (byte) 0 : Byte.parseByte(value);
+                } else if (type == Double.TYPE) {
+                    return empty ? 0.0 : Double.parseDouble(value);
+                } else if (type == Float.TYPE) {
+                    return empty ? 0.0f : Float.parseFloat(value);
+                } else if (type == BigDecimal.class) {
+                    return empty ? null : new BigDecimal(value);
+                }
+            } catch (NumberFormatException e) {
+                throw new SQLException("Bad numeric value '" + value + "' in metadata snapshot", e);
+            }
+            throw new SQLFeatureNotSupportedException("Values of type " + type.getName() + " are not supported by metadata snapshot");
+        }
+    }
+
+}
@@ -0,0 +1,277 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBExecUtils;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.WorkerProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Structure prefetch.
+ *
+ * Runs independent metadata reading tasks (e.g. columns, constraints and indexes of all schema tables) concurrently.
+ * The first task runs in the caller thread with the default metadata context, other tasks run in pool threads.
+ * Each pool thread uses its own isolated context, it is bound to the thread so all metadata sessions opened
+ * by caches during the task use it (see {@link DBUtils#openMetaSession}).
+ * Isolated contexts are kept per data source and reused by the following prefetches until disconnect.
+ * Each task fills its own caches, links between objects are resolved by caches themselves.
+ * Note that composite caches (e.g. constraints and indexes) load children of their parent cache first and
+ * {@link JDBCStructCache#loadChildren} is synchronized. Thus tasks which depend on columns wait for the columns task,
+ * only independent queries really overlap.
+ *
+ * Tasks run sequentially if structure is small, parallel prefetch is disabled or data source is embedded.
+ */
+public class JDBCStructPrefetch {
+
+    private static final Log log = Log.getLog(JDBCStructPrefetch.class);
+
+    // Minimal number of objects in container for parallel prefetch. Opening extra connections costs more for small containers
+    private static final int MIN_PARALLEL_OBJECTS = 100;
+
+    // Idle prefetch contexts of each data source (by container id)
+    private static final Map<String, List<DBCExecutionContext>> idleContexts = new ConcurrentHashMap<>();
+
+    public interface Task {
+        void run(@NotNull DBRProgressMonitor monitor) throws DBException;
+    }
+
+    private final DBSObject owner;
+    private final List<String> taskNames = new ArrayList<>();
+    private final List<Task> tasks = new ArrayList<>();
+
+    public JDBCStructPrefetch(@NotNull DBSObject owner) {
+        this.owner = owner;
+    }
+
+    public JDBCStructPrefetch addTask(@NotNull String name, @NotNull Task task) {
+        taskNames.add(name);
+        tasks.add(task);
+        return this;
+    }
+
+    /**
+     * Runs all tasks. The first task error is thrown after all tasks finish.
+     *
+     * @param objectCount number of objects (e.g. tables) in container. Used to decide whether parallel reading worth it.
+     */
+    public void execute(@NotNull DBRProgressMonitor monitor, int objectCount) throws DBException {
+        final int maxContexts = getMaxContexts(objectCount);
+        if (maxContexts <= 1) {
+            for (int i = 0; i < tasks.size() && !monitor.isCanceled(); i++) {
+                monitor.subTask(taskNames.get(i));
+                tasks.get(i).run(monitor);
+            }
+            return;
+        }
+        final DBSInstance instance = DBUtils.getObjectOwnerInstance(owner);
+        final DBCExecutionContext metaContext = DBUtils.getOrOpenDefaultContext(owner, true);
+        if (instance == null || metaContext == null) {
+            throw new DBException("No metadata context for " + DBUtils.getObjectFullName(owner, DBPEvaluationContext.UI));
+        }
+
+        final DBPDataSourceContainer container = owner.getDataSource().getContainer();
+        // Contexts of finished tasks
+        final Queue<DBCExecutionContext> contexts = new ConcurrentLinkedQueue<>();
+        final List<DBCExecutionContext> allContexts = new ArrayList<>();
+        final List<WorkerProgressMonitor> activeMonitors = new CopyOnWriteArrayList<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxContexts - 1, tasks.size() - 1), runnable -> {
+            Thread thread = new Thread(runnable, "Metadata prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 1; i < tasks.size(); i++) {
+                final Task task = tasks.get(i);
+                futures.add(executor.submit(() -> {
+                    if (monitor.isCanceled()) {
+                        return null;
+                    }
+                    WorkerProgressMonitor workerMonitor = new WorkerProgressMonitor(monitor);
+                    activeMonitors.add(workerMonitor);
+                    DBCExecutionContext context = contexts.poll();
+                    try {
+                        if (context == null) {
+                            context = acquireContext(container, instance);
+                        }
+                        if (context == null) {
+                            context = instance.openIsolatedContext(workerMonitor, "Metadata prefetch", metaContext);
+                        }
+                        synchronized (allContexts) {
+                            if (!allContexts.contains(context)) {
+                                allContexts.add(context);
+                            }
+                        }
+                        DBExecUtils.setThreadMetaContext(context);
+                        try {
+                            task.run(workerMonitor);
+                        } finally {
+                            DBExecUtils.setThreadMetaContext(null);
+                        }
+                    } finally {
+                        activeMonitors.remove(workerMonitor);
+                        if (context != null) {
+                            contexts.add(context);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            Throwable firstError = null;
+            monitor.subTask(String.join(", ", taskNames));
+            try {
+                tasks.get(0).run(monitor);
+            } catch (Throwable e) {
+                firstError = e;
+            }
+            for (Future<?> future : futures) {
+                try {
+                    waitForTask(monitor, future, activeMonitors);
+                } catch (ExecutionException e) {
+                    if (firstError == null) {
+                        firstError = e.getCause();
+                    } else {
+                        log.debug("Metadata prefetch error: " + e.getCause().getMessage());
+                    }
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+            if (firstError instanceof DBException) {
+                throw (DBException) firstError;
+            } else if (firstError != null) {
+                throw new DBException("Error reading structure of " + owner.getName(), firstError);
+            }
+        } finally {
+            executor.shutdownNow();
+            synchronized (allContexts) {
+                for (DBCExecutionContext context : allContexts) {
+                    if (!contexts.contains(context)) {
+                        // Abandoned task still uses it
+                        context.close();
+                    }
+                }
+            }
+            releaseContexts(container, contexts, maxContexts - 1);
+        }
+    }
+
+    /**
+     * Closes idle prefetch contexts of the data source. Called on disconnect.
+     */
+    public static void evict(@NotNull DBPDataSourceContainer container) {
+        final List<DBCExecutionContext> contexts = idleContexts.remove(container.getId());
+        if (contexts != null) {
+            synchronized (contexts) {
+                for (DBCExecutionContext context : contexts) {
+                    if (context.isConnected()) {
+                        context.close();
+                    }
+                }
+                contexts.clear();
+            }
+        }
+    }
+
+    @Nullable
+    private static DBCExecutionContext acquireContext(@NotNull DBPDataSourceContainer container, @NotNull DBSInstance instance) {
+        final List<DBCExecutionContext> contexts = idleContexts.get(container.getId());
+        if (contexts == null) {
+            return null;
+        }
+        synchronized (contexts) {
+            for (Iterator<DBCExecutionContext> iter = contexts.iterator(); iter.hasNext(); ) {
+                DBCExecutionContext context = iter.next();
+                if (!context.isConnected()) {
+                    iter.remove();
+                } else if (context.getOwnerInstance() == instance) {
+                    iter.remove();
+                    return context;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void releaseContexts(@NotNull DBPDataSourceContainer container, @NotNull Collection<DBCExecutionContext> contexts, int maxIdleContexts) {
+        final List<DBCExecutionContext> pool = container.isConnected() ?
+            idleContexts.computeIfAbsent(container.getId(), id -> new ArrayList<>()) : null;
+        for (DBCExecutionContext context : contexts) {
+            boolean keep = false;
+            if (pool != null && context.isConnected()) {
+                synchronized (pool) {
+                    if (pool.size() < maxIdleContexts) {
+                        pool.add(context);
+                        keep = true;
+                    }
+                }
+            }
+            if (!keep) {
+                context.close();
+            }
+        }
+    }
+
+    private int getMaxContexts(int objectCount) {
+        if (tasks.size() < 2 || objectCount < MIN_PARALLEL_OBJECTS) {
+            return 1;
+        }
+        final DBPDataSourceContainer container = owner.getDataSource().getContainer();
+        final DBPPreferenceStore store = container.getPreferenceStore();
+        if (!store.getBoolean(ModelPreferences.META_PARALLEL_PREFETCH) || container.getDriver().isEmbedded()) {
+            return 1;
+        }
+        return Math.max(store.getInt(ModelPreferences.META_PARALLEL_CONNECTIONS), 1);
+    }
+
+    private static void waitForTask(@NotNull DBRProgressMonitor monitor, @NotNull Future<?> future, @NotNull List<WorkerProgressMonitor> activeMonitors)
+        throws ExecutionException, InterruptedException
+    {
+        boolean canceled = false;
+        for (;;) {
+            if (!canceled && monitor.isCanceled()) {
+                canceled = true;
+                for (WorkerProgressMonitor workerMonitor : activeMonitors) {
+                    workerMonitor.cancel();
+                }
+            }
+            try {
+                future.get(100, TimeUnit.MILLISECONDS);
+                return;
+            } catch (TimeoutException e) {
+                // Keep waiting
+            }
+        }
+    }
+
+}
@@ -34,6 +34,8 @@ public abstract class JDBCContentLOB extends JDBCContentAbstract implements DBDC
 
     private DBDContentStorage originalStorage;
     protected DBDContentStorage storage;
+    // LOB length is read from the server once, value managers check it several times
+    private long lobLength = -1;
 
     protected JDBCContentLOB(DBCExecutionContext dataSource)
     {
@@ -45,7 +47,10 @@ public abstract class JDBCContentLOB extends JDBCContentAbstract implements DBDC
         if (storage != null) {
             return storage.getContentLength();
         }
-        return getLOBLength();
+        if (lobLength < 0) {
+            lobLength = getLOBLength();
+        }
+        return lobLength;
     }
 
     protected abstract long getLOBLength() throws DBCException;
@@ -69,6 +74,7 @@ public abstract class JDBCContentLOB extends JDBCContentAbstract implements DBDC
     @Override
     public void release()
     {
+        this.lobLength = -1;
         if (this.storage != null) {
             this.storage.release();
             this.storage = null;
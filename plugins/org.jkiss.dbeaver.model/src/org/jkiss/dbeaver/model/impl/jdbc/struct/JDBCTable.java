@@ -171,6 +171,24 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
 
         monitor.subTask(ModelMessages.model_jdbc_fetch_table_data);
 
+        DBCQueryResultCache resultCache = hasLimits && session.getPurpose().isUser() ?
+            DBCQueryResultCache.getInstance(dataSource) : null;
+        if (resultCache != null) {
+            String cacheKey = DBCQueryResultCache.makeKey(session.getExecutionContext(), sqlQuery, firstRow, maxRows);
+            if ((flags & FLAG_REFRESH) == 0) {
+                DBCResultSet cachedResult = resultCache.openResultSet(session, cacheKey);
+                if (cachedResult != null) {
+                    try {
+                        fetchResultSet(session, cachedResult, dataReceiver, statistics, firstRow, maxRows, hasLimits);
+                        return statistics;
+                    } finally {
+                        dataReceiver.close();
+                    }
+                }
+            }
+            dataReceiver = resultCache.cacheResults(cacheKey, dataReceiver);
+        }
+
         try (DBCStatement dbStat = DBUtils.makeStatement(
             source,
             session,
@@ -192,33 +210,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
             if (executeResult) {
                 DBCResultSet dbResult = dbStat.openResultSet();
                 if (dbResult != null && !monitor.isCanceled()) {
-                    try {
-                        dataReceiver.fetchStart(session, dbResult, firstRow, maxRows);
-
-                        DBFetchProgress fetchProgress = new DBFetchProgress(session.getProgressMonitor());
-                        while (dbResult.nextRow()) {
-                            if (fetchProgress.isCanceled() || (hasLimits && fetchProgress.isMaxRowsFetched(maxRows))) {
-                                // Fetch not more than max rows
-                                break;
-                            }
-                            dataReceiver.fetchRow(session, dbResult);
-                            fetchProgress.monitorRowFetch();
-                        }
-                        fetchProgress.dumpStatistics(statistics);
-                    } finally {
-                        // First - close cursor
-                        try {
-                            dbResult.close();
-                        } catch (Throwable e) {
-                            log.error("Error closing result set", e); //$NON-NLS-1$
-                        }
-                        // Then - signal that fetch was ended
-                        try {
-                            dataReceiver.fetchEnd(session, dbResult);
-                        } catch (Throwable e) {
-                            log.error("Error while finishing result set fetch", e); //$NON-NLS-1$
-                        }
-                    }
+                    fetchResultSet(session, dbResult, dataReceiver, statistics, firstRow, maxRows, hasLimits);
                 }
             }
             return statistics;
@@ -227,6 +219,38 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         }
     }
 
+    private static void fetchResultSet(@NotNull DBCSession session, @NotNull DBCResultSet dbResult, @NotNull DBDDataReceiver dataReceiver, @NotNull DBCStatistics statistics, long firstRow, long maxRows, boolean hasLimits)
+        throws DBCException
+    {
+        try {
+            dataReceiver.fetchStart(session, dbResult, firstRow, maxRows);
+
+            DBFetchProgress fetchProgress = new DBFetchProgress(session.getProgressMonitor());
+            while (dbResult.nextRow()) {
+                if (fetchProgress.isCanceled() || dataReceiver.isFetchStopped() || (hasLimits && fetchProgress.isMaxRowsFetched(maxRows))) {
+                    // Fetch not more than max rows
+                    break;
+                }
+                dataReceiver.fetchRow(session, dbResult);
+                fetchProgress.monitorRowFetch();
+            }
+            fetchProgress.dumpStatistics(statistics);
+        } finally {
+            // First - close cursor
+            try {
+                dbResult.close();
+            } catch (Throwable e) {
+                log.error("Error closing result set", e); //$NON-NLS-1$
+            }
+            // Then - signal that fetch was ended
+            try {
+                dataReceiver.fetchEnd(session, dbResult);
+            } catch (Throwable e) {
+                log.error("Error while finishing result set fetch", e); //$NON-NLS-1$
+            }
+        }
+    }
+
     protected void appendSelectSource(DBRProgressMonitor monitor, StringBuilder query, String tableAlias, DBDPseudoAttribute rowIdAttribute) {
         if (rowIdAttribute != null) {
             // If we have pseudo attributes then query gonna be more complex
@@ -333,8 +357,10 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         readRequiredMeta(session.getProgressMonitor());
 
         DBSAttributeBase[] attributes = ArrayUtils.concatArrays(updateAttributes, keyAttributes);
+        // Query text depends on value only for custom value binders. Otherwise statement may be reused (and batched)
+        boolean reuseStatement = keysReceiver == null && !hasValueBinders(session, updateAttributes);
 
-        return new ExecuteBatchImpl(attributes, keysReceiver, false) {
+        return new ExecuteBatchImpl(attributes, keysReceiver, reuseStatement) {
             @NotNull
             @Override
             protected DBCStatement prepareStatement(@NotNull DBCSession session, DBDValueHandler[] handlers, Object[] attributeValues, Map<String, Object> options) throws DBCException {
@@ -404,6 +430,18 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         };
     }
 
+    private static boolean hasValueBinders(@NotNull DBCSession session, @NotNull DBSAttributeBase[] attributes) {
+        for (DBSAttributeBase attribute : attributes) {
+            DBDValueHandler valueHandler = attribute instanceof DBDAttributeBinding ?
+                ((DBDAttributeBinding) attribute).getValueHandler() :
+                DBUtils.findValueHandler(session, attribute);
+            if (valueHandler instanceof DBDValueBinder) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     ////////////////////////////////////////////////////////////////////
     // Delete
 
@@ -414,7 +452,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
     {
         readRequiredMeta(session.getProgressMonitor());
 
-        return new ExecuteBatchImpl(keyAttributes, null, false) {
+        return new ExecuteBatchImpl(keyAttributes, null, true) {
             @NotNull
             @Override
             protected DBCStatement prepareStatement(@NotNull DBCSession session, DBDValueHandler[] handlers, Object[] attributeValues, Map<String, Object> options) throws DBCException {
@@ -0,0 +1,243 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanCostNode;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanNode;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Execution plans comparator.
+ *
+ * Nested nodes of each pair of matched nodes are aligned by the longest common subsequence of node types and names,
+ * so inserted or removed plan steps don't break matching of the rest of the tree.
+ */
+public class ExecutionPlanComparator {
+
+    public enum DiffKind {
+        SAME,
+        CHANGED,
+        ADDED,
+        REMOVED
+    }
+
+    /**
+     * Difference of two plan nodes. Old node is null for added nodes, new node is null for removed nodes.
+     */
+    public static class NodeDiff {
+        private final NodeDiff parent;
+        private final DBCPlanNode oldNode;
+        private final DBCPlanNode newNode;
+        private final List<NodeDiff> nested = new ArrayList<>();
+        private DiffKind kind;
+
+        NodeDiff(@Nullable NodeDiff parent, @Nullable DBCPlanNode oldNode, @Nullable DBCPlanNode newNode) {
+            this.parent = parent;
+            this.oldNode = oldNode;
+            this.newNode = newNode;
+        }
+
+        @Nullable
+        public NodeDiff getParent() {
+            return parent;
+        }
+
+        @Nullable
+        public DBCPlanNode getOldNode() {
+            return oldNode;
+        }
+
+        @Nullable
+        public DBCPlanNode getNewNode() {
+            return newNode;
+        }
+
+        @NotNull
+        public DBCPlanNode getNode() {
+            return newNode != null ? newNode : oldNode;
+        }
+
+        @NotNull
+        public DiffKind getKind() {
+            return kind;
+        }
+
+        @NotNull
+        public List<NodeDiff> getNested() {
+            return nested;
+        }
+
+        @Nullable
+        public Double getOldCost() {
+            return getCost(oldNode);
+        }
+
+        @Nullable
+        public Double getNewCost() {
+            return getCost(newNode);
+        }
+
+        @Nullable
+        public Double getOldRows() {
+            return getRows(oldNode);
+        }
+
+        @Nullable
+        public Double getNewRows() {
+            return getRows(newNode);
+        }
+
+        /**
+         * Cost change or null if cost of any node is unknown
+         */
+        @Nullable
+        public Double getCostDelta() {
+            return getDelta(getOldCost(), getNewCost());
+        }
+
+        /**
+         * Rows estimate change or null if rows estimate of any node is unknown
+         */
+        @Nullable
+        public Double getRowsDelta() {
+            return getDelta(getOldRows(), getNewRows());
+        }
+
+        @Override
+        public String toString() {
+            return kind + " " + getNode();
+        }
+    }
+
+    /**
+     * Compares two plan trees
+     */
+    @NotNull
+    public static List<NodeDiff> compare(@NotNull Collection<? extends DBCPlanNode> oldNodes, @NotNull Collection<? extends DBCPlanNode> newNodes) {
+        return compareNested(null, oldNodes, newNodes);
+    }
+
+    /**
+     * Checks that new plan costs more than old plan by more than threshold percents
+     */
+    public static boolean isRegression(@NotNull ExecutionPlanHistoryEntry oldPlan, @NotNull ExecutionPlanHistoryEntry newPlan, int thresholdPercent) {
+        final Double oldCost = oldPlan.getTotalCost();
+        final Double newCost = newPlan.getTotalCost();
+        if (oldCost == null || newCost == null) {
+            return false;
+        }
+        return newCost > oldCost * (1 + thresholdPercent / 100.0);
+    }
+
+    @NotNull
+    private static List<NodeDiff> compareNested(
+        @Nullable NodeDiff parent,
+        @Nullable Collection<? extends DBCPlanNode> oldNodes,
+        @Nullable Collection<? extends DBCPlanNode> newNodes)
+    {
+        final List<DBCPlanNode> oldList = oldNodes == null ? Collections.emptyList() : new ArrayList<>(oldNodes);
+        final List<DBCPlanNode> newList = newNodes == null ? Collections.emptyList() : new ArrayList<>(newNodes);
+        final int oldCount = oldList.size(), newCount = newList.size();
+
+        // Longest common subsequence lengths of list suffixes
+        final int[][] lcs = new int[oldCount + 1][newCount + 1];
+        for (int i = oldCount - 1; i >= 0; i--) {
+            for (int k = newCount - 1; k >= 0; k--) {
+                if (isSameStep(oldList.get(i), newList.get(k))) {
+                    lcs[i][k] = lcs[i + 1][k + 1] + 1;
+                } else {
+                    lcs[i][k] = Math.max(lcs[i + 1][k], lcs[i][k + 1]);
+                }
+            }
+        }
+
+        final List<NodeDiff> result = new ArrayList<>(Math.max(oldCount, newCount));
+        int i = 0, k = 0;
+        while (i < oldCount || k < newCount) {
+            if (i < oldCount && k < newCount && isSameStep(oldList.get(i), newList.get(k))) {
+                result.add(makeDiff(parent, oldList.get(i++), newList.get(k++)));
+            } else if (i < oldCount && (k == newCount || lcs[i + 1][k] >= lcs[i][k + 1])) {
+                result.add(makeDiff(parent, oldList.get(i++), null));
+            } else {
+                result.add(makeDiff(parent, null, newList.get(k++)));
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private static NodeDiff makeDiff(@Nullable NodeDiff parent, @Nullable DBCPlanNode oldNode, @Nullable DBCPlanNode newNode) {
+        final NodeDiff diff = new NodeDiff(parent, oldNode, newNode);
+        diff.nested.addAll(compareNested(diff, oldNode == null ? null : oldNode.getNested(), newNode == null ? null : newNode.getNested()));
+        if (oldNode == null) {
+            diff.kind = DiffKind.ADDED;
+        } else if (newNode == null) {
+            diff.kind = DiffKind.REMOVED;
+        } else if (!CommonUtils.equalObjects(oldNode.getNodeCondition(), newNode.getNodeCondition()) ||
+            !CommonUtils.equalObjects(diff.getOldCost(), diff.getNewCost()) ||
+            !CommonUtils.equalObjects(diff.getOldRows(), diff.getNewRows()))
+        {
+            diff.kind = DiffKind.CHANGED;
+        } else {
+            diff.kind = DiffKind.SAME;
+            for (NodeDiff nestedDiff : diff.nested) {
+                if (nestedDiff.kind != DiffKind.SAME) {
+                    diff.kind = DiffKind.CHANGED;
+                    break;
+                }
+            }
+        }
+        return diff;
+    }
+
+    private static boolean isSameStep(@NotNull DBCPlanNode oldNode, @NotNull DBCPlanNode newNode) {
+        return oldNode.getNodeKind() == newNode.getNodeKind() &&
+            CommonUtils.equalObjects(oldNode.getNodeType(), newNode.getNodeType()) &&
+            CommonUtils.equalObjects(oldNode.getNodeName(), newNode.getNodeName());
+    }
+
+    @Nullable
+    private static Double getCost(@Nullable DBCPlanNode node) {
+        if (node instanceof DBCPlanCostNode) {
+            Number cost = ((DBCPlanCostNode) node).getNodeCost();
+            return cost == null ? null : cost.doubleValue();
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Double getRows(@Nullable DBCPlanNode node) {
+        if (node instanceof DBCPlanCostNode) {
+            Number rows = ((DBCPlanCostNode) node).getNodeRowCount();
+            return rows == null ? null : rows.doubleValue();
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Double getDelta(@Nullable Double oldValue, @Nullable Double newValue) {
+        return oldValue == null || newValue == null ? null : newValue - oldValue;
+    }
+
+}
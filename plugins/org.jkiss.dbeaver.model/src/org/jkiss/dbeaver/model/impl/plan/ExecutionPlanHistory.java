@@ -0,0 +1,278 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import com.google.gson.*;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.utils.SecurityUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Local history of explained execution plans.
+ *
+ * Plans are keyed by data source and normalized query text (comments are removed and whitespaces are collapsed).
+ * Each key is stored in a separate file in the data source folder of workspace metadata. Files keep the last
+ * {@link ModelPreferences#PLAN_HISTORY_SIZE} plans of the query, recently used files are cached in memory.
+ * Only {@link #MAX_HISTORY_QUERIES} recently updated queries are kept over all data sources. The folder is trimmed
+ * when the number of saved queries exceeds the limit by 10% so that saving a plan doesn't scan the whole folder.
+ */
+public class ExecutionPlanHistory {
+
+    private static final Log log = Log.getLog(ExecutionPlanHistory.class);
+
+    public static final String HISTORY_FOLDER = "plan-history";
+
+    private static final String PROP_DATA_SOURCE = "data-source";
+    private static final String PROP_PLANS = "plans";
+    private static final int HISTORY_VERSION = 1;
+    private static final int MAX_CACHED_QUERIES = 100;
+    private static final int MAX_HISTORY_QUERIES = 1000;
+
+    private static final Gson gson = new GsonBuilder().create();
+
+    private static ExecutionPlanHistory instance;
+
+    private final Path historyFolder;
+    private final int maxQueries;
+    private final Map<Path, List<ExecutionPlanHistoryEntry>> cache = new LinkedHashMap<Path, List<ExecutionPlanHistoryEntry>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, List<ExecutionPlanHistoryEntry>> eldest) {
+            return size() > MAX_CACHED_QUERIES;
+        }
+    };
+    // Number of saved queries, -1 if it wasn't counted yet
+    private int historySize = -1;
+
+    /**
+     * Creates history kept in the specified folder. Workspace history is available with {@link #getInstance()}.
+     */
+    public ExecutionPlanHistory(@NotNull Path historyFolder, int maxQueries) {
+        this.historyFolder = historyFolder;
+        this.maxQueries = maxQueries;
+    }
+
+    @NotNull
+    public static synchronized ExecutionPlanHistory getInstance() {
+        if (instance == null) {
+            instance = new ExecutionPlanHistory(DBWorkbench.getPlatform().getWorkspace().getMetadataFolder().resolve(HISTORY_FOLDER), MAX_HISTORY_QUERIES);
+        }
+        return instance;
+    }
+
+    public static boolean isHistoryEnabled(@NotNull DBPDataSource dataSource) {
+        return dataSource.getContainer().getPreferenceStore().getBoolean(ModelPreferences.PLAN_HISTORY_ENABLED);
+    }
+
+    /**
+     * Saves plan in history
+     *
+     * @return new history entry
+     */
+    @NotNull
+    public synchronized ExecutionPlanHistoryEntry addPlan(@NotNull DBPDataSource dataSource, @NotNull String queryText, @NotNull DBCPlan plan) {
+        final String key = makeKey(dataSource, queryText);
+        final ExecutionPlanHistoryEntry entry = new ExecutionPlanHistoryEntry(queryText, plan);
+        final List<ExecutionPlanHistoryEntry> entries = getEntries(dataSource, key);
+        entries.add(entry);
+        final int maxSize = Math.max(dataSource.getContainer().getPreferenceStore().getInt(ModelPreferences.PLAN_HISTORY_SIZE), 1);
+        while (entries.size() > maxSize) {
+            entries.remove(0);
+        }
+        final boolean newFile = saveEntries(dataSource, key, entries);
+        if (historySize < 0 || (newFile && ++historySize > maxQueries + maxQueries / 10)) {
+            trimHistory();
+        }
+        return entry;
+    }
+
+    /**
+     * Returns saved plans of the query, the oldest plan goes first
+     */
+    @NotNull
+    public synchronized List<ExecutionPlanHistoryEntry> getPlans(@NotNull DBPDataSource dataSource, @NotNull String queryText) {
+        return new ArrayList<>(getEntries(dataSource, makeKey(dataSource, queryText)));
+    }
+
+    /**
+     * Returns plan saved before the specified one or null if it's the first plan of the query
+     */
+    @Nullable
+    public synchronized ExecutionPlanHistoryEntry getPreviousPlan(@NotNull DBPDataSource dataSource, @NotNull ExecutionPlanHistoryEntry entry) {
+        final List<ExecutionPlanHistoryEntry> entries = getEntries(dataSource, makeKey(dataSource, entry.getQueryText()));
+        final int index = entries.indexOf(entry);
+        return index > 0 ? entries.get(index - 1) : null;
+    }
+
+    public synchronized void clearPlans(@NotNull DBPDataSource dataSource, @NotNull String queryText) {
+        final Path historyFile = getHistoryFile(dataSource.getContainer().getId(), makeKey(dataSource, queryText));
+        cache.remove(historyFile);
+        historySize = -1;
+        try {
+            Files.deleteIfExists(historyFile);
+        } catch (IOException e) {
+            log.debug("Error deleting plan history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes plans of all queries of the data source. Called when data source is deleted.
+     */
+    public synchronized void clearDataSourcePlans(@NotNull String dataSourceId) {
+        final Path dataSourceFolder = getDataSourceFolder(dataSourceId);
+        cache.keySet().removeIf(file -> dataSourceFolder.equals(file.getParent()));
+        historySize = -1;
+        if (!Files.exists(dataSourceFolder)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dataSourceFolder)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(dataSourceFolder);
+        } catch (IOException e) {
+            log.debug("Error deleting plan history of data source '" + dataSourceId + "': " + e.getMessage());
+        }
+    }
+
+    @NotNull
+    private static String makeKey(@NotNull DBPDataSource dataSource, @NotNull String queryText) {
+        final String query = SQLUtils.normalizeQueryWhitespaces(SQLUtils.stripComments(dataSource.getSQLDialect(), queryText));
+        return dataSource.getContainer().getId() + ":" + query;
+    }
+
+    @NotNull
+    private Path getDataSourceFolder(@NotNull String dataSourceId) {
+        return historyFolder.resolve(SecurityUtils.makeDigest(dataSourceId));
+    }
+
+    @NotNull
+    private Path getHistoryFile(@NotNull String dataSourceId, @NotNull String key) {
+        return getDataSourceFolder(dataSourceId).resolve(SecurityUtils.makeDigest(key) + ".json");
+    }
+
+    @NotNull
+    private List<ExecutionPlanHistoryEntry> getEntries(@NotNull DBPDataSource dataSource, @NotNull String key) {
+        final Path historyFile = getHistoryFile(dataSource.getContainer().getId(), key);
+        List<ExecutionPlanHistoryEntry> entries = cache.get(historyFile);
+        if (entries == null) {
+            entries = loadEntries(historyFile);
+            cache.put(historyFile, entries);
+        }
+        return entries;
+    }
+
+    @NotNull
+    private List<ExecutionPlanHistoryEntry> loadEntries(@NotNull Path historyFile) {
+        final List<ExecutionPlanHistoryEntry> entries = new ArrayList<>();
+        if (!Files.exists(historyFile)) {
+            return entries;
+        }
+        try (Reader reader = Files.newBufferedReader(historyFile, StandardCharsets.UTF_8)) {
+            final JsonObject json = gson.fromJson(reader, JsonObject.class);
+            final JsonArray plans = json == null ? null : json.getAsJsonArray(PROP_PLANS);
+            if (plans != null) {
+                for (JsonElement plan : plans) {
+                    entries.add(new ExecutionPlanHistoryEntry(plan.getAsJsonObject()));
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Error reading plan history from '" + historyFile + "': " + e.getMessage());
+            return new ArrayList<>();
+        }
+        return entries;
+    }
+
+    /**
+     * @return true if a new history file was created
+     */
+    private boolean saveEntries(@NotNull DBPDataSource dataSource, @NotNull String key, @NotNull List<ExecutionPlanHistoryEntry> entries) {
+        final JsonObject json = new JsonObject();
+        json.addProperty(AbstractExecutionPlanSerializer.PROP_VERSION, HISTORY_VERSION);
+        json.addProperty(PROP_DATA_SOURCE, dataSource.getContainer().getId());
+        final JsonArray plans = new JsonArray();
+        for (ExecutionPlanHistoryEntry entry : entries) {
+            plans.add(entry.toJson());
+        }
+        json.add(PROP_PLANS, plans);
+
+        final Path historyFile = getHistoryFile(dataSource.getContainer().getId(), key);
+        final boolean newFile = !Files.exists(historyFile);
+        try {
+            Files.createDirectories(historyFile.getParent());
+            try (Writer writer = Files.newBufferedWriter(historyFile, StandardCharsets.UTF_8)) {
+                gson.toJson(json, writer);
+            }
+        } catch (IOException e) {
+            log.warn("Error saving plan history to '" + historyFile + "'", e);
+            return false;
+        }
+        return newFile;
+    }
+
+    /**
+     * Deletes files of least recently updated queries over the limit and forgets their cached plans
+     */
+    private void trimHistory() {
+        final List<Path> historyFiles;
+        try (Stream<Path> files = Files.walk(historyFolder, 2)) {
+            historyFiles = files.filter(file -> file.getFileName().toString().endsWith(".json")).collect(Collectors.toList());
+        } catch (IOException e) {
+            log.debug("Error reading plan history folder: " + e.getMessage());
+            return;
+        }
+        historySize = historyFiles.size();
+        if (historyFiles.size() <= maxQueries) {
+            return;
+        }
+        final Map<Path, FileTime> modifyTimes = new HashMap<>();
+        for (Path file : historyFiles) {
+            try {
+                modifyTimes.put(file, Files.getLastModifiedTime(file));
+            } catch (IOException e) {
+                modifyTimes.put(file, FileTime.fromMillis(0));
+            }
+        }
+        historyFiles.sort(Comparator.comparing(modifyTimes::get));
+        for (Path file : historyFiles.subList(0, historyFiles.size() - maxQueries)) {
+            try {
+                Files.deleteIfExists(file);
+                cache.remove(file);
+                historySize--;
+            } catch (IOException e) {
+                log.debug("Error deleting plan history file '" + file + "': " + e.getMessage());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanCostNode;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanNode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Execution plan saved in plan history.
+ * Total cost and rows estimates are calculated once and saved with the plan.
+ */
+public class ExecutionPlanHistoryEntry {
+
+    private final Date time;
+    private final String queryText;
+    private final Double totalCost;
+    private final Double totalRows;
+    private final List<ExecutionPlanHistoryNode> nodes;
+
+    public ExecutionPlanHistoryEntry(@NotNull String queryText, @NotNull DBCPlan plan) {
+        this.time = new Date();
+        this.queryText = queryText;
+        this.nodes = new ArrayList<>();
+        for (DBCPlanNode node : plan.getPlanNodes(null)) {
+            nodes.add(ExecutionPlanHistoryNode.copyOf(node));
+        }
+        this.totalCost = getTotalValue(nodes, DBCPlanCostNode::getNodeCost);
+        this.totalRows = getTotalValue(nodes, DBCPlanCostNode::getNodeRowCount);
+    }
+
+    ExecutionPlanHistoryEntry(@NotNull JsonObject json) {
+        this.time = new Date(json.get(AbstractExecutionPlanSerializer.PROP_DATE).getAsLong());
+        this.queryText = json.get(AbstractExecutionPlanSerializer.PROP_SQL).getAsString();
+        this.totalCost = getDouble(json, ExecutionPlanHistoryNode.PROP_COST);
+        this.totalRows = getDouble(json, ExecutionPlanHistoryNode.PROP_ROWS);
+        this.nodes = new ArrayList<>();
+        JsonArray nodesJson = json.getAsJsonArray(AbstractExecutionPlanSerializer.PROP_NODES);
+        if (nodesJson != null) {
+            for (JsonElement node : nodesJson) {
+                nodes.add(ExecutionPlanHistoryNode.fromJson(node.getAsJsonObject()));
+            }
+        }
+    }
+
+    @NotNull
+    JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty(AbstractExecutionPlanSerializer.PROP_DATE, time.getTime());
+        json.addProperty(AbstractExecutionPlanSerializer.PROP_SQL, queryText);
+        json.addProperty(ExecutionPlanHistoryNode.PROP_COST, totalCost);
+        json.addProperty(ExecutionPlanHistoryNode.PROP_ROWS, totalRows);
+        JsonArray nodesJson = new JsonArray();
+        for (ExecutionPlanHistoryNode node : nodes) {
+            nodesJson.add(node.toJson());
+        }
+        json.add(AbstractExecutionPlanSerializer.PROP_NODES, nodesJson);
+        return json;
+    }
+
+    @NotNull
+    public Date getTime() {
+        return time;
+    }
+
+    @NotNull
+    public String getQueryText() {
+        return queryText;
+    }
+
+    /**
+     * Estimated cost of the whole plan or null if planner doesn't provide costs
+     */
+    @Nullable
+    public Double getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Estimated number of result rows or null if planner doesn't provide rows estimates
+     */
+    @Nullable
+    public Double getTotalRows() {
+        return totalRows;
+    }
+
+    @NotNull
+    public List<ExecutionPlanHistoryNode> getPlanNodes() {
+        return nodes;
+    }
+
+    /**
+     * Root node values are cumulative (they include values of nested nodes).
+     * If node has no value then values of its nested nodes are summed.
+     */
+    @Nullable
+    private static Double getTotalValue(@NotNull Collection<? extends DBCPlanNode> nodes, @NotNull Function<DBCPlanCostNode, Number> getter) {
+        Double total = null;
+        for (DBCPlanNode node : nodes) {
+            Number value = node instanceof DBCPlanCostNode ? getter.apply((DBCPlanCostNode) node) : null;
+            Double nodeTotal = value != null ? Double.valueOf(value.doubleValue()) :
+                node.getNested() == null ? null : getTotalValue(node.getNested(), getter);
+            if (nodeTotal != null) {
+                total = total == null ? nodeTotal : total + nodeTotal;
+            }
+        }
+        return total;
+    }
+
+    @Nullable
+    private static Double getDouble(@NotNull JsonObject json, @NotNull String name) {
+        JsonElement element = json.get(name);
+        return element == null || element.isJsonNull() ? null : element.getAsDouble();
+    }
+
+}
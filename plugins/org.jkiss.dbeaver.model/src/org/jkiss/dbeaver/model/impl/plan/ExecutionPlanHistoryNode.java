@@ -0,0 +1,198 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanCostNode;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanNode;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanNodeKind;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Execution plan node copy kept in plan history.
+ * Keeps only generic node properties, so it doesn't depend on the planner which produced the original node.
+ */
+public class ExecutionPlanHistoryNode extends AbstractExecutionPlanNode implements DBCPlanCostNode {
+
+    public static final String PROP_COST = "cost";
+    public static final String PROP_ROWS = "rows";
+
+    private final ExecutionPlanHistoryNode parent;
+    private final DBCPlanNodeKind nodeKind;
+    private final String nodeName;
+    private final String nodeType;
+    private final String nodeCondition;
+    private final String nodeDescription;
+    private final Double nodeCost;
+    private final Double nodeRowCount;
+    private final List<ExecutionPlanHistoryNode> nested = new ArrayList<>();
+
+    private ExecutionPlanHistoryNode(@Nullable ExecutionPlanHistoryNode parent, @NotNull DBCPlanNode source) {
+        this.parent = parent;
+        this.nodeKind = source.getNodeKind();
+        this.nodeName = source.getNodeName();
+        this.nodeType = source.getNodeType();
+        this.nodeCondition = source.getNodeCondition();
+        this.nodeDescription = source.getNodeDescription();
+        if (source instanceof DBCPlanCostNode) {
+            this.nodeCost = toDouble(((DBCPlanCostNode) source).getNodeCost());
+            this.nodeRowCount = toDouble(((DBCPlanCostNode) source).getNodeRowCount());
+        } else {
+            this.nodeCost = null;
+            this.nodeRowCount = null;
+        }
+        Collection<? extends DBCPlanNode> sourceNested = source.getNested();
+        if (sourceNested != null) {
+            for (DBCPlanNode child : sourceNested) {
+                nested.add(new ExecutionPlanHistoryNode(this, child));
+            }
+        }
+    }
+
+    private ExecutionPlanHistoryNode(@Nullable ExecutionPlanHistoryNode parent, @NotNull JsonObject json) {
+        this.parent = parent;
+        this.nodeKind = CommonUtils.valueOf(DBCPlanNodeKind.class, getString(json, AbstractExecutionPlanSerializer.PROP_KIND), DBCPlanNodeKind.DEFAULT);
+        this.nodeName = getString(json, AbstractExecutionPlanSerializer.PROP_NAME);
+        this.nodeType = getString(json, AbstractExecutionPlanSerializer.PROP_TYPE);
+        this.nodeCondition = getString(json, AbstractExecutionPlanSerializer.PROP_COND);
+        this.nodeDescription = getString(json, AbstractExecutionPlanSerializer.PROP_DESC);
+        this.nodeCost = getDouble(json, PROP_COST);
+        this.nodeRowCount = getDouble(json, PROP_ROWS);
+        JsonArray children = json.getAsJsonArray(AbstractExecutionPlanSerializer.PROP_CHILD);
+        if (children != null) {
+            for (JsonElement child : children) {
+                nested.add(new ExecutionPlanHistoryNode(this, child.getAsJsonObject()));
+            }
+        }
+    }
+
+    @NotNull
+    static ExecutionPlanHistoryNode copyOf(@NotNull DBCPlanNode source) {
+        return new ExecutionPlanHistoryNode(null, source);
+    }
+
+    @NotNull
+    static ExecutionPlanHistoryNode fromJson(@NotNull JsonObject json) {
+        return new ExecutionPlanHistoryNode(null, json);
+    }
+
+    @NotNull
+    JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty(AbstractExecutionPlanSerializer.PROP_KIND, nodeKind == null ? null : nodeKind.name());
+        json.addProperty(AbstractExecutionPlanSerializer.PROP_NAME, nodeName);
+        json.addProperty(AbstractExecutionPlanSerializer.PROP_TYPE, nodeType);
+        json.addProperty(AbstractExecutionPlanSerializer.PROP_COND, nodeCondition);
+        json.addProperty(AbstractExecutionPlanSerializer.PROP_DESC, nodeDescription);
+        json.addProperty(PROP_COST, nodeCost);
+        json.addProperty(PROP_ROWS, nodeRowCount);
+        if (!nested.isEmpty()) {
+            JsonArray children = new JsonArray();
+            for (ExecutionPlanHistoryNode child : nested) {
+                children.add(child.toJson());
+            }
+            json.add(AbstractExecutionPlanSerializer.PROP_CHILD, children);
+        }
+        return json;
+    }
+
+    @Override
+    public DBCPlanNodeKind getNodeKind() {
+        return nodeKind == null ? DBCPlanNodeKind.DEFAULT : nodeKind;
+    }
+
+    @Override
+    public String getNodeName() {
+        return nodeName;
+    }
+
+    @Override
+    public String getNodeType() {
+        return nodeType;
+    }
+
+    @Override
+    public String getNodeCondition() {
+        return nodeCondition;
+    }
+
+    @Override
+    public String getNodeDescription() {
+        return nodeDescription;
+    }
+
+    @Override
+    public ExecutionPlanHistoryNode getParent() {
+        return parent;
+    }
+
+    @Override
+    public List<ExecutionPlanHistoryNode> getNested() {
+        return nested;
+    }
+
+    @Override
+    public Double getNodeCost() {
+        return nodeCost;
+    }
+
+    @Override
+    public Number getNodePercent() {
+        return null;
+    }
+
+    @Override
+    public Number getNodeDuration() {
+        return null;
+    }
+
+    @Override
+    public Double getNodeRowCount() {
+        return nodeRowCount;
+    }
+
+    @Override
+    public String toString() {
+        return CommonUtils.notEmpty(nodeType) + (CommonUtils.isEmpty(nodeName) ? "" : " " + nodeName);
+    }
+
+    @Nullable
+    private static Double toDouble(@Nullable Number value) {
+        return value == null ? null : value.doubleValue();
+    }
+
+    @Nullable
+    private static String getString(@NotNull JsonObject json, @NotNull String name) {
+        JsonElement element = json.get(name);
+        return element == null || element.isJsonNull() ? null : element.getAsString();
+    }
+
+    @Nullable
+    private static Double getDouble(@NotNull JsonObject json, @NotNull String name) {
+        JsonElement element = json.get(name);
+        return element == null || element.isJsonNull() ? null : element.getAsDouble();
+    }
+
+}
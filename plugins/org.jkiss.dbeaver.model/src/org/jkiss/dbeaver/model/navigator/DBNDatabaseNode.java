@@ -618,9 +618,21 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
             return false;
         }
 
-        List<DBNDatabaseNode> oldList = new LinkedList<>();
+        // Index old children by object key. Linear search in the old children list makes refresh
+        // of containers with many thousands of children quadratic.
+        final Map<String, List<DBNDatabaseNode>> oldChildren = new LinkedHashMap<>();
         if (oldListCmp != null) {
-            Collections.addAll(oldList, oldListCmp);
+            for (DBNDatabaseNode oldChild : oldListCmp) {
+                if (oldChild.getMeta() != meta) {
+                    continue;
+                }
+                if (oldChild.getObject() == null) {
+                    // Can't be matched with any new object
+                    oldChild.dispose(true);
+                } else {
+                    oldChildren.computeIfAbsent(makeObjectKey(oldChild.getObject()), k -> new ArrayList<>(1)).add(oldChild);
+                }
+            }
         }
         for (Object childItem : itemList) {
             if (childItem == null) {
@@ -652,58 +664,62 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
                 continue;
             }
             DBSObject object = (DBSObject) childItem;
-            boolean added = false;
-            if (!oldList.isEmpty()) {
-                // Check that new object is a replacement of old one
-                for (Iterator<DBNDatabaseNode> iterator = oldList.iterator(); iterator.hasNext(); ) {
-                    DBNDatabaseNode oldChild = iterator.next();
-                    if (oldChild.getMeta() == meta && equalObjects(oldChild.getObject(), object)) {
-                        boolean updated = oldChild.reloadObject(monitor, object);
-
-                        if (oldChild.hasChildren(false) && !oldChild.needsInitialization()) {
-                            // Refresh children recursive
-                            oldChild.reloadChildren(monitor, source, reflect);
-                        }
-                        if (updated && reflect) {
-                            // FIXME: do not update all refreshed items in (it is too expensive)
-                            //getModel().fireNodeUpdate(source, oldChild, DBNEvent.NodeChange.REFRESH);
-                        }
-
-                        toList.add(oldChild);
-                        added = true;
-                        iterator.remove();
-                        break;
-                    }
+            // Check that new object is a replacement of old one
+            DBNDatabaseNode oldChild = oldChildren.isEmpty() ? null : takeOldChild(oldChildren, object);
+            if (oldChild != null) {
+                boolean updated = oldChild.reloadObject(monitor, object);
+
+                if (oldChild.hasChildren(false) && !oldChild.needsInitialization()) {
+                    // Refresh children recursive
+                    oldChild.reloadChildren(monitor, source, reflect);
                 }
-            }
-            if (!added) {
+                if (updated && reflect) {
+                    // FIXME: do not update all refreshed items in (it is too expensive)
+                    //getModel().fireNodeUpdate(source, oldChild, DBNEvent.NodeChange.REFRESH);
+                }
+
+                toList.add(oldChild);
+            } else {
                 // Simply add new item
-                DBNDatabaseItem treeItem = new DBNDatabaseItem(this, meta, object, oldList != null);
+                DBNDatabaseItem treeItem = new DBNDatabaseItem(this, meta, object, oldListCmp != null);
                 toList.add(treeItem);
             }
         }
 
-        {
-            // Now remove all non-existing items
-            for (DBNDatabaseNode oldChild : oldList) {
-                if (oldChild.getMeta() != meta) {
-                    // Wrong type
-                    continue;
-                }
-                boolean found = false;
-                for (Object childItem : itemList) {
-                    if (childItem instanceof DBSObject && equalObjects(oldChild.getObject(), (DBSObject) childItem)) {
-                        found = true;
-                        break;
+        // Now remove all old items which were not reused: removed, filtered or hidden objects
+        for (List<DBNDatabaseNode> notReused : oldChildren.values()) {
+            for (DBNDatabaseNode oldChild : notReused) {
+                oldChild.dispose(true);
+            }
+        }
+        return true;
+    }
+
+    @Nullable
+    private static DBNDatabaseNode takeOldChild(@NotNull Map<String, List<DBNDatabaseNode>> oldChildren, @NotNull DBSObject object) {
+        final String key = makeObjectKey(object);
+        final List<DBNDatabaseNode> candidates = oldChildren.get(key);
+        if (candidates != null) {
+            for (Iterator<DBNDatabaseNode> iterator = candidates.iterator(); iterator.hasNext(); ) {
+                DBNDatabaseNode oldChild = iterator.next();
+                if (equalObjects(oldChild.getObject(), object)) {
+                    iterator.remove();
+                    if (candidates.isEmpty()) {
+                        oldChildren.remove(key);
                     }
-                }
-                if (!found) {
-                    // Remove old child object
-                    oldChild.dispose(true);
+                    return oldChild;
                 }
             }
         }
-        return true;
+        return null;
+    }
+
+    /**
+     * Key is consistent with {@link #equalObjects(DBSObject, DBSObject)}: equal objects have equal keys.
+     */
+    @NotNull
+    private static String makeObjectKey(@NotNull DBSObject object) {
+        return object.getClass().getName() + ":" + DBUtils.getObjectUniqueName(object);
     }
 
     @Nullable
@@ -43,9 +43,10 @@ import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -60,6 +61,8 @@ import java.util.function.Function;
 public class DBNModel implements IResourceChangeListener {
     private static final Log log = Log.getLog(DBNModel.class);
 
+    private static final int MAX_PATH_CACHE_SIZE = 10000;
+
     private static class NodePath {
         DBNNode.NodePathType type;
         List<String> pathItems;
@@ -80,7 +83,13 @@ public class DBNModel implements IResourceChangeListener {
     private final List<INavigatorListener> listeners = new ArrayList<>();
     private transient INavigatorListener[] listenersCopy = null;
     private final transient List<DBNEvent> eventCache = new ArrayList<>();
-    private final Map<DBSObject, Object> nodeMap = new HashMap<>();
+    // Object -> node or DBNDatabaseNode[] (if there are several nodes for the same object).
+    // Node arrays are never modified, they are replaced by new arrays.
+    private final Map<DBSObject, Object> nodeMap = new ConcurrentHashMap<>();
+    // Start node path + node path -> resolved node
+    private final Map<String, DBNNode> pathCache = new ConcurrentHashMap<>();
+    // Resolved node -> its path cache keys. Keys are evicted when node is removed (disposed or data source disconnected)
+    private final Map<DBNNode, Set<String>> pathCacheKeys = new ConcurrentHashMap<>();
     private final List<Function<DBNNode, Boolean>> nodeFilters = new ArrayList<>();
 
     /**
@@ -130,9 +139,9 @@ public class DBNModel implements IResourceChangeListener {
 
         if (root != null) {
             this.root.dispose(false);
-            synchronized (nodeMap) {
-                this.nodeMap.clear();
-            }
+            this.nodeMap.clear();
+            this.pathCache.clear();
+            this.pathCacheKeys.clear();
             this.root = null;
         }
         synchronized (this.listeners) {
@@ -168,30 +177,24 @@ public class DBNModel implements IResourceChangeListener {
             return (DBNDatabaseNode)object;
         }
         object = DBUtils.getPublicObjectContainer(object);
-
-        Object obj;
-        synchronized (nodeMap) {
-            obj = nodeMap.get(object);
+        if (object == null) {
+            return null;
         }
+
+        final Object obj = nodeMap.get(object);
         if (obj == null) {
             return null;
         } else if (obj instanceof DBNDatabaseNode) {
             return (DBNDatabaseNode)obj;
-        } else if (obj instanceof List) {
-            @SuppressWarnings("unchecked")
-            List<DBNDatabaseNode> nodeList = (List<DBNDatabaseNode>) obj;
-            if (nodeList.isEmpty()) {
-                return null;
-            }
-            if (nodeList.size() > 1) {
-                for (DBNDatabaseNode node : nodeList) {
-                    if (node instanceof DBNDatabaseItem && !((DBNDatabaseItem)node).getMeta().isVirtual()) {
-                        return node;
-                    }
+        } else if (obj instanceof DBNDatabaseNode[]) {
+            DBNDatabaseNode[] nodeList = (DBNDatabaseNode[]) obj;
+            for (DBNDatabaseNode node : nodeList) {
+                if (node instanceof DBNDatabaseItem && !((DBNDatabaseItem)node).getMeta().isVirtual()) {
+                    return node;
                 }
             }
             // Get just first one
-            return nodeList.get(0);
+            return nodeList[0];
         } else {
             // Never be here
            throw new IllegalStateException();
@@ -282,7 +285,7 @@ public class DBNModel implements IResourceChangeListener {
                 }
                 DBNDataSource curNode = projectNode.getDatabases().getDataSource(nodePath.first());
                 if (curNode != null) {
-                    return findNodeByPath(monitor, nodePath, curNode, 1);
+                    return resolveNodePath(monitor, nodePath, curNode, 1);
                 }
             }
             if (hasLazyProjects) {
@@ -291,7 +294,7 @@ public class DBNModel implements IResourceChangeListener {
                     if (!projectNode.getProject().isRegistryLoaded()) {
                         DBNDataSource curNode = projectNode.getDatabases().getDataSource(nodePath.first());
                         if (curNode != null) {
-                            return findNodeByPath(monitor, nodePath, curNode, 1);
+                            return resolveNodePath(monitor, nodePath, curNode, 1);
                         }
                     }
                 }
@@ -304,15 +307,15 @@ public class DBNModel implements IResourceChangeListener {
             if (projects.length > 1) {
                 throw new DBException("Multi-project workspace. Extension nodes not supported");
             }
-            return findNodeByPath(monitor, nodePath,
+            return resolveNodePath(monitor, nodePath,
                 projects[0], 0);
         } else if (nodePath.type == DBNNode.NodePathType.other) {
-            return findNodeByPath(monitor, nodePath,
+            return resolveNodePath(monitor, nodePath,
                 root, 0);
         } else {
             for (DBNProject projectNode : getRoot().getProjects()) {
                 if (projectNode.getName().equals(nodePath.first())) {
-                    return findNodeByPath(monitor, nodePath,
+                    return resolveNodePath(monitor, nodePath,
                         nodePath.type == DBNNode.NodePathType.folder ? projectNode.getDatabases() : projectNode, 1);
                 }
             }
@@ -344,7 +347,7 @@ public class DBNModel implements IResourceChangeListener {
         if (curNode == null) {
             return null;
         }
-        return findNodeByPath(monitor, nodePath, curNode, 1);
+        return resolveNodePath(monitor, nodePath, curNode, 1);
     }
 
     public DBNResource getNodeByResource(IResource resource) {
@@ -370,6 +373,82 @@ public class DBNModel implements IResourceChangeListener {
         return curResNode;
     }
 
+    /**
+     * Resolves node path starting from the specified node. Resolved nodes are cached.
+     * Cached node is validated by walking its parents, so lookup costs O(depth) instead of reading all children on each level.
+     */
+    private DBNNode resolveNodePath(DBRProgressMonitor monitor, NodePath nodePath, DBNNode startNode, int firstItem) throws DBException {
+        if (firstItem >= nodePath.pathItems.size()) {
+            return startNode;
+        }
+        final String cacheKey = startNode.getNodeItemPath() + "|" + nodePath.type + "|" +
+            String.join("/", nodePath.pathItems.subList(firstItem, nodePath.pathItems.size()));
+        final DBNNode cachedNode = pathCache.get(cacheKey);
+        if (cachedNode != null) {
+            if (isNodeMatchesPath(nodePath, startNode, firstItem, cachedNode)) {
+                return cachedNode;
+            }
+            evictNodePath(cacheKey, cachedNode);
+        }
+        final DBNNode node = findNodeByPath(monitor, nodePath, startNode, firstItem);
+        if (node != null) {
+            if (pathCache.size() >= MAX_PATH_CACHE_SIZE) {
+                pathCache.clear();
+                pathCacheKeys.clear();
+            }
+            pathCache.put(cacheKey, node);
+            pathCacheKeys.computeIfAbsent(node, n -> ConcurrentHashMap.newKeySet()).add(cacheKey);
+        }
+        return node;
+    }
+
+    private void evictNodePath(String cacheKey, DBNNode node) {
+        pathCache.remove(cacheKey, node);
+        Set<String> keys = pathCacheKeys.get(node);
+        if (keys != null) {
+            keys.remove(cacheKey);
+        }
+    }
+
+    private void evictNodePaths(DBNNode node) {
+        Set<String> keys = pathCacheKeys.remove(node);
+        if (keys != null) {
+            for (String key : keys) {
+                pathCache.remove(key, node);
+            }
+        }
+    }
+
+    private static boolean isNodeMatchesPath(NodePath nodePath, DBNNode startNode, int firstItem, DBNNode node) {
+        DBNNode curNode = node;
+        for (int i = nodePath.pathItems.size() - 1; i >= firstItem; i--) {
+            if (curNode == null || curNode.isDisposed() || !isPathItemMatches(nodePath.type, curNode, nodePath.pathItems.get(i))) {
+                return false;
+            }
+            curNode = curNode.getParentNode();
+        }
+        return curNode == startNode;
+    }
+
+    private static boolean isPathItemMatches(DBNNode.NodePathType pathType, DBNNode child, String item) {
+        if (pathType == DBNNode.NodePathType.resource) {
+            return child instanceof DBNResource && ((DBNResource) child).getResource().getName().equals(item);
+        } else if (pathType == DBNNode.NodePathType.folder) {
+            return child instanceof DBNLocalFolder && child.getName().equals(item);
+        } else {
+            if (child instanceof DBNDatabaseFolder) {
+                DBXTreeFolder meta = ((DBNDatabaseFolder) child).getMeta();
+                if (meta != null) {
+                    String idOrType = meta.getIdOrType();
+                    if (!CommonUtils.isEmpty(idOrType) && idOrType.equals(item)) {
+                        return true;
+                    }
+                }
+            }
+            return child.getNodeName().equals(item);
+        }
+    }
+
     private DBNNode findNodeByPath(DBRProgressMonitor monitor, NodePath nodePath, DBNNode curNode, int firstItem) throws DBException {
         for (int i = firstItem, itemsSize = nodePath.pathItems.size(); i < itemsSize; i++) {
             String item = nodePath.pathItems.get(i);
@@ -377,27 +456,8 @@ public class DBNModel implements IResourceChangeListener {
             DBNNode nextChild = null;
             if (children != null && children.length > 0) {
                 for (DBNNode child : children) {
-                    if (nodePath.type == DBNNode.NodePathType.resource) {
-                        if (child instanceof DBNResource && ((DBNResource) child).getResource().getName().equals(item)) {
-                            nextChild = child;
-                        }
-                    } else if (nodePath.type == DBNNode.NodePathType.folder) {
-                        if (child instanceof DBNLocalFolder && child.getName().equals(item)) {
-                            nextChild = child;
-                        }
-                    } else {
-                        if (child instanceof DBNDatabaseFolder) {
-                            DBXTreeFolder meta = ((DBNDatabaseFolder) child).getMeta();
-                            if (meta != null) {
-                                String idOrType = meta.getIdOrType();
-                                if (!CommonUtils.isEmpty(idOrType) && idOrType.equals(item)) {
-                                    nextChild = child;
-                                }
-                            }
-                        }
-                        if (child.getNodeName().equals(item)) {
-                            nextChild = child;
-                        }
+                    if (isPathItemMatches(nodePath.type, child, item)) {
+                        nextChild = child;
                     }
                     if (nextChild != null) {
                         if (i < itemsSize - 1) {
@@ -499,24 +559,23 @@ public class DBNModel implements IResourceChangeListener {
 
     void addNode(DBNDatabaseNode node, boolean reflect)
     {
-        synchronized (nodeMap) {
-            Object obj = nodeMap.get(node.getObject());
+        final DBSObject object = node.getObject();
+        if (object == null) {
+            log.warn("Register navigator node without object: " + node.getNodeName());
+            return;
+        }
+        nodeMap.compute(object, (key, obj) -> {
             if (obj == null) {
                 // New node
-                nodeMap.put(node.getObject(), node);
-            } else if (obj instanceof DBNNode) {
+                return node;
+            } else if (obj instanceof DBNDatabaseNode) {
                 // Second node - make a list
-                List<DBNNode> nodeList = new ArrayList<>(2);
-                nodeList.add((DBNNode)obj);
-                nodeList.add(node);
-                nodeMap.put(node.getObject(), nodeList);
-            } else if (obj instanceof List) {
+                return new DBNDatabaseNode[] { (DBNDatabaseNode) obj, node };
+            } else {
                 // Multiple nodes
-                @SuppressWarnings("unchecked")
-                List<DBNNode> nodeList = (List<DBNNode>) obj;
-                nodeList.add(node);
+                return ArrayUtils.add(DBNDatabaseNode.class, (DBNDatabaseNode[]) obj, node);
             }
-        }
+        });
         if (reflect) {
             this.fireNodeEvent(new DBNEvent(this, DBNEvent.Action.ADD, DBNEvent.NodeChange.LOAD, node));
         }
@@ -524,30 +583,29 @@ public class DBNModel implements IResourceChangeListener {
 
     void removeNode(DBNDatabaseNode node, boolean reflect)
     {
-        boolean badNode = false;
-        synchronized (nodeMap) {
-            Object obj = nodeMap.get(node.getObject());
-            if (obj == null) {
-                // No found
-                badNode = true;
-            } else if (obj instanceof DBNNode) {
-                // Just remove it
-                if (nodeMap.remove(node.getObject()) != node) {
-                    badNode = true;
-                }
-            } else if (obj instanceof List) {
-                // Multiple nodes
-                @SuppressWarnings("unchecked")
-                List<DBNNode> nodeList = (List<DBNNode>) obj;
-                if (!nodeList.remove(node)) {
-                    badNode = true;
-                }
-                if (nodeList.isEmpty()) {
-                    nodeMap.remove(node.getObject());
+        final DBSObject object = node.getObject();
+        final boolean[] removed = new boolean[1];
+        if (object != null) {
+            nodeMap.computeIfPresent(object, (key, obj) -> {
+                if (obj == node) {
+                    // Just remove it
+                    removed[0] = true;
+                    return null;
+                } else if (obj instanceof DBNDatabaseNode[]) {
+                    // Multiple nodes
+                    DBNDatabaseNode[] nodeList = (DBNDatabaseNode[]) obj;
+                    if (!ArrayUtils.contains(nodeList, node)) {
+                        return obj;
+                    }
+                    removed[0] = true;
+                    DBNDatabaseNode[] newList = ArrayUtils.remove(DBNDatabaseNode.class, nodeList, node);
+                    return newList.length == 1 ? newList[0] : newList;
                 }
-            }
+                return obj;
+            });
         }
-        if (badNode) {
+        evictNodePaths(node);
+        if (!removed[0]) {
             log.warn("Remove unregistered meta node object " + node.getNodeName());
         } else {
             if (reflect) {
@@ -0,0 +1,348 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.navigator;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.impl.struct.DirectObjectReference;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.WorkerProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Search of objects in many data sources at once.
+ *
+ * Each data source is searched in a pool thread, the number of concurrently searched data sources is limited.
+ * Objects of each type are looked up in the loaded navigator nodes first. If all nodes which may contain objects
+ * of this type are loaded then database is not queried at all, otherwise structure assistant is used.
+ * Found objects are passed to the listener as soon as they are read. Search of each data source is limited by timeout.
+ */
+public class DBNStructureSearch {
+
+    private static final Log log = Log.getLog(DBNStructureSearch.class);
+
+    public static final int DEFAULT_MAX_PARALLEL_SOURCES = 8;
+    public static final long DEFAULT_SOURCE_TIMEOUT = 60000;
+
+    public interface SearchListener {
+
+        /**
+         * Called from search threads each time new objects were found.
+         * Monitor of the data source search should be used to resolve objects, it is canceled on search timeout.
+         */
+        void objectsFound(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSource dataSource, @NotNull List<DBSObjectReference> objects);
+
+        /**
+         * Called from search threads when data source search is finished
+         */
+        void sourceFinished(@NotNull DBPDataSource dataSource, @Nullable Throwable error);
+    }
+
+    private final DBSStructureAssistant.ObjectsSearchParams params;
+    private final SearchListener listener;
+    private final Map<DBPDataSource, DBSObject> sources = new LinkedHashMap<>();
+    private int maxParallelSources = DEFAULT_MAX_PARALLEL_SOURCES;
+    private long sourceTimeout = DEFAULT_SOURCE_TIMEOUT;
+
+    /**
+     * @param params search parameters. Object types are matched by name with types of each data source,
+     *               parent object is ignored (it is specified per data source)
+     */
+    public DBNStructureSearch(@NotNull DBSStructureAssistant.ObjectsSearchParams params, @NotNull SearchListener listener) {
+        this.params = params;
+        this.listener = listener;
+    }
+
+    public void addDataSource(@NotNull DBPDataSource dataSource, @Nullable DBSObject parentObject) {
+        sources.put(dataSource, parentObject);
+    }
+
+    public void setMaxParallelSources(int maxParallelSources) {
+        this.maxParallelSources = Math.max(maxParallelSources, 1);
+    }
+
+    public void setSourceTimeout(long sourceTimeout) {
+        this.sourceTimeout = sourceTimeout;
+    }
+
+    /**
+     * Searches all data sources. Returns after all data sources finished (or timed out).
+     *
+     * @return total number of found objects
+     */
+    public int run(@NotNull DBRProgressMonitor monitor) {
+        monitor.beginTask("Search for '" + params.getMask() + "'", sources.size());
+        final int[] totalObjects = {0};
+        final SearchListener countingListener = new SearchListener() {
+            @Override
+            public void objectsFound(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSource dataSource, @NotNull List<DBSObjectReference> objects) {
+                synchronized (totalObjects) {
+                    totalObjects[0] += objects.size();
+                }
+                listener.objectsFound(monitor, dataSource, objects);
+            }
+
+            @Override
+            public void sourceFinished(@NotNull DBPDataSource dataSource, @Nullable Throwable error) {
+                monitor.worked(1);
+                listener.sourceFinished(dataSource, error);
+            }
+        };
+        // Sources are searched in pool threads even if there is only one source. Thus the search may be abandoned on timeout
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(maxParallelSources, sources.size())), runnable -> {
+            Thread thread = new Thread(runnable, "Metadata search");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<SourceSearch> searches = new ArrayList<>();
+            final List<Future<?>> futures = new ArrayList<>();
+            for (Map.Entry<DBPDataSource, DBSObject> source : sources.entrySet()) {
+                SourceSearch search = new SourceSearch(monitor, source.getKey(), source.getValue(), countingListener);
+                searches.add(search);
+                futures.add(executor.submit(search));
+            }
+            for (;;) {
+                boolean finished = true;
+                for (int i = 0; i < futures.size(); i++) {
+                    SourceSearch search = searches.get(i);
+                    if (futures.get(i).isDone() || search.isFinished()) {
+                        continue;
+                    }
+                    if (search.checkTimeout()) {
+                        // Do not wait for the abandoned search. It may be blocked by the network for a long time
+                        continue;
+                    }
+                    finished = false;
+                }
+                if (finished) {
+                    break;
+                }
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            monitor.done();
+        }
+        return totalObjects[0];
+    }
+
+    /**
+     * Match rank of the object name. Exact matches go first, then names starting with the mask, then other names.
+     */
+    public static int getMatchRank(@NotNull String name, @NotNull String mask) {
+        String plainMask = mask.replace("%", "").replace("*", "");
+        if (name.equalsIgnoreCase(plainMask)) {
+            return 0;
+        } else if (name.regionMatches(true, 0, plainMask, 0, plainMask.length())) {
+            return 1;
+        }
+        return 2;
+    }
+
+    private class SourceSearch implements Runnable {
+        private final DBPDataSource dataSource;
+        private final DBSObject parentObject;
+        private final SearchListener sourceListener;
+        private final WorkerProgressMonitor workerMonitor;
+        private final Set<String> foundObjects = new HashSet<>();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile long startTime;
+
+        SourceSearch(DBRProgressMonitor monitor, DBPDataSource dataSource, DBSObject parentObject, SearchListener sourceListener) {
+            this.dataSource = dataSource;
+            this.parentObject = parentObject;
+            this.sourceListener = sourceListener;
+            this.workerMonitor = new WorkerProgressMonitor(monitor);
+        }
+
+        @Override
+        public void run() {
+            workerMonitor.setWorkerThread();
+            startTime = System.currentTimeMillis();
+            Throwable error = null;
+            try {
+                searchObjects();
+            } catch (Throwable e) {
+                error = e;
+            }
+            finish(error);
+        }
+
+        boolean isFinished() {
+            return finished.get();
+        }
+
+        private void finish(@Nullable Throwable error) {
+            if (finished.compareAndSet(false, true)) {
+                sourceListener.sourceFinished(dataSource, error);
+            }
+        }
+
+        /**
+         * Cancels search if it is timed out or the whole search was canceled. Returns true if search was canceled.
+         */
+        boolean checkTimeout() {
+            boolean expired = startTime > 0 && System.currentTimeMillis() - startTime > sourceTimeout;
+            if (!expired && !workerMonitor.isCanceled()) {
+                return false;
+            }
+            if (expired && !workerMonitor.isCanceled()) {
+                finish(new DBException("Search in '" + dataSource.getContainer().getName() + "' timed out"));
+            } else {
+                finish(null);
+            }
+            workerMonitor.cancel();
+            return true;
+        }
+
+        private void searchObjects() throws DBException {
+            DBSStructureAssistant<?> assistant = DBUtils.getAdapter(DBSStructureAssistant.class, dataSource);
+            if (assistant == null) {
+                return;
+            }
+            DBCExecutionContext executionContext = DBUtils.getDefaultContext(parentObject != null ? parentObject : dataSource, true);
+            if (executionContext == null) {
+                return;
+            }
+            for (DBSObjectType objectType : getObjectTypes(assistant)) {
+                if (workerMonitor.isCanceled()) {
+                    break;
+                }
+                workerMonitor.subTask("Search " + objectType.getTypeName() + " in " + dataSource.getContainer().getName());
+                boolean searchInText = (params.isSearchInComments() && assistant.supportsSearchInCommentsFor(objectType)) ||
+                    (params.isSearchInDefinitions() && assistant.supportsSearchInDefinitionsFor(objectType));
+                if (!searchInText) {
+                    List<DBSObjectReference> cachedObjects = new ArrayList<>();
+                    boolean complete = findLoadedObjects(objectType, cachedObjects);
+                    publishObjects(cachedObjects);
+                    if (complete) {
+                        continue;
+                    }
+                }
+                DBSStructureAssistant.ObjectsSearchParams typeParams = new DBSStructureAssistant.ObjectsSearchParams(
+                    new DBSObjectType[] { objectType },
+                    params.getMask());
+                typeParams.setParentObject(parentObject);
+                typeParams.setCaseSensitive(params.isCaseSensitive());
+                typeParams.setMaxResults(params.getMaxResults());
+                typeParams.setSearchInComments(params.isSearchInComments() && assistant.supportsSearchInCommentsFor(objectType));
+                typeParams.setSearchInDefinitions(params.isSearchInDefinitions() && assistant.supportsSearchInDefinitionsFor(objectType));
+                typeParams.setGlobalSearch(params.isGlobalSearch());
+                publishObjects(((DBSStructureAssistant) assistant).findObjectsByMask(workerMonitor, executionContext, typeParams));
+            }
+        }
+
+        private List<DBSObjectType> getObjectTypes(DBSStructureAssistant<?> assistant) {
+            List<DBSObjectType> result = new ArrayList<>();
+            for (DBSObjectType searchType : params.getObjectTypes()) {
+                for (DBSObjectType type : assistant.getSupportedObjectTypes()) {
+                    if (type.getTypeName().equals(searchType.getTypeName())) {
+                        result.add(type);
+                        break;
+                    }
+                }
+            }
+            return result;
+        }
+
+        private void publishObjects(List<DBSObjectReference> objects) {
+            List<DBSObjectReference> newObjects = new ArrayList<>(objects.size());
+            for (DBSObjectReference object : objects) {
+                String key = object.getObjectType().getTypeName() + ":" + object.getFullyQualifiedName(DBPEvaluationContext.UI);
+                if (foundObjects.add(key)) {
+                    newObjects.add(object);
+                }
+            }
+            if (!newObjects.isEmpty() && !finished.get()) {
+                sourceListener.objectsFound(workerMonitor, dataSource, newObjects);
+            }
+        }
+
+        /**
+         * Finds objects in already loaded navigator nodes.
+         * Returns true if all nodes which may contain objects of this type are loaded.
+         */
+        private boolean findLoadedObjects(DBSObjectType objectType, List<DBSObjectReference> result) {
+            Class<? extends DBSObject> typeClass = objectType.getTypeClass();
+            if (typeClass == null || !dataSource.getContainer().getNavigatorSettings().isShowSystemObjects()) {
+                // Navigator may hide some objects
+                return false;
+            }
+            DBNModel navigatorModel = dataSource.getContainer().getPlatform().getNavigatorModel();
+            DBNDatabaseNode rootNode = navigatorModel.getNodeByObject(parentObject != null ? parentObject : dataSource.getContainer());
+            if (rootNode == null) {
+                return false;
+            }
+            Pattern namePattern = Pattern.compile(
+                SQLUtils.makeLikePattern(params.getMask()),
+                params.isCaseSensitive() ? 0 : Pattern.CASE_INSENSITIVE);
+            return findLoadedObjects(rootNode, objectType, typeClass, namePattern, result);
+        }
+
+        private boolean findLoadedObjects(DBNDatabaseNode node, DBSObjectType objectType, Class<? extends DBSObject> typeClass, Pattern namePattern, List<DBSObjectReference> result) {
+            if (node.isFiltered()) {
+                return false;
+            }
+            DBNDatabaseNode[] children = node.getChildNodes();
+            if (children == null) {
+                return !node.hasChildren(false);
+            }
+            boolean complete = true;
+            for (DBNDatabaseNode child : children) {
+                if (result.size() >= params.getMaxResults()) {
+                    break;
+                }
+                DBSObject object = child.getObject();
+                if (child instanceof DBNDatabaseFolder) {
+                    Class<? extends DBSObject> childrenClass = ((DBNDatabaseFolder) child).getChildrenClass();
+                    if (childrenClass != null && !typeClass.isAssignableFrom(childrenClass) && !childrenClass.isAssignableFrom(typeClass) &&
+                        !DBSObjectContainer.class.isAssignableFrom(childrenClass))
+                    {
+                        // Folder of objects of other type
+                        continue;
+                    }
+                    complete &= findLoadedObjects(child, objectType, typeClass, namePattern, result);
+                } else if (typeClass.isInstance(object)) {
+                    if (namePattern.matcher(object.getName()).matches()) {
+                        result.add(new DirectObjectReference(object.getParentObject(), objectType, object));
+                    }
+                } else if (object instanceof DBSObjectContainer) {
+                    complete &= findLoadedObjects(child, objectType, typeClass, namePattern, result);
+                }
+            }
+            return complete;
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.runtime;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Monitor of a background worker thread.
+ *
+ * Follows cancel of the parent monitor and tracks active blocks (e.g. statements) of the worker,
+ * so they can be canceled from another thread with {@link #cancel()}.
+ */
+public class WorkerProgressMonitor extends VoidProgressMonitor {
+
+    private static final Log log = Log.getLog(WorkerProgressMonitor.class);
+
+    private final DBRProgressMonitor parent;
+    private final List<DBRBlockingObject> blocks = new CopyOnWriteArrayList<>();
+    private volatile Thread workerThread;
+    private volatile boolean canceled;
+
+    /**
+     * Creates monitor of the current thread
+     */
+    public WorkerProgressMonitor(@NotNull DBRProgressMonitor parent) {
+        this.parent = parent;
+        this.workerThread = Thread.currentThread();
+    }
+
+    /**
+     * Binds monitor to the current thread. Used if monitor is created before the worker starts.
+     */
+    public void setWorkerThread() {
+        this.workerThread = Thread.currentThread();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled || parent.isCanceled();
+    }
+
+    /**
+     * Marks monitor canceled and cancels all active blocks of the worker
+     */
+    public void cancel() {
+        canceled = true;
+        for (DBRBlockingObject block : blocks) {
+            try {
+                BlockCanceler.cancelBlock(this, block, workerThread);
+            } catch (DBException e) {
+                log.debug("Error canceling worker operation: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void startBlock(DBRBlockingObject object, String taskName) {
+        blocks.add(object);
+    }
+
+    @Override
+    public void endBlock() {
+        if (!blocks.isEmpty()) {
+            blocks.remove(blocks.size() - 1);
+        }
+    }
+
+    @Override
+    public List<DBRBlockingObject> getActiveBlocks() {
+        return new ArrayList<>(blocks);
+    }
+
+}
@@ -254,6 +254,43 @@ public class SQLQuery implements SQLScriptElement {
         return false;
     }
 
+    /**
+     * Read-only select is a SELECT statement (or a set operation over SELECT statements)
+     * without INTO and FOR UPDATE clauses. All common table expressions must be read-only selects too.
+     * Statements which can't be parsed are never read-only.
+     *
+     * @return true is this query doesn't modify data or lock rows
+     */
+    public boolean isReadOnlySelect() {
+        parseQuery();
+        if (!(statement instanceof Select)) {
+            return false;
+        }
+        Select select = (Select) statement;
+        if (!CommonUtils.isEmpty(select.getWithItemsList())) {
+            for (WithItem withItem : select.getWithItemsList()) {
+                if (withItem.getSubSelect() == null || !isReadOnlySelectBody(withItem.getSubSelect().getSelectBody())) {
+                    return false;
+                }
+            }
+        }
+        return isReadOnlySelectBody(select.getSelectBody());
+    }
+
+    private static boolean isReadOnlySelectBody(SelectBody selectBody) {
+        if (selectBody instanceof SetOperationList) {
+            for (SelectBody body : ((SetOperationList) selectBody).getSelects()) {
+                if (!isReadOnlySelectBody(body)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return selectBody instanceof PlainSelect &&
+            CommonUtils.isEmpty(((PlainSelect) selectBody).getIntoTables()) &&
+            !((PlainSelect) selectBody).isForUpdate();
+    }
+
     public SQLSelectItem getSelectItem(String name) {
         if (selectItems == null) {
             return null;
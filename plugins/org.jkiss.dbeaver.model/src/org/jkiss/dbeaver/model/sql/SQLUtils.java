@@ -87,6 +87,38 @@ public final class SQLUtils {
             dialect.getSingleLineComments());
     }
 
+    /**
+     * Collapses whitespaces outside of quoted strings and identifiers
+     */
+    @NotNull
+    public static String normalizeQueryWhitespaces(@NotNull String queryText)
+    {
+        final String text = queryText.trim();
+        final StringBuilder result = new StringBuilder(text.length());
+        char quote = 0;
+        boolean whitespace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote == 0 && Character.isWhitespace(c)) {
+                whitespace = true;
+                continue;
+            }
+            if (whitespace) {
+                result.append(' ');
+                whitespace = false;
+            }
+            if (quote == 0) {
+                if (c == '\'' || c == '"' || c == '`') {
+                    quote = c;
+                }
+            } else if (c == quote) {
+                quote = 0;
+            }
+            result.append(c);
+        }
+        return result.toString();
+    }
+
     public static boolean isCommentLine(SQLDialect dialect, String line) {
         for (String slc : dialect.getSingleLineComments()) {
             if (line.startsWith(slc)) {
@@ -57,6 +57,16 @@ public interface DBSDataManipulator extends DBSDataContainer {
 
         void generatePersistActions(@NotNull DBCSession session, @NotNull List<DBEPersistAction> actions, Map<String, Object> options) throws DBCException;
 
+        /**
+         * Returns execution status of each row processed by the last {@link #execute} call.
+         * May be used to find out which rows were saved if execution failed.
+         * @return array of flags (in the same order rows were added) or null if status is unknown
+         */
+        @Nullable
+        default boolean[] getExecutedRows() {
+            return null;
+        }
+
         void close();
     }
 
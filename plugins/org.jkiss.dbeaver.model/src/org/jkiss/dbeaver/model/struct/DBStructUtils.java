@@ -39,6 +39,8 @@ import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * DBUtils
@@ -47,6 +49,9 @@ public final class DBStructUtils {
 
     private static final Log log = Log.getLog(DBStructUtils.class);
 
+    // Minimal number of objects in container for bulk definitions prefetch
+    private static final int BULK_DDL_MIN_OBJECTS = 10;
+
     @Nullable
     public static DBSEntityReferrer getEnumerableConstraint(@NotNull DBRProgressMonitor monitor, @NotNull DBDAttributeBinding attribute) throws DBException {
         DBSEntityAttribute entityAttribute = attribute.getEntityAttribute();
@@ -116,17 +121,96 @@ public final class DBStructUtils {
         return generateTableDDL(monitor, table, options, addComments);
     }
 
+    /**
+     * Prefetches structure and definitions of many objects at once.
+     * Structure of parent containers is cached with set-based queries (instead of per-object reads),
+     * containers which implement {@link DBPScriptObjectPrefetcher} also read object definitions in bulk.
+     * Prefetched definitions are kept in options (see {@link DBPScriptObjectPrefetcher#OPTION_PREFETCHED_DEFINITIONS}),
+     * so they are visible only to the script generation call which owns these options.
+     * Errors are not fatal: objects which were not prefetched read everything themselves.
+     */
+    public static void prefetchObjectDefinitions(@NotNull DBRProgressMonitor monitor, @NotNull Collection<? extends DBSObject> objects, Map<String, Object> options) {
+        if (objects.size() < BULK_DDL_MIN_OBJECTS) {
+            return;
+        }
+        Map<DBSObjectContainer, Integer> containers = new LinkedHashMap<>();
+        Map<DBPScriptObjectPrefetcher, List<DBSObject>> prefetchers = new LinkedHashMap<>();
+        for (DBSObject object : objects) {
+            if (object instanceof DBSEntity && object.getParentObject() instanceof DBSObjectContainer) {
+                containers.merge((DBSObjectContainer) object.getParentObject(), 1, Integer::sum);
+            }
+            for (DBSObject parent = object.getParentObject(); parent != null; parent = parent.getParentObject()) {
+                if (parent instanceof DBPScriptObjectPrefetcher) {
+                    prefetchers.computeIfAbsent((DBPScriptObjectPrefetcher) parent, p -> new ArrayList<>()).add(object);
+                    break;
+                }
+            }
+        }
+        for (Map.Entry<DBSObjectContainer, Integer> entry : containers.entrySet()) {
+            if (monitor.isCanceled()) {
+                return;
+            }
+            if (entry.getValue() < BULK_DDL_MIN_OBJECTS) {
+                // Reading of the whole container structure costs more than reading of a few objects
+                continue;
+            }
+            DBSObjectContainer container = entry.getKey();
+            monitor.subTask("Read structure of " + DBUtils.getObjectFullName(container, DBPEvaluationContext.UI));
+            try {
+                container.cacheStructure(monitor, DBSObjectContainer.STRUCT_ALL);
+            } catch (DBException e) {
+                log.debug("Error reading structure of " + DBUtils.getObjectFullName(container, DBPEvaluationContext.UI), e);
+            }
+        }
+        for (Map.Entry<DBPScriptObjectPrefetcher, List<DBSObject>> entry : prefetchers.entrySet()) {
+            if (monitor.isCanceled()) {
+                return;
+            }
+            if (entry.getValue().size() < BULK_DDL_MIN_OBJECTS) {
+                continue;
+            }
+            monitor.subTask("Read definitions of " + entry.getValue().size() + " objects");
+            options.computeIfAbsent(DBPScriptObjectPrefetcher.OPTION_PREFETCHED_DEFINITIONS, o -> new ConcurrentHashMap<>());
+            try {
+                entry.getKey().prefetchObjectDefinitions(monitor, entry.getValue(), options);
+            } catch (DBException e) {
+                log.debug("Error reading object definitions", e);
+            }
+        }
+    }
+
+    /**
+     * Returns definitions prefetched by {@link #prefetchObjectDefinitions} for the script generation call which owns options.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public static Map<Object, String> getPrefetchedDefinitions(@Nullable Map<String, Object> options) {
+        return options == null ? null : (Map<Object, String>) options.get(DBPScriptObjectPrefetcher.OPTION_PREFETCHED_DEFINITIONS);
+    }
+
     public static <T extends DBSEntity> void generateTableListDDL(@NotNull DBRProgressMonitor monitor, @NotNull StringBuilder sql, @NotNull Collection<T> tablesOrViews, Map<String, Object> options, boolean addComments) throws DBException {
+        generateTableListDDL(monitor, sql::append, tablesOrViews, options, addComments);
+    }
+
+    /**
+     * Generates DDL of tables and views in dependency order.
+     * Structure of all objects is prefetched first, then DDL of each object is passed to the consumer as soon as it is generated.
+     */
+    public static <T extends DBSEntity> void generateTableListDDL(@NotNull DBRProgressMonitor monitor, @NotNull Consumer<String> ddlConsumer, @NotNull Collection<T> tablesOrViews, Map<String, Object> options, boolean addComments) throws DBException {
+        // Prefetched definitions must not outlive this call
+        options = new HashMap<>(options);
         List<T> goodTableList = new ArrayList<>();
         List<T> cycleTableList = new ArrayList<>();
         List<T> viewList = new ArrayList<>();
 
+        prefetchObjectDefinitions(monitor, tablesOrViews, options);
+
         DBStructUtils.sortTableList(monitor, tablesOrViews, goodTableList, cycleTableList, viewList);
 
+        monitor.beginTask("Generate DDL", tablesOrViews.size());
         // Good tables: generate full DDL
         for (T table : goodTableList) {
-            sql.append(getObjectNameComment(table, "definition"));
-            addDDLLine(sql, DBStructUtils.getTableDDL(monitor, table, options, addComments));
+            generateObjectDDL(monitor, ddlConsumer, table, "definition", options, addComments);
         }
         {
             // Cycle tables: generate CREATE TABLE and CREATE FOREIGN KEY separately
@@ -146,31 +230,39 @@ public final class DBStructUtils {
             Map<String, Object> optionsNoFK = new HashMap<>(options);
             optionsNoFK.put(DBPScriptObject.OPTION_DDL_SKIP_FOREIGN_KEYS, true);
             for (T table : goodCycleTableList) {
-                sql.append(getObjectNameComment(table, "definition"));
-                addDDLLine(sql, DBStructUtils.getTableDDL(monitor, table, optionsNoFK, addComments));
+                generateObjectDDL(monitor, ddlConsumer, table, "definition", optionsNoFK, addComments);
             }
             Map<String, Object> optionsOnlyFK = new HashMap<>(options);
             optionsOnlyFK.put(DBPScriptObject.OPTION_DDL_ONLY_FOREIGN_KEYS, true);
             for (T table : goodCycleTableList) {
-                sql.append(getObjectNameComment(table, "foreign keys"));
-                addDDLLine(sql, DBStructUtils.getTableDDL(monitor, table, optionsOnlyFK, addComments));
+                generateObjectDDL(monitor, ddlConsumer, table, "foreign keys", optionsOnlyFK, addComments);
             }
 
             // the rest - tables which can't split their DDL
             for (T table : cycleTableList) {
-                sql.append(getObjectNameComment(table, "definition"));
-                addDDLLine(sql, DBStructUtils.getTableDDL(monitor, table, options, addComments));
+                generateObjectDDL(monitor, ddlConsumer, table, "definition", options, addComments);
             }
         }
         // Views: generate them after all tables.
         // TODO: find view dependencies and generate them in right order
         for (T table : viewList) {
-            sql.append(getObjectNameComment(table, "source"));
-            addDDLLine(sql, DBStructUtils.getTableDDL(monitor, table, options, addComments));
+            generateObjectDDL(monitor, ddlConsumer, table, "source", options, addComments);
         }
         monitor.done();
     }
 
+    private static void generateObjectDDL(@NotNull DBRProgressMonitor monitor, @NotNull Consumer<String> ddlConsumer, @NotNull DBSEntity table, String comment, Map<String, Object> options, boolean addComments) throws DBException {
+        if (monitor.isCanceled()) {
+            return;
+        }
+        monitor.subTask(DBUtils.getObjectFullName(table, DBPEvaluationContext.UI) + " " + comment);
+        StringBuilder sql = new StringBuilder();
+        sql.append(getObjectNameComment(table, comment));
+        addDDLLine(sql, DBStructUtils.getTableDDL(monitor, table, options, addComments));
+        ddlConsumer.accept(sql.toString());
+        monitor.worked(1);
+    }
+
     private static String getObjectNameComment(DBSObject object, String comment) {
         String[] singleLineComments = object.getDataSource().getSQLDialect().getSingleLineComments();
         if (ArrayUtils.isEmpty(singleLineComments)) {
@@ -0,0 +1,241 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.virtual;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.data.DBDAttributeValue;
+import org.jkiss.dbeaver.model.data.DBDLabelValuePair;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.qm.QMMetaEvent;
+import org.jkiss.dbeaver.model.qm.QMMetaListener;
+import org.jkiss.dbeaver.model.qm.QMUtils;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementExecuteInfo;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDictionary;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-datasource cache of dictionary (referenced table) values.
+ *
+ * Keeps recently used enumerations for a limited time (see {@link ModelPreferences#DICTIONARY_CACHE_TTL}).
+ * Virtual entities cache enumerations of their real entities, so they are never cached twice.
+ * Cache is dropped when data modification statement is executed in the same data source.
+ */
+public class DBVDictionaryCache {
+
+    private static final Log log = Log.getLog(DBVDictionaryCache.class);
+
+    private static final Map<String, DBVDictionaryCache> caches = new ConcurrentHashMap<>();
+    private static volatile boolean listenerRegistered;
+
+    private final DBPDataSourceContainer container;
+    private final LRUMap<List<Object>, CacheEntry<List<DBDLabelValuePair>>> enumerations = new LRUMap<>();
+
+    private DBVDictionaryCache(@NotNull DBPDataSourceContainer container) {
+        this.container = container;
+    }
+
+    @NotNull
+    public static DBVDictionaryCache getInstance(@NotNull DBPDataSourceContainer container) {
+        registerListener();
+        return caches.computeIfAbsent(container.getId(), id -> new DBVDictionaryCache(container));
+    }
+
+    /**
+     * Drops all cached values of the specified data source
+     */
+    public static void invalidate(@Nullable DBPDataSourceContainer container) {
+        if (container != null) {
+            DBVDictionaryCache cache = caches.get(container.getId());
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    /**
+     * Removes cache of the specified data source. Called on disconnect and data source delete.
+     */
+    public static void evict(@NotNull DBPDataSourceContainer container) {
+        DBVDictionaryCache cache = caches.remove(container.getId());
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Cached version of {@link DBSDictionary#getDictionaryEnumeration}
+     */
+    @NotNull
+    public static List<DBDLabelValuePair> getDictionaryEnumeration(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSDictionary dictionary,
+        @NotNull DBSEntityAttribute keyColumn,
+        Object keyPattern,
+        @Nullable List<DBDAttributeValue> preceedingKeys,
+        boolean sortByValue,
+        boolean sortAsc,
+        boolean caseInsensitiveSearch,
+        int maxResults)
+        throws DBException
+    {
+        return getInstance(keyColumn.getDataSource().getContainer()).readEnumeration(
+            monitor, dictionary, keyColumn, keyPattern, preceedingKeys, sortByValue, sortAsc, caseInsensitiveSearch, maxResults);
+    }
+
+    public synchronized void clear() {
+        enumerations.clear();
+    }
+
+    @NotNull
+    private List<DBDLabelValuePair> readEnumeration(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSDictionary dictionary,
+        @NotNull DBSEntityAttribute keyColumn,
+        Object keyPattern,
+        @Nullable List<DBDAttributeValue> preceedingKeys,
+        boolean sortByValue,
+        boolean sortAsc,
+        boolean caseInsensitiveSearch,
+        int maxResults)
+        throws DBException
+    {
+        final long ttl = getTimeToLive();
+        if (ttl <= 0 || dictionary instanceof DBVEntity) {
+            // Virtual entity uses cache of its real entity
+            return dictionary.getDictionaryEnumeration(
+                monitor, keyColumn, keyPattern, preceedingKeys, sortByValue, sortAsc, caseInsensitiveSearch, maxResults);
+        }
+        final List<Object> key = Arrays.asList(
+            dictionary, keyColumn, makeKeysScope(preceedingKeys), CommonUtils.toString(keyPattern, null),
+            sortByValue, sortAsc, caseInsensitiveSearch, maxResults);
+        synchronized (this) {
+            CacheEntry<List<DBDLabelValuePair>> entry = enumerations.get(key);
+            if (entry != null && entry.isValid(ttl)) {
+                // Callers may modify the result
+                return new ArrayList<>(entry.value);
+            }
+        }
+        List<DBDLabelValuePair> result = dictionary.getDictionaryEnumeration(
+            monitor, keyColumn, keyPattern, preceedingKeys, sortByValue, sortAsc, caseInsensitiveSearch, maxResults);
+        if (!monitor.isCanceled()) {
+            synchronized (this) {
+                enumerations.maxSize = getMaxSize();
+                enumerations.put(key, new CacheEntry<>(new ArrayList<>(result)));
+            }
+        }
+        return result;
+    }
+
+    private long getTimeToLive() {
+        return container.getPreferenceStore().getInt(ModelPreferences.DICTIONARY_CACHE_TTL) * 1000L;
+    }
+
+    private int getMaxSize() {
+        final DBPPreferenceStore store = container.getPreferenceStore();
+        return Math.max(store.getInt(ModelPreferences.DICTIONARY_CACHE_SIZE), 1);
+    }
+
+    @NotNull
+    private static List<Object> makeKeysScope(@Nullable List<DBDAttributeValue> preceedingKeys) {
+        if (CommonUtils.isEmpty(preceedingKeys)) {
+            return Collections.emptyList();
+        }
+        final List<Object> scope = new ArrayList<>(preceedingKeys.size() * 2);
+        for (DBDAttributeValue attrValue : preceedingKeys) {
+            scope.add(attrValue.getAttribute());
+            scope.add(attrValue.getValue());
+        }
+        return scope;
+    }
+
+    private static void registerListener() {
+        if (listenerRegistered) {
+            return;
+        }
+        synchronized (caches) {
+            if (!listenerRegistered) {
+                try {
+                    QMUtils.registerMetaListener(new DataModificationListener());
+                    listenerRegistered = true;
+                } catch (Exception e) {
+                    log.debug("Can't register dictionary cache QM listener", e);
+                }
+            }
+        }
+    }
+
+    private static class CacheEntry<T> {
+        private final T value;
+        private final long createTime = System.currentTimeMillis();
+
+        CacheEntry(T value) {
+            this.value = value;
+        }
+
+        boolean isValid(long ttl) {
+            return System.currentTimeMillis() - createTime < ttl;
+        }
+    }
+
+    private static class LRUMap<K, V> extends LinkedHashMap<K, V> {
+        private int maxSize = Integer.MAX_VALUE;
+
+        LRUMap() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    /**
+     * Drops data source dictionaries after successful data modification statements
+     */
+    private static class DataModificationListener implements QMMetaListener {
+        @Override
+        public void metaInfoChanged(@NotNull DBRProgressMonitor monitor, @NotNull List<QMMetaEvent> events) {
+            if (caches.isEmpty()) {
+                return;
+            }
+            for (QMMetaEvent event : events) {
+                if (event.getAction() == QMMetaEvent.Action.END && event.getObject() instanceof QMMStatementExecuteInfo) {
+                    QMMStatementExecuteInfo exec = (QMMStatementExecuteInfo) event.getObject();
+                    if (!exec.hasError() && exec.getUpdateRowCount() > 0) {
+                        String containerId = exec.getStatement().getSession().getContainerId();
+                        DBVDictionaryCache cache = containerId == null ? null : caches.get(containerId);
+                        if (cache != null) {
+                            cache.clear();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+}
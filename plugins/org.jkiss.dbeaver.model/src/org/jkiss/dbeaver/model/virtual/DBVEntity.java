@@ -473,6 +473,10 @@ public class DBVEntity extends DBVObject implements DBSEntity, DBPQualifiedObjec
     }
 
     public void setDescriptionColumnNames(String descriptionColumnNames) {
+        if (!CommonUtils.equalObjects(this.descriptionColumnNames, descriptionColumnNames)) {
+            // Cached labels were read with old description columns
+            DBVDictionaryCache.invalidate(getDataSourceContainer());
+        }
         this.descriptionColumnNames = descriptionColumnNames;
     }
 
@@ -668,8 +672,9 @@ public class DBVEntity extends DBVObject implements DBSEntity, DBPQualifiedObjec
     public List<DBDLabelValuePair> getDictionaryEnumeration(@NotNull DBRProgressMonitor monitor, @NotNull DBSEntityAttribute keyColumn, Object keyPattern, @Nullable List<DBDAttributeValue> preceedingKeys, boolean sortByValue, boolean sortAsc, boolean caseInsensitiveSearch, int maxResults) throws DBException {
         DBSEntity realEntity = getRealEntity(monitor);
         if (realEntity instanceof DBSDictionary) {
-            return ((DBSDictionary) realEntity).getDictionaryEnumeration(
+            return DBVDictionaryCache.getDictionaryEnumeration(
                 monitor,
+                (DBSDictionary) realEntity,
                 keyColumn,
                 keyPattern,
                 preceedingKeys,
@@ -0,0 +1,257 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.net.ssh.config.SSHAuthConfiguration;
+import org.jkiss.dbeaver.model.net.ssh.config.SSHHostConfiguration;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Process-wide pool of authenticated JSch sessions.
+ * Tunnels which point to the same SSH server with the same credentials and session settings share one session
+ * and only open their own port forwards over it.
+ * Sessions are connected outside of the pool lock, so a slow server doesn't block tunnels to other servers.
+ * Tunnels to the same server wait for the first connect.
+ */
+public class JschSessionPool {
+
+    private static final Log log = Log.getLog(JschSessionPool.class);
+
+    private static final JschSessionPool INSTANCE = new JschSessionPool();
+
+    public static JschSessionPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates and connects new session
+     */
+    interface SessionFactory {
+        @NotNull
+        Session openSession() throws JSchException;
+    }
+
+    private final Map<SessionKey, PooledSession> sessions = new HashMap<>();
+
+    private JschSessionPool() {
+    }
+
+    /**
+     * Returns connected session for the specified host. Creates new session or re-establishes
+     * the broken one if needed. Each call must be paired with {@link #releaseSession(Session)}.
+     *
+     * @param settings session settings which are not part of host configuration (timeouts, prompt provider, etc).
+     *                 Sessions with different settings are never shared.
+     */
+    @NotNull
+    Session acquireSession(@NotNull SSHHostConfiguration host, @NotNull List<Object> settings, @NotNull SessionFactory factory) throws JSchException {
+        final SessionKey key = new SessionKey(host, settings);
+        final PooledSession pooled;
+        final boolean opener;
+        synchronized (this) {
+            PooledSession existing = sessions.get(key);
+            if (existing != null && existing.session != null && !existing.session.isConnected()) {
+                log.debug("SSH: pooled session " + key + " is disconnected. Reconnect.");
+                sessions.remove(key);
+                existing = null;
+            }
+            opener = existing == null;
+            if (opener) {
+                existing = new PooledSession(key);
+                sessions.put(key, existing);
+            } else {
+                log.debug("SSH: reuse pooled session " + key + " (" + existing.refCount + " channel(s))");
+            }
+            pooled = existing;
+            pooled.refCount++;
+        }
+        if (opener) {
+            return openPooledSession(pooled, factory);
+        }
+        try {
+            return pooled.connectFuture.get();
+        } catch (InterruptedException e) {
+            synchronized (this) {
+                pooled.refCount--;
+            }
+            Thread.currentThread().interrupt();
+            throw new JSchException("SSH session connect to " + key + " was interrupted");
+        } catch (ExecutionException e) {
+            // The opener already removed failed session from the pool
+            Throwable cause = e.getCause();
+            if (cause instanceof JSchException) {
+                throw (JSchException) cause;
+            }
+            throw new JSchException("Can't open SSH session to " + key, cause);
+        }
+    }
+
+    @NotNull
+    private Session openPooledSession(@NotNull PooledSession pooled, @NotNull SessionFactory factory) throws JSchException {
+        final long startTime = System.currentTimeMillis();
+        final Session session;
+        try {
+            session = factory.openSession();
+        } catch (Throwable e) {
+            synchronized (this) {
+                sessions.remove(pooled.key, pooled);
+            }
+            pooled.connectFuture.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this) {
+            pooled.session = session;
+            pooled.setupTime = System.currentTimeMillis() - startTime;
+        }
+        pooled.connectFuture.complete(session);
+        log.debug("SSH: opened pooled session " + pooled.key + " in " + pooled.setupTime + "ms");
+        return session;
+    }
+
+    /**
+     * Decrements session reference counter. Disconnects session when it is not used anymore.
+     */
+    synchronized void releaseSession(@NotNull Session session) {
+        for (Iterator<PooledSession> iter = sessions.values().iterator(); iter.hasNext(); ) {
+            PooledSession pooled = iter.next();
+            if (pooled.session == session) {
+                pooled.refCount--;
+                if (pooled.refCount > 0) {
+                    return;
+                }
+                iter.remove();
+                break;
+            }
+        }
+        if (session.isConnected()) {
+            session.disconnect();
+        }
+    }
+
+    @NotNull
+    public synchronized List<SessionInfo> getSessionsInfo() {
+        List<SessionInfo> result = new ArrayList<>(sessions.size());
+        for (PooledSession pooled : sessions.values()) {
+            result.add(new SessionInfo(pooled.key.toString(), pooled.refCount, pooled.setupTime, pooled.session != null && pooled.session.isConnected()));
+        }
+        return result;
+    }
+
+    /**
+     * Pooled session statistics
+     */
+    public static class SessionInfo {
+        private final String name;
+        private final int channelCount;
+        private final long setupTime;
+        private final boolean connected;
+
+        SessionInfo(String name, int channelCount, long setupTime, boolean connected) {
+            this.name = name;
+            this.channelCount = channelCount;
+            this.setupTime = setupTime;
+            this.connected = connected;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getChannelCount() {
+            return channelCount;
+        }
+
+        public long getSetupTime() {
+            return setupTime;
+        }
+
+        public boolean isConnected() {
+            return connected;
+        }
+    }
+
+    private static class PooledSession {
+        private final SessionKey key;
+        // Completed when the first tunnel connects the session
+        private final CompletableFuture<Session> connectFuture = new CompletableFuture<>();
+        private Session session;
+        private long setupTime;
+        private int refCount;
+
+        PooledSession(SessionKey key) {
+            this.key = key;
+        }
+    }
+
+    private static class SessionKey {
+        private final String username;
+        private final String hostname;
+        private final int port;
+        private final SSHConstants.AuthType authType;
+        @Nullable
+        private final String keyPath;
+        @Nullable
+        private final String password;
+        @NotNull
+        private final List<Object> settings;
+
+        SessionKey(@NotNull SSHHostConfiguration host, @NotNull List<Object> settings) {
+            final SSHAuthConfiguration auth = host.getAuthConfiguration();
+            this.username = host.getUsername();
+            this.hostname = host.getHostname();
+            this.port = host.getPort();
+            this.authType = auth.getType();
+            this.keyPath = authType == SSHConstants.AuthType.PUBLIC_KEY ? auth.getKey().getAbsolutePath() : null;
+            this.password = authType.usesPassword() ? auth.getPassword() : null;
+            this.settings = settings;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof SessionKey)) {
+                return false;
+            }
+            SessionKey key = (SessionKey) obj;
+            return port == key.port &&
+                authType == key.authType &&
+                username.equals(key.username) &&
+                hostname.equals(key.hostname) &&
+                Objects.equals(keyPath, key.keyPath) &&
+                Objects.equals(password, key.password) &&
+                settings.equals(key.settings);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(username, hostname, port, authType, keyPath, settings);
+        }
+
+        @Override
+        public String toString() {
+            return username + "@" + hostname + ":" + port;
+        }
+    }
+
+}
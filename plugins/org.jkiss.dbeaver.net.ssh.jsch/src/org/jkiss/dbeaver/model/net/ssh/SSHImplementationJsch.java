@@ -36,6 +36,8 @@ import org.jkiss.utils.CommonUtils;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -47,6 +49,8 @@ public class SSHImplementationJsch extends SSHImplementationAbstract {
 
     private transient JSch jsch;
     private transient volatile Session[] sessions;
+    private transient boolean sharedSession;
+    private transient SSHPortForwardConfiguration forwardedPort;
 
     @Override
     protected synchronized void setupTunnel(@NotNull DBRProgressMonitor monitor, @NotNull DBWHandlerConfiguration configuration, @NotNull SSHHostConfiguration[] hosts, @NotNull SSHPortForwardConfiguration portForward) throws DBException, IOException {
@@ -56,6 +60,8 @@ public class SSHImplementationJsch extends SSHImplementationAbstract {
         }
 
         sessions = new Session[hosts.length];
+        // Jump server chains are never shared - intermediate forwards are private to the tunnel
+        sharedSession = hosts.length == 1 && configuration.getBooleanProperty(SSHConstants.PROP_SHARE_SESSION);
 
         for (int index = 0; index < hosts.length; index++) {
             final SSHHostConfiguration host = hosts[index];
@@ -75,52 +81,77 @@ public class SSHImplementationJsch extends SSHImplementationAbstract {
             }
 
             try {
-                if (index > 0) {
+                if (sharedSession) {
+                    monitor.subTask("Acquire shared tunnel to " + host.getHostname() + ":" + host.getPort());
+                    session = JschSessionPool.getInstance().acquireSession(
+                        host,
+                        getSharedSessionSettings(configuration),
+                        () -> openSession(configuration, host, host.getHostname(), host.getPort()));
+                } else if (index > 0) {
                     final int port = sessions[index - 1].setPortForwardingL(0, host.getHostname(), host.getPort());
                     monitor.subTask("Instantiate tunnel " + hosts[index - 1].getHostname() + ":" + port + " -> " + host.getHostname() + ":" + host.getPort());
-                    session = jsch.getSession(host.getUsername(), "localhost", port);
+                    session = openSession(configuration, host, "localhost", port);
                 } else {
                     monitor.subTask("Instantiate tunnel to " + host.getHostname() + ":" + host.getPort());
-                    session = jsch.getSession(host.getUsername(), host.getHostname(), host.getPort());
+                    session = openSession(configuration, host, host.getHostname(), host.getPort());
                 }
-
-                log.debug("Configure tunnel");
-
-                UserInfo userInfo = null;
-                JSCHUserInfoPromptProvider userInfoPromptProvider = GeneralUtils.adapt(this, JSCHUserInfoPromptProvider.class);
-                if (userInfoPromptProvider != null) {
-                    userInfo = userInfoPromptProvider.createUserInfoPrompt(auth, session);
-                }
-                if (userInfo == null) {
-                    userInfo = new JschUserInfo(auth);
-                }
-
-                session.setUserInfo(userInfo);
-                session.setConfig("StrictHostKeyChecking", "no");
-                session.setConfig("ConnectTimeout", String.valueOf(configuration.getIntProperty(SSHConstants.PROP_CONNECT_TIMEOUT)));
-                session.setConfig("ServerAliveInterval", String.valueOf(configuration.getIntProperty(SSHConstants.PROP_ALIVE_INTERVAL)));
-
-                if (auth.getType() == AuthType.PASSWORD) {
-                    session.setConfig("PreferredAuthentications", "password,keyboard-interactive");
-                } else {
-                    session.setConfig("PreferredAuthentications", "publickey,keyboard-interactive,password");
-                }
-
-                log.debug("Connect to tunnel host");
-
-                session.connect();
+                sessions[index] = session;
 
                 if (index == hosts.length - 1) {
                     log.debug("Set port forwarding " + portForward.getLocalHost() + ":" + portForward.getLocalPort() + " -> " + portForward.getRemoteHost() + ":" + portForward.getRemotePort());
                     session.setPortForwardingL(portForward.getLocalHost(), portForward.getLocalPort(), portForward.getRemoteHost(), portForward.getRemotePort());
+                    forwardedPort = portForward;
                 }
             } catch (JSchException e) {
                 closeTunnel(monitor);
                 throw new DBException("Cannot establish tunnel to " + host.getHostname() + ":" + host.getPort(), e);
             }
+        }
+    }
+
+    /**
+     * Settings which are applied to the session in {@link #openSession}. Tunnels share session only if these settings match.
+     */
+    @NotNull
+    private List<Object> getSharedSessionSettings(@NotNull DBWHandlerConfiguration configuration) {
+        JSCHUserInfoPromptProvider userInfoPromptProvider = GeneralUtils.adapt(this, JSCHUserInfoPromptProvider.class);
+        return Arrays.asList(
+            configuration.getIntProperty(SSHConstants.PROP_CONNECT_TIMEOUT),
+            configuration.getIntProperty(SSHConstants.PROP_ALIVE_INTERVAL),
+            userInfoPromptProvider == null ? null : userInfoPromptProvider.getClass().getName());
+    }
+
+    @NotNull
+    private Session openSession(@NotNull DBWHandlerConfiguration configuration, @NotNull SSHHostConfiguration host, @NotNull String hostname, int port) throws JSchException {
+        final SSHAuthConfiguration auth = host.getAuthConfiguration();
+        final Session session = jsch.getSession(host.getUsername(), hostname, port);
 
-            sessions[index] = session;
+        log.debug("Configure tunnel");
+
+        UserInfo userInfo = null;
+        JSCHUserInfoPromptProvider userInfoPromptProvider = GeneralUtils.adapt(this, JSCHUserInfoPromptProvider.class);
+        if (userInfoPromptProvider != null) {
+            userInfo = userInfoPromptProvider.createUserInfoPrompt(auth, session);
+        }
+        if (userInfo == null) {
+            userInfo = new JschUserInfo(auth);
         }
+
+        session.setUserInfo(userInfo);
+        session.setConfig("StrictHostKeyChecking", "no");
+        session.setConfig("ConnectTimeout", String.valueOf(configuration.getIntProperty(SSHConstants.PROP_CONNECT_TIMEOUT)));
+        session.setConfig("ServerAliveInterval", String.valueOf(configuration.getIntProperty(SSHConstants.PROP_ALIVE_INTERVAL)));
+
+        if (auth.getType() == AuthType.PASSWORD) {
+            session.setConfig("PreferredAuthentications", "password,keyboard-interactive");
+        } else {
+            session.setConfig("PreferredAuthentications", "publickey,keyboard-interactive,password");
+        }
+
+        log.debug("Connect to tunnel host");
+
+        session.connect();
+        return session;
     }
 
     @Override
@@ -128,14 +159,32 @@ public class SSHImplementationJsch extends SSHImplementationAbstract {
         if (ArrayUtils.isEmpty(sessions)) {
             return;
         }
+        final Session[] sessionsToClose = sessions;
+        final SSHPortForwardConfiguration portForward = forwardedPort;
+        final boolean shared = sharedSession;
         RuntimeUtils.runTask(monitor1 -> {
-            for (Session session : sessions) {
+            if (shared) {
+                Session session = sessionsToClose[0];
+                if (session != null) {
+                    if (portForward != null && session.isConnected()) {
+                        try {
+                            session.delPortForwardingL(portForward.getLocalHost(), portForward.getLocalPort());
+                        } catch (JSchException e) {
+                            log.debug("Error removing port forwarding from shared SSH session", e);
+                        }
+                    }
+                    JschSessionPool.getInstance().releaseSession(session);
+                }
+                return;
+            }
+            for (Session session : sessionsToClose) {
                 if (session != null && session.isConnected()) {
                     session.disconnect();
                 }
             }
         }, "Close SSH session", 1000);
         sessions = null;
+        forwardedPort = null;
     }
 
     @Override
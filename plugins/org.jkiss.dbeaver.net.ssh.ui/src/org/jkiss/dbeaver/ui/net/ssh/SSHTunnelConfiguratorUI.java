@@ -72,6 +72,7 @@ public class SSHTunnelConfiguratorUI implements IObjectPropertyConfigurator<DBWH
 
     private Text keepAliveText;
     private Text tunnelTimeout;
+    private Button shareSessionCheck;
     private VariablesHintLabel variablesHintLabel;
 
     @Override
@@ -154,6 +155,13 @@ public class SSHTunnelConfiguratorUI implements IObjectPropertyConfigurator<DBWH
 
             tunnelTimeout = UIUtils.createLabelText(client, SSHUIMessages.model_ssh_configurator_label_tunnel_timeout, String.valueOf(SSHConstants.DEFAULT_CONNECT_TIMEOUT));
             setNumberEditStyles(tunnelTimeout);
+
+            shareSessionCheck = UIUtils.createCheckbox(
+                client,
+                SSHUIMessages.model_ssh_configurator_checkbox_share_session,
+                SSHUIMessages.model_ssh_configurator_checkbox_share_session_tip,
+                false,
+                4);
         }
 
         {
@@ -285,6 +293,8 @@ public class SSHTunnelConfiguratorUI implements IObjectPropertyConfigurator<DBWH
             tunnelTimeout.setText(String.valueOf(timeoutValue));
         }
 
+        shareSessionCheck.setSelection(configuration.getBooleanProperty(SSHConstants.PROP_SHARE_SESSION));
+
         savedConfiguration = new DBWHandlerConfiguration(configuration);
 
         DBPDataSourceContainer dataSource = savedConfiguration.getDataSource();
@@ -341,6 +351,7 @@ public class SSHTunnelConfiguratorUI implements IObjectPropertyConfigurator<DBWH
         if (conTimeout != 0 && conTimeout != SSHConstants.DEFAULT_CONNECT_TIMEOUT) {
             configuration.setProperty(SSHConstants.PROP_CONNECT_TIMEOUT, conTimeout);
         }
+        configuration.setProperty(SSHConstants.PROP_SHARE_SESSION, shareSessionCheck.getSelection());
     }
 
     @Override
@@ -32,6 +32,7 @@ public class SSHConstants {
     public static final String PROP_ALIVE_COUNT = "aliveCount";
     public static final String PROP_CONNECT_TIMEOUT = "sshConnectTimeout";
     public static final String PROP_JUMP_SERVER = "jumpServer";
+    public static final String PROP_SHARE_SESSION = "shareSession";
 
     public static final String PROP_LOCAL_HOST = "localHost";
     public static final String PROP_LOCAL_PORT = "localPort";
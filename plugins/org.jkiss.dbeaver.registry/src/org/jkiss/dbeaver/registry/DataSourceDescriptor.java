@@ -38,10 +38,13 @@ import org.jkiss.dbeaver.model.data.DBDFormatSettings;
 import org.jkiss.dbeaver.model.data.DBDValueHandler;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCQueryResultCache;
 import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
 import org.jkiss.dbeaver.model.exec.DBExecUtils;
 import org.jkiss.dbeaver.model.impl.SimpleExclusiveLock;
 import org.jkiss.dbeaver.model.impl.data.DefaultValueHandler;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructPrefetch;
 import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.meta.PropertyLength;
 import org.jkiss.dbeaver.model.navigator.DBNBrowseSettings;
@@ -56,6 +59,7 @@ import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.struct.DBSObjectFilter;
 import org.jkiss.dbeaver.model.struct.DBSObjectState;
+import org.jkiss.dbeaver.model.virtual.DBVDictionaryCache;
 import org.jkiss.dbeaver.model.virtual.DBVModel;
 import org.jkiss.dbeaver.registry.driver.DriverDescriptor;
 import org.jkiss.dbeaver.registry.formatter.DataFormatterProfile;
@@ -241,6 +245,9 @@ public class DataSourceDescriptor
             users.clear();
         }
         this.virtualModel.dispose();
+        DBVDictionaryCache.evict(this);
+        DBCQueryResultCache.evict(this);
+        JDBCStructPrefetch.evict(this);
         disposed = true;
     }
 
@@ -1075,6 +1082,9 @@ public class DataSourceDescriptor
             this.dataSource = null;
             this.resolvedConnectionInfo = null;
             this.connectTime = null;
+            DBVDictionaryCache.evict(this);
+            DBCQueryResultCache.evict(this);
+            JDBCStructPrefetch.evict(this);
 
             if (reflect) {
                 // Reflect UI
@@ -1392,6 +1402,31 @@ public class DataSourceDescriptor
         return connectionInfo.getConnectionType().getName();
     }
 
+    @Nullable
+    @Property(order = 10)
+    public String getPropertyOpenTime()
+    {
+        return getContextOpenTime(DBUtils.getDefaultContext(dataSource, false));
+    }
+
+    @Nullable
+    @Property(order = 11)
+    public String getPropertyMetaOpenTime()
+    {
+        DBCExecutionContext metaContext = DBUtils.getDefaultContext(dataSource, true);
+        return metaContext == DBUtils.getDefaultContext(dataSource, false) ? null : getContextOpenTime(metaContext);
+    }
+
+    @Nullable
+    private static String getContextOpenTime(@Nullable DBCExecutionContext context)
+    {
+        if (context instanceof JDBCExecutionContext) {
+            JDBCExecutionContext jdbcContext = (JDBCExecutionContext) context;
+            return jdbcContext.getOpenTime() + "ms (bootstrap " + jdbcContext.getBootstrapTime() + "ms)";
+        }
+        return null;
+    }
+
     private void addChildProcess(DBRProcessDescriptor process)
     {
         synchronized (childProcesses) {
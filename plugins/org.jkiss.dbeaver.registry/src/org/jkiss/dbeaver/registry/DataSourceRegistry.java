@@ -35,6 +35,8 @@ import org.jkiss.dbeaver.model.connection.DBPAuthModelDescriptor;
 import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
 import org.jkiss.dbeaver.model.connection.DBPDataSourceProviderRegistry;
 import org.jkiss.dbeaver.model.connection.DBPDriver;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCMetaSnapshot;
+import org.jkiss.dbeaver.model.impl.plan.ExecutionPlanHistory;
 import org.jkiss.dbeaver.model.net.DBWNetworkProfile;
 import org.jkiss.dbeaver.model.runtime.*;
 import org.jkiss.dbeaver.model.struct.DBSObject;
@@ -488,6 +490,8 @@ public class DataSourceRegistry implements DBPDataSourceRegistry {
         } finally {
             descriptor.dispose();
         }
+        ExecutionPlanHistory.getInstance().clearDataSourcePlans(descriptor.getId());
+        JDBCMetaSnapshot.deleteAll(descriptor);
     }
 
     public void updateDataSource(@NotNull DBPDataSourceContainer dataSource) {
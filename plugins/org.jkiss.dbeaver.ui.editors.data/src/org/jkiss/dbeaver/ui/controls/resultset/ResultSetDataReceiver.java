@@ -30,6 +30,10 @@ import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.ui.UIUtils;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,6 +46,10 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
 
     private static final Log log = Log.getLog(ResultSetDataReceiver.class);
 
+    private static final int MEMORY_CHECK_INTERVAL = 1000;
+    // Old generation heap pool. Its usage after collection shows how much memory is really retained
+    private static final MemoryPoolMXBean TENURED_POOL = findTenuredPool();
+
     private ResultSetViewer resultSetViewer;
     private int columnsCount;
     private DBDAttributeBinding[] metaColumns;
@@ -52,6 +60,8 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
     private long maxRows;
 
     private boolean paused;
+    private boolean memoryLimitReached;
+    private int maxMemoryUsage;
 
     // Attribute fetching errors. Collect them to avoid tons of similar error in log
     private Map<DBCAttributeMetaData, List<String>> attrErrors = new HashMap<>();
@@ -95,6 +105,8 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
         this.rows.clear();
         this.offset = offset;
         this.maxRows = maxRows;
+        this.memoryLimitReached = false;
+        this.maxMemoryUsage = resultSetViewer.getPreferenceStore().getInt(ResultSetPreferences.RESULT_SET_MAX_MEMORY_USAGE);
 
         if (!nextSegmentRead) {
             // Get columns metadata
@@ -149,6 +161,58 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
             }
         }
         rows.add(row);
+
+        if (rows.size() % MEMORY_CHECK_INTERVAL == 0 && isMemoryExhausted()) {
+            log.warn("Fetch stopped after " + rows.size() + " rows: heap usage exceeds " + maxMemoryUsage + "%");
+            memoryLimitReached = true;
+        }
+    }
+
+    boolean isMemoryLimitReached() {
+        return memoryLimitReached;
+    }
+
+    @Override
+    public boolean isFetchStopped() {
+        return memoryLimitReached;
+    }
+
+    /**
+     * All fetched rows are kept in heap. Stop before we get OutOfMemoryError, it would break the whole application.
+     */
+    private boolean isMemoryExhausted() {
+        if (maxMemoryUsage <= 0 || maxMemoryUsage >= 100) {
+            return false;
+        }
+        final Runtime runtime = Runtime.getRuntime();
+        final long maxMemory = runtime.maxMemory();
+        if (maxMemory == Long.MAX_VALUE) {
+            return false;
+        }
+        final long memoryLimit = maxMemory / 100 * maxMemoryUsage;
+        if (runtime.totalMemory() - runtime.freeMemory() <= memoryLimit) {
+            return false;
+        }
+        // Most of used memory may be a garbage. Check old generation usage after the last collection.
+        if (TENURED_POOL == null) {
+            return false;
+        }
+        final MemoryUsage collectionUsage = TENURED_POOL.getCollectionUsage();
+        if (collectionUsage == null) {
+            return false;
+        }
+        final long poolMax = collectionUsage.getMax() > 0 ? collectionUsage.getMax() : TENURED_POOL.getUsage().getMax();
+        return poolMax > 0 && collectionUsage.getUsed() > poolMax / 100 * maxMemoryUsage;
+    }
+
+    private static MemoryPoolMXBean findTenuredPool() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            // Only old generation pool supports both usage thresholds
+            if (pool.getType() == MemoryType.HEAP && pool.isUsageThresholdSupported() && pool.isCollectionUsageThresholdSupported()) {
+                return pool;
+            }
+        }
+        return null;
     }
 
     @Override
@@ -182,8 +246,9 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
             boolean resetOldRows = getDataContainer().getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING);
             resultSetViewer.appendData(tmpRows, resetOldRows);
         }
-        // Check for more data
-        hasMoreData = maxRows > 0 && tmpRows.size() >= maxRows;
+        // Check for more data. Do not let segment auto-fetch continue once memory limit is reached.
+        hasMoreData = !memoryLimitReached && maxRows > 0 && tmpRows.size() >= maxRows;
+        final boolean memoryLimitReached = this.memoryLimitReached;
         monitor.done();
 
         UIUtils.asyncExec(() -> {
@@ -195,6 +260,9 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
                 resultSetViewer.updateStatusMessage();
             } else {
                 resultSetViewer.getActivePresentation().refreshData(false, true, true);
+                if (memoryLimitReached) {
+                    resultSetViewer.updateStatusMessage();
+                }
             }
         });
     }
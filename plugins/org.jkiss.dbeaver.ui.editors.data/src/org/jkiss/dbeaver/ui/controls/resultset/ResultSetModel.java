@@ -1044,26 +1044,14 @@ public class ResultSetModel {
 
         if (hasOrdering) {
             // Sort locally
-            final List<DBDAttributeConstraint> orderConstraints = dataFilter.getOrderConstraints();
-            curRows.sort((row1, row2) -> {
-                int result = 0;
-                for (DBDAttributeConstraint co : orderConstraints) {
-                    final DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
-                    if (binding == null) {
-                        continue;
-                    }
-                    Object cell1 = getCellValue(binding, row1);
-                    Object cell2 = getCellValue(binding, row2);
-                    result = DBUtils.compareDataValues(cell1, cell2);
-                    if (co.isOrderDescending()) {
-                        result = -result;
-                    }
-                    if (result != 0) {
-                        break;
-                    }
+            final ResultSetRowSorter sorter = new ResultSetRowSorter(this);
+            for (DBDAttributeConstraint co : dataFilter.getOrderConstraints()) {
+                final DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
+                if (binding != null) {
+                    sorter.addColumn(binding, co.isOrderDescending());
                 }
-                return result;
-            });
+            }
+            sorter.sort(curRows);
         }
         for (int i = 0; i < curRows.size(); i++) {
             curRows.get(i).setVisualNumber(i);
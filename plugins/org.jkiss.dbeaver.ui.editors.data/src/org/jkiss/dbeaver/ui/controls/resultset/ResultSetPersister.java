@@ -52,6 +52,9 @@ class ResultSetPersister {
 
     private static final Log log = Log.getLog(ResultSetPersister.class);
 
+    // Maximum number of rows saved in a single batch
+    private static final int MAX_BATCH_SIZE = 1000;
+
     /**
      * Data update listener
      */
@@ -732,70 +735,89 @@ class ResultSetPersister {
                 }
             }
             try {
-                for (DataStatementInfo statement : ResultSetPersister.this.deleteStatements) {
+                final boolean useBatches = !generateScript && session.getDataSource().getInfo().supportsBatchUpdates();
+                for (List<DataStatementInfo> group : groupStatements(ResultSetPersister.this.deleteStatements, useBatches)) {
                     if (monitor.isCanceled()) break;
+                    DataStatementInfo firstStatement = group.get(0);
+                    DBSDataManipulator.ExecuteBatch batch = null;
                     try {
-                        DBSDataManipulator dataContainer = getDataManipulator(statement.entity);
-                        try (DBSDataManipulator.ExecuteBatch batch = dataContainer.deleteData(
+                        DBSDataManipulator dataContainer = getDataManipulator(firstStatement.entity);
+                        batch = dataContainer.deleteData(
                             session,
-                            DBDAttributeValue.getAttributes(statement.keyAttributes),
-                            new ExecutionSource(dataContainer))) {
+                            DBDAttributeValue.getAttributes(firstStatement.keyAttributes),
+                            new ExecutionSource(dataContainer));
+                        for (DataStatementInfo statement : group) {
                             batch.add(DBDAttributeValue.getValues(statement.keyAttributes));
-                            if (generateScript) {
-                                batch.generatePersistActions(session, script, options);
-                            } else {
-                                DBCStatistics bs = batch.execute(session, options);
-                                // Notify rsv container about statement execute
-                                this.notifyContainer(bs);
-
-                                deleteStats.accumulate(bs);
-                            }
                         }
-                        processStatementChanges(statement);
+                        if (generateScript) {
+                            batch.generatePersistActions(session, script, options);
+                        } else {
+                            DBCStatistics bs = batch.execute(session, options);
+                            // Notify rsv container about statement execute
+                            this.notifyContainer(bs);
+
+                            deleteStats.accumulate(bs);
+                        }
+                        processStatementChanges(group, generateScript ? null : batch);
                     } catch (DBException e) {
-                        processStatementError(statement, session);
+                        processStatementError(group, batch, session);
                         return e;
+                    } finally {
+                        if (batch != null) {
+                            batch.close();
+                        }
                     }
-                    monitor.worked(1);
+                    monitor.worked(group.size());
                 }
-                for (DataStatementInfo statement : ResultSetPersister.this.insertStatements) {
+                for (List<DataStatementInfo> group : groupStatements(ResultSetPersister.this.insertStatements, useBatches)) {
                     if (monitor.isCanceled()) break;
+                    DataStatementInfo firstStatement = group.get(0);
+                    DBSDataManipulator.ExecuteBatch batch = null;
                     try {
-                        DBSDataManipulator dataContainer = getDataManipulator(statement.entity);
-                        try (DBSDataManipulator.ExecuteBatch batch = dataContainer.insertData(
+                        DBSDataManipulator dataContainer = getDataManipulator(firstStatement.entity);
+                        // Statements which need generated keys are never grouped
+                        batch = dataContainer.insertData(
                             session,
-                            DBDAttributeValue.getAttributes(statement.keyAttributes),
-                            statement.needKeys() ? new KeyDataReceiver(statement) : null,
+                            DBDAttributeValue.getAttributes(firstStatement.keyAttributes),
+                            firstStatement.needKeys() ? new KeyDataReceiver(firstStatement) : null,
                             new ExecutionSource(dataContainer),
-                            options)) {
+                            options);
+                        for (DataStatementInfo statement : group) {
                             batch.add(DBDAttributeValue.getValues(statement.keyAttributes));
-                            if (generateScript) {
-                                batch.generatePersistActions(session, script, options);
-                            } else {
-                                DBCStatistics bs = batch.execute(session, options);
-                                // Notify rsv container about statement execute
-                                this.notifyContainer(bs);
-
-                                insertStats.accumulate(bs);
-                            }
                         }
-                        processStatementChanges(statement);
+                        if (generateScript) {
+                            batch.generatePersistActions(session, script, options);
+                        } else {
+                            DBCStatistics bs = batch.execute(session, options);
+                            // Notify rsv container about statement execute
+                            this.notifyContainer(bs);
+
+                            insertStats.accumulate(bs);
+                        }
+                        processStatementChanges(group, generateScript ? null : batch);
                     } catch (DBException e) {
-                        processStatementError(statement, session);
+                        processStatementError(group, batch, session);
                         return e;
+                    } finally {
+                        if (batch != null) {
+                            batch.close();
+                        }
                     }
-                    monitor.worked(1);
+                    monitor.worked(group.size());
                 }
-                for (DataStatementInfo statement : ResultSetPersister.this.updateStatements) {
+                for (List<DataStatementInfo> group : groupStatements(ResultSetPersister.this.updateStatements, useBatches)) {
                     if (monitor.isCanceled()) break;
+                    DataStatementInfo firstStatement = group.get(0);
+                    DBSDataManipulator.ExecuteBatch batch = null;
                     try {
-                        DBSDataManipulator dataContainer = getDataManipulator(statement.entity);
-                        try (DBSDataManipulator.ExecuteBatch batch = dataContainer.updateData(
+                        DBSDataManipulator dataContainer = getDataManipulator(firstStatement.entity);
+                        batch = dataContainer.updateData(
                             session,
-                            DBDAttributeValue.getAttributes(statement.updateAttributes),
-                            DBDAttributeValue.getAttributes(statement.keyAttributes),
+                            DBDAttributeValue.getAttributes(firstStatement.updateAttributes),
+                            DBDAttributeValue.getAttributes(firstStatement.keyAttributes),
                             null,
-                            new ExecutionSource(dataContainer))) {
+                            new ExecutionSource(dataContainer));
+                        for (DataStatementInfo statement : group) {
                             // Make single array of values
                             Object[] attributes = new Object[statement.updateAttributes.size() + statement.keyAttributes.size()];
                             for (int i = 0; i < statement.updateAttributes.size(); i++) {
@@ -804,24 +826,28 @@ class ResultSetPersister {
                             for (int i = 0; i < statement.keyAttributes.size(); i++) {
                                 attributes[statement.updateAttributes.size() + i] = statement.keyAttributes.get(i).getValue();
                             }
-                            // Execute
                             batch.add(attributes);
-                            if (generateScript) {
-                                batch.generatePersistActions(session, script, options);
-                            } else {
-                                DBCStatistics bs = batch.execute(session, options);
-                                // Notify rsv container about statement execute
-                                this.notifyContainer(bs);
-
-                                updateStats.accumulate(bs);
-                            }
                         }
-                        processStatementChanges(statement);
+                        // Execute
+                        if (generateScript) {
+                            batch.generatePersistActions(session, script, options);
+                        } else {
+                            DBCStatistics bs = batch.execute(session, options);
+                            // Notify rsv container about statement execute
+                            this.notifyContainer(bs);
+
+                            updateStats.accumulate(bs);
+                        }
+                        processStatementChanges(group, generateScript ? null : batch);
                     } catch (DBException e) {
-                        processStatementError(statement, session);
+                        processStatementError(group, batch, session);
                         return e;
+                    } finally {
+                        if (batch != null) {
+                            batch.close();
+                        }
                     }
-                    monitor.worked(1);
+                    monitor.worked(group.size());
                 }
 
                 return null;
@@ -837,12 +863,38 @@ class ResultSetPersister {
             }
         }
 
-        private void processStatementChanges(DataStatementInfo statement) {
-            statement.executed = true;
+        /**
+         * Splits statements into groups which may be executed in a single batch.
+         * Group contains subsequent statements for the same entity with the same set of attributes and the same NULL values layout
+         * (otherwise query text differs).
+         */
+        private List<List<DataStatementInfo>> groupStatements(List<DataStatementInfo> statements, boolean useBatches) {
+            List<List<DataStatementInfo>> groups = new ArrayList<>();
+            List<DataStatementInfo> curGroup = null;
+            for (DataStatementInfo statement : statements) {
+                if (curGroup == null || !useBatches || curGroup.size() >= MAX_BATCH_SIZE || !curGroup.get(0).isBatchCompatible(statement)) {
+                    curGroup = new ArrayList<>();
+                    groups.add(curGroup);
+                }
+                curGroup.add(statement);
+            }
+            return groups;
+        }
+
+        private void processStatementChanges(List<DataStatementInfo> statements, @Nullable DBSDataManipulator.ExecuteBatch batch) {
+            // Batch may be canceled in the middle. Rows which weren't saved stay dirty
+            boolean[] executedRows = batch == null ? null : batch.getExecutedRows();
+            for (int i = 0; i < statements.size(); i++) {
+                statements.get(i).executed = executedRows == null || (i < executedRows.length && executedRows[i]);
+            }
         }
 
-        private void processStatementError(DataStatementInfo statement, DBCSession session) {
-            statement.executed = false;
+        private void processStatementError(List<DataStatementInfo> statements, @Nullable DBSDataManipulator.ExecuteBatch batch, DBCSession session) {
+            // Batch knows which rows were saved before the error
+            boolean[] executedRows = batch == null ? null : batch.getExecutedRows();
+            for (int i = 0; i < statements.size(); i++) {
+                statements.get(i).executed = executedRows != null && i < executedRows.length && executedRows[i];
+            }
             if (!generateScript) {
                 DBCTransactionManager txnManager = DBUtils.getTransactionManager(getExecutionContext());
                 if (txnManager != null) {
@@ -961,6 +1013,28 @@ class ResultSetPersister {
             }
             return false;
         }
+
+        boolean isBatchCompatible(@NotNull DataStatementInfo statement) {
+            return type == statement.type &&
+                entity == statement.entity &&
+                !needKeys() && !statement.needKeys() &&
+                isSameLayout(keyAttributes, statement.keyAttributes) &&
+                isSameLayout(updateAttributes, statement.updateAttributes);
+        }
+
+        private static boolean isSameLayout(List<DBDAttributeValue> values1, List<DBDAttributeValue> values2) {
+            if (values1.size() != values2.size()) {
+                return false;
+            }
+            for (int i = 0; i < values1.size(); i++) {
+                DBDAttributeValue value1 = values1.get(i), value2 = values2.get(i);
+                if (value1.getAttribute() != value2.getAttribute() ||
+                    DBUtils.isNullValue(value1.getValue()) != DBUtils.isNullValue(value2.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 
     class RowDataReceiver implements DBDDataReceiver {
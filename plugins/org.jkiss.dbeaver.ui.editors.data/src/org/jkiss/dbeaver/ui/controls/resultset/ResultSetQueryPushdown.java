@@ -0,0 +1,246 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.data.DBDLabelValuePair;
+import org.jkiss.dbeaver.model.data.DBDLabelValuePairExt;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.sql.*;
+import org.jkiss.dbeaver.model.sql.parser.SQLSemanticProcessor;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Server-side processing of result set data.
+ *
+ * Grouping and distinct values are read with queries built over the source query of the result set
+ * (the source query is used as a subquery). Thus they cover the whole result, not only fetched rows.
+ * If source can't be re-queried (e.g. procedure call results) callers must fall back to fetched rows.
+ */
+public class ResultSetQueryPushdown {
+
+    private static final Log log = Log.getLog(ResultSetQueryPushdown.class);
+
+    public static final String SOURCE_ALIAS = "src";
+
+    // Distinct values are published to consumer with this period
+    private static final long PUBLISH_PERIOD = 500;
+
+    /**
+     * Returns text of the query which produced viewer results or null if results can't be re-queried
+     */
+    @Nullable
+    public static String getSourceQuery(@NotNull IResultSetController controller) {
+        final DBSDataContainer dataContainer = controller.getDataContainer();
+        if (dataContainer == null || dataContainer.getDataSource() == null || controller.getExecutionContext() == null) {
+            return null;
+        }
+        if ((dataContainer.getSupportedFeatures() & DBSDataContainer.DATA_SELECT) == 0) {
+            return null;
+        }
+        if (dataContainer instanceof SQLQueryContainer) {
+            SQLScriptElement query = ((SQLQueryContainer) dataContainer).getQuery();
+            if (!(query instanceof SQLQuery) || !isSelectQuery((SQLQuery) query)) {
+                // Procedure calls, control commands, etc
+                return null;
+            }
+        }
+        final DBPDataSource dataSource = dataContainer.getDataSource();
+        final DBCStatistics statistics = controller.getModel().getStatistics();
+        String queryText = statistics == null ? null : statistics.getQueryText();
+        if (CommonUtils.isEmpty(queryText)) {
+            if (dataContainer instanceof DBSEntity) {
+                queryText = "SELECT * FROM " + DBUtils.getObjectFullName(dataContainer, DBPEvaluationContext.DML);
+            } else {
+                return null;
+            }
+        }
+        final SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+        syntaxManager.init(SQLUtils.getDialectFromDataSource(dataSource), controller.getPreferenceStore());
+        queryText = queryText.trim();
+        for (String delimiter : syntaxManager.getStatementDelimiters()) {
+            while (queryText.endsWith(delimiter)) {
+                queryText = queryText.substring(0, queryText.length() - delimiter.length()).trim();
+            }
+        }
+        return queryText;
+    }
+
+    private static boolean isSelectQuery(@NotNull SQLQuery query) {
+        // Only queries recognized by the parser. Unparsed WITH queries may contain data-modifying CTEs
+        return query.getType() == SQLQueryType.SELECT && query.isReadOnlySelect();
+    }
+
+    /**
+     * Returns source query without ORDER BY clause, ordering is useless (and not allowed by some databases) in subqueries.
+     * Query is returned as is if it can't be parsed or ordering affects results (LIMIT/TOP).
+     */
+    @NotNull
+    public static String getSubquery(@NotNull DBPDataSource dataSource, @NotNull String sourceQuery) {
+        try {
+            Statement statement = SQLSemanticProcessor.parseQuery(dataSource.getSQLDialect(), sourceQuery);
+            if (statement instanceof Select && ((Select) statement).getSelectBody() instanceof PlainSelect) {
+                PlainSelect select = (PlainSelect) ((Select) statement).getSelectBody();
+                if (!CommonUtils.isEmpty(select.getOrderByElements()) && select.getLimit() == null && select.getTop() == null &&
+                    select.getOffset() == null && select.getFetch() == null)
+                {
+                    select.setOrderByElements(null);
+                    return statement.toString();
+                }
+            }
+        } catch (Throwable e) {
+            log.debug("Can't parse source query: " + e.getMessage());
+        }
+        return sourceQuery;
+    }
+
+    /**
+     * Checks that attribute is a plain column of the source query result and may be referenced in outer query.
+     */
+    public static boolean canReferenceAttribute(@NotNull IResultSetController controller, @NotNull DBDAttributeBinding attribute) {
+        if (attribute.getParentObject() != null || attribute.isPseudoAttribute() || attribute.getDataKind() == DBPDataKind.DOCUMENT) {
+            return false;
+        }
+        final String label = attribute.getLabel();
+        if (CommonUtils.isEmpty(label)) {
+            return false;
+        }
+        for (DBDAttributeBinding attr : controller.getModel().getAttributes()) {
+            if (attr != attribute && label.equalsIgnoreCase(attr.getLabel())) {
+                // Ambiguous column name
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads distinct values of the attribute over the whole source query result.
+     * Values are sorted by count (if calcCount is set) or by value.
+     *
+     * @param partialConsumer receives values read so far while the query results are fetched
+     */
+    @NotNull
+    public static List<DBDLabelValuePair> readDistinctValues(
+        @NotNull DBCSession session,
+        @NotNull String sourceQuery,
+        @NotNull DBDAttributeBinding attribute,
+        @Nullable String valuePattern,
+        boolean calcCount,
+        boolean caseInsensitiveSearch,
+        int maxResults,
+        @Nullable Consumer<List<DBDLabelValuePair>> partialConsumer) throws DBCException
+    {
+        final DBPDataSource dataSource = session.getDataSource();
+        final SQLDialect dialect = dataSource.getSQLDialect();
+        final DBDValueHandler valueHandler = attribute.getValueHandler();
+        final String identifier = SOURCE_ALIAS + "." + DBUtils.getQuotedIdentifier(dataSource, attribute.getLabel());
+        final boolean hasPattern = !CommonUtils.isEmpty(valuePattern);
+
+        StringBuilder query = new StringBuilder();
+        query.append("SELECT ");
+        if (!calcCount) {
+            query.append("DISTINCT ");
+        }
+        query.append(identifier);
+        if (calcCount) {
+            query.append(", COUNT(*)");
+        }
+        query.append("\nFROM (\n").append(getSubquery(dataSource, sourceQuery)).append("\n) ").append(SOURCE_ALIAS);
+        if (hasPattern) {
+            query.append("\nWHERE ");
+            if (attribute.getDataKind() == DBPDataKind.STRING) {
+                final SQLExpressionFormatter caseInsensitiveFormatter = caseInsensitiveSearch ?
+                    dialect.getCaseInsensitiveExpressionFormatter(DBCLogicalOperator.LIKE) : null;
+                if (caseInsensitiveFormatter != null) {
+                    query.append(caseInsensitiveFormatter.format(identifier, "?"));
+                } else {
+                    query.append(identifier).append(" LIKE ?");
+                }
+            } else if (attribute.getDataKind() == DBPDataKind.NUMERIC) {
+                query.append(identifier).append(" >= ?");
+            } else {
+                query.append(identifier).append(" = ?");
+            }
+        }
+        if (calcCount) {
+            query.append("\nGROUP BY ").append(identifier);
+            query.append("\nORDER BY 2 DESC");
+        } else {
+            query.append("\nORDER BY 1");
+        }
+
+        final List<DBDLabelValuePair> values = new ArrayList<>();
+        try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.toString(), false, false, false)) {
+            if (hasPattern) {
+                if (attribute.getDataKind() == DBPDataKind.STRING) {
+                    valueHandler.bindValueObject(session, dbStat, attribute, 0, "%" + valuePattern + "%");
+                } else {
+                    valueHandler.bindValueObject(session, dbStat, attribute, 0, valuePattern);
+                }
+            }
+            dbStat.setLimit(0, maxResults);
+            if (!dbStat.executeStatement()) {
+                return values;
+            }
+            try (DBCResultSet dbResult = dbStat.openResultSet()) {
+                if (dbResult == null) {
+                    return values;
+                }
+                final DBCAttributeMetaData countAttribute = calcCount ? dbResult.getMeta().getAttributes().get(1) : null;
+                final DBDValueHandler countHandler = countAttribute == null ? null : DBUtils.findValueHandler(session, countAttribute);
+                long lastPublishTime = System.currentTimeMillis();
+                while (dbResult.nextRow()) {
+                    if (session.getProgressMonitor().isCanceled()) {
+                        break;
+                    }
+                    Object value = valueHandler.fetchValueObject(session, dbResult, attribute, 0);
+                    if (countHandler != null) {
+                        long count = CommonUtils.toLong(countHandler.fetchValueObject(session, dbResult, countAttribute, 1));
+                        values.add(new DBDLabelValuePairExt("", value, count));
+                    } else {
+                        values.add(new DBDLabelValuePair(valueHandler.getValueDisplayString(attribute, value, DBDDisplayFormat.NATIVE), value));
+                    }
+                    if (partialConsumer != null && System.currentTimeMillis() - lastPublishTime >= PUBLISH_PERIOD) {
+                        partialConsumer.accept(new ArrayList<>(values));
+                        lastPublishTime = System.currentTimeMillis();
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+}
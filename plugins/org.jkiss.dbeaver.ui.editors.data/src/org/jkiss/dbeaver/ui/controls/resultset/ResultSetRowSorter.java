@@ -0,0 +1,223 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Client-side rows sorter.
+ *
+ * Cell values are read once for each sort column and stored in arrays specialized for actual values type
+ * (integers, floating point numbers, comparable values of the same class or arbitrary values).
+ * Then the array of row indexes is sorted, rows are not touched until the final reorder.
+ * Comparison results are the same as in {@link DBUtils#compareDataValues(Object, Object)}: nulls go last.
+ */
+public class ResultSetRowSorter {
+
+    private final ResultSetModel model;
+    private final List<SortColumn> columns = new ArrayList<>();
+
+    public ResultSetRowSorter(@NotNull ResultSetModel model) {
+        this.model = model;
+    }
+
+    public void addColumn(@NotNull DBDAttributeBinding binding, boolean descending) {
+        columns.add(new SortColumn(binding, descending));
+    }
+
+    /**
+     * Sorts rows list in place. Sort is stable.
+     */
+    public void sort(@NotNull List<ResultSetRow> rows) {
+        final int rowCount = rows.size();
+        if (columns.isEmpty() || rowCount < 2) {
+            return;
+        }
+        final ColumnKeys[] keys = new ColumnKeys[columns.size()];
+        final boolean[] descending = new boolean[columns.size()];
+        for (int i = 0; i < keys.length; i++) {
+            SortColumn column = columns.get(i);
+            keys[i] = makeKeys(column.binding, rows);
+            descending[i] = column.descending;
+        }
+
+        final Integer[] order = new Integer[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            order[i] = i;
+        }
+        // Parallel sort of objects is stable
+        Arrays.parallelSort(order, (row1, row2) -> {
+            for (int i = 0; i < keys.length; i++) {
+                int result = keys[i].compare(row1, row2);
+                if (result != 0) {
+                    return descending[i] ? -result : result;
+                }
+            }
+            return 0;
+        });
+
+        final ResultSetRow[] sortedRows = new ResultSetRow[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            sortedRows[i] = rows.get(order[i]);
+        }
+        for (int i = 0; i < rowCount; i++) {
+            rows.set(i, sortedRows[i]);
+        }
+    }
+
+    @NotNull
+    private ColumnKeys makeKeys(@NotNull DBDAttributeBinding binding, @NotNull List<ResultSetRow> rows) {
+        final int rowCount = rows.size();
+        final Object[] values = new Object[rowCount];
+        boolean allIntegers = true, allNumbers = true, sameComparable = true;
+        Class<?> valueClass = null;
+        for (int i = 0; i < rowCount; i++) {
+            Object value = model.getCellValue(binding, rows.get(i));
+            if (DBUtils.isNullValue(value)) {
+                continue;
+            }
+            values[i] = value;
+            if (!(value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)) {
+                allIntegers = false;
+            }
+            if (!(value instanceof Number)) {
+                allNumbers = false;
+            }
+            if (valueClass == null) {
+                valueClass = value.getClass();
+            }
+            if (!(value instanceof Comparable) || value.getClass() != valueClass) {
+                sameComparable = false;
+            }
+        }
+        if (valueClass == null) {
+            // All values are nulls
+            return (row1, row2) -> 0;
+        } else if (allIntegers) {
+            return new LongKeys(values);
+        } else if (allNumbers && !(sameComparable && (valueClass == BigDecimal.class || valueClass == BigInteger.class))) {
+            // Big numbers of the same type are compared exactly, other numbers are compared as doubles
+            return new DoubleKeys(values);
+        } else if (sameComparable) {
+            return new ComparableKeys(values);
+        } else {
+            return (row1, row2) -> DBUtils.compareDataValues(values[row1], values[row2]);
+        }
+    }
+
+    private static class SortColumn {
+        private final DBDAttributeBinding binding;
+        private final boolean descending;
+
+        SortColumn(DBDAttributeBinding binding, boolean descending) {
+            this.binding = binding;
+            this.descending = descending;
+        }
+    }
+
+    private interface ColumnKeys {
+        int compare(int row1, int row2);
+    }
+
+    private static abstract class NullableKeys implements ColumnKeys {
+        final boolean[] nulls;
+
+        NullableKeys(Object[] values) {
+            nulls = new boolean[values.length];
+            for (int i = 0; i < values.length; i++) {
+                nulls[i] = values[i] == null;
+            }
+        }
+
+        @Override
+        public int compare(int row1, int row2) {
+            if (nulls[row1]) {
+                return nulls[row2] ? 0 : 1;
+            } else if (nulls[row2]) {
+                return -1;
+            }
+            return compareValues(row1, row2);
+        }
+
+        abstract int compareValues(int row1, int row2);
+    }
+
+    private static class LongKeys extends NullableKeys {
+        private final long[] keys;
+
+        LongKeys(Object[] values) {
+            super(values);
+            keys = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    keys[i] = ((Number) values[i]).longValue();
+                }
+            }
+        }
+
+        @Override
+        int compareValues(int row1, int row2) {
+            return Long.compare(keys[row1], keys[row2]);
+        }
+    }
+
+    private static class DoubleKeys extends NullableKeys {
+        private final double[] keys;
+
+        DoubleKeys(Object[] values) {
+            super(values);
+            keys = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    keys[i] = ((Number) values[i]).doubleValue();
+                }
+            }
+        }
+
+        @Override
+        int compareValues(int row1, int row2) {
+            return Double.compare(keys[row1], keys[row2]);
+        }
+    }
+
+    private static class ComparableKeys extends NullableKeys {
+        private final Comparable[] keys;
+
+        ComparableKeys(Object[] values) {
+            super(values);
+            keys = new Comparable[values.length];
+            for (int i = 0; i < values.length; i++) {
+                keys[i] = (Comparable) values[i];
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        int compareValues(int row1, int row2) {
+            return keys[row1].compareTo(keys[row2]);
+        }
+    }
+
+}
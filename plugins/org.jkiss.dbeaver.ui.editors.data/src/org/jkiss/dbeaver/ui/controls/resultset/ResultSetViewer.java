@@ -2074,6 +2074,10 @@ public class ResultSetViewer extends Viewer
         if (hasWarnings) {
             statusMessage += " - " + dataReceiver.getErrorList().size() + " warning(s)";
         }
+        if (dataReceiver.isMemoryLimitReached()) {
+            statusMessage += " - " + NLS.bind(ResultSetMessages.controls_resultset_viewer_status_memory_limit, model.getRowCount());
+            hasWarnings = true;
+        }
         if (getPreferenceStore().getBoolean(ResultSetPreferences.RESULT_SET_SHOW_CONNECTION_NAME)) {
             DBSDataContainer dataContainer = getDataContainer();
             if (dataContainer != null) {
@@ -98,6 +98,7 @@ public class ResultSetMessages extends NLS {
     public static String controls_resultset_viewer_status_rows_fetched;
     public static String controls_resultset_viewer_status_rows_updated;
     public static String controls_resultset_viewer_status_rows_size;
+    public static String controls_resultset_viewer_status_memory_limit;
     public static String controls_resultset_viewer_value;
     public static String controls_resultset_viewer_calculate_row_count;
     public static String controls_resultset_viewer_pin_column;
@@ -285,6 +286,8 @@ public class ResultSetMessages extends NLS {
     public static String pref_page_database_resultsets_label_auto_fetch_segment_tip;
     public static String pref_page_database_resultsets_label_reread_on_scrolling;
     public static String pref_page_database_resultsets_label_reread_on_scrolling_tip;
+    public static String pref_page_database_resultsets_label_result_cache;
+    public static String pref_page_database_resultsets_label_result_cache_tip;
     public static String pref_page_database_resultsets_label_use_sql;
     public static String pref_page_database_resultsets_label_use_sql_tip;
     public static String pref_page_database_resultsets_label_order_mode;
@@ -35,11 +35,9 @@ import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.data.DBDDataFilter;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
-import org.jkiss.dbeaver.model.exec.DBCStatistics;
 import org.jkiss.dbeaver.model.impl.DBObjectNameCaseTransformer;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLDialect;
-import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
 import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.sql.parser.SQLSemanticProcessor;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
@@ -203,34 +201,19 @@ public class GroupingResultsContainer implements IResultSetContainer {
             groupingViewer.showEmptyPresentation();
             return;
         }
-        DBCStatistics statistics = presentation.getController().getModel().getStatistics();
-        if (statistics == null) {
-            throw new DBException("No main query - can't perform grouping");
-        }
         DBPDataSource dataSource = dataContainer.getDataSource();
         if (dataSource == null) {
             throw new DBException("No active datasource");
         }
-        SQLDialect dialect = SQLUtils.getDialectFromDataSource(dataSource);
-        SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
-        syntaxManager.init(dialect, presentation.getController().getPreferenceStore());
-        String queryText = statistics.getQueryText();
-        if (queryText == null || queryText.isEmpty()) {
-            DBSDataContainer dataContainer = presentation.getController().getDataContainer();
-            if (dataContainer != null) {
-                queryText = dataContainer.getName();
-            } else {
-                throw new DBException("Empty data container");
-            }
-        }
-        for (String delimiter : syntaxManager.getStatementDelimiters()) {
-            while (queryText.endsWith(delimiter)) {
-                queryText = queryText.substring(0, queryText.length() - delimiter.length());
-            }
+        String queryText = ResultSetQueryPushdown.getSourceQuery(presentation.getController());
+        if (queryText == null) {
+            throw new DBException("No main query - can't perform grouping");
         }
+        SQLDialect dialect = SQLUtils.getDialectFromDataSource(dataSource);
 
         StringBuilder sql = new StringBuilder();
         if (dialect.supportsSubqueries()) {
+            queryText = ResultSetQueryPushdown.getSubquery(dataSource, queryText);
             sql.append("SELECT ");
             for (int i = 0; i < groupAttributes.size(); i++) {
                 if (i > 0) sql.append(", ");
@@ -241,7 +224,7 @@ public class GroupingResultsContainer implements IResultSetContainer {
             }
             sql.append(" FROM (\n");
             sql.append(queryText);
-            sql.append("\n) src");
+            sql.append("\n) ").append(ResultSetQueryPushdown.SOURCE_ALIAS);
         } else {
             try {
                 Statement statement = SQLSemanticProcessor.parseQuery(dataSource.getSQLDialect(), queryText);
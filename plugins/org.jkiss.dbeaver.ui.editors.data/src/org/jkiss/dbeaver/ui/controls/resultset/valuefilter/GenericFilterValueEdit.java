@@ -36,6 +36,7 @@ import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.DBValueFormatting;
 import org.jkiss.dbeaver.model.data.*;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.exec.DBCLogicalOperator;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.DBExecUtils;
@@ -43,9 +44,11 @@ import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.struct.*;
+import org.jkiss.dbeaver.model.virtual.DBVDictionaryCache;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.controls.ListContentProvider;
 import org.jkiss.dbeaver.ui.controls.ViewerColumnController;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetQueryPushdown;
 import org.jkiss.dbeaver.ui.controls.resultset.ResultSetRow;
 import org.jkiss.dbeaver.ui.controls.resultset.ResultSetUtils;
 import org.jkiss.dbeaver.ui.controls.resultset.ResultSetViewer;
@@ -284,7 +287,14 @@ class GenericFilterValueEdit {
             } else if (attribute.getDataContainer() instanceof DBSDocumentAttributeEnumerable) {
                 loadDictionaryEnum((DBSDocumentAttributeEnumerable) attribute.getDataContainer(), onFinish);
             } else {
-                loadMultiValueList(Collections.emptyList(), true);
+                final String sourceQuery = ResultSetQueryPushdown.canReferenceAttribute(viewer, attribute) ?
+                    ResultSetQueryPushdown.getSourceQuery(viewer) : null;
+                if (sourceQuery != null) {
+                    loadQueryValues(sourceQuery, onFinish);
+                } else {
+                    // Results can't be re-queried. Use fetched rows only
+                    loadMultiValueList(Collections.emptyList(), true);
+                }
             }
         }
     }
@@ -315,8 +325,9 @@ class GenericFilterValueEdit {
                 final DBSEntityConstraint refConstraint = association.getReferencedConstraint();
                 final DBSDictionary enumConstraint = (DBSDictionary) refConstraint.getParentObject();
                 if (fkAttribute != null && enumConstraint != null) {
-                    return enumConstraint.getDictionaryEnumeration(
+                    return DBVDictionaryCache.getDictionaryEnumeration(
                         monitor,
+                        enumConstraint,
                         refColumn,
                         filterPattern,
                         null,
@@ -384,6 +395,37 @@ class GenericFilterValueEdit {
         loadJob.schedule();
     }
 
+    private void loadQueryValues(@NotNull String sourceQuery, @Nullable Runnable onFinish) {
+        loadJob = new KeyLoadJob("Load '" + attribute.getName() + "' values", onFinish) {
+            private List<DBDLabelValuePair> result;
+
+            @Override
+            List<DBDLabelValuePair> readEnumeration(DBRProgressMonitor monitor) throws DBException {
+                final DBCExecutionContext executionContext = viewer.getExecutionContext();
+                if (executionContext == null) {
+                    return null;
+                }
+                DBExecUtils.tryExecuteRecover(monitor, executionContext.getDataSource(), param -> {
+                    try (DBCSession session = executionContext.openSession(monitor, DBCExecutionPurpose.UTIL, "Read distinct values")) {
+                        result = ResultSetQueryPushdown.readDistinctValues(
+                            session,
+                            sourceQuery,
+                            attribute,
+                            filterPattern,
+                            showRowCount,
+                            caseInsensitiveSearch,
+                            MAX_MULTI_VALUES,
+                            this::populateValues);
+                    } catch (DBException e) {
+                        throw new InvocationTargetException(e);
+                    }
+                });
+                return result;
+            }
+        };
+        loadJob.schedule();
+    }
+
     private void loadMultiValueList(@NotNull Collection<DBDLabelValuePair> values, boolean mergeResultsWithData) {
         if (tableViewer == null || tableViewer.getControl() == null || tableViewer.getControl().isDisposed()) {
             return;
@@ -41,6 +41,7 @@ import org.jkiss.dbeaver.model.navigator.DBNUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.load.AbstractLoadService;
 import org.jkiss.dbeaver.model.struct.*;
+import org.jkiss.dbeaver.model.virtual.DBVDictionaryCache;
 import org.jkiss.dbeaver.ui.LoadingJob;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.controls.ProgressLoaderVisualizer;
@@ -491,8 +492,9 @@ public class ReferenceValueEditor {
             final DBSEntityConstraint refConstraint = association.getReferencedConstraint();
             final DBSDictionary enumConstraint = (DBSDictionary) refConstraint.getParentObject();
             if (fkAttribute != null && enumConstraint != null) {
-                Collection<DBDLabelValuePair> enumValues = enumConstraint.getDictionaryEnumeration(
+                Collection<DBDLabelValuePair> enumValues = DBVDictionaryCache.getDictionaryEnumeration(
                     monitor,
+                    enumConstraint,
                     refColumn,
                     pattern,
                     precedingKeys,
@@ -0,0 +1,122 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.data.managers;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Node of the lazy content outline (JSON object, XML element, etc).
+ * Node keeps its position in content so its children and text may be read later without parsing the whole content.
+ */
+public class ContentOutlineNode {
+
+    public enum Kind {
+        OBJECT,
+        ARRAY,
+        ELEMENT,
+        VALUE,
+        TEXT,
+        // Placeholder of children which were not read yet
+        MORE
+    }
+
+    private final ContentOutlineNode parent;
+    private final Kind kind;
+    private final String name;
+    private final String preview;
+    private final long offset;
+    private final long endOffset;
+    private final int index;
+    private final boolean container;
+    private List<ContentOutlineNode> children;
+
+    /**
+     * @param offset    position of the node start in content (in chars)
+     * @param endOffset position of the node end (exclusive)
+     * @param index     index of the node in parent. For MORE nodes - index of the next child
+     */
+    public ContentOutlineNode(@Nullable ContentOutlineNode parent, @NotNull Kind kind, @NotNull String name, @Nullable String preview, long offset, long endOffset, int index, boolean container) {
+        this.parent = parent;
+        this.kind = kind;
+        this.name = name;
+        this.preview = preview;
+        this.offset = offset;
+        this.endOffset = endOffset;
+        this.index = index;
+        this.container = container;
+    }
+
+    @Nullable
+    public ContentOutlineNode getParent() {
+        return parent;
+    }
+
+    @NotNull
+    public Kind getKind() {
+        return kind;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @Nullable
+    public String getPreview() {
+        return preview;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Node may have children. They are read when node is expanded.
+     */
+    public boolean isContainer() {
+        return container;
+    }
+
+    /**
+     * Returns read children or null if children were not read yet
+     */
+    @Nullable
+    public List<ContentOutlineNode> getChildren() {
+        return children;
+    }
+
+    public void setChildren(@NotNull List<ContentOutlineNode> children) {
+        this.children = new ArrayList<>(children);
+    }
+
+    @Override
+    public String toString() {
+        return preview == null ? name : name + " " + preview;
+    }
+}
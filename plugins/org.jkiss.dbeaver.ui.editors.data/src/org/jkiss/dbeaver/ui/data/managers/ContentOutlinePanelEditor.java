@@ -0,0 +1,273 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.data.managers;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.action.IContributionManager;
+import org.eclipse.jface.viewers.*;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.SashForm;
+import org.eclipse.swt.custom.StyledText;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.data.IStreamValueEditor;
+import org.jkiss.dbeaver.ui.data.IValueController;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only outline viewer of large structured documents (JSON, XML).
+ *
+ * Document is never read as a whole. Outline nodes are read by the parser when they are expanded,
+ * text of the selected node is pretty-printed in the bottom pane (up to MAX_TEXT_LENGTH chars).
+ * Works with paged content storages, content is read from the node position.
+ */
+public class ContentOutlinePanelEditor implements IStreamValueEditor<SashForm> {
+
+    private static final Log log = Log.getLog(ContentOutlinePanelEditor.class);
+
+    // Stream managers make outline the primary editor for documents larger than this
+    public static final long LARGE_CONTENT_LENGTH = 10 * 1024 * 1024;
+
+    private static final int MAX_CHILDREN = 1000;
+    private static final int MAX_TEXT_LENGTH = 1024 * 1024;
+
+    private final ContentOutlineParser parser;
+    private volatile DBDContentStorage storage;
+    private TreeViewer treeViewer;
+    private StyledText textViewer;
+    private final List<ContentOutlineNode> rootNodes = new ArrayList<>();
+
+    public ContentOutlinePanelEditor(@NotNull ContentOutlineParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Checks that content is large enough to be shown in outline viewer by default
+     */
+    public static boolean isLargeContent(@Nullable DBDContent value) {
+        if (value == null) {
+            return false;
+        }
+        try {
+            return value.getContentLength() >= LARGE_CONTENT_LENGTH;
+        } catch (DBCException e) {
+            log.debug("Can't get content length: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public SashForm createControl(IValueController valueController) {
+        SashForm sash = new SashForm(valueController.getEditPlaceholder(), SWT.VERTICAL);
+
+        treeViewer = new TreeViewer(sash, SWT.BORDER | SWT.SINGLE | SWT.FULL_SELECTION);
+        treeViewer.setUseHashlookup(true);
+        treeViewer.setContentProvider(new OutlineContentProvider());
+        treeViewer.setLabelProvider(new LabelProvider());
+        treeViewer.addSelectionChangedListener(event -> {
+            Object element = ((IStructuredSelection) event.getSelection()).getFirstElement();
+            if (element instanceof ContentOutlineNode) {
+                showNodeText((ContentOutlineNode) element);
+            }
+        });
+        treeViewer.addDoubleClickListener(event -> {
+            Object element = ((IStructuredSelection) event.getSelection()).getFirstElement();
+            if (element instanceof ContentOutlineNode && ((ContentOutlineNode) element).getKind() == ContentOutlineNode.Kind.MORE) {
+                loadChildren((ContentOutlineNode) element);
+            }
+        });
+
+        textViewer = new StyledText(sash, SWT.BORDER | SWT.READ_ONLY | SWT.V_SCROLL | SWT.H_SCROLL);
+        textViewer.setFont(UIUtils.getMonospaceFont());
+
+        sash.setWeights(new int[] {60, 40});
+        return sash;
+    }
+
+    @Override
+    public void primeEditorValue(@NotNull DBRProgressMonitor monitor, @NotNull SashForm control, @NotNull DBDContent value) throws DBException {
+        monitor.beginTask("Read document outline", 1);
+        try {
+            storage = value.getContents(monitor);
+            List<ContentOutlineNode> nodes = storage == null ? Collections.emptyList() : readChildren(monitor, null);
+            UIUtils.asyncExec(() -> {
+                if (treeViewer.getControl().isDisposed()) {
+                    return;
+                }
+                rootNodes.clear();
+                rootNodes.addAll(nodes);
+                textViewer.setText("");
+                treeViewer.setInput(rootNodes);
+                if (rootNodes.size() == 1 && rootNodes.get(0).isContainer()) {
+                    treeViewer.setExpandedState(rootNodes.get(0), true);
+                }
+            });
+        } catch (IOException e) {
+            throw new DBException("Error reading document outline", e);
+        } finally {
+            monitor.done();
+        }
+    }
+
+    @Override
+    public void extractEditorValue(@NotNull DBRProgressMonitor monitor, @NotNull SashForm control, @NotNull DBDContent value) throws DBException {
+        // Read-only viewer
+    }
+
+    @Override
+    public void contributeActions(@NotNull IContributionManager manager, @NotNull SashForm control) throws DBCException {
+
+    }
+
+    @Override
+    public void contributeSettings(@NotNull IContributionManager manager, @NotNull SashForm control) throws DBCException {
+
+    }
+
+    private List<ContentOutlineNode> readChildren(@NotNull DBRProgressMonitor monitor, @Nullable ContentOutlineNode node) throws IOException {
+        long offset = node == null ? 0 : node.getOffset();
+        try (ContentOutlineReader reader = ContentOutlineReader.open(storage, offset)) {
+            return parser.readChildren(monitor, reader, node, MAX_CHILDREN);
+        }
+    }
+
+    /**
+     * Reads node children in background. Children of MORE node replace it in its parent.
+     */
+    private void loadChildren(@NotNull ContentOutlineNode node) {
+        new AbstractJob("Read outline of " + node.getName()) {
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                List<ContentOutlineNode> children;
+                try {
+                    children = readChildren(monitor, node);
+                } catch (IOException e) {
+                    log.debug("Error reading document outline", e);
+                    children = Collections.emptyList();
+                }
+                List<ContentOutlineNode> finalChildren = children;
+                UIUtils.asyncExec(() -> {
+                    if (treeViewer.getControl().isDisposed()) {
+                        return;
+                    }
+                    if (node.getKind() == ContentOutlineNode.Kind.MORE) {
+                        ContentOutlineNode parent = node.getParent();
+                        List<ContentOutlineNode> siblings = parent == null ? rootNodes : parent.getChildren();
+                        if (siblings != null && siblings.remove(node)) {
+                            siblings.addAll(finalChildren);
+                        }
+                        if (parent == null) {
+                            treeViewer.refresh();
+                        } else {
+                            treeViewer.refresh(parent);
+                        }
+                    } else {
+                        node.setChildren(finalChildren);
+                        treeViewer.refresh(node);
+                    }
+                });
+                return Status.OK_STATUS;
+            }
+        }.schedule();
+    }
+
+    private void showNodeText(@NotNull ContentOutlineNode node) {
+        if (node.getKind() == ContentOutlineNode.Kind.MORE) {
+            textViewer.setText("");
+            return;
+        }
+        new AbstractJob("Read text of " + node.getName()) {
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                String text;
+                try (ContentOutlineReader reader = ContentOutlineReader.open(storage, node.getOffset())) {
+                    long textLength = node.getEndOffset() - node.getOffset();
+                    StringBuilder buffer = new StringBuilder((int) Math.min(textLength, MAX_TEXT_LENGTH));
+                    for (int i = 0; i < textLength && i < MAX_TEXT_LENGTH; i++) {
+                        int c = reader.read();
+                        if (c < 0) {
+                            break;
+                        }
+                        buffer.append((char) c);
+                    }
+                    if (textLength > MAX_TEXT_LENGTH) {
+                        // Partial text can't be formatted
+                        buffer.append("\n... (").append(textLength - MAX_TEXT_LENGTH).append(" more characters)");
+                        text = buffer.toString();
+                    } else {
+                        text = parser.formatText(buffer.toString());
+                    }
+                } catch (IOException e) {
+                    text = "Error reading text: " + e.getMessage();
+                }
+                String finalText = text;
+                UIUtils.asyncExec(() -> {
+                    if (!textViewer.isDisposed()) {
+                        textViewer.setText(finalText);
+                    }
+                });
+                return Status.OK_STATUS;
+            }
+        }.schedule();
+    }
+
+    private class OutlineContentProvider implements ITreeContentProvider {
+
+        @Override
+        public Object[] getElements(Object inputElement) {
+            return rootNodes.toArray();
+        }
+
+        @Override
+        public Object[] getChildren(Object parentElement) {
+            ContentOutlineNode node = (ContentOutlineNode) parentElement;
+            List<ContentOutlineNode> children = node.getChildren();
+            if (children == null) {
+                ContentOutlineNode loadingNode = new ContentOutlineNode(
+                    node, ContentOutlineNode.Kind.TEXT, "Loading...", null, node.getOffset(), node.getOffset(), 0, false);
+                node.setChildren(Collections.singletonList(loadingNode));
+                loadChildren(node);
+                return new Object[] { loadingNode };
+            }
+            return children.toArray();
+        }
+
+        @Override
+        public Object getParent(Object element) {
+            return ((ContentOutlineNode) element).getParent();
+        }
+
+        @Override
+        public boolean hasChildren(Object element) {
+            return ((ContentOutlineNode) element).isContainer();
+        }
+    }
+
+}
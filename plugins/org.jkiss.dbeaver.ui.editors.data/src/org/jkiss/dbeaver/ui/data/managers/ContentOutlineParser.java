@@ -0,0 +1,52 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.data.managers;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Incremental parser of structured text content (JSON, XML).
+ * Parser reads only the requested part of content, nested nodes are skipped and read later when they are expanded.
+ */
+public interface ContentOutlineParser {
+
+    /**
+     * Reads children of the node.
+     * Reader is positioned at the node start, at the next child for MORE nodes or at the content start for root nodes.
+     * Reads at most maxChildren nodes. If there are more children then MORE node is added in the end.
+     *
+     * @param node node to read or null for root nodes
+     */
+    @NotNull
+    List<ContentOutlineNode> readChildren(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull ContentOutlineReader reader,
+        @Nullable ContentOutlineNode node,
+        int maxChildren) throws IOException;
+
+    /**
+     * Pretty-prints node text. Returns text as is if it can't be formatted.
+     */
+    @NotNull
+    String formatText(@NotNull String text);
+
+}
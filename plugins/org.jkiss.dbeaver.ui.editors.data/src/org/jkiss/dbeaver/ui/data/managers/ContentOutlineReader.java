@@ -0,0 +1,154 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.data.managers;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.data.DBDContentStorage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Buffered content reader for outline parsers. Tracks position in content and supports look ahead.
+ */
+public class ContentOutlineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int bufferPos;
+    private int bufferEnd;
+    private long position;
+
+    public ContentOutlineReader(@NotNull Reader reader, long position) {
+        this.reader = reader;
+        this.position = position;
+    }
+
+    /**
+     * Opens content reader at the specified position.
+     * Paged storages skip content without reading it.
+     */
+    public static ContentOutlineReader open(@NotNull DBDContentStorage storage, long position) throws IOException {
+        Reader reader = storage.getContentReader();
+        long skipped = 0;
+        while (skipped < position) {
+            long count = reader.skip(position - skipped);
+            if (count <= 0) {
+                break;
+            }
+            skipped += count;
+        }
+        return new ContentOutlineReader(reader, skipped);
+    }
+
+    /**
+     * Position of the next char in content
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    public int peek() throws IOException {
+        return peek(0);
+    }
+
+    /**
+     * Returns char at the specified offset from the current position or -1 at the end of content
+     */
+    public int peek(int offset) throws IOException {
+        if (!fill(offset + 1)) {
+            return -1;
+        }
+        return buffer[bufferPos + offset];
+    }
+
+    public int read() throws IOException {
+        if (!fill(1)) {
+            return -1;
+        }
+        position++;
+        return buffer[bufferPos++];
+    }
+
+    public boolean lookingAt(@NotNull String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            if (peek(i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void skip(int count) throws IOException {
+        for (int i = 0; i < count && read() >= 0; i++) {
+            // skip
+        }
+    }
+
+    public void skipWhitespaces() throws IOException {
+        while (Character.isWhitespace(peek())) {
+            read();
+        }
+    }
+
+    /**
+     * Skips content until the terminator (inclusive).
+     *
+     * @return false if content ended before the terminator
+     */
+    public boolean skipPast(@NotNull String terminator) throws IOException {
+        for (;;) {
+            if (lookingAt(terminator)) {
+                skip(terminator.length());
+                return true;
+            }
+            if (read() < 0) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean fill(int count) throws IOException {
+        if (bufferEnd - bufferPos >= count) {
+            return true;
+        }
+        if (count > buffer.length) {
+            return false;
+        }
+        int remaining = bufferEnd - bufferPos;
+        System.arraycopy(buffer, bufferPos, buffer, 0, remaining);
+        bufferPos = 0;
+        bufferEnd = remaining;
+        while (bufferEnd < count) {
+            int read = reader.read(buffer, bufferEnd, buffer.length - bufferEnd);
+            if (read < 0) {
+                return false;
+            }
+            bufferEnd += read;
+        }
+        return true;
+    }
+
+}
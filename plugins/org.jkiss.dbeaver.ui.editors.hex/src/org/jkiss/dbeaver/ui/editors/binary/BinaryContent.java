@@ -60,6 +60,8 @@ public class BinaryContent {
         long length = -1L;
         long dataOffset = 0L;
         Object data = null;
+        // Large files are read by segments cached in heap, the cache is shared by all parts of the file
+        FileSegments segments = null;
 
         private boolean dirty = true;
 
@@ -82,8 +84,11 @@ public class BinaryContent {
             this(aPosition, aFile.length());
             if (length < 0L) throw new IOException("File error");
 
-            data = new RandomAccessFile(aFile, "r");
+            RandomAccessFile file = new RandomAccessFile(aFile, "r");
+            data = file;
             dirty = isDirty;
+            if (length >= segmentedFileMinLength)
+                segments = new FileSegments(file.getChannel());
         }
 
         @Override
@@ -124,7 +129,66 @@ public class BinaryContent {
     }
 
 
+    /**
+     * Heap cache of the recently read segments of a file. Segments are keyed by their file position.
+     * Mapped buffers can't be unmapped explicitly and would keep the file locked on Windows.
+     */
+    final static class FileSegments {
+        private final FileChannel channel;
+        private final LinkedHashMap<Long, ByteBuffer> segments = new LinkedHashMap<>(16, 0.75f, true);
+
+        FileSegments(FileChannel channel)
+        {
+            this.channel = channel;
+        }
+
+        /**
+         * Copies file bytes from the specified file position to dst, up to the end of the file segment.
+         *
+         * @return number of copied bytes, 0 at the end of file
+         */
+        synchronized int read(long filePosition, ByteBuffer dst)
+            throws IOException
+        {
+            long segmentStart = filePosition / fileSegmentLength * fileSegmentLength;
+            ByteBuffer segment = segments.get(segmentStart);
+            if (segment == null) {
+                if (segments.size() < maxCachedSegments) {
+                    segment = ByteBuffer.allocate((int) fileSegmentLength);
+                } else {
+                    // Reuse the least recently read segment
+                    Iterator<ByteBuffer> eldest = segments.values().iterator();
+                    segment = eldest.next();
+                    eldest.remove();
+                    segment.clear();
+                }
+                while (segment.hasRemaining()) {
+                    if (channel.read(segment, segmentStart + segment.position()) < 0)
+                        break;
+                }
+                segment.flip();
+                segments.put(segmentStart, segment);
+            }
+            ByteBuffer view = segment.duplicate();
+            view.position((int) Math.min(filePosition - segmentStart, view.limit()));
+            if (view.remaining() > dst.remaining())
+                view.limit(view.position() + dst.remaining());
+            int count = view.remaining();
+            dst.put(view);
+            return count;
+        }
+
+        synchronized void clear()
+        {
+            segments.clear();
+        }
+    }
+
+
     private static final long mappedFileBufferLength = 2048 * 1024;  // for mapped file I/O
+    private static final long segmentedFileMinLength = 32 * 1024 * 1024;  // files are read by segments if they are larger
+    private static final long fileSegmentLength = 1024 * 1024;
+    private static final int maxCachedSegments = 4;  // per file
 
     private ActionHistory actions = null;  // undo/redo actions history
     private ActionHistory actionsTemp = null;
@@ -141,7 +205,7 @@ public class BinaryContent {
     /**
      * Create new empty content.
      */
-    BinaryContent()
+    public BinaryContent()
     {
     }
 
@@ -356,6 +420,9 @@ public class BinaryContent {
         if (ranges == null) return;
 
         for (Range value : ranges) {
+            if (value.segments != null) {
+                value.segments.clear();
+            }
             if (value.data instanceof Closeable) {
                 ContentUtils.close((Closeable) value.data);
             }
@@ -408,7 +475,14 @@ public class BinaryContent {
                 limit = dst.limit();
                 dst.limit(dst.position() + length);
             }
-            src.getChannel().read(dst, start);
+            if (sourceRange.segments != null) {
+                while (dst.hasRemaining()) {
+                    if (sourceRange.segments.read(start + dst.position() - dstInitialPosition, dst) == 0)
+                        break;
+                }
+            } else {
+                src.getChannel().read(dst, start);
+            }
             if (limit > 0)
                 dst.limit(limit);
         }
@@ -613,9 +687,16 @@ public class BinaryContent {
                 data.position((int) range.dataOffset);
                 result = data.get((int) (position - range.position)) & 0x0ff;
             } else if (value instanceof RandomAccessFile) {
-                RandomAccessFile randomFile = (RandomAccessFile) value;
-                randomFile.seek(position);
-                result = randomFile.read();
+                long filePosition = range.dataOffset + position - range.position;
+                if (range.segments != null) {
+                    ByteBuffer oneByte = ByteBuffer.allocate(1);
+                    if (range.segments.read(filePosition, oneByte) > 0)
+                        result = oneByte.get(0) & 0x0ff;
+                } else {
+                    RandomAccessFile randomFile = (RandomAccessFile) value;
+                    randomFile.seek(filePosition);
+                    result = randomFile.read();
+                }
             }
         }
 
@@ -20,6 +20,13 @@ package org.jkiss.dbeaver.ui.editors.binary;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,21 +36,33 @@ import java.util.regex.Pattern;
  * Given a literal, finds its position in the file. It is possible to get subsequent finds.
  * The search is either binary or text based. Text based search uses standard java unicode (all of big
  * and little endian, odd and even address) plus ascii when the literal falls within ascii char limits.
+ * Byte sequences are found with Boyer-Moore-Horspool algorithm.
+ * Large contents are searched by batches of parts, parts of a batch are searched in parallel.
  *
  * @author Jordi
  */
 public class BinaryTextFinder {
 
 
-    public static final int MAP_SIZE = 64 * 1024;
+    public static final int MAP_SIZE = 1024 * 1024;
     public static final int MAX_SEQUENCE_SIZE = 2 * 1024;  // a search string of 2K should be enough
 
+    private static final int SEARCH_THREADS = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), 4));
+    private static final long PARALLEL_SEARCH_MIN_LENGTH = 16L * MAP_SIZE;
+    private static final ExecutorService searchExecutor = Executors.newFixedThreadPool(SEARCH_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "Binary search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private long bufferPosition = -1L;
     private ByteBuffer byteBuffer = null;
     private int currentPartFound = -1;  // relative positions
     private boolean currentPartFoundIsUnicode = false;
     private long currentPosition = 0L;  // absolute value, start of forward finds, end(exclusive) of backward finds
     private byte[] byteFindSequence = null;
+    private byte[] searchSequence = null;  // byteFindSequence with folded case
+    private int[] skipTable = null;  // bad character shifts of searchSequence
     private boolean caseSensitive = true;
     private BinaryContent content = null;
     private boolean directionForward = true;
@@ -87,47 +106,66 @@ public class BinaryTextFinder {
     void findAllMatches()
         throws IOException
     {
-        currentPartFound = findHexAsciiMatchInPart();
-        int currentPartFoundUnicode = findUnicodeMatchInPart();
-        currentPartFoundIsUnicode = false;
-
-        if (currentPartFoundUnicode >= 0 && (currentPartFound < 0 ||
-            directionForward && currentPartFound > currentPartFoundUnicode ||
-            !directionForward && currentPartFound < currentPartFoundUnicode)) {
-            currentPartFound = currentPartFoundUnicode;
-            currentPartFoundIsUnicode = true;
-        }
+        int[] match = findMatchInPart(byteBuffer);
+        currentPartFound = match[0];
+        currentPartFoundIsUnicode = match[1] != 0;
     }
 
 
-    private int findHexAsciiMatchInPart()
-        throws IOException
+    /**
+     * Finds the first match in the part (in search direction).
+     * Doesn't change finder state so parts may be searched concurrently.
+     *
+     * @return relative match position (or -1) and unicode flag
+     */
+    private int[] findMatchInPart(ByteBuffer part)
     {
-        if (byteFindSequence == null) return -1;
-
-        int start = 0;
-        int inclusiveEnd = byteBuffer.limit() - byteFindSequence.length;
-        if (!directionForward) {
-            start = inclusiveEnd;
-            inclusiveEnd = 0;
+        int partFound = findHexAsciiMatchInPart(part);
+        int partFoundUnicode = findUnicodeMatchInPart(part);
+        boolean partFoundIsUnicode = false;
+
+        if (partFoundUnicode >= 0 && (partFound < 0 ||
+            directionForward && partFound > partFoundUnicode ||
+            !directionForward && partFound < partFoundUnicode)) {
+            partFound = partFoundUnicode;
+            partFoundIsUnicode = true;
         }
+        return new int[] {partFound, partFoundIsUnicode ? 1 : 0};
+    }
+
 
-        for (int i = start;
-            directionForward && i <= inclusiveEnd || !directionForward && i >= inclusiveEnd;
-            i += directionForward ? 1 : -1)
-        {
-            boolean matchesSoFar = true;
-            for (int j = 0; j < byteFindSequence.length && matchesSoFar; ++j) {
-                byte existing = byteBuffer.get(i + j);
-                byte matcher = byteFindSequence[j];
-                if (existing != matcher) {
-                    if (caseSensitive || existing < 'A' || existing > 'z' || matcher < 'A' ||
-                        matcher > 'z' || existing - matcher != 32 && matcher - existing != 32)
-                        matchesSoFar = false;
+    private int findHexAsciiMatchInPart(ByteBuffer part)
+    {
+        if (searchSequence == null) return -1;
+
+        final byte[] sequence = searchSequence;
+        final int[] skip = skipTable;
+        final int last = sequence.length - 1;
+        final int inclusiveEnd = part.limit() - sequence.length;
+
+        if (directionForward) {
+            int i = 0;
+            while (i <= inclusiveEnd) {
+                int j = last;
+                while (j >= 0 && foldCase(part.get(i + j)) == sequence[j]) {
+                    --j;
+                }
+                if (j < 0) {
+                    return i;
                 }
+                i += skip[foldCase(part.get(i + last)) & 0xff];
             }
-            if (matchesSoFar) {
-                return i;
+        } else {
+            int i = inclusiveEnd;
+            while (i >= 0) {
+                int j = 0;
+                while (j <= last && foldCase(part.get(i + j)) == sequence[j]) {
+                    ++j;
+                }
+                if (j > last) {
+                    return i;
+                }
+                i -= skip[foldCase(part.get(i)) & 0xff];
             }
         }
 
@@ -135,8 +173,46 @@ public class BinaryTextFinder {
     }
 
 
-    private int findUnicodeMatchInPart()
-        throws IOException
+    private byte foldCase(byte value)
+    {
+        if (!caseSensitive && value >= 'A' && value <= 'Z') {
+            return (byte) (value + 32);
+        }
+        return value;
+    }
+
+
+    /**
+     * Builds Horspool bad character table for the current direction and case sensitivity.
+     * Backward search uses the table of the reversed sequence.
+     */
+    private void prepareSkipTable()
+    {
+        if (byteFindSequence == null) {
+            searchSequence = null;
+            skipTable = null;
+            return;
+        }
+        int length = byteFindSequence.length;
+        searchSequence = new byte[length];
+        for (int i = 0; i < length; ++i) {
+            searchSequence[i] = foldCase(byteFindSequence[i]);
+        }
+        skipTable = new int[256];
+        Arrays.fill(skipTable, length);
+        if (directionForward) {
+            for (int i = 0; i < length - 1; ++i) {
+                skipTable[searchSequence[i] & 0xff] = length - 1 - i;
+            }
+        } else {
+            for (int i = length - 1; i > 0; --i) {
+                skipTable[searchSequence[i] & 0xff] = i;
+            }
+        }
+    }
+
+
+    private int findUnicodeMatchInPart(ByteBuffer byteBuffer)
     {
         if (pattern == null) return -1;
 
@@ -195,15 +271,15 @@ public class BinaryTextFinder {
         throws IOException
     {
         stopSearching = false;
+        prepareSkipTable();
         populatePart();
         findAllMatches();
 
         while (currentPartFound < 0) { // end of part
-            if (nextPart() == null || stopSearching) {
+            if (stopSearching || !findInNextParts()) {
                 stopSearching = false;
                 return null;  // end of file
             }
-            findAllMatches();
         }
 
         long resultPosition = bufferPosition + currentPartFound;
@@ -214,6 +290,59 @@ public class BinaryTextFinder {
     }
 
 
+    /**
+     * Reads next parts and searches them. Batch of parts is searched in parallel if content is large.
+     * Finder stays at the first part with a match or at the last read part.
+     *
+     * @return false if there are no more parts
+     */
+    private boolean findInNextParts()
+        throws IOException
+    {
+        int batchSize = getContentLength() >= PARALLEL_SEARCH_MIN_LENGTH ? SEARCH_THREADS : 1;
+        List<ByteBuffer> parts = new ArrayList<>(batchSize);
+        List<Long> partPositions = new ArrayList<>(batchSize);
+        while (parts.size() < batchSize && !stopSearching && nextPart() != null) {
+            parts.add(byteBuffer);
+            partPositions.add(bufferPosition);
+        }
+        if (parts.isEmpty()) {
+            return false;
+        }
+        if (parts.size() == 1) {
+            findAllMatches();
+            return true;
+        }
+
+        List<Future<int[]>> results = new ArrayList<>(parts.size());
+        for (ByteBuffer part : parts) {
+            results.add(searchExecutor.submit(() -> findMatchInPart(part)));
+        }
+        try {
+            for (int i = 0; i < results.size(); i++) {
+                int[] match = results.get(i).get();
+                if (match[0] >= 0) {
+                    byteBuffer = parts.get(i);
+                    bufferPosition = partPositions.get(i);
+                    currentPartFound = match[0];
+                    currentPartFoundIsUnicode = match[1] != 0;
+                    return true;
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IOException("Error searching content", e.getCause());
+        } catch (InterruptedException e) {
+            stopSearching = true;
+        } finally {
+            for (Future<int[]> result : results) {
+                result.cancel(false);
+            }
+        }
+        currentPartFound = -1;
+        return true;
+    }
+
+
     void initSearchHex(byte[] sequence)
     {
         byteFindSequence = sequence;
@@ -49,6 +49,16 @@ public class JSONFormattingStrategy extends ContextBasedFormattingStrategy
         if (CommonUtils.isEmpty(content)) {
             return content;
         }
+        return formatJSON(content);
+    }
+
+    @Override
+    public void formatterStops()
+    {
+    }
+
+    static String formatJSON(String content)
+    {
         JsonParser parser = new JsonParser();
         JsonElement jsonElement = parser.parse(content);
 
@@ -62,9 +72,4 @@ public class JSONFormattingStrategy extends ContextBasedFormattingStrategy
         return formattedJson;
     }
 
-    @Override
-    public void formatterStops()
-    {
-    }
-
 }
\ No newline at end of file
@@ -0,0 +1,238 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.json;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.ui.data.managers.ContentOutlineNode;
+import org.jkiss.dbeaver.ui.data.managers.ContentOutlineParser;
+import org.jkiss.dbeaver.ui.data.managers.ContentOutlineReader;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental JSON outline parser.
+ * Nested objects and arrays are skipped (only their children are counted), they are parsed when expanded.
+ * Root level may contain several values (JSON lines).
+ */
+public class JSONOutlineParser implements ContentOutlineParser {
+
+    private static final Log log = Log.getLog(JSONOutlineParser.class);
+
+    private static final int MAX_PREVIEW_LENGTH = 200;
+
+    @NotNull
+    @Override
+    public List<ContentOutlineNode> readChildren(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull ContentOutlineReader reader,
+        @Nullable ContentOutlineNode node,
+        int maxChildren) throws IOException
+    {
+        if (node == null) {
+            return readMembers(monitor, reader, null, ContentOutlineNode.Kind.VALUE, 0, maxChildren);
+        }
+        switch (node.getKind()) {
+            case OBJECT:
+            case ARRAY:
+                // Skip opening bracket
+                reader.read();
+                return readMembers(monitor, reader, node, node.getKind(), 0, maxChildren);
+            case MORE:
+                ContentOutlineNode parent = node.getParent();
+                return readMembers(
+                    monitor, reader, parent,
+                    parent == null ? ContentOutlineNode.Kind.VALUE : parent.getKind(),
+                    node.getIndex(), maxChildren);
+            default:
+                return new ArrayList<>();
+        }
+    }
+
+    @NotNull
+    @Override
+    public String formatText(@NotNull String text) {
+        if (CommonUtils.isEmptyTrimmed(text)) {
+            return text;
+        }
+        try {
+            return JSONFormattingStrategy.formatJSON(text);
+        } catch (Exception e) {
+            log.debug("Error formatting JSON: " + e.getMessage());
+            return text;
+        }
+    }
+
+    /**
+     * Reads members of object, array or root level (kind is VALUE)
+     */
+    private List<ContentOutlineNode> readMembers(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull ContentOutlineReader reader,
+        @Nullable ContentOutlineNode parent,
+        @NotNull ContentOutlineNode.Kind kind,
+        int startIndex,
+        int maxChildren) throws IOException
+    {
+        List<ContentOutlineNode> members = new ArrayList<>();
+        for (int index = startIndex; !monitor.isCanceled(); index++) {
+            reader.skipWhitespaces();
+            if (reader.peek() == ',') {
+                reader.read();
+                reader.skipWhitespaces();
+            }
+            int c = reader.peek();
+            if (c < 0 || c == '}' || c == ']') {
+                break;
+            }
+            if (members.size() >= maxChildren) {
+                members.add(new ContentOutlineNode(
+                    parent, ContentOutlineNode.Kind.MORE, "...", null, reader.getPosition(), reader.getPosition(), index, false));
+                break;
+            }
+            String name;
+            if (kind == ContentOutlineNode.Kind.OBJECT) {
+                name = c == '"' ? readString(reader) : readScalar(reader);
+                reader.skipWhitespaces();
+                if (reader.peek() == ':') {
+                    reader.read();
+                }
+                reader.skipWhitespaces();
+            } else if (kind == ContentOutlineNode.Kind.ARRAY) {
+                name = "[" + index + "]";
+            } else {
+                name = "$";
+            }
+            members.add(readValue(reader, parent, name, index));
+        }
+        return members;
+    }
+
+    private ContentOutlineNode readValue(@NotNull ContentOutlineReader reader, @Nullable ContentOutlineNode parent, @NotNull String name, int index) throws IOException {
+        long offset = reader.getPosition();
+        int c = reader.peek();
+        if (c == '{' || c == '[') {
+            int childCount = skipContainer(reader);
+            return new ContentOutlineNode(
+                parent,
+                c == '{' ? ContentOutlineNode.Kind.OBJECT : ContentOutlineNode.Kind.ARRAY,
+                name,
+                c == '{' ? "{" + childCount + "}" : "[" + childCount + "]",
+                offset, reader.getPosition(), index, childCount > 0);
+        }
+        String value = c == '"' ? '"' + readString(reader) + '"' : readScalar(reader);
+        return new ContentOutlineNode(parent, ContentOutlineNode.Kind.VALUE, name, value, offset, reader.getPosition(), index, false);
+    }
+
+    /**
+     * Reads quoted string. Returns string start (up to MAX_PREVIEW_LENGTH chars), escapes are kept as is.
+     */
+    private static String readString(@NotNull ContentOutlineReader reader) throws IOException {
+        StringBuilder result = new StringBuilder();
+        reader.read();
+        boolean escape = false;
+        for (;;) {
+            int c = reader.read();
+            if (c < 0 || (c == '"' && !escape)) {
+                break;
+            }
+            escape = !escape && c == '\\';
+            if (result.length() < MAX_PREVIEW_LENGTH) {
+                result.append((char) c);
+            } else if (result.length() == MAX_PREVIEW_LENGTH) {
+                result.append("...");
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Reads number, boolean or null
+     */
+    private static String readScalar(@NotNull ContentOutlineReader reader) throws IOException {
+        StringBuilder result = new StringBuilder();
+        for (;;) {
+            int c = reader.peek();
+            if (c < 0 || c == ',' || c == ':' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+                break;
+            }
+            reader.read();
+            if (result.length() < MAX_PREVIEW_LENGTH) {
+                result.append((char) c);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Skips object or array.
+     *
+     * @return number of direct children
+     */
+    private static int skipContainer(@NotNull ContentOutlineReader reader) throws IOException {
+        int depth = 0;
+        int separators = 0;
+        boolean empty = true;
+        boolean inString = false;
+        boolean escape = false;
+        for (;;) {
+            int c = reader.read();
+            if (c < 0) {
+                break;
+            }
+            if (inString) {
+                if (escape) {
+                    escape = false;
+                } else if (c == '\\') {
+                    escape = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c == '}' || c == ']') {
+                depth--;
+                if (depth == 0) {
+                    break;
+                }
+                continue;
+            }
+            if (depth == 1) {
+                if (c == ',') {
+                    separators++;
+                } else {
+                    empty = false;
+                }
+            }
+            if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            }
+        }
+        return empty ? 0 : separators + 1;
+    }
+
+}
@@ -40,6 +40,7 @@ import org.eclipse.ui.IWorkbenchSite;
 import org.eclipse.ui.PartInitException;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPObject;
 import org.jkiss.dbeaver.model.DBPObjectWithDescription;
@@ -85,6 +86,8 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
 {
     private static final Log log = Log.getLog(SessionManagerViewer.class);
 
+    private static final String CAT_HISTORY = "History";
+
     private final IWorkbenchPart workbenchPart;
     private final DBAServerSessionManager<SESSION_TYPE> sessionManager;
     private final SessionListControl sessionTable;
@@ -122,7 +125,7 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
         sashMain = UIUtils.createPartDivider(workbenchPart, composite, SWT.VERTICAL | SWT.SMOOTH);
         sashMain.setLayoutData(new GridData(GridData.FILL_BOTH));
 
-        refreshControl = new AutoRefreshControl(sashMain, sessionManager.getClass().getSimpleName(), monitor -> UIUtils.syncExec(this::refreshSessions));
+        refreshControl = new AutoRefreshControl(sashMain, sessionManager.getClass().getSimpleName(), this::autoRefreshSessions);
 
         {
             sessionTable = new SessionListControl(sashMain, workbenchPart.getSite(), sessionManager);
@@ -276,6 +279,17 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
             } else {
                 PropertyCollector propCollector = new PropertyCollector(curSession, true);
                 propCollector.collectProperties();
+                SessionSnapshot.History history = sessionTable.getSessionHistory(curSession);
+                if (history != null) {
+                    String cpuSparkline = history.getCpuSparkline();
+                    if (cpuSparkline != null) {
+                        propCollector.addProperty(CAT_HISTORY, "cpuHistory", "CPU", cpuSparkline);
+                    }
+                    String waitSparkline = history.getWaitSparkline();
+                    if (waitSparkline != null) {
+                        propCollector.addProperty(CAT_HISTORY, "waitHistory", "Wait time", waitSparkline);
+                    }
+                }
                 sessionProps.loadProperties(propCollector);
             }
         } else if (planViewer != null) {
@@ -385,6 +399,55 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
         refreshControl.scheduleAutoRefresh(false);
     }
 
+    /**
+     * Auto-refresh. Sessions are read and compared with the current list in the refresh job,
+     * UI thread only applies changed rows.
+     */
+    private void autoRefreshSessions(DBRProgressMonitor monitor) throws InvocationTargetException {
+        if (sessionTable.isLoading()) {
+            // Manual refresh is in progress
+            UIUtils.asyncExec(() -> refreshControl.scheduleAutoRefresh(false));
+            return;
+        }
+        final SessionSnapshot.Changes<SESSION_TYPE> changes;
+        try {
+            changes = sessionTable.readSessionChanges(monitor);
+        } catch (DBException e) {
+            UIUtils.asyncExec(() -> refreshControl.scheduleAutoRefresh(true));
+            throw new InvocationTargetException(e);
+        }
+        UIUtils.asyncExec(() -> {
+            if (sessionTable.isDisposed()) {
+                return;
+            }
+            sessionTable.applySessionChanges(changes);
+            onSessionsRefreshed(changes.getSessions());
+            refreshControl.scheduleAutoRefresh(false);
+        });
+    }
+
+    private void onSessionsRefreshed(@NotNull Collection<SESSION_TYPE> sessions) {
+        if (curSession == null) {
+            return;
+        }
+        SESSION_TYPE newSession = null;
+        for (SESSION_TYPE session : sessions) {
+            if (session.equals(curSession)) {
+                newSession = session;
+                break;
+            }
+        }
+        if (newSession == null) {
+            onSessionSelect(null);
+        } else if (newSession != curSession) {
+            // Session was changed. Refresh details but keep the current tabs
+            curSession = newSession;
+            if (previewFolder.getSelectionIndex() == 0 && detailsFolder.getSelectionIndex() == 0) {
+                updatePreview();
+            }
+        }
+    }
+
     public void alterSessions(final List<SESSION_TYPE> sessions, Map<String, Object> options) {
         sessionTable.createAlterService(sessions, options).schedule();
     }
@@ -447,6 +510,8 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
     private class SessionListControl extends SessionTable<SESSION_TYPE> {
 
         private SessionSearcher searcher;
+        private boolean serverSideFilter;
+        private volatile String queryFilter;
 
         SessionListControl(Composite sash, IWorkbenchSite site, DBAServerSessionManager<SESSION_TYPE> sessionManager)
         {
@@ -490,6 +555,25 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
                         }
                     }
                 }, true));
+                if (((DBAServerSessionManagerSQL) sessionManager).canFilterSessions()) {
+                    contributionManager.add(ActionUtils.makeActionContribution(new Action("Server-side filter", IAction.AS_CHECK_BOX) {
+                        {
+                            setImageDescriptor(DBeaverIcons.getImageDescriptor(UIIcon.FILTER));
+                            setToolTipText("Filter sessions by active query text on the server side");
+                            setChecked(serverSideFilter);
+                        }
+                        @Override
+                        public void run()
+                        {
+                            serverSideFilter = isChecked();
+                            getItemsViewer().setFilters();
+                            if (queryFilter != null) {
+                                queryFilter = null;
+                                refreshSessions();
+                            }
+                        }
+                    }, true));
+                }
                 contributionManager.add(new Separator());
             }
 
@@ -505,7 +589,13 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
 
         @Override
         protected final Map<String, Object> getSessionOptions() {
-            return SessionManagerViewer.this.getSessionOptions();
+            Map<String, Object> options = SessionManagerViewer.this.getSessionOptions();
+            String filter = queryFilter;
+            if (!CommonUtils.isEmpty(filter)) {
+                options = options == null ? new HashMap<>() : new HashMap<>(options);
+                options.put(DBAServerSessionManagerSQL.OPTION_QUERY_FILTER, filter);
+            }
+            return options;
         }
 
         @Override
@@ -518,6 +608,11 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
 
             @Override
             public boolean performSearch(String searchString, int options) {
+                if (serverSideFilter) {
+                    queryFilter = searchString;
+                    refreshSessions();
+                    return true;
+                }
                 try {
                     SearchFilter searchFilter = new SearchFilter(
                         searchString,
@@ -533,6 +628,10 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
             @Override
             public void cancelSearch() {
                 getItemsViewer().setFilters();
+                if (queryFilter != null) {
+                    queryFilter = null;
+                    refreshSessions();
+                }
             }
         }
 
@@ -572,23 +671,17 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
             }
         }
 
-        private final class SessionLoadVisualizer extends ObjectsLoadVisualizer {
+        private final class SessionLoadVisualizer extends SessionsLoadVisualizer {
             @Override
             public void completeLoading(@NotNull Collection<SESSION_TYPE> items) {
                 Collection<DBAServerSession> previouslySelectedSessions = getSelectedSessions();
                 super.completeLoading(items);
-                Object[] sessionsToSelect = previouslySelectedSessions.stream().filter(items::contains).toArray();
-                sessionTable.getItemsViewer().setSelection(new StructuredSelection(sessionsToSelect));
-                if (items.contains(curSession)) {
-                    onSessionSelect(curSession);
-                } else {
-                    onSessionSelect(null);
+                if (getSelectedSessions().isEmpty() && !previouslySelectedSessions.isEmpty()) {
+                    // Selection is lost if the whole list was reloaded
+                    Object[] sessionsToSelect = previouslySelectedSessions.stream().filter(items::contains).toArray();
+                    sessionTable.getItemsViewer().setSelection(new StructuredSelection(sessionsToSelect));
                 }
-            }
-
-            @Override
-            protected void afterCompleteLoading(@NotNull Collection<SESSION_TYPE> items) {
-                setListData(items, false, false, true);
+                onSessionsRefreshed(items);
             }
         }
     }
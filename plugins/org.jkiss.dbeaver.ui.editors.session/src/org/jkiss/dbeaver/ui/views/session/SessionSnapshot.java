@@ -0,0 +1,251 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.views.session;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSession;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionStatistics;
+import org.jkiss.dbeaver.runtime.properties.ObjectPropertyDescriptor;
+
+import java.util.*;
+
+/**
+ * Snapshot of the session list.
+ *
+ * Sessions are matched between refreshes by equals/hashCode (session identifier).
+ * Each new session list is compared with the previous snapshot by values of list properties,
+ * so only added, removed and changed sessions have to be applied to the viewer.
+ * Unchanged sessions are substituted with instances from the previous snapshot (viewer already shows them).
+ *
+ * Snapshot also keeps short history of session statistics (see {@link DBAServerSessionStatistics}).
+ */
+class SessionSnapshot<SESSION_TYPE extends DBAServerSession> {
+
+    static final int HISTORY_SIZE = 30;
+
+    private static final char[] SPARKLINE_CHARS = {
+        '\u2581', '\u2582', '\u2583', '\u2584', '\u2585', '\u2586', '\u2587', '\u2588'
+    };
+
+    static class Changes<SESSION_TYPE> {
+        private final List<SESSION_TYPE> sessions;
+        private final boolean fullRefresh;
+        private final List<SESSION_TYPE> added = new ArrayList<>();
+        private final List<SESSION_TYPE> removed = new ArrayList<>();
+        private final List<SESSION_TYPE> changed = new ArrayList<>();
+
+        Changes(List<SESSION_TYPE> sessions, boolean fullRefresh) {
+            this.sessions = sessions;
+            this.fullRefresh = fullRefresh;
+        }
+
+        /**
+         * All sessions. Unchanged sessions are instances from the previous snapshot.
+         */
+        @NotNull
+        List<SESSION_TYPE> getSessions() {
+            return sessions;
+        }
+
+        /**
+         * No previous snapshot or list properties were changed. Whole list must be reloaded.
+         */
+        boolean isFullRefresh() {
+            return fullRefresh;
+        }
+
+        List<SESSION_TYPE> getAdded() {
+            return added;
+        }
+
+        List<SESSION_TYPE> getRemoved() {
+            return removed;
+        }
+
+        List<SESSION_TYPE> getChanged() {
+            return changed;
+        }
+
+        boolean isEmpty() {
+            return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+        }
+    }
+
+    static class History {
+        private final LinkedList<Long> cpuTime = new LinkedList<>();
+        private final LinkedList<Long> waitTime = new LinkedList<>();
+        private Long lastCpuTime;
+
+        private void addValues(@NotNull DBAServerSessionStatistics statistics) {
+            Number cpu = statistics.getSessionCpuTime();
+            if (cpu != null) {
+                // CPU time is cumulative, keep consumption between refreshes
+                long value = cpu.longValue();
+                if (lastCpuTime != null) {
+                    addValue(cpuTime, Math.max(value - lastCpuTime, 0));
+                }
+                lastCpuTime = value;
+            }
+            Number wait = statistics.getSessionWaitTime();
+            if (wait != null) {
+                addValue(waitTime, wait.longValue());
+            }
+        }
+
+        private static void addValue(LinkedList<Long> values, long value) {
+            values.add(value);
+            if (values.size() > HISTORY_SIZE) {
+                values.removeFirst();
+            }
+        }
+
+        @Nullable
+        String getCpuSparkline() {
+            return makeSparkline(cpuTime);
+        }
+
+        @Nullable
+        String getWaitSparkline() {
+            return makeSparkline(waitTime);
+        }
+    }
+
+    private static class Entry<SESSION_TYPE> {
+        final SESSION_TYPE session;
+        final Object[] state;
+
+        Entry(SESSION_TYPE session, Object[] state) {
+            this.session = session;
+            this.state = state;
+        }
+    }
+
+    private Map<SESSION_TYPE, Entry<SESSION_TYPE>> entries;
+    private List<ObjectPropertyDescriptor> properties = Collections.emptyList();
+    private final Map<SESSION_TYPE, History> history = new HashMap<>();
+
+    /**
+     * Sets properties which values are compared to detect session changes (usually properties of list columns).
+     */
+    synchronized void setProperties(@NotNull List<ObjectPropertyDescriptor> properties) {
+        if (!properties.equals(this.properties)) {
+            this.properties = new ArrayList<>(properties);
+            if (entries != null) {
+                for (Map.Entry<SESSION_TYPE, Entry<SESSION_TYPE>> entry : entries.entrySet()) {
+                    SESSION_TYPE session = entry.getValue().session;
+                    entry.setValue(new Entry<>(session, readState(session)));
+                }
+            }
+        }
+    }
+
+    synchronized void reset() {
+        entries = null;
+        history.clear();
+    }
+
+    /**
+     * Compares new session list with the current snapshot and makes it the current one.
+     */
+    @NotNull
+    synchronized Changes<SESSION_TYPE> update(@NotNull Collection<SESSION_TYPE> sessions) {
+        final Map<SESSION_TYPE, Entry<SESSION_TYPE>> prevEntries = this.entries;
+        final Map<SESSION_TYPE, Entry<SESSION_TYPE>> newEntries = new LinkedHashMap<>(sessions.size());
+        final List<SESSION_TYPE> newSessions = new ArrayList<>(sessions.size());
+        final Changes<SESSION_TYPE> changes = new Changes<>(newSessions, prevEntries == null || properties.isEmpty());
+
+        for (SESSION_TYPE session : sessions) {
+            if (newEntries.containsKey(session)) {
+                // Duplicate session id. Incremental refresh is not possible.
+                return fullUpdate(sessions);
+            }
+            Object[] state = readState(session);
+            // Statistics are read from the new instance, the previous one keeps old values
+            updateHistory(session);
+            Entry<SESSION_TYPE> prevEntry = prevEntries == null ? null : prevEntries.get(session);
+            if (prevEntry == null) {
+                changes.added.add(session);
+            } else if (Arrays.equals(prevEntry.state, state)) {
+                // Keep instance which is already shown
+                session = prevEntry.session;
+            } else {
+                changes.changed.add(session);
+            }
+            newEntries.put(session, new Entry<>(session, state));
+            newSessions.add(session);
+        }
+        if (prevEntries != null) {
+            for (SESSION_TYPE session : prevEntries.keySet()) {
+                if (!newEntries.containsKey(session)) {
+                    changes.removed.add(session);
+                    history.remove(session);
+                }
+            }
+        }
+        this.entries = newEntries;
+        return changes;
+    }
+
+    @Nullable
+    synchronized History getHistory(@NotNull DBAServerSession session) {
+        return history.get(session);
+    }
+
+    private Changes<SESSION_TYPE> fullUpdate(@NotNull Collection<SESSION_TYPE> sessions) {
+        this.entries = null;
+        this.history.clear();
+        return new Changes<>(new ArrayList<>(sessions), true);
+    }
+
+    private Object[] readState(@NotNull SESSION_TYPE session) {
+        final Object[] state = new Object[properties.size()];
+        for (int i = 0; i < state.length; i++) {
+            try {
+                state[i] = properties.get(i).readValue(session, null, false);
+            } catch (Throwable e) {
+                // Property is not supported by this session
+                state[i] = null;
+            }
+        }
+        return state;
+    }
+
+    private void updateHistory(@NotNull SESSION_TYPE session) {
+        if (session instanceof DBAServerSessionStatistics) {
+            history.computeIfAbsent(session, s -> new History()).addValues((DBAServerSessionStatistics) session);
+        }
+    }
+
+    @Nullable
+    private static String makeSparkline(@NotNull List<Long> values) {
+        if (values.isEmpty()) {
+            return null;
+        }
+        long maxValue = 0;
+        for (Long value : values) {
+            maxValue = Math.max(maxValue, value);
+        }
+        StringBuilder sparkline = new StringBuilder(values.size());
+        for (Long value : values) {
+            int level = maxValue == 0 ? 0 : (int) (value * (SPARKLINE_CHARS.length - 1) / maxValue);
+            sparkline.append(SPARKLINE_CHARS[level]);
+        }
+        return sparkline.toString();
+    }
+
+}
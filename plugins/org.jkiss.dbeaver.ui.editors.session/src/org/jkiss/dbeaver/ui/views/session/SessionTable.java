@@ -18,25 +18,30 @@ package org.jkiss.dbeaver.ui.views.session;
 
 import org.eclipse.jface.viewers.IStructuredContentProvider;
 import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
 import org.eclipse.ui.IWorkbenchSite;
 import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.admin.sessions.DBAServerSession;
 import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionManager;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
+import org.jkiss.dbeaver.model.preferences.DBPPropertyDescriptor;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.load.DatabaseLoadService;
+import org.jkiss.dbeaver.runtime.properties.ObjectPropertyDescriptor;
 import org.jkiss.dbeaver.ui.LoadingJob;
 import org.jkiss.dbeaver.ui.navigator.itemlist.DatabaseObjectListControl;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Session table
@@ -46,6 +51,10 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
     private static final Log log = Log.getLog(SessionTable.class);
 
     private DBAServerSessionManager<SESSION_TYPE> sessionManager;
+    // Sessions are read in the same context on each refresh
+    private DBCExecutionContext sessionsContext;
+    private final SessionSnapshot<SESSION_TYPE> snapshot = new SessionSnapshot<>();
+    private volatile SessionSnapshot.Changes<SESSION_TYPE> loadedChanges;
 
     SessionTable(Composite parent, int style, IWorkbenchSite site, DBAServerSessionManager<SESSION_TYPE> sessionManager)
     {
@@ -54,6 +63,12 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
         //setFitWidth(true);
     }
 
+    @Override
+    public void disposeControl() {
+        super.disposeControl();
+        closeSessionsContext();
+    }
+
     public DBAServerSessionManager<SESSION_TYPE> getSessionManager() {
         return sessionManager;
     }
@@ -69,7 +84,7 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
     {
         return LoadingJob.createService(
             new LoadSessionsService(),
-            new ObjectsLoadVisualizer());
+            new SessionsLoadVisualizer());
     }
 
     LoadingJob<Void> createAlterService(List<SESSION_TYPE> sessions, Map<String, Object> options)
@@ -82,12 +97,157 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
     public void init(DBAServerSessionManager<SESSION_TYPE> sessionManager)
     {
         this.sessionManager = sessionManager;
+        closeSessionsContext();
+        snapshot.reset();
     }
 
     protected Map<String, Object> getSessionOptions() {
         return null;
     }
 
+    /**
+     * Returns statistics history of the session. Null if session doesn't provide statistics.
+     */
+    SessionSnapshot.History getSessionHistory(@NotNull DBAServerSession session) {
+        return snapshot.getHistory(session);
+    }
+
+    /**
+     * Reads sessions and compares them with the current list. Doesn't need UI thread.
+     */
+    SessionSnapshot.Changes<SESSION_TYPE> readSessionChanges(DBRProgressMonitor monitor) throws DBException {
+        Collection<SESSION_TYPE> sessions;
+        try {
+            DBCExecutionContext context = getSessionsContext(monitor);
+            try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Retrieve server sessions")) {
+                try {
+                    sessions = sessionManager.getSessions(session, getSessionOptions());
+                } finally {
+                    endSessionsTransaction(session);
+                }
+            }
+        } catch (DBException e) {
+            // Connection may be broken. Open a new one next time
+            closeSessionsContext();
+            throw e;
+        }
+        return snapshot.update(sessions);
+    }
+
+    /**
+     * Applies session changes to the viewer.
+     * Only added, removed and changed rows are updated so selection, sort order and scroll position remain the same.
+     * Whole list is reloaded on first load, if columns were changed or if list is grouped.
+     */
+    void applySessionChanges(@NotNull SessionSnapshot.Changes<SESSION_TYPE> changes) {
+        final Control control = getItemsViewer().getControl();
+        if (control.isDisposed()) {
+            return;
+        }
+        final List<SESSION_TYPE> listData = (List<SESSION_TYPE>) getListData();
+        if (changes.isFullRefresh() || listData == null || listData.isEmpty() || columnController == null ||
+            getItemsViewer().getContentProvider() != CONTENT_PROVIDER || hasNewSessionClass(listData, changes.getAdded()))
+        {
+            setListData(changes.getSessions(), false, false, true);
+            updateSnapshotProperties();
+            return;
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        final TreeViewer viewer = (TreeViewer) getItemsViewer();
+        control.setRedraw(false);
+        try {
+            listData.clear();
+            listData.addAll(changes.getSessions());
+            if (!changes.getRemoved().isEmpty()) {
+                viewer.remove(changes.getRemoved().toArray());
+            }
+            if (!changes.getAdded().isEmpty()) {
+                viewer.add(viewer.getInput(), changes.getAdded().toArray());
+            }
+            if (!changes.getChanged().isEmpty()) {
+                if (viewer.getComparator() != null || viewer.getFilters().length > 0) {
+                    // Changed values may affect rows order and visibility
+                    viewer.refresh();
+                } else {
+                    // Items are found by equals, so changed sessions replace old instances
+                    viewer.update(changes.getChanged().toArray(), null);
+                }
+            }
+        } finally {
+            control.setRedraw(true);
+        }
+        setInfo(getItemsLoadMessage(listData.size()));
+    }
+
+    private boolean hasNewSessionClass(List<SESSION_TYPE> listData, List<SESSION_TYPE> added) {
+        if (added.isEmpty()) {
+            return false;
+        }
+        Set<Class<?>> classes = new HashSet<>();
+        for (SESSION_TYPE session : listData) {
+            classes.add(session.getClass());
+        }
+        for (SESSION_TYPE session : added) {
+            if (!classes.contains(session.getClass())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void updateSnapshotProperties() {
+        List<ObjectPropertyDescriptor> properties = new ArrayList<>();
+        if (columnController != null) {
+            for (DBPPropertyDescriptor property : getAllProperties()) {
+                if (property instanceof ObjectPropertyDescriptor && !((ObjectPropertyDescriptor) property).isLazy()) {
+                    properties.add((ObjectPropertyDescriptor) property);
+                }
+            }
+        }
+        snapshot.setProperties(properties);
+    }
+
+    private synchronized DBCExecutionContext getSessionsContext(DBRProgressMonitor monitor) throws DBException {
+        if (sessionsContext == null) {
+            sessionsContext = sessionManager.getDataSource().getDefaultInstance().openIsolatedContext(monitor, "View sessions", null);
+            // Statistic views (e.g. pg_stat_activity) keep the same snapshot until transaction end
+            DBCTransactionManager txnManager = DBUtils.getTransactionManager(sessionsContext);
+            if (txnManager != null && txnManager.isSupportsTransactions()) {
+                try {
+                    if (!txnManager.isAutoCommit()) {
+                        txnManager.setAutoCommit(monitor, true);
+                    }
+                } catch (DBException e) {
+                    log.debug("Can't switch sessions context to auto-commit", e);
+                }
+            }
+        }
+        return sessionsContext;
+    }
+
+    private static void endSessionsTransaction(DBCSession session) {
+        // In case auto-commit couldn't be set
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
+        if (txnManager != null && txnManager.isSupportsTransactions()) {
+            try {
+                if (!txnManager.isAutoCommit()) {
+                    txnManager.rollback(session, null);
+                }
+            } catch (DBException e) {
+                log.debug("Can't end sessions read transaction", e);
+            }
+        }
+    }
+
+    private synchronized void closeSessionsContext() {
+        if (sessionsContext != null) {
+            sessionsContext.close();
+            sessionsContext = null;
+        }
+    }
+
     private static IStructuredContentProvider CONTENT_PROVIDER = new ITreeContentProvider() { // Use Tree provider for the grouping elements support in ObjectListControl
 
         @Override
@@ -138,17 +298,28 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
             throws InvocationTargetException, InterruptedException
         {
             try {
-                try (DBCExecutionContext isolatedContext = sessionManager.getDataSource().getDefaultInstance().openIsolatedContext(monitor, "View sessions", null)) {
-                    try (DBCSession session = isolatedContext.openSession(monitor, DBCExecutionPurpose.UTIL, "Retrieve server sessions")) {
-                        return sessionManager.getSessions(session, getSessionOptions());
-                    }
-                }
+                SessionSnapshot.Changes<SESSION_TYPE> changes = readSessionChanges(monitor);
+                loadedChanges = changes;
+                return changes.getSessions();
             } catch (Throwable ex) {
                 throw new InvocationTargetException(ex);
             }
         }
     }
 
+    protected class SessionsLoadVisualizer extends ObjectsLoadVisualizer {
+        @Override
+        protected void afterCompleteLoading(@NotNull Collection<SESSION_TYPE> items) {
+            SessionSnapshot.Changes<SESSION_TYPE> changes = loadedChanges;
+            loadedChanges = null;
+            if (changes != null && changes.getSessions() == items) {
+                applySessionChanges(changes);
+            } else {
+                setListData(items, false, false, true);
+            }
+        }
+    }
+
     private class KillSessionsService extends DatabaseLoadService<Void> {
         private final List<SESSION_TYPE> sessions;
         private final Map<String, Object> options;
@@ -57,6 +57,7 @@ import org.jkiss.dbeaver.model.sql.parser.SQLParserContext;
 import org.jkiss.dbeaver.model.sql.parser.SQLParserPartitions;
 import org.jkiss.dbeaver.model.sql.parser.SQLRuleManager;
 import org.jkiss.dbeaver.model.sql.parser.SQLScriptParser;
+import org.jkiss.dbeaver.model.sql.parser.SQLStatementIndex;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.ui.*;
 import org.jkiss.dbeaver.ui.editors.BaseTextEditorCommands;
@@ -488,6 +489,9 @@ public abstract class SQLEditorBase extends BaseTextEditor implements DBPContext
     public void dispose() {
         DBWorkbench.getPlatform().getPreferenceStore().removePropertyChangeListener(this);
         this.occurrencesHighlighter.dispose();
+        if (parserContext != null && parserContext.getStatementIndex() != null) {
+            parserContext.getStatementIndex().dispose();
+        }
 /*
         if (this.activationListener != null) {
             Shell shell = this.getEditorSite().getShell();
@@ -605,7 +609,14 @@ public abstract class SQLEditorBase extends BaseTextEditor implements DBPContext
         SQLRuleManager ruleManager = new SQLRuleManager(syntaxManager);
         ruleManager.loadRules(getDataSource(), SQLEditorBase.isBigScript(getEditorInput()));
         ruleScanner.refreshRules(getDataSource(), ruleManager);
+        if (parserContext != null && parserContext.getStatementIndex() != null) {
+            parserContext.getStatementIndex().dispose();
+        }
         parserContext = new SQLParserContext(getDataSource(), syntaxManager, ruleManager, document != null ? document : new Document());
+        if (document != null) {
+            // Statement boundaries index makes query extraction in big scripts fast
+            parserContext.setStatementIndex(new SQLStatementIndex(parserContext));
+        }
 
         if (document instanceof IDocumentExtension3) {
             IDocumentPartitioner partitioner = new FastPartitioner(
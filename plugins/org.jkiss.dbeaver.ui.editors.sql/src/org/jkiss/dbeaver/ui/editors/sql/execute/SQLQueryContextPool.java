@@ -0,0 +1,146 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.sql.execute;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.WorkerProgressMonitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+
+/**
+ * Bounded pool of isolated execution contexts used for parallel script execution.
+ *
+ * Each pool thread uses its own isolated context which is opened on demand and initialized from the script context.
+ * Only default catalog and schema are copied, other session state is not. Thus queries are submitted only while
+ * the script context has no session state changes (see SQLQueryJob).
+ * Pooled contexts always work in auto-commit mode. All contexts are closed when the pool is closed.
+ */
+class SQLQueryContextPool {
+
+    private static final Log log = Log.getLog(SQLQueryContextPool.class);
+
+    interface SessionTask {
+        void run(@NotNull DBCSession session) throws DBException;
+    }
+
+    private final DBCExecutionContext scriptContext;
+    private final DBRProgressMonitor monitor;
+    private final ExecutorService executor;
+    private final Queue<DBCExecutionContext> idleContexts = new ConcurrentLinkedQueue<>();
+    private final List<DBCExecutionContext> allContexts = new ArrayList<>();
+    private final List<WorkerProgressMonitor> activeMonitors = new CopyOnWriteArrayList<>();
+    private volatile boolean canceled;
+
+    SQLQueryContextPool(@NotNull DBCExecutionContext scriptContext, @NotNull DBRProgressMonitor monitor, int maxContexts) {
+        this.scriptContext = scriptContext;
+        this.monitor = monitor;
+        this.executor = Executors.newFixedThreadPool(maxContexts, runnable -> {
+            Thread thread = new Thread(runnable, "SQL script worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Submits task for execution in a pooled context.
+     * Future result is false if task was skipped because of cancel.
+     */
+    Future<Boolean> submit(@NotNull SessionTask task) {
+        return executor.submit(() -> {
+            if (canceled || monitor.isCanceled()) {
+                return false;
+            }
+            WorkerProgressMonitor workerMonitor = new WorkerProgressMonitor(monitor);
+            activeMonitors.add(workerMonitor);
+            if (canceled) {
+                // Pool was canceled while the task was starting
+                workerMonitor.cancel();
+            }
+            DBCExecutionContext context = idleContexts.poll();
+            try {
+                if (context == null) {
+                    context = openContext(workerMonitor);
+                }
+                try (DBCSession session = context.openSession(workerMonitor, DBCExecutionPurpose.USER_SCRIPT, "SQL Query")) {
+                    task.run(session);
+                }
+                return true;
+            } finally {
+                activeMonitors.remove(workerMonitor);
+                if (context != null) {
+                    idleContexts.add(context);
+                }
+            }
+        });
+    }
+
+    /**
+     * Skips all tasks which are not started yet and cancels blocks (e.g. statements) of running tasks
+     */
+    void cancel() {
+        canceled = true;
+        for (WorkerProgressMonitor workerMonitor : activeMonitors) {
+            workerMonitor.cancel();
+        }
+    }
+
+    boolean isCanceled() {
+        return canceled;
+    }
+
+    void close() {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.debug("Parallel script workers are still running");
+            }
+        } catch (InterruptedException e) {
+            // ignore
+        }
+        synchronized (allContexts) {
+            for (DBCExecutionContext context : allContexts) {
+                context.close();
+            }
+            allContexts.clear();
+        }
+        idleContexts.clear();
+    }
+
+    private DBCExecutionContext openContext(@NotNull DBRProgressMonitor workerMonitor) throws DBException {
+        DBCExecutionContext context = scriptContext.getOwnerInstance().openIsolatedContext(workerMonitor, "SQL script worker", scriptContext);
+        synchronized (allContexts) {
+            allContexts.add(context);
+        }
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+        if (txnManager != null && !txnManager.isAutoCommit()) {
+            txnManager.setAutoCommit(workerMonitor, true);
+        }
+        return context;
+    }
+
+}
@@ -64,8 +64,20 @@ import org.jkiss.utils.CommonUtils;
 import java.lang.reflect.InvocationTargetException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * SQLQueryJob
@@ -78,6 +90,14 @@ public class SQLQueryJob extends DataSourceJob
 
     public static final Object STATS_RESULTS = new Object();
 
+    // Statements which don't change session state even if they can't be parsed
+    private static final Set<String> STATELESS_KEYWORDS = new HashSet<>(Arrays.asList(
+        "SELECT", "WITH", "VALUES", "TABLE", "SHOW", "EXPLAIN", "DESCRIBE", "DESC"));
+
+    // Contexts which session state (variables, current schema, temporary objects, locks) was changed by executed statements.
+    // Pooled contexts can't reproduce this state so scripts are never executed in parallel for them.
+    private static final Map<DBCExecutionContext, Boolean> stateChangedContexts = Collections.synchronizedMap(new WeakHashMap<>());
+
     private final DBSDataContainer dataContainer;
     private final List<SQLScriptElement> queries;
     private final SQLScriptContext scriptContext;
@@ -95,7 +115,8 @@ public class SQLQueryJob extends DataSourceJob
     private long rsMaxRows;
 
     private DBCStatement curStatement;
-    private final List<DBCResultSet> curResultSets = new ArrayList<>();
+    // Result sets are added by fetch worker threads
+    private final List<DBCResultSet> curResultSets = Collections.synchronizedList(new ArrayList<>());
     private Throwable lastError = null;
 
     private DBCStatistics statistics;
@@ -108,6 +129,12 @@ public class SQLQueryJob extends DataSourceJob
     private long fetchFlags;
     private SQLQueryResult curResult;
 
+    // Parallel script execution. Pool is not null only while script is executed in parallel mode
+    private boolean trackSessionState;
+    private SQLQueryContextPool parallelPool;
+    private boolean[] executedQueries;
+    private int failedQueryNum;
+
     public SQLQueryJob(
         @NotNull IWorkbenchPartSite partSite,
         @NotNull String name,
@@ -136,6 +163,35 @@ public class SQLQueryJob extends DataSourceJob
         }
     }
 
+    /**
+     * Creates worker job which executes queries of the parent script in a pooled context.
+     * Worker jobs are never scheduled: parent job calls {@link #executeSingleQuery} directly from pool threads.
+     */
+    private SQLQueryJob(@NotNull SQLQueryJob parent, @NotNull DBCExecutionContext workerContext, @NotNull SQLResultsConsumer resultsConsumer)
+    {
+        super(parent.getName(), workerContext);
+        this.dataContainer = parent.dataContainer;
+        this.partSite = parent.partSite;
+        this.queries = parent.queries;
+        this.scriptContext = parent.scriptContext;
+        this.resultsConsumer = resultsConsumer;
+        this.listener = parent.listener;
+
+        this.dataFilter = parent.dataFilter;
+        // Pooled contexts are opened by the parent job itself
+        this.connectionInvalidated = true;
+        this.commitType = parent.commitType;
+        this.errorHandling = parent.errorHandling;
+        this.fetchResultSets = parent.fetchResultSets;
+        this.rsOffset = parent.rsOffset;
+        this.rsMaxRows = parent.rsMaxRows;
+        // Parallel mode is disabled for connections which require execute confirmation
+        this.skipConfirmation = true;
+        this.fetchSize = parent.fetchSize;
+        this.fetchFlags = parent.fetchFlags;
+        this.statistics = new DBCStatistics();
+    }
+
     public void setFetchResultSets(boolean fetchResultSets)
     {
         this.fetchResultSets = fetchResultSets;
@@ -202,6 +258,15 @@ public class SQLQueryJob extends DataSourceJob
 
                 monitor.beginTask(this.getName(), queries.size());
 
+                trackSessionState = getDataSourceContainer().getPreferenceStore().getBoolean(SQLPreferenceConstants.SCRIPT_PARALLEL_EXECUTION);
+                if (isParallelExecutionEnabled(txnManager)) {
+                    parallelPool = new SQLQueryContextPool(
+                        context,
+                        monitor,
+                        getDataSourceContainer().getPreferenceStore().getInt(SQLPreferenceConstants.SCRIPT_PARALLEL_MAX_CONNECTIONS));
+                    executedQueries = new boolean[queries.size()];
+                }
+
                 // Notify job start
                 if (listener != null) {
                     try {
@@ -213,11 +278,30 @@ public class SQLQueryJob extends DataSourceJob
 
                 resultSetNumber = 0;
                 for (int queryNum = 0; queryNum < queries.size(); ) {
+                    if (executedQueries != null && executedQueries[queryNum]) {
+                        // Already executed in parallel with previous queries
+                        monitor.worked(1);
+                        queryNum++;
+                        continue;
+                    }
                     // Execute query
                     SQLScriptElement query = queries.get(queryNum);
 
                     fetchResultSetNumber = resultSetNumber;
-                    boolean runNext = executeSingleQuery(session, query, true);
+                    boolean runNext;
+                    int parallelQueriesEnd = getParallelQueriesEnd(session, queryNum);
+                    if (parallelQueriesEnd - queryNum > 1) {
+                        runNext = executeParallelQueries(session, queryNum, parallelQueriesEnd);
+                        if (!runNext && lastError != null) {
+                            // Continue from the failed query
+                            queryNum = failedQueryNum;
+                        }
+                    } else {
+                        runNext = executeSingleQuery(session, query, true);
+                        if (trackSessionState && isSessionStateQuery(session.getDataSource().getSQLDialect(), query)) {
+                            stateChangedContexts.put(context, Boolean.TRUE);
+                        }
+                    }
                     if (!runNext) {
                         if (lastError == null) {
                             // Execution cancel
@@ -305,6 +389,11 @@ public class SQLQueryJob extends DataSourceJob
                 "Error during SQL job execution: " + ex.getMessage());
         }
         finally {
+            if (parallelPool != null) {
+                parallelPool.close();
+                parallelPool = null;
+                executedQueries = null;
+            }
             monitor.done();
 
             // Notify job end
@@ -457,6 +546,11 @@ public class SQLQueryJob extends DataSourceJob
         finally {
             curResult.setQueryTime(System.currentTimeMillis() - startTime);
 
+            if (DBCQueryResultCache.hasResults(dataSource.getContainer()) && !sqlQuery.isReadOnlySelect()) {
+                // Query manager events are dispatched with a delay. Drop cached results right away
+                DBCQueryResultCache.invalidate(dataSource.getContainer());
+            }
+
             if (fireEvents && listener != null && startQueryAlerted) {
                 notifyQueryExecutionEnd(curResult);
             }
@@ -474,6 +568,178 @@ public class SQLQueryJob extends DataSourceJob
         return true;
     }
 
+    private boolean isParallelExecutionEnabled(@Nullable DBCTransactionManager txnManager) {
+        final DBPDataSourceContainer container = getDataSourceContainer();
+        final DBPPreferenceStore preferenceStore = container.getPreferenceStore();
+        return queries.size() > 1 &&
+            preferenceStore.getBoolean(SQLPreferenceConstants.SCRIPT_PARALLEL_EXECUTION) &&
+            preferenceStore.getInt(SQLPreferenceConstants.SCRIPT_PARALLEL_MAX_CONNECTIONS) > 1 &&
+            // Parallel queries can't share script transaction
+            (txnManager == null || txnManager.isAutoCommit()) &&
+            !container.getConnectionConfiguration().getConnectionType().isConfirmExecute() &&
+            !container.getDriver().isEmbedded();
+    }
+
+    /**
+     * Returns end (exclusive) of the range of independent queries which starts from the specified query.
+     */
+    private int getParallelQueriesEnd(@NotNull DBCSession session, int fromQuery) {
+        if (parallelPool == null || (fromQuery > 0 && queries.get(fromQuery - 1) instanceof SQLControlCommand)) {
+            // Control command may set up the next statement
+            return fromQuery + 1;
+        }
+        final DBCExecutionContext context = session.getExecutionContext();
+        if (stateChangedContexts.containsKey(context)) {
+            // Pooled contexts don't see session state changes
+            return fromQuery + 1;
+        }
+        final DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+        if (txnManager != null && !txnManager.isAutoCommit()) {
+            // Smart commit switched to manual commit mode. Pooled contexts won't see uncommitted changes
+            return fromQuery + 1;
+        }
+        int toQuery = fromQuery;
+        while (toQuery < queries.size() && !executedQueries[toQuery] && isParallelQuery(queries.get(toQuery))) {
+            toQuery++;
+        }
+        return toQuery;
+    }
+
+    /**
+     * Only read-only selects are executed in parallel. Everything else (including DML) is a barrier.
+     * Queries with parameters are executed sequentially because parameters may be prompted.
+     */
+    private static boolean isParallelQuery(@NotNull SQLScriptElement element) {
+        if (!(element instanceof SQLQuery)) {
+            // Control commands are barriers
+            return false;
+        }
+        final SQLQuery query = (SQLQuery) element;
+        return CommonUtils.isEmpty(query.getParameters()) && query.isReadOnlySelect();
+    }
+
+    /**
+     * Checks whether query may change session state which isn't visible in other contexts.
+     * Read-only selects and DML are considered stateless, as well as unparsed queries which start with a read-only keyword.
+     */
+    private static boolean isSessionStateQuery(@NotNull SQLDialect dialect, @NotNull SQLScriptElement element) {
+        if (!(element instanceof SQLQuery)) {
+            return false;
+        }
+        final SQLQuery query = (SQLQuery) element;
+        switch (query.getType()) {
+            case SELECT:
+                // SELECT INTO may create temporary table, SELECT FOR UPDATE holds locks
+                return !query.isReadOnlySelect();
+            case INSERT:
+            case UPDATE:
+            case DELETE:
+            case MERGE:
+                return false;
+            case UNKNOWN:
+                return !STATELESS_KEYWORDS.contains(SQLUtils.getFirstKeyword(dialect, query.getText()).toUpperCase(Locale.ENGLISH));
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Executes independent queries in pooled contexts.
+     * Each query is executed by a worker job with the same path as in sequential mode.
+     * Result tabs are allocated and statistics is accumulated in script order.
+     * If some query fails then queries which weren't started yet are skipped and failed query number is saved.
+     */
+    private boolean executeParallelQueries(@NotNull DBCSession session, int fromQuery, int toQuery) {
+        final DBRProgressMonitor monitor = session.getProgressMonitor();
+        lastError = null;
+
+        final ParallelResults parallelResults = new ParallelResults(resultSetNumber);
+        for (int queryNum = fromQuery; queryNum < toQuery; queryNum++) {
+            parallelResults.queries.add(new ParallelQuery(parallelResults, queryNum, (SQLQuery) queries.get(queryNum)));
+        }
+
+        monitor.subTask("Execute " + parallelResults.queries.size() + " queries in parallel");
+        final boolean stopOnError = errorHandling != SQLScriptErrorHandling.IGNORE;
+        final AtomicBoolean stopped = new AtomicBoolean();
+        for (ParallelQuery parallelQuery : parallelResults.queries) {
+            parallelQuery.future = parallelPool.submit(querySession -> {
+                if (stopped.get()) {
+                    return;
+                }
+                final SQLQueryJob workerJob = new SQLQueryJob(this, querySession.getExecutionContext(), parallelQuery);
+                parallelQuery.job = workerJob;
+                if (!workerJob.executeSingleQuery(querySession, parallelQuery.query, true) && stopOnError) {
+                    // Queries are started in script order so all previous queries are already running
+                    stopped.set(true);
+                }
+            });
+        }
+        int failedResultNumber = -1;
+        for (ParallelQuery parallelQuery : parallelResults.queries) {
+            Throwable error;
+            try {
+                if (!waitForParallelQuery(monitor, parallelQuery.future)) {
+                    continue;
+                }
+                final SQLQueryJob workerJob = parallelQuery.job;
+                if (workerJob == null) {
+                    // Skipped after error
+                    continue;
+                }
+                curResult = workerJob.curResult;
+                statistics.setQueryText(parallelQuery.query.getText());
+                statistics.accumulate(workerJob.statistics);
+                if (workerJob.lastGoodQuery != null) {
+                    lastGoodQuery = workerJob.lastGoodQuery;
+                }
+                error = workerJob.lastError;
+            } catch (Throwable e) {
+                // Context open error
+                error = e;
+                curResult = new SQLQueryResult(parallelQuery.query);
+                curResult.setError(e);
+            }
+            executedQueries[parallelQuery.queryNum] = true;
+
+            if (error != null && stopOnError && lastError == null) {
+                // Skip queries which are not started yet. Failed query is handled as in sequential mode
+                stopped.set(true);
+                lastError = error;
+                failedQueryNum = parallelQuery.queryNum;
+                failedResultNumber = parallelResults.getResultSetNumber(parallelQuery);
+                executedQueries[failedQueryNum] = false;
+            }
+        }
+        resultSetNumber = parallelResults.getNextResultSetNumber();
+        if (failedResultNumber >= 0 && failedResultNumber == resultSetNumber - 1) {
+            // Results tab of the failed query is reused by the next query as in sequential mode
+            resultSetNumber = failedResultNumber;
+        }
+        if (parallelPool.isCanceled()) {
+            lastError = null;
+            return false;
+        }
+        return lastError == null;
+    }
+
+    private boolean waitForParallelQuery(@NotNull DBRProgressMonitor monitor, @NotNull Future<Boolean> future) throws Throwable {
+        for (;;) {
+            if (monitor.isCanceled() && !parallelPool.isCanceled()) {
+                parallelPool.cancel();
+            }
+            try {
+                return future.get(100, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Keep waiting
+            } catch (InterruptedException e) {
+                parallelPool.cancel();
+                return false;
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
     public void notifyQueryExecutionEnd(SQLQueryResult curResult) {
         // Notify query end
         try {
@@ -484,6 +750,15 @@ public class SQLQueryJob extends DataSourceJob
     }
 
     private void executeStatement(@NotNull DBCSession session, SQLQuery sqlQuery, long startTime, SQLQueryResult curResult) throws DBCException {
+        final DBCQueryResultCache resultCache = getResultCache(session, sqlQuery);
+        final String cacheKey = resultCache == null ? null :
+            DBCQueryResultCache.makeKey(session.getExecutionContext(), sqlQuery.getText(), rsOffset, rsMaxRows);
+        if (cacheKey != null && !CommonUtils.isBitSet(fetchFlags, DBSDataContainer.FLAG_REFRESH) &&
+            readCachedResults(session, resultCache, cacheKey, sqlQuery, startTime, curResult))
+        {
+            return;
+        }
+
         AbstractExecutionSource source = new AbstractExecutionSource(dataContainer, session.getExecutionContext(), partSite.getPart(), sqlQuery);
         source.setScriptContext(scriptContext);
         final DBCStatement dbcStatement = DBUtils.makeStatement(
@@ -541,6 +816,9 @@ public class SQLQueryJob extends DataSourceJob
                         } else {
                             DBDDataReceiver dataReceiver = resultsConsumer.getDataReceiver(sqlQuery, resultSetNumber);
                             if (dataReceiver != null) {
+                                if (cacheKey != null && curResult.getExecuteResults().isEmpty()) {
+                                    dataReceiver = resultCache.cacheResults(cacheKey, dataReceiver);
+                                }
                                 hasResultSet = fetchQueryData(session, resultSet, curResult, curResult.addExecuteResult(true), dataReceiver, true);
                             }
                         }
@@ -588,6 +866,10 @@ public class SQLQueryJob extends DataSourceJob
                     break;
                 }
             };
+            if (cacheKey != null && curResult.getExecuteResults().size() > 1) {
+                // Only single result statements are replayed from cache
+                resultCache.removeResults(cacheKey);
+            }
         }
         finally {
             try {
@@ -602,6 +884,42 @@ public class SQLQueryJob extends DataSourceJob
         }
     }
 
+    @Nullable
+    private DBCQueryResultCache getResultCache(@NotNull DBCSession session, @NotNull SQLQuery sqlQuery) {
+        if (!fetchResultSets || !hasLimits() || keepStatementOpen() ||
+            (fetchResultSetNumber >= 0 && fetchResultSetNumber != resultSetNumber) || !sqlQuery.isPlainSelect())
+        {
+            return null;
+        }
+        return DBCQueryResultCache.getInstance(session.getDataSource());
+    }
+
+    /**
+     * Feeds results cached by previous execution of the same query. Returns false if there are no cached results.
+     */
+    private boolean readCachedResults(@NotNull DBCSession session, @NotNull DBCQueryResultCache resultCache, @NotNull String cacheKey, @NotNull SQLQuery sqlQuery, long startTime, @NotNull SQLQueryResult curResult)
+        throws DBCException
+    {
+        final DBCResultSet resultSet = resultCache.openResultSet(session, cacheKey);
+        if (resultSet == null) {
+            return false;
+        }
+        final DBDDataReceiver dataReceiver = resultsConsumer.getDataReceiver(sqlQuery, resultSetNumber);
+        if (dataReceiver == null) {
+            resultSet.close();
+            return false;
+        }
+        curStatement = resultSet.getSourceStatement();
+        statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+        statistics.addStatementsCount();
+        statistics.addMessage("Results were read from the client-side cache");
+        curResult.setHasResultSet(true);
+        fetchQueryData(session, resultSet, curResult, curResult.addExecuteResult(true), dataReceiver, true);
+        resultSetNumber++;
+        fetchResultSetNumber = resultSetNumber;
+        return true;
+    }
+
     private void showExecutionResult(DBCSession session) {
         int statementsCount = statistics.getStatementsCount();
         if (statementsCount > 1 || // Many statements
@@ -717,7 +1035,7 @@ public class SQLQueryJob extends DataSourceJob
             long fetchStartTime = System.currentTimeMillis();
 
             // Fetch all rows
-            while ((!hasLimits() || !fetchProgress.isMaxRowsFetched(rsMaxRows)) && !fetchProgress.isCanceled() && resultSet.nextRow()) {
+            while ((!hasLimits() || !fetchProgress.isMaxRowsFetched(rsMaxRows)) && !fetchProgress.isCanceled() && !dataReceiver.isFetchStopped() && resultSet.nextRow()) {
                 dataReceiver.fetchRow(session, resultSet);
                 fetchProgress.monitorRowFetch();
             }
@@ -762,13 +1080,16 @@ public class SQLQueryJob extends DataSourceJob
     private void closeStatement()
     {
         if (curStatement != null) {
+            final List<DBCResultSet> resultSets;
+            synchronized (curResultSets) {
+                resultSets = new ArrayList<>(curResultSets);
+                curResultSets.clear();
+            }
             try {
-                for (DBCResultSet resultSet : curResultSets) {
+                for (DBCResultSet resultSet : resultSets) {
                     resultSet.close();
                 }
             } finally {
-                curResultSets.clear();
-
                 try {
                     curStatement.close();
                 } catch (Throwable e) {
@@ -909,4 +1230,61 @@ public class SQLQueryJob extends DataSourceJob
         }.execute();
     }
 
+    /**
+     * Result tabs of queries executed in parallel.
+     * Tabs are opened in script order: when some query requests its tab then tabs of all previous queries are opened too.
+     */
+    private class ParallelResults {
+        private final List<ParallelQuery> queries = new ArrayList<>();
+        private final int firstResultSetNumber;
+        private int openedResults;
+
+        ParallelResults(int firstResultSetNumber) {
+            this.firstResultSetNumber = firstResultSetNumber;
+        }
+
+        int getResultSetNumber(@NotNull ParallelQuery query) {
+            // Results of queries which are not fetched share the same tab as in sequential mode
+            return fetchResultSets ? firstResultSetNumber + query.index : firstResultSetNumber;
+        }
+
+        synchronized int getNextResultSetNumber() {
+            return fetchResultSets ? firstResultSetNumber + openedResults : firstResultSetNumber;
+        }
+
+        @Nullable
+        synchronized DBDDataReceiver getDataReceiver(@NotNull ParallelQuery query, @NotNull SQLQuery statement) {
+            if (fetchResultSets) {
+                for (; openedResults < query.index; openedResults++) {
+                    resultsConsumer.getDataReceiver(queries.get(openedResults).query, firstResultSetNumber + openedResults);
+                }
+                openedResults = Math.max(openedResults, query.index + 1);
+            }
+            return resultsConsumer.getDataReceiver(statement, getResultSetNumber(query));
+        }
+    }
+
+    private static class ParallelQuery implements SQLResultsConsumer {
+        private final ParallelResults results;
+        private final int index;
+        private final int queryNum;
+        private final SQLQuery query;
+        private Future<Boolean> future;
+        private volatile SQLQueryJob job;
+
+        ParallelQuery(ParallelResults results, int queryNum, SQLQuery query) {
+            this.results = results;
+            this.index = results.queries.size();
+            this.queryNum = queryNum;
+            this.query = query;
+        }
+
+        @Nullable
+        @Override
+        public DBDDataReceiver getDataReceiver(SQLQuery statement, int resultSetNumber) {
+            // Read-only selects have a single result set. Worker job counts result sets from zero
+            return resultSetNumber == 0 ? results.getDataReceiver(this, statement) : null;
+        }
+    }
+
 }
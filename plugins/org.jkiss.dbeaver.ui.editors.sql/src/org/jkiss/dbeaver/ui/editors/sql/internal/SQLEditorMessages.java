@@ -245,6 +245,9 @@ public class SQLEditorMessages extends NLS {
     public static String pref_page_sql_editor_checkbox_create_script_folders;
     public static String pref_page_sql_editor_checkbox_reset_cursor;
     public static String pref_page_sql_editor_checkbox_max_editor_on_script_exec;
+    public static String pref_page_sql_editor_checkbox_parallel_execution;
+    public static String pref_page_sql_editor_checkbox_parallel_execution_tip;
+    public static String pref_page_sql_editor_label_parallel_max_connections;
     public static String pref_page_sql_editor_checkbox_enable_sql_anonymous_parameters;
     public static String pref_page_sql_editor_text_anonymous_parameter_mark;
     public static String pref_page_sql_editor_text_named_parameter_prefix;
@@ -268,6 +271,12 @@ public class SQLEditorMessages extends NLS {
     public static String pref_page_sql_editor_group_scripts;
     public static String pref_page_sql_editor_group_parameters;
     public static String pref_page_sql_editor_group_delimiters;
+    public static String pref_page_sql_editor_group_plan_history;
+    public static String pref_page_sql_editor_checkbox_plan_history_enabled;
+    public static String pref_page_sql_editor_checkbox_plan_history_enabled_tip;
+    public static String pref_page_sql_editor_label_plan_history_size;
+    public static String pref_page_sql_editor_label_plan_history_regression_threshold;
+    public static String pref_page_sql_editor_label_plan_history_regression_threshold_tip;
     public static String pref_page_sql_editor_label_commit_after_line;
     public static String pref_page_sql_editor_label_commit_type;
     public static String pref_page_sql_editor_label_error_handling;
@@ -0,0 +1,245 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.sql.plan;
+
+import org.eclipse.jface.dialogs.IDialogConstants;
+import org.eclipse.jface.dialogs.IDialogSettings;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.TreeViewerColumn;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.widgets.Combo;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBConstants;
+import org.jkiss.dbeaver.model.impl.plan.ExecutionPlanComparator;
+import org.jkiss.dbeaver.model.impl.plan.ExecutionPlanHistoryEntry;
+import org.jkiss.dbeaver.ui.UIIcon;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.dialogs.BaseDialog;
+import org.jkiss.utils.CommonUtils;
+
+import java.text.DecimalFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Shows difference between two plans of the same query saved in plan history.
+ * Cost and rows growth is shown in red, decrease in green. Added and removed plan steps are marked in the first column.
+ */
+public class ExplainPlanCompareDialog extends BaseDialog {
+
+    private static final String DIALOG_ID = "ExplainPlanCompareDialog";
+
+    private final List<ExecutionPlanHistoryEntry> baselines = new ArrayList<>();
+    private final ExecutionPlanHistoryEntry currentPlan;
+
+    private Label summaryLabel;
+    private TreeViewer diffViewer;
+
+    public ExplainPlanCompareDialog(Shell parentShell, List<ExecutionPlanHistoryEntry> plans, ExecutionPlanHistoryEntry currentPlan) {
+        super(parentShell, "Compare execution plans", UIIcon.COMPARE);
+        this.currentPlan = currentPlan;
+        // Most recent plans go first
+        for (int i = plans.size() - 1; i >= 0; i--) {
+            if (plans.get(i) != currentPlan && plans.get(i).getTime().before(currentPlan.getTime())) {
+                baselines.add(plans.get(i));
+            }
+        }
+    }
+
+    @Override
+    protected IDialogSettings getDialogBoundsSettings() {
+        return UIUtils.getDialogSettings(DIALOG_ID);
+    }
+
+    @Override
+    protected Composite createDialogArea(Composite parent) {
+        Composite composite = super.createDialogArea(parent);
+
+        Composite baselinePanel = UIUtils.createPlaceholder(composite, 2, 5);
+        baselinePanel.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+        Combo baselineCombo = UIUtils.createLabelCombo(baselinePanel, "Compare with", SWT.DROP_DOWN | SWT.READ_ONLY);
+        baselineCombo.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+        for (ExecutionPlanHistoryEntry baseline : baselines) {
+            baselineCombo.add(formatTime(baseline.getTime()) + " - cost " + formatNumber(baseline.getTotalCost()) + ", rows " + formatNumber(baseline.getTotalRows()));
+        }
+
+        summaryLabel = new Label(composite, SWT.NONE);
+        summaryLabel.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+
+        diffViewer = new TreeViewer(composite, SWT.BORDER | SWT.SINGLE | SWT.FULL_SELECTION);
+        GridData gd = new GridData(GridData.FILL_BOTH);
+        gd.widthHint = 800;
+        gd.heightHint = 400;
+        diffViewer.getTree().setLayoutData(gd);
+        diffViewer.getTree().setHeaderVisible(true);
+        diffViewer.getTree().setLinesVisible(true);
+        diffViewer.setContentProvider(new DiffContentProvider());
+
+        createNodeColumn();
+        createValueColumn("Old cost", ExecutionPlanComparator.NodeDiff::getOldCost, null);
+        createValueColumn("New cost", ExecutionPlanComparator.NodeDiff::getNewCost, null);
+        createValueColumn("Cost delta", ExecutionPlanComparator.NodeDiff::getCostDelta, ExecutionPlanComparator.NodeDiff::getCostDelta);
+        createValueColumn("Old rows", ExecutionPlanComparator.NodeDiff::getOldRows, null);
+        createValueColumn("New rows", ExecutionPlanComparator.NodeDiff::getNewRows, null);
+        createValueColumn("Rows delta", ExecutionPlanComparator.NodeDiff::getRowsDelta, ExecutionPlanComparator.NodeDiff::getRowsDelta);
+
+        baselineCombo.addListener(SWT.Selection, event -> showDiff(baselines.get(baselineCombo.getSelectionIndex())));
+        if (!baselines.isEmpty()) {
+            baselineCombo.select(0);
+            showDiff(baselines.get(0));
+        }
+
+        return composite;
+    }
+
+    private void createNodeColumn() {
+        TreeViewerColumn column = new TreeViewerColumn(diffViewer, SWT.LEFT);
+        column.getColumn().setText("Node");
+        column.setLabelProvider(new ColumnLabelProvider() {
+            @Override
+            public String getText(Object element) {
+                ExecutionPlanComparator.NodeDiff diff = (ExecutionPlanComparator.NodeDiff) element;
+                String text = CommonUtils.notEmpty(diff.getNode().getNodeType());
+                if (!CommonUtils.isEmpty(diff.getNode().getNodeName())) {
+                    text += " " + diff.getNode().getNodeName();
+                }
+                switch (diff.getKind()) {
+                    case ADDED:
+                        return "+ " + text;
+                    case REMOVED:
+                        return "- " + text;
+                    default:
+                        return text;
+                }
+            }
+
+            @Override
+            public String getToolTipText(Object element) {
+                return ((ExecutionPlanComparator.NodeDiff) element).getNode().getNodeCondition();
+            }
+
+            @Override
+            public Color getForeground(Object element) {
+                switch (((ExecutionPlanComparator.NodeDiff) element).getKind()) {
+                    case ADDED:
+                        return getSystemColor(SWT.COLOR_DARK_BLUE);
+                    case REMOVED:
+                        return getSystemColor(SWT.COLOR_DARK_GRAY);
+                    default:
+                        return null;
+                }
+            }
+        });
+    }
+
+    private void createValueColumn(
+        @NotNull String title,
+        @NotNull Function<ExecutionPlanComparator.NodeDiff, Double> valueGetter,
+        @Nullable Function<ExecutionPlanComparator.NodeDiff, Double> deltaGetter)
+    {
+        TreeViewerColumn column = new TreeViewerColumn(diffViewer, SWT.RIGHT);
+        column.getColumn().setText(title);
+        column.setLabelProvider(new ColumnLabelProvider() {
+            @Override
+            public String getText(Object element) {
+                Double value = valueGetter.apply((ExecutionPlanComparator.NodeDiff) element);
+                if (value == null) {
+                    return "";
+                }
+                return deltaGetter != null && value > 0 ? "+" + formatNumber(value) : formatNumber(value);
+            }
+
+            @Override
+            public Color getForeground(Object element) {
+                Double delta = deltaGetter == null ? null : deltaGetter.apply((ExecutionPlanComparator.NodeDiff) element);
+                if (delta == null || delta == 0) {
+                    return null;
+                }
+                return getSystemColor(delta > 0 ? SWT.COLOR_DARK_RED : SWT.COLOR_DARK_GREEN);
+            }
+        });
+    }
+
+    private void showDiff(@NotNull ExecutionPlanHistoryEntry baseline) {
+        summaryLabel.setText(
+            "Total cost: " + formatNumber(baseline.getTotalCost()) + " -> " + formatNumber(currentPlan.getTotalCost()) +
+            ", rows: " + formatNumber(baseline.getTotalRows()) + " -> " + formatNumber(currentPlan.getTotalRows()));
+        diffViewer.setInput(ExecutionPlanComparator.compare(baseline.getPlanNodes(), currentPlan.getPlanNodes()));
+        diffViewer.expandAll();
+        UIUtils.packColumns(diffViewer.getTree(), true, null);
+    }
+
+    @Override
+    protected void createButtonsForButtonBar(Composite parent) {
+        createButton(parent, IDialogConstants.CLOSE_ID, IDialogConstants.CLOSE_LABEL, true);
+    }
+
+    @Override
+    protected void buttonPressed(int buttonId) {
+        if (buttonId == IDialogConstants.CLOSE_ID) {
+            okPressed();
+        } else {
+            super.buttonPressed(buttonId);
+        }
+    }
+
+    private Color getSystemColor(int colorId) {
+        return getShell().getDisplay().getSystemColor(colorId);
+    }
+
+    static String formatNumber(@Nullable Double value) {
+        return value == null ? "?" : new DecimalFormat("#,##0.##").format(value);
+    }
+
+    static String formatTime(@NotNull Date time) {
+        return new SimpleDateFormat(DBConstants.DEFAULT_TIMESTAMP_FORMAT).format(time);
+    }
+
+    private static class DiffContentProvider implements ITreeContentProvider {
+        @Override
+        public Object[] getElements(Object inputElement) {
+            return ((List<?>) inputElement).toArray();
+        }
+
+        @Override
+        public Object[] getChildren(Object parentElement) {
+            return ((ExecutionPlanComparator.NodeDiff) parentElement).getNested().toArray();
+        }
+
+        @Override
+        public Object getParent(Object element) {
+            return ((ExecutionPlanComparator.NodeDiff) element).getParent();
+        }
+
+        @Override
+        public boolean hasChildren(Object element) {
+            return !((ExecutionPlanComparator.NodeDiff) element).getNested().isEmpty();
+        }
+    }
+
+}
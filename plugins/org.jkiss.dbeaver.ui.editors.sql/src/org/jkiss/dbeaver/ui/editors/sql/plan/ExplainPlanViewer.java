@@ -22,6 +22,7 @@ import org.eclipse.jface.action.IContributionManager;
 import org.eclipse.jface.dialogs.IDialogSettings;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.StackLayout;
 import org.eclipse.swt.layout.GridData;
@@ -32,6 +33,7 @@ import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.ui.IWorkbenchPart;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBPContextProvider;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.edit.DBEObjectConfigurator;
@@ -40,6 +42,9 @@ import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.DBExecUtils;
 import org.jkiss.dbeaver.model.exec.plan.*;
+import org.jkiss.dbeaver.model.impl.plan.ExecutionPlanComparator;
+import org.jkiss.dbeaver.model.impl.plan.ExecutionPlanHistory;
+import org.jkiss.dbeaver.model.impl.plan.ExecutionPlanHistoryEntry;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.load.DatabaseLoadService;
 import org.jkiss.dbeaver.model.runtime.load.ILoadVisualizerExt;
@@ -68,6 +73,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * ResultSetViewer
@@ -98,9 +104,11 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
     private SQLQuery lastQuery;
     private Object lastQueryId;
     private DBCPlan lastPlan;
+    private ExecutionPlanHistoryEntry lastHistoryEntry;
     private int planNumber;
 
     private RefreshPlanAction refreshPlanAction;
+    private ComparePlanAction comparePlanAction;
     
     private String curFolder;
 
@@ -112,6 +120,8 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
 
         this.refreshPlanAction = new RefreshPlanAction();
         this.refreshPlanAction.setEnabled(false);
+        this.comparePlanAction = new ComparePlanAction();
+        this.comparePlanAction.setEnabled(false);
 
         this.planPresentationContainer = new ProgressControl(parent);
         this.planPresentationContainer.getLayout().numColumns = 2;
@@ -284,16 +294,19 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
         if (planner == null) {
             DBWorkbench.getPlatformUI().showError("No SQL Plan","This datasource doesn't support execution plans");
         } else {
+            ExplainPlanService planService = new ExplainPlanService(planner, executionContext, lastQuery.getText(), lastQueryId);
             explainService = LoadingJob.createService(
-                new ExplainPlanService(planner, executionContext, lastQuery.getText(), lastQueryId),
-                planPresentationContainer.createVisualizer());
+                planService,
+                planPresentationContainer.createVisualizer(planService));
             explainService.schedule();
         }
     }
 
-    private void visualizePlan(DBCPlan plan) {
+    private void visualizePlan(DBCPlan plan, ExplainPlanService planService) {
         this.lastPlan = plan;
+        this.lastHistoryEntry = planService.getHistoryEntry();
         this.refreshPlanAction.setEnabled(true);
+        this.comparePlanAction.setEnabled(lastHistoryEntry != null && planService.getPreviousHistoryEntry() != null);
 
         for (PlanViewInfo viewInfo : getPlanViews()) {
             if (viewInfo.viewer != null) {
@@ -336,6 +349,7 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
             if (activeViewInfo != null && activeViewInfo.viewer != null) {
                 activeViewInfo.planViewer.contributeActions(activeViewInfo.viewer, contributionManager, lastQuery, lastPlan);
             }
+            contributionManager.add(comparePlanAction);
             contributionManager.add(refreshPlanAction);
         }
 
@@ -348,16 +362,23 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
             return false;
         }
 
-        PlanLoadVisualizer createVisualizer() {
-            return new PlanLoadVisualizer();
+        PlanLoadVisualizer createVisualizer(ExplainPlanService planService) {
+            return new PlanLoadVisualizer(planService);
         }
 
         class PlanLoadVisualizer extends ProgressVisualizer<DBCPlan> implements ILoadVisualizerExt {
+            private final ExplainPlanService planService;
+
+            PlanLoadVisualizer(ExplainPlanService planService) {
+                this.planService = planService;
+            }
+
             @Override
             public void completeLoading(DBCPlan plan) {
                 super.completeLoading(plan);
                 if (plan != null) {
-                    visualizePlan(plan);
+                    visualizePlan(plan, planService);
+                    setInfo(planService.getRegressionMessage());
                 }
                 explainService = null;
             }
@@ -380,6 +401,8 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
         private final String query;
         private final Object savedQueryId;
         private DBCPlan plan;
+        private ExecutionPlanHistoryEntry historyEntry;
+        private ExecutionPlanHistoryEntry previousHistoryEntry;
 
         ExplainPlanService(DBCQueryPlanner planner, DBCExecutionContext executionContext, String query, Object savedQueryId)
         {
@@ -415,9 +438,75 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
             } catch (Throwable ex) {
                 throw new InvocationTargetException(ex);
             }
+            if (plan != null && savedQueryId == null) {
+                saveInHistory();
+            }
             return plan;
         }
 
+        private void saveInHistory() {
+            final DBPDataSource dataSource = executionContext.getDataSource();
+            if (!ExecutionPlanHistory.isHistoryEnabled(dataSource)) {
+                return;
+            }
+            try {
+                ExecutionPlanHistory history = ExecutionPlanHistory.getInstance();
+                historyEntry = history.addPlan(dataSource, query, plan);
+                previousHistoryEntry = history.getPreviousPlan(dataSource, historyEntry);
+            } catch (Exception e) {
+                log.debug("Error saving plan in history", e);
+            }
+        }
+
+        ExecutionPlanHistoryEntry getHistoryEntry() {
+            return historyEntry;
+        }
+
+        ExecutionPlanHistoryEntry getPreviousHistoryEntry() {
+            return previousHistoryEntry;
+        }
+
+        /**
+         * Returns message about plan cost growth since the previous explain of the same query or empty string
+         */
+        String getRegressionMessage() {
+            if (historyEntry == null || previousHistoryEntry == null) {
+                return "";
+            }
+            int threshold = executionContext.getDataSource().getContainer().getPreferenceStore().getInt(ModelPreferences.PLAN_HISTORY_REGRESSION_THRESHOLD);
+            if (!ExecutionPlanComparator.isRegression(previousHistoryEntry, historyEntry, threshold)) {
+                return "";
+            }
+            return NLS.bind("Plan cost increased from {0} to {1} since {2}",
+                new Object[] {
+                    ExplainPlanCompareDialog.formatNumber(previousHistoryEntry.getTotalCost()),
+                    ExplainPlanCompareDialog.formatNumber(historyEntry.getTotalCost()),
+                    ExplainPlanCompareDialog.formatTime(previousHistoryEntry.getTime())
+                });
+        }
+
+    }
+
+    private class ComparePlanAction extends Action {
+        private ComparePlanAction()
+        {
+            super("Compare with previous plans", DBeaverIcons.getImageDescriptor(UIIcon.COMPARE));
+        }
+
+        @Override
+        public void run()
+        {
+            if (lastHistoryEntry == null) {
+                return;
+            }
+            DBCExecutionContext executionContext = contextProvider.getExecutionContext();
+            if (executionContext == null) {
+                return;
+            }
+            List<ExecutionPlanHistoryEntry> plans = ExecutionPlanHistory.getInstance().getPlans(
+                executionContext.getDataSource(), lastHistoryEntry.getQueryText());
+            new ExplainPlanCompareDialog(planPresentationContainer.getShell(), plans, lastHistoryEntry).open();
+        }
     }
 
     private class RefreshPlanAction extends Action {
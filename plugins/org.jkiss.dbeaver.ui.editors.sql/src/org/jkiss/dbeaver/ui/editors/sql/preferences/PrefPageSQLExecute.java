@@ -59,12 +59,18 @@ public class PrefPageSQLExecute extends TargetPrefPage
     private Button fetchResultSetsCheck;
     private Button resetCursorCheck;
     private Button maxEditorCheck;
+    private Button parallelExecutionCheck;
+    private Spinner parallelMaxConnectionsText;
 
     private Text statementDelimiterText;
     private Button ignoreNativeDelimiter;
     private Button blankLineDelimiter;
     private Button removeTrailingDelimiter;
 
+    private Button planHistoryEnabledCheck;
+    private Spinner planHistorySizeText;
+    private Spinner planHistoryThresholdText;
+
     private Button enableSQLParameters;
     private Button enableSQLAnonymousParameters;
     private Text anonymousParameterMarkText;
@@ -90,12 +96,18 @@ public class PrefPageSQLExecute extends TargetPrefPage
             store.contains(SQLPreferenceConstants.SCRIPT_ERROR_HANDLING) ||
             store.contains(SQLPreferenceConstants.SCRIPT_COMMIT_LINES) ||
             store.contains(SQLPreferenceConstants.SCRIPT_FETCH_RESULT_SETS) ||
+            store.contains(SQLPreferenceConstants.SCRIPT_PARALLEL_EXECUTION) ||
+            store.contains(SQLPreferenceConstants.SCRIPT_PARALLEL_MAX_CONNECTIONS) ||
 
             store.contains(ModelPreferences.SCRIPT_STATEMENT_DELIMITER) ||
             store.contains(ModelPreferences.SCRIPT_IGNORE_NATIVE_DELIMITER) ||
             store.contains(ModelPreferences.SCRIPT_STATEMENT_DELIMITER_BLANK) ||
             store.contains(ModelPreferences.QUERY_REMOVE_TRAILING_DELIMITER) ||
 
+            store.contains(ModelPreferences.PLAN_HISTORY_ENABLED) ||
+            store.contains(ModelPreferences.PLAN_HISTORY_SIZE) ||
+            store.contains(ModelPreferences.PLAN_HISTORY_REGRESSION_THRESHOLD) ||
+
             store.contains(ModelPreferences.SQL_PARAMETERS_ENABLED) ||
             store.contains(ModelPreferences.SQL_PARAMETERS_IN_DDL_ENABLED) ||
             store.contains(ModelPreferences.SQL_ANONYMOUS_PARAMETERS_ENABLED) ||
@@ -178,6 +190,16 @@ public class PrefPageSQLExecute extends TargetPrefPage
             fetchResultSetsCheck = UIUtils.createCheckbox(scriptsGroup, SQLEditorMessages.pref_page_sql_editor_checkbox_fetch_resultsets, null, false, 2);
             resetCursorCheck = UIUtils.createCheckbox(scriptsGroup, SQLEditorMessages.pref_page_sql_editor_checkbox_reset_cursor, null, false, 2);
             maxEditorCheck = UIUtils.createCheckbox(scriptsGroup, SQLEditorMessages.pref_page_sql_editor_checkbox_max_editor_on_script_exec, null, false, 2);
+            parallelExecutionCheck = UIUtils.createCheckbox(scriptsGroup, SQLEditorMessages.pref_page_sql_editor_checkbox_parallel_execution, SQLEditorMessages.pref_page_sql_editor_checkbox_parallel_execution_tip, false, 2);
+            {
+                UIUtils.createControlLabel(scriptsGroup, SQLEditorMessages.pref_page_sql_editor_label_parallel_max_connections);
+                parallelMaxConnectionsText = new Spinner(scriptsGroup, SWT.BORDER);
+                parallelMaxConnectionsText.setSelection(0);
+                parallelMaxConnectionsText.setDigits(0);
+                parallelMaxConnectionsText.setIncrement(1);
+                parallelMaxConnectionsText.setMinimum(2);
+                parallelMaxConnectionsText.setMaximum(64);
+            }
         }
         // Parameters
         {
@@ -223,6 +245,31 @@ public class PrefPageSQLExecute extends TargetPrefPage
             removeTrailingDelimiter = UIUtils.createCheckbox(delimGroup, SQLEditorMessages.pref_page_sql_editor_checkbox_remove_trailing_delimiter, SQLEditorMessages.pref_page_sql_editor_checkbox_remove_trailing_delimiter_tip, false, 2);
         }
 
+        // Execution plan history
+        {
+            Composite planGroup = UIUtils.createControlGroup(composite, SQLEditorMessages.pref_page_sql_editor_group_plan_history, 2, GridData.FILL_HORIZONTAL | GridData.VERTICAL_ALIGN_BEGINNING, 0);
+            planHistoryEnabledCheck = UIUtils.createCheckbox(planGroup, SQLEditorMessages.pref_page_sql_editor_checkbox_plan_history_enabled, SQLEditorMessages.pref_page_sql_editor_checkbox_plan_history_enabled_tip, false, 2);
+            {
+                UIUtils.createControlLabel(planGroup, SQLEditorMessages.pref_page_sql_editor_label_plan_history_size);
+                planHistorySizeText = new Spinner(planGroup, SWT.BORDER);
+                planHistorySizeText.setSelection(0);
+                planHistorySizeText.setDigits(0);
+                planHistorySizeText.setIncrement(1);
+                planHistorySizeText.setMinimum(1);
+                planHistorySizeText.setMaximum(1000);
+            }
+            {
+                UIUtils.createControlLabel(planGroup, SQLEditorMessages.pref_page_sql_editor_label_plan_history_regression_threshold);
+                planHistoryThresholdText = new Spinner(planGroup, SWT.BORDER);
+                planHistoryThresholdText.setSelection(0);
+                planHistoryThresholdText.setDigits(0);
+                planHistoryThresholdText.setIncrement(1);
+                planHistoryThresholdText.setMinimum(1);
+                planHistoryThresholdText.setMaximum(10000);
+                planHistoryThresholdText.setToolTipText(SQLEditorMessages.pref_page_sql_editor_label_plan_history_regression_threshold_tip);
+            }
+        }
+
         return composite;
     }
 
@@ -242,12 +289,18 @@ public class PrefPageSQLExecute extends TargetPrefPage
             fetchResultSetsCheck.setSelection(store.getBoolean(SQLPreferenceConstants.SCRIPT_FETCH_RESULT_SETS));
             resetCursorCheck.setSelection(store.getBoolean(SQLPreferenceConstants.RESET_CURSOR_ON_EXECUTE));
             maxEditorCheck.setSelection(store.getBoolean(SQLPreferenceConstants.MAXIMIZE_EDITOR_ON_SCRIPT_EXECUTE));
+            parallelExecutionCheck.setSelection(store.getBoolean(SQLPreferenceConstants.SCRIPT_PARALLEL_EXECUTION));
+            parallelMaxConnectionsText.setSelection(store.getInt(SQLPreferenceConstants.SCRIPT_PARALLEL_MAX_CONNECTIONS));
 
             statementDelimiterText.setText(store.getString(ModelPreferences.SCRIPT_STATEMENT_DELIMITER));
             ignoreNativeDelimiter.setSelection(store.getBoolean(ModelPreferences.SCRIPT_IGNORE_NATIVE_DELIMITER));
             blankLineDelimiter.setSelection(store.getBoolean(ModelPreferences.SCRIPT_STATEMENT_DELIMITER_BLANK));
             removeTrailingDelimiter.setSelection(store.getBoolean(ModelPreferences.QUERY_REMOVE_TRAILING_DELIMITER));
 
+            planHistoryEnabledCheck.setSelection(store.getBoolean(ModelPreferences.PLAN_HISTORY_ENABLED));
+            planHistorySizeText.setSelection(store.getInt(ModelPreferences.PLAN_HISTORY_SIZE));
+            planHistoryThresholdText.setSelection(store.getInt(ModelPreferences.PLAN_HISTORY_REGRESSION_THRESHOLD));
+
             enableSQLParameters.setSelection(store.getBoolean(ModelPreferences.SQL_PARAMETERS_ENABLED));
             enableSQLAnonymousParameters.setSelection(store.getBoolean(ModelPreferences.SQL_ANONYMOUS_PARAMETERS_ENABLED));
             anonymousParameterMarkText.setText(store.getString(ModelPreferences.SQL_ANONYMOUS_PARAMETERS_MARK));
@@ -276,12 +329,18 @@ public class PrefPageSQLExecute extends TargetPrefPage
             store.setValue(SQLPreferenceConstants.SCRIPT_FETCH_RESULT_SETS, fetchResultSetsCheck.getSelection());
             store.setValue(SQLPreferenceConstants.RESET_CURSOR_ON_EXECUTE, resetCursorCheck.getSelection());
             store.setValue(SQLPreferenceConstants.MAXIMIZE_EDITOR_ON_SCRIPT_EXECUTE, maxEditorCheck.getSelection());
+            store.setValue(SQLPreferenceConstants.SCRIPT_PARALLEL_EXECUTION, parallelExecutionCheck.getSelection());
+            store.setValue(SQLPreferenceConstants.SCRIPT_PARALLEL_MAX_CONNECTIONS, parallelMaxConnectionsText.getSelection());
 
             store.setValue(ModelPreferences.SCRIPT_STATEMENT_DELIMITER, statementDelimiterText.getText());
             store.setValue(ModelPreferences.SCRIPT_IGNORE_NATIVE_DELIMITER, ignoreNativeDelimiter.getSelection());
             store.setValue(ModelPreferences.SCRIPT_STATEMENT_DELIMITER_BLANK, blankLineDelimiter.getSelection());
             store.setValue(ModelPreferences.QUERY_REMOVE_TRAILING_DELIMITER, removeTrailingDelimiter.getSelection());
 
+            store.setValue(ModelPreferences.PLAN_HISTORY_ENABLED, planHistoryEnabledCheck.getSelection());
+            store.setValue(ModelPreferences.PLAN_HISTORY_SIZE, planHistorySizeText.getSelection());
+            store.setValue(ModelPreferences.PLAN_HISTORY_REGRESSION_THRESHOLD, planHistoryThresholdText.getSelection());
+
             store.setValue(ModelPreferences.SQL_PARAMETERS_ENABLED, enableSQLParameters.getSelection());
             store.setValue(ModelPreferences.SQL_ANONYMOUS_PARAMETERS_ENABLED, enableSQLAnonymousParameters.getSelection());
             store.setValue(ModelPreferences.SQL_ANONYMOUS_PARAMETERS_MARK, anonymousParameterMarkText.getText());
@@ -305,6 +364,8 @@ public class PrefPageSQLExecute extends TargetPrefPage
         store.setToDefault(SQLPreferenceConstants.SCRIPT_ERROR_HANDLING);
         store.setToDefault(SQLPreferenceConstants.SCRIPT_COMMIT_LINES);
         store.setToDefault(SQLPreferenceConstants.SCRIPT_FETCH_RESULT_SETS);
+        store.setToDefault(SQLPreferenceConstants.SCRIPT_PARALLEL_EXECUTION);
+        store.setToDefault(SQLPreferenceConstants.SCRIPT_PARALLEL_MAX_CONNECTIONS);
 
         store.setToDefault(SQLPreferenceConstants.RESET_CURSOR_ON_EXECUTE);
         store.setToDefault(SQLPreferenceConstants.MAXIMIZE_EDITOR_ON_SCRIPT_EXECUTE);
@@ -314,6 +375,10 @@ public class PrefPageSQLExecute extends TargetPrefPage
         store.setToDefault(ModelPreferences.SCRIPT_STATEMENT_DELIMITER_BLANK);
         store.setToDefault(ModelPreferences.QUERY_REMOVE_TRAILING_DELIMITER);
 
+        store.setToDefault(ModelPreferences.PLAN_HISTORY_ENABLED);
+        store.setToDefault(ModelPreferences.PLAN_HISTORY_SIZE);
+        store.setToDefault(ModelPreferences.PLAN_HISTORY_REGRESSION_THRESHOLD);
+
         store.setToDefault(ModelPreferences.SQL_PARAMETERS_ENABLED);
         store.setToDefault(ModelPreferences.SQL_PARAMETERS_IN_DDL_ENABLED);
         store.setToDefault(ModelPreferences.SQL_ANONYMOUS_PARAMETERS_ENABLED);
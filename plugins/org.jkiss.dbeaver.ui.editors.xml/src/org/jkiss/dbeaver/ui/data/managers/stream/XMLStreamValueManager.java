@@ -26,6 +26,7 @@ import org.jkiss.dbeaver.model.struct.DBSTypedObject;
 import org.jkiss.dbeaver.ui.data.IStreamValueEditor;
 import org.jkiss.dbeaver.ui.data.IStreamValueManager;
 import org.jkiss.dbeaver.ui.data.IValueController;
+import org.jkiss.dbeaver.ui.data.managers.ContentOutlinePanelEditor;
 import org.jkiss.dbeaver.utils.ContentUtils;
 
 /**
@@ -35,10 +36,11 @@ public class XMLStreamValueManager implements IStreamValueManager {
 
     @Override
     public MatchType matchesTo(@NotNull DBRProgressMonitor monitor, @NotNull DBSTypedObject attribute, @Nullable DBDContent value) {
-        // Applies to text values
-        return ContentUtils.isXML(value) ?
-            MatchType.PRIMARY :
-            (ContentUtils.isTextContent(value) ? MatchType.APPLIES : MatchType.NONE);
+        // Applies to text values. Large documents are shown in outline viewer by default
+        if (ContentUtils.isXML(value)) {
+            return ContentOutlinePanelEditor.isLargeContent(value) ? MatchType.DEFAULT : MatchType.PRIMARY;
+        }
+        return ContentUtils.isTextContent(value) ? MatchType.APPLIES : MatchType.NONE;
     }
 
     @Override
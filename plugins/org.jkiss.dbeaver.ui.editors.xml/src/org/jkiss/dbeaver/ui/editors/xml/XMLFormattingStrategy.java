@@ -50,6 +50,10 @@ public class XMLFormattingStrategy extends ContextBasedFormattingStrategy {
         if (CommonUtils.isEmpty(content)) {
             return content;
         }
+        return formatXML(content);
+    }
+
+    static String formatXML(String content) {
         try {
             TransformerFactory transformerFactory = TransformerFactory.newInstance();
             transformerFactory.setAttribute("indent-number", 2);
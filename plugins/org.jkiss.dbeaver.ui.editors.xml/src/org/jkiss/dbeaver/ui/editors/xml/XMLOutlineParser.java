@@ -0,0 +1,357 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.xml;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.ui.data.managers.ContentOutlineNode;
+import org.jkiss.dbeaver.ui.data.managers.ContentOutlineParser;
+import org.jkiss.dbeaver.ui.data.managers.ContentOutlineReader;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental XML outline parser.
+ * Nested elements are skipped, they are parsed when expanded. Attributes are shown as element children.
+ * Comments, processing instructions and declarations are skipped.
+ */
+public class XMLOutlineParser implements ContentOutlineParser {
+
+    private static final int MAX_PREVIEW_LENGTH = 200;
+
+    @NotNull
+    @Override
+    public List<ContentOutlineNode> readChildren(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull ContentOutlineReader reader,
+        @Nullable ContentOutlineNode node,
+        int maxChildren) throws IOException
+    {
+        if (node == null) {
+            return readContent(monitor, reader, null, 0, maxChildren);
+        }
+        switch (node.getKind()) {
+            case ELEMENT: {
+                List<ContentOutlineNode> children = new ArrayList<>();
+                boolean selfClosing = readStartTag(reader, node, children);
+                if (!selfClosing) {
+                    children.addAll(readContent(monitor, reader, node, 0, maxChildren));
+                }
+                return children;
+            }
+            case MORE:
+                return readContent(monitor, reader, node.getParent(), node.getIndex(), maxChildren);
+            default:
+                return new ArrayList<>();
+        }
+    }
+
+    @NotNull
+    @Override
+    public String formatText(@NotNull String text) {
+        if (CommonUtils.isEmptyTrimmed(text) || text.charAt(0) != '<') {
+            return text;
+        }
+        return XMLFormattingStrategy.formatXML(text);
+    }
+
+    /**
+     * Reads element content (or document root level) until the end tag
+     */
+    private List<ContentOutlineNode> readContent(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull ContentOutlineReader reader,
+        @Nullable ContentOutlineNode parent,
+        int startIndex,
+        int maxChildren) throws IOException
+    {
+        List<ContentOutlineNode> nodes = new ArrayList<>();
+        int index = startIndex;
+        while (!monitor.isCanceled()) {
+            long offset = reader.getPosition();
+            int c = reader.peek();
+            if (c < 0 || reader.lookingAt("</")) {
+                break;
+            }
+            if (c != '<' || reader.lookingAt("<![CDATA[")) {
+                boolean cdata = c == '<';
+                String text = cdata ? readCData(reader) : readText(reader);
+                if (!cdata && text.isEmpty()) {
+                    continue;
+                }
+                if (nodes.size() >= maxChildren) {
+                    nodes.add(createMoreNode(parent, offset, index));
+                    break;
+                }
+                nodes.add(new ContentOutlineNode(
+                    parent, ContentOutlineNode.Kind.TEXT, cdata ? "#cdata" : "#text", text.trim(), offset, reader.getPosition(), index++, false));
+            } else if (reader.lookingAt("<!--")) {
+                reader.skipPast("-->");
+            } else if (reader.lookingAt("<?")) {
+                reader.skipPast("?>");
+            } else if (reader.lookingAt("<!")) {
+                skipDeclaration(reader);
+            } else {
+                if (nodes.size() >= maxChildren) {
+                    nodes.add(createMoreNode(parent, offset, index));
+                    break;
+                }
+                List<ContentOutlineNode> attributes = new ArrayList<>();
+                String name = readTagName(reader);
+                boolean selfClosing = readTagAttributes(reader, null, attributes);
+                if (!selfClosing) {
+                    skipElementContent(reader);
+                }
+                StringBuilder preview = new StringBuilder();
+                for (ContentOutlineNode attr : attributes) {
+                    if (preview.length() > 0) {
+                        preview.append(' ');
+                    }
+                    preview.append(attr.getName().substring(1)).append("=\"").append(attr.getPreview()).append('"');
+                    if (preview.length() > MAX_PREVIEW_LENGTH) {
+                        preview.setLength(MAX_PREVIEW_LENGTH);
+                        preview.append("...");
+                        break;
+                    }
+                }
+                nodes.add(new ContentOutlineNode(
+                    parent, ContentOutlineNode.Kind.ELEMENT, name, preview.length() == 0 ? null : preview.toString(),
+                    offset, reader.getPosition(), index++, !selfClosing || !attributes.isEmpty()));
+            }
+        }
+        return nodes;
+    }
+
+    private static ContentOutlineNode createMoreNode(@Nullable ContentOutlineNode parent, long offset, int index) {
+        return new ContentOutlineNode(parent, ContentOutlineNode.Kind.MORE, "...", null, offset, offset, index, false);
+    }
+
+    /**
+     * Reads start tag of the element. Attributes are added to the children list.
+     *
+     * @return true if element is self-closing
+     */
+    private static boolean readStartTag(@NotNull ContentOutlineReader reader, @NotNull ContentOutlineNode element, @NotNull List<ContentOutlineNode> children) throws IOException {
+        readTagName(reader);
+        return readTagAttributes(reader, element, children);
+    }
+
+    private static String readTagName(@NotNull ContentOutlineReader reader) throws IOException {
+        reader.read();
+        StringBuilder name = new StringBuilder();
+        for (;;) {
+            int c = reader.peek();
+            if (c < 0 || c == '>' || c == '/' || Character.isWhitespace(c)) {
+                break;
+            }
+            name.append((char) reader.read());
+        }
+        return name.toString();
+    }
+
+    private static boolean readTagAttributes(@NotNull ContentOutlineReader reader, @Nullable ContentOutlineNode element, @NotNull List<ContentOutlineNode> attributes) throws IOException {
+        for (;;) {
+            reader.skipWhitespaces();
+            int c = reader.peek();
+            if (c < 0) {
+                return true;
+            }
+            if (c == '>') {
+                reader.read();
+                return false;
+            }
+            if (reader.lookingAt("/>")) {
+                reader.skip(2);
+                return true;
+            }
+            long offset = reader.getPosition();
+            StringBuilder name = new StringBuilder();
+            for (;;) {
+                c = reader.peek();
+                if (c < 0 || c == '=' || c == '>' || c == '/' || Character.isWhitespace(c)) {
+                    break;
+                }
+                name.append((char) reader.read());
+            }
+            if (name.length() == 0) {
+                // Garbage in tag
+                reader.read();
+                continue;
+            }
+            reader.skipWhitespaces();
+            StringBuilder value = new StringBuilder();
+            if (reader.peek() == '=') {
+                reader.read();
+                reader.skipWhitespaces();
+                int quote = reader.peek();
+                if (quote == '"' || quote == '\'') {
+                    reader.read();
+                    for (;;) {
+                        c = reader.read();
+                        if (c < 0 || c == quote) {
+                            break;
+                        }
+                        if (value.length() < MAX_PREVIEW_LENGTH) {
+                            value.append((char) c);
+                        }
+                    }
+                } else {
+                    for (;;) {
+                        c = reader.peek();
+                        if (c < 0 || c == '>' || Character.isWhitespace(c)) {
+                            break;
+                        }
+                        reader.read();
+                        if (value.length() < MAX_PREVIEW_LENGTH) {
+                            value.append((char) c);
+                        }
+                    }
+                }
+            }
+            attributes.add(new ContentOutlineNode(
+                element, ContentOutlineNode.Kind.VALUE, "@" + name, value.toString(), offset, reader.getPosition(), attributes.size(), false));
+        }
+    }
+
+    /**
+     * Skips element content including the end tag
+     */
+    private static void skipElementContent(@NotNull ContentOutlineReader reader) throws IOException {
+        int depth = 1;
+        while (depth > 0) {
+            int c = reader.peek();
+            if (c < 0) {
+                break;
+            }
+            if (c != '<') {
+                reader.read();
+            } else if (reader.lookingAt("<!--")) {
+                reader.skipPast("-->");
+            } else if (reader.lookingAt("<![CDATA[")) {
+                reader.skipPast("]]>");
+            } else if (reader.lookingAt("<?")) {
+                reader.skipPast("?>");
+            } else if (reader.lookingAt("</")) {
+                reader.skipPast(">");
+                depth--;
+            } else if (reader.lookingAt("<!")) {
+                skipDeclaration(reader);
+            } else if (!skipTag(reader)) {
+                depth++;
+            }
+        }
+    }
+
+    /**
+     * Skips start tag.
+     *
+     * @return true if element is self-closing
+     */
+    private static boolean skipTag(@NotNull ContentOutlineReader reader) throws IOException {
+        int quote = 0;
+        int prev = 0;
+        for (;;) {
+            int c = reader.read();
+            if (c < 0) {
+                return true;
+            }
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return prev == '/';
+            }
+            prev = c;
+        }
+    }
+
+    /**
+     * Skips DOCTYPE and other declarations (including internal subset)
+     */
+    private static void skipDeclaration(@NotNull ContentOutlineReader reader) throws IOException {
+        int quote = 0;
+        int brackets = 0;
+        for (;;) {
+            int c = reader.read();
+            if (c < 0) {
+                return;
+            }
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '[') {
+                brackets++;
+            } else if (c == ']') {
+                brackets--;
+            } else if (c == '>' && brackets <= 0) {
+                return;
+            }
+        }
+    }
+
+    private static String readText(@NotNull ContentOutlineReader reader) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (;;) {
+            int c = reader.peek();
+            if (c < 0 || c == '<') {
+                break;
+            }
+            reader.read();
+            if (text.length() > 0 || !Character.isWhitespace(c)) {
+                // Leading whitespaces are not shown
+                appendPreview(text, c);
+            }
+        }
+        return text.toString();
+    }
+
+    private static String readCData(@NotNull ContentOutlineReader reader) throws IOException {
+        reader.skip("<![CDATA[".length());
+        StringBuilder text = new StringBuilder();
+        for (;;) {
+            if (reader.lookingAt("]]>")) {
+                reader.skip(3);
+                break;
+            }
+            int c = reader.read();
+            if (c < 0) {
+                break;
+            }
+            appendPreview(text, c);
+        }
+        return text.toString();
+    }
+
+    private static void appendPreview(@NotNull StringBuilder text, int c) {
+        if (text.length() < MAX_PREVIEW_LENGTH) {
+            text.append((char) c);
+        } else if (text.length() == MAX_PREVIEW_LENGTH) {
+            text.append("...");
+        }
+    }
+
+}
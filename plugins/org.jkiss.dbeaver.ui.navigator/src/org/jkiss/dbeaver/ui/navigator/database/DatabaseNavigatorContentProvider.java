@@ -18,7 +18,9 @@ package org.jkiss.dbeaver.ui.navigator.database;
 
 import org.eclipse.jface.viewers.IStructuredContentProvider;
 import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerFilter;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 import org.jkiss.dbeaver.model.navigator.DBNLazyNode;
@@ -125,6 +127,11 @@ class DatabaseNavigatorContentProvider implements IStructuredContentProvider, IT
                     return EMPTY_CHILDREN;
                 } else {
                     int longListFetchSize = Math.max(NavigatorPreferences.MIN_LONG_LIST_FETCH_SIZE, DBWorkbench.getPlatform().getPreferenceStore().getInt(NavigatorPreferences.NAVIGATOR_LONG_LIST_FETCH_SIZE));
+                    if (children.length > longListFetchSize) {
+                        // Long list is shown by segments. Apply tree filters to the whole list first,
+                        // otherwise filter text would match only children of the first segment.
+                        children = filterLongList(parentNode, children);
+                    }
                     if (children.length > longListFetchSize) {
                         Object[] curChildren = new Object[longListFetchSize + 1];
                         System.arraycopy(children, 0, curChildren, 0, longListFetchSize);
@@ -149,6 +156,24 @@ class DatabaseNavigatorContentProvider implements IStructuredContentProvider, IT
         }
     }
 
+    private DBNNode[] filterLongList(DBNNode parentNode, DBNNode[] children) {
+        final TreeViewer viewer = navigatorTree.getViewer();
+        final ViewerFilter[] filters = viewer.getFilters();
+        if (filters.length == 0) {
+            return children;
+        }
+        Object[] filtered = children;
+        for (ViewerFilter filter : filters) {
+            filtered = filter.filter(viewer, parentNode, filtered);
+        }
+        if (filtered.length == children.length) {
+            return children;
+        }
+        final DBNNode[] result = new DBNNode[filtered.length];
+        System.arraycopy(filtered, 0, result, 0, filtered.length);
+        return result;
+    }
+
     @Override
     public boolean hasChildren(Object parent)
     {
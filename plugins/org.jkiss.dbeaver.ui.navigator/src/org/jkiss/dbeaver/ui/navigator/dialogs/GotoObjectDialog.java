@@ -35,15 +35,18 @@ import org.eclipse.swt.layout.RowLayout;
 import org.eclipse.swt.widgets.*;
 import org.eclipse.ui.dialogs.FilteredItemsSelectionDialog;
 import org.eclipse.ui.dialogs.SearchPattern;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBPNamedObject;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBExecUtils;
+import org.jkiss.dbeaver.model.navigator.DBNStructureSearch;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
-import org.jkiss.dbeaver.model.runtime.DBRRunnableParametrized;
 import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.struct.*;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
@@ -56,6 +59,7 @@ import org.jkiss.utils.CommonUtils;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 /**
@@ -205,16 +209,46 @@ public class GotoObjectDialog extends FilteredItemsSelectionDialog {
                 typesToSearch.add(type);
             }
 
-            ObjectFinder objectFinder = new ObjectFinder(structureAssistant, monitor, context, typesToSearch, nameMask);
-            DBExecUtils.tryExecuteRecover(monitor, context.getDataSource(), objectFinder);
+            DBSStructureAssistant.ObjectsSearchParams params = new DBSStructureAssistant.ObjectsSearchParams(
+                typesToSearch.toArray(new DBSObjectType[0]),
+                nameMask
+            );
+            params.setGlobalSearch(true);
+            params.setMaxResults(MAX_RESULT_COUNT);
+
+            // Objects are added as soon as they are found. Loaded navigator nodes are checked before database query
+            final DBPDataSourceContainer dsContainer = context.getDataSource().getContainer();
+            final AtomicInteger resultCount = new AtomicInteger();
+            final Throwable[] searchError = new Throwable[1];
+            final DBNStructureSearch.SearchListener searchListener = new DBNStructureSearch.SearchListener() {
+                @Override
+                public void objectsFound(@NotNull DBRProgressMonitor sourceMonitor, @NotNull DBPDataSource dataSource, @NotNull List<DBSObjectReference> objects) {
+                    resultCount.addAndGet(objects.size());
+                    for (DBSObjectReference ref : objects) {
+                        DBSObjectFilter filter = dsContainer.getObjectFilter(ref.getObjectClass(), ref.getContainer(), true);
+                        if (filter == null || !filter.isEnabled() || filter.matches(ref.getName())) {
+                            contentProvider.add(ref, itemsFilter);
+                        }
+                    }
+                }
 
-            DBPDataSourceContainer dsContainer = context.getDataSource().getContainer();
-            for (DBSObjectReference ref : objectFinder.getResult()) {
-                DBSObjectFilter filter = dsContainer.getObjectFilter(ref.getObjectClass(), ref.getContainer(), true);
-                if (filter == null || !filter.isEnabled() || filter.matches(ref.getName())) {
-                    contentProvider.add(ref, itemsFilter);
+                @Override
+                public void sourceFinished(@NotNull DBPDataSource dataSource, @Nullable Throwable error) {
+                    searchError[0] = error;
                 }
-            }
+            };
+            DBExecUtils.tryExecuteRecover(monitor, context.getDataSource(), param -> {
+                resultCount.set(0);
+                searchError[0] = null;
+                DBNStructureSearch search = new DBNStructureSearch(params, searchListener);
+                search.addDataSource(context.getDataSource(), container);
+                search.run(param);
+                if (searchError[0] != null) {
+                    // Broken connection is recovered and search is repeated
+                    throw new InvocationTargetException(searchError[0]);
+                }
+            });
+            hasMoreResults = resultCount.get() >= MAX_RESULT_COUNT;
         } catch (DBException e) {
             throw new CoreException(GeneralUtils.makeExceptionStatus(e));
         } finally {
@@ -343,42 +377,4 @@ public class GotoObjectDialog extends FilteredItemsSelectionDialog {
             return !hasMoreResults && super.isSubFilter(filter) && CommonUtils.equalObjects(enabledTypesCopy, ((ObjectFilter)filter).enabledTypesCopy);
         }
     }
-
-    private class ObjectFinder implements DBRRunnableParametrized<DBRProgressMonitor> {
-        private final DBSStructureAssistant structureAssistant;
-        private final DBRProgressMonitor monitor;
-        private final DBCExecutionContext executionContext;
-        private final List<DBSObjectType> typesToSearch;
-        private final String nameMask;
-        private List<DBSObjectReference> result;
-
-        ObjectFinder(DBSStructureAssistant structureAssistant, DBRProgressMonitor monitor, DBCExecutionContext executionContext, List<DBSObjectType> typesToSearch, String nameMask) {
-            this.structureAssistant = structureAssistant;
-            this.monitor = monitor;
-            this.executionContext = executionContext;
-            this.typesToSearch = typesToSearch;
-            this.nameMask = nameMask;
-        }
-
-        public List<DBSObjectReference> getResult() {
-            return result;
-        }
-
-        @Override
-        public void run(DBRProgressMonitor param) throws InvocationTargetException, InterruptedException {
-            try {
-                DBSStructureAssistant.ObjectsSearchParams params = new DBSStructureAssistant.ObjectsSearchParams(
-                        typesToSearch.toArray(new DBSObjectType[0]),
-                        nameMask
-                );
-                params.setParentObject(container);
-                params.setGlobalSearch(true);
-                params.setMaxResults(MAX_RESULT_COUNT);
-                result = structureAssistant.findObjectsByMask(monitor, executionContext, params);
-                hasMoreResults = result.size() >= MAX_RESULT_COUNT;
-            } catch (Exception e) {
-                throw new InvocationTargetException(e);
-            }
-        }
-    }
 }
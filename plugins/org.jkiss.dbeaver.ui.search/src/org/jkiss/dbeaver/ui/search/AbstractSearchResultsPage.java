@@ -125,6 +125,11 @@ public abstract class AbstractSearchResultsPage <OBJECT_TYPE> extends Page imple
                 newNodes.addAll(oldNodes);
             }
             newNodes.addAll(nodes);
+            Comparator<DBNNode> nodeComparator = getNodeComparator();
+            if (nodeComparator != null) {
+                // Merge new results with already shown ones
+                newNodes.sort(nodeComparator);
+            }
             ((ResultsContentProvider)itemsViewer.getContentProvider()).rebuildObjectTree(newNodes);
             itemList.appendListData(nodes);
             itemsViewer.expandAll();
@@ -133,6 +138,19 @@ public abstract class AbstractSearchResultsPage <OBJECT_TYPE> extends Page imple
 
     protected abstract DBNNode getNodeFromObject(OBJECT_TYPE object);
 
+    /**
+     * Results order. Results are shown in the order they were found by default.
+     */
+    @Nullable
+    protected Comparator<DBNNode> getNodeComparator() {
+        return null;
+    }
+
+    @Nullable
+    protected ISearchResult getSearchResult() {
+        return searchResult;
+    }
+
     public void clearObjects()
     {
         itemList.clearListData();
@@ -119,7 +119,7 @@ public class SearchMetadataPage extends AbstractSearchPage {
             DBPPlatform platform = DBWorkbench.getPlatform();
             final DBNProject projectNode = platform.getNavigatorModel().getRoot().getProjectNode(currentProject);
             DBNNode rootNode = projectNode == null ? platform.getNavigatorModel().getRoot() : projectNode.getDatabases();
-            dataSourceTree = new DatabaseNavigatorTree(sourceGroup, rootNode, SWT.SINGLE);
+            dataSourceTree = new DatabaseNavigatorTree(sourceGroup, rootNode, SWT.MULTI);
             GridData gd = new GridData(GridData.FILL_BOTH);
             gd.heightHint = 300;
             dataSourceTree.setLayoutData(gd);
@@ -407,20 +407,37 @@ public class SearchMetadataPage extends AbstractSearchPage {
 
     @Override
     public SearchMetadataQuery createQuery() {
-        DBSObject parentObject = null;
-        for (DBNNode node = getSelectedNode(); node != null; node = node.getParentNode()) {
-            if (node instanceof DBSWrapper) {
-                DBSObject object = ((DBSWrapper) node).getObject();
-                if (object instanceof DBSStructContainer) {
-                    parentObject = object;
-                    break;
+        // Each selected data source is searched. Object types are taken from the first one
+        Map<DBPDataSource, DBSObject> sources = new LinkedHashMap<>();
+        for (Object selected : ((IStructuredSelection) dataSourceTree.getViewer().getSelection()).toList()) {
+            if (!(selected instanceof DBSWrapper) || ((DBSWrapper) selected).getObject() == null) {
+                continue;
+            }
+            DBPDataSource nodeDataSource = ((DBSWrapper) selected).getObject().getDataSource();
+            if (nodeDataSource == null || DBUtils.getAdapter(DBSStructureAssistant.class, nodeDataSource) == null) {
+                continue;
+            }
+            DBSObject parentObject = null;
+            for (DBNNode node = (DBNNode) selected; node != null; node = node.getParentNode()) {
+                if (node instanceof DBSWrapper) {
+                    DBSObject object = ((DBSWrapper) node).getObject();
+                    if (object instanceof DBSStructContainer) {
+                        parentObject = object;
+                        break;
+                    }
                 }
             }
+            if (sources.containsKey(nodeDataSource) && sources.get(nodeDataSource) != parentObject) {
+                // Several containers of the same data source. Search in the whole data source
+                sources.put(nodeDataSource, null);
+            } else {
+                sources.put(nodeDataSource, parentObject);
+            }
         }
 
         DBPDataSource dataSource = getSelectedDataSource();
         DBSStructureAssistant assistant = getSelectedStructureAssistant();
-        if (dataSource == null || assistant == null) {
+        if (dataSource == null || assistant == null || sources.isEmpty()) {
             throw new IllegalStateException("No active datasource");
         }
         java.util.List<DBSObjectType> objectTypes = new ArrayList<>();
@@ -454,14 +471,13 @@ public class SearchMetadataPage extends AbstractSearchPage {
                 objectTypes.toArray(new DBSObjectType[0]),
                 objectNameMask
         );
-        params.setParentObject(parentObject);
         params.setCaseSensitive(caseSensitive);
         params.setSearchInComments(searchInComments);
         params.setMaxResults(maxResults);
         params.setSearchInDefinitions(searchInDefinitions);
         params.setGlobalSearch(true);
 
-        return new SearchMetadataQuery(dataSource, assistant, params);
+        return new SearchMetadataQuery(sources, params);
     }
 
     @Override
@@ -18,18 +18,21 @@ package org.jkiss.dbeaver.ui.search.metadata;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.search.ui.ISearchQuery;
 import org.eclipse.search.ui.ISearchResult;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBPDataSource;
-import org.jkiss.dbeaver.model.DBUtils;
-import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.DBPNamedObject;
 import org.jkiss.dbeaver.model.navigator.DBNModel;
 import org.jkiss.dbeaver.model.navigator.DBNNode;
+import org.jkiss.dbeaver.model.navigator.DBNStructureSearch;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.*;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
@@ -37,22 +40,20 @@ import org.jkiss.dbeaver.ui.search.AbstractSearchResult;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 
-import java.util.Collection;
-import java.util.Collections;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SearchMetadataQuery implements ISearchQuery {
     private static final Log log = Log.getLog(SearchMetadataQuery.class);
 
-    private final DBSStructureAssistant structureAssistant;
-    private final DBCExecutionContext executionContext;
+    // Data sources with optional parent objects
+    private final Map<DBPDataSource, DBSObject> sources;
     @NotNull
     private final DBSStructureAssistant.ObjectsSearchParams params;
     private SearchMetadataResult searchResult;
 
-    SearchMetadataQuery(@NotNull DBPDataSource dataSource, @NotNull DBSStructureAssistant<?> structureAssistant,
-                        @NotNull DBSStructureAssistant.ObjectsSearchParams params) {
-        this.structureAssistant = structureAssistant;
-        this.executionContext = DBUtils.getDefaultContext(dataSource, true);
+    SearchMetadataQuery(@NotNull Map<DBPDataSource, DBSObject> sources, @NotNull DBSStructureAssistant.ObjectsSearchParams params) {
+        this.sources = sources;
         this.params = params;
     }
 
@@ -81,40 +82,77 @@ public class SearchMetadataQuery implements ISearchQuery {
 
     @Override
     public IStatus run(IProgressMonitor monitor) throws OperationCanceledException {
-        try {
-            String objectNameMask = params.getMask();
-            if (!objectNameMask.endsWith("%")) { //$NON-NLS-1$
-                objectNameMask = objectNameMask + "%"; //$NON-NLS-1$
-                params.setMask(objectNameMask);
-            }
-            int totalObjects = 0;
-            DBNModel navigatorModel = DBWorkbench.getPlatform().getNavigatorModel();
-            DBRProgressMonitor localMonitor = RuntimeUtils.makeMonitor(monitor);
+        String objectNameMask = params.getMask();
+        if (!objectNameMask.endsWith("%")) { //$NON-NLS-1$
+            objectNameMask = objectNameMask + "%"; //$NON-NLS-1$
+            params.setMask(objectNameMask);
+        }
+        AtomicInteger totalObjects = new AtomicInteger();
+        DBNModel navigatorModel = DBWorkbench.getPlatform().getNavigatorModel();
+        DBRProgressMonitor localMonitor = RuntimeUtils.makeMonitor(monitor);
+        List<IStatus> errors = Collections.synchronizedList(new ArrayList<>());
 
-            Collection<DBSObjectReference> objects = structureAssistant.findObjectsByMask(localMonitor, executionContext, params);
-            for (DBSObjectReference reference : objects) {
-                if (monitor.isCanceled()) {
-                    break;
-                }
-                try {
-                    DBSObject object = reference.resolveObject(localMonitor);
-                    if (object != null) {
-                        DBNNode node = navigatorModel.getNodeByObject(localMonitor, object, false);
-                        if (node != null) {
-                            searchResult.addObjects(Collections.singletonList(node));
-                            totalObjects++;
+        // Data sources are searched concurrently, results of each data source are shown as soon as they are read
+        DBNStructureSearch search = new DBNStructureSearch(params, new DBNStructureSearch.SearchListener() {
+            @Override
+            public void objectsFound(@NotNull DBRProgressMonitor sourceMonitor, @NotNull DBPDataSource dataSource, @NotNull List<DBSObjectReference> objects) {
+                List<DBSObjectReference> rankedObjects = new ArrayList<>(objects);
+                rankedObjects.sort(getRankComparator());
+                List<DBNNode> nodes = new ArrayList<>(rankedObjects.size());
+                for (DBSObjectReference reference : rankedObjects) {
+                    if (sourceMonitor.isCanceled()) {
+                        break;
+                    }
+                    try {
+                        // Resolve with the data source search monitor, so the search timeout cancels it
+                        DBSObject object = reference.resolveObject(sourceMonitor);
+                        if (object != null) {
+                            DBNNode node = navigatorModel.getNodeByObject(sourceMonitor, object, false);
+                            if (node != null) {
+                                nodes.add(node);
+                            }
                         }
+                    } catch (DBException e) {
+                        log.debug("Error resolving object '" + reference.getName() + "': " + e.getMessage());
+                        errors.add(GeneralUtils.makeExceptionStatus(e));
                     }
-                } catch (DBException e) {
-                    log.error(e);
+                }
+                if (!nodes.isEmpty()) {
+                    synchronized (searchResult) {
+                        searchResult.addObjects(nodes);
+                    }
+                    totalObjects.addAndGet(nodes.size());
                 }
             }
-            searchResult.fireChange(new AbstractSearchResult.DatabaseSearchFinishEvent(searchResult, totalObjects));
 
+            @Override
+            public void sourceFinished(@NotNull DBPDataSource dataSource, @Nullable Throwable error) {
+                if (error != null) {
+                    log.warn("Error searching in '" + dataSource.getContainer().getName() + "'", error);
+                    errors.add(GeneralUtils.makeExceptionStatus("Error searching in '" + dataSource.getContainer().getName() + "'", error));
+                }
+            }
+        });
+        for (Map.Entry<DBPDataSource, DBSObject> source : sources.entrySet()) {
+            search.addDataSource(source.getKey(), source.getValue());
+        }
+        search.run(localMonitor);
+
+        searchResult.fireChange(new AbstractSearchResult.DatabaseSearchFinishEvent(searchResult, totalObjects.get()));
+
+        if (errors.isEmpty()) {
             return Status.OK_STATUS;
-        } catch (DBException e) {
-            log.debug(e);
-            return GeneralUtils.makeExceptionStatus(e);
         }
+        // Results of other data sources are shown anyway
+        return new MultiStatus(ModelPreferences.PLUGIN_ID, 0, errors.toArray(new IStatus[0]), "Metadata search finished with errors", null);
+    }
+
+    /**
+     * Orders objects by name match (exact matches first), then by name
+     */
+    Comparator<DBPNamedObject> getRankComparator() {
+        final String mask = params.getMask();
+        return Comparator.<DBPNamedObject>comparingInt(o -> DBNStructureSearch.getMatchRank(o.getName(), mask))
+            .thenComparing(DBPNamedObject::getName, String.CASE_INSENSITIVE_ORDER);
     }
 }
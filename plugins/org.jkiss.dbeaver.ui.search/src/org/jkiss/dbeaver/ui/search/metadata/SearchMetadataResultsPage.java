@@ -16,9 +16,12 @@
  */
 package org.jkiss.dbeaver.ui.search.metadata;
 
+import org.eclipse.search.ui.ISearchResult;
 import org.jkiss.dbeaver.model.navigator.DBNNode;
 import org.jkiss.dbeaver.ui.search.AbstractSearchResultsPage;
 
+import java.util.Comparator;
+
 public class SearchMetadataResultsPage extends AbstractSearchResultsPage<DBNNode> {
 
     public SearchMetadataResultsPage() {
@@ -28,4 +31,13 @@ public class SearchMetadataResultsPage extends AbstractSearchResultsPage<DBNNode
     protected DBNNode getNodeFromObject(DBNNode object) {
         return object;
     }
+
+    @Override
+    protected Comparator<DBNNode> getNodeComparator() {
+        ISearchResult searchResult = getSearchResult();
+        if (searchResult != null && searchResult.getQuery() instanceof SearchMetadataQuery) {
+            return ((SearchMetadataQuery) searchResult.getQuery()).getRankComparator()::compare;
+        }
+        return null;
+    }
 }
@@ -0,0 +1,162 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.benchmarks;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDRowIdentifier;
+import org.jkiss.dbeaver.model.exec.DBCAttributeMetaData;
+import org.jkiss.dbeaver.model.impl.data.DefaultValueHandler;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.model.struct.DBSEntityReferrer;
+
+import java.util.List;
+
+/**
+ * Result set column of synthetic result sets. Values are formatted by the default value handler.
+ */
+public class BenchmarkAttributeBinding extends DBDAttributeBinding {
+
+    private final String name;
+    private final int ordinalPosition;
+    private final DBPDataKind dataKind;
+
+    public BenchmarkAttributeBinding(@NotNull String name, int ordinalPosition, @NotNull DBPDataKind dataKind) {
+        super(DefaultValueHandler.INSTANCE);
+        this.name = name;
+        this.ordinalPosition = ordinalPosition;
+        this.dataKind = dataKind;
+    }
+
+    @Nullable
+    @Override
+    public DBDAttributeBinding getParentObject() {
+        return null;
+    }
+
+    @Override
+    public DBPDataSource getDataSource() {
+        return null;
+    }
+
+    @Override
+    public int getOrdinalPosition() {
+        return ordinalPosition;
+    }
+
+    @Override
+    public boolean isRequired() {
+        return false;
+    }
+
+    @Override
+    public boolean isAutoGenerated() {
+        return false;
+    }
+
+    @NotNull
+    @Override
+    public String getLabel() {
+        return name;
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getTypeName() {
+        return dataKind.name();
+    }
+
+    @Override
+    public String getFullTypeName() {
+        return dataKind.name();
+    }
+
+    @Override
+    public int getTypeID() {
+        return dataKind.ordinal();
+    }
+
+    @Override
+    public DBPDataKind getDataKind() {
+        return dataKind;
+    }
+
+    @Override
+    public Integer getScale() {
+        return null;
+    }
+
+    @Override
+    public Integer getPrecision() {
+        return null;
+    }
+
+    @Override
+    public long getMaxLength() {
+        return 0;
+    }
+
+    @Override
+    public long getTypeModifiers() {
+        return 0;
+    }
+
+    @Nullable
+    @Override
+    public DBCAttributeMetaData getMetaAttribute() {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public DBSEntityAttribute getEntityAttribute() {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public DBDRowIdentifier getRowIdentifier() {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public String getRowIdentifierStatus() {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public List<DBSEntityReferrer> getReferrers() {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public Object extractNestedValue(@NotNull Object ownerValue) {
+        return null;
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.benchmarks;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Random;
+
+/**
+ * Synthetic benchmark data.
+ * Data is generated with a fixed seed so all runs measure the same input.
+ */
+public class BenchmarkData {
+
+    public static final String[] RESULT_SET_COLUMNS = {
+        "ID", "NAME", "DESCRIPTION", "AMOUNT", "RATE", "ACTIVE", "CREATED"
+    };
+
+    private static final long SEED = 20211227L;
+
+    private static final String[] WORDS = {
+        "alpha", "beta", "gamma", "delta", "epsilon", "zeta", "eta", "theta", "iota", "kappa", "lambda", "omicron"
+    };
+
+    public static Random createRandom() {
+        return new Random(SEED);
+    }
+
+    /**
+     * Generates CSV lines with plain, quoted and escaped values
+     */
+    public static String[] generateCsvLines(int count) {
+        Random random = createRandom();
+        String[] lines = new String[count];
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            line.setLength(0);
+            line.append(i).append(',');
+            line.append(randomWord(random)).append(',');
+            line.append('"').append(randomWord(random)).append(", ").append(randomWord(random)).append('"').append(',');
+            line.append('"').append("say \"\"").append(randomWord(random)).append("\"\"").append('"').append(',');
+            line.append(random.nextDouble() * 10000).append(',');
+            line.append(',');
+            line.append(new Timestamp(1600000000000L + random.nextInt(Integer.MAX_VALUE)));
+            lines[i] = line.toString();
+        }
+        return lines;
+    }
+
+    /**
+     * Generates SQL script with queries, DML statements, comments and string literals
+     */
+    public static String generateSqlScript(int statementCount) {
+        Random random = createRandom();
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < statementCount; i++) {
+            String table = "table_" + randomWord(random);
+            switch (i % 5) {
+                case 0:
+                    script.append("-- Query ").append(i).append('\n');
+                    script.append("SELECT t.id, t.name, SUM(o.amount) AS total FROM ").append(table).append(" t ")
+                        .append("INNER JOIN orders o ON o.owner_id = t.id WHERE t.name LIKE '%").append(randomWord(random))
+                        .append("%' AND o.created > '2021-01-01' GROUP BY t.id, t.name ORDER BY total DESC;\n");
+                    break;
+                case 1:
+                    script.append("INSERT INTO ").append(table).append(" (id, name, description, amount) VALUES (")
+                        .append(i).append(", '").append(randomWord(random)).append("', 'it''s ")
+                        .append(randomWord(random)).append(" ; not a delimiter', ").append(random.nextInt(100000)).append(");\n");
+                    break;
+                case 2:
+                    script.append("UPDATE ").append(table).append(" SET amount = amount * 2, name = '")
+                        .append(randomWord(random)).append("' WHERE id IN (SELECT owner_id FROM orders WHERE amount > ")
+                        .append(random.nextInt(1000)).append(");\n");
+                    break;
+                case 3:
+                    script.append("/* Cleanup ").append(randomWord(random)).append(" ; */\n");
+                    script.append("DELETE FROM ").append(table).append(" WHERE id = ").append(i).append(";\n");
+                    break;
+                default:
+                    script.append("SELECT CASE WHEN a.x > 0 THEN 'positive' ELSE 'negative' END AS sign, COUNT(*) FROM ")
+                        .append(table).append(" a LEFT OUTER JOIN ").append(table).append("_ext b ON b.id = a.id AND b.kind = '")
+                        .append(randomWord(random)).append("' GROUP BY 1 HAVING COUNT(*) > 1;\n");
+                    break;
+            }
+        }
+        return script.toString();
+    }
+
+    /**
+     * Generates rows of synthetic result set. Columns match {@link #RESULT_SET_COLUMNS}.
+     */
+    public static Object[][] generateResultSetRows(int count) {
+        Random random = createRandom();
+        Object[][] rows = new Object[count][];
+        for (int i = 0; i < count; i++) {
+            rows[i] = new Object[] {
+                (long) i,
+                randomWord(random) + " " + randomWord(random),
+                random.nextInt(10) == 0 ? null : "Description \"" + randomWord(random) + "\", line\n" + randomWord(random),
+                BigDecimal.valueOf(random.nextInt(10000000), 2),
+                random.nextDouble(),
+                random.nextBoolean(),
+                new Timestamp(1600000000000L + random.nextInt(Integer.MAX_VALUE))
+            };
+        }
+        return rows;
+    }
+
+    public static String randomWord(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+}
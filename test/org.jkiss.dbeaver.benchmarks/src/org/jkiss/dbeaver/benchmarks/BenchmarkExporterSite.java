@@ -0,0 +1,123 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.benchmarks;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPNamedObject;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Exporter site which discards exported data. Only the number of written characters is kept.
+ */
+public class BenchmarkExporterSite implements IStreamDataExporterSite {
+
+    private final DBPNamedObject source;
+    private final DBDAttributeBinding[] attributes;
+    private final Map<String, Object> properties;
+    private final CountingWriter counter = new CountingWriter();
+    private final PrintWriter writer = new PrintWriter(counter);
+
+    public BenchmarkExporterSite(@NotNull DBPNamedObject source, @NotNull DBDAttributeBinding[] attributes, @NotNull Map<String, Object> properties) {
+        this.source = source;
+        this.attributes = attributes;
+        this.properties = properties;
+    }
+
+    public long getWrittenChars() {
+        writer.flush();
+        return counter.count;
+    }
+
+    @Override
+    public DBPNamedObject getSource() {
+        return source;
+    }
+
+    @Override
+    public DBDDisplayFormat getExportFormat() {
+        return DBDDisplayFormat.UI;
+    }
+
+    @Override
+    public Map<String, Object> getProperties() {
+        return properties;
+    }
+
+    @Override
+    public DBDAttributeBinding[] getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        throw new UnsupportedOperationException("Binary output is not supported");
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        return writer;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void writeBinaryData(@NotNull DBDContentStorage cs) throws IOException {
+        throw new IOException("Binary content is not supported");
+    }
+
+    @NotNull
+    @Override
+    public String getOutputEncoding() {
+        return StandardCharsets.UTF_8.name();
+    }
+
+    private static class CountingWriter extends Writer {
+        private long count;
+
+        @Override
+        public void write(@NotNull char[] cbuf, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(@NotNull String str, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
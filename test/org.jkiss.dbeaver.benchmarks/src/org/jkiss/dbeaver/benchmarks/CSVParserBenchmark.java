@@ -0,0 +1,62 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.benchmarks;
+
+import org.jkiss.utils.csv.CSVParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV lines parsing (CSV import)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CSVParserBenchmark {
+
+    @Param({"10000"})
+    public int lineCount;
+
+    private String[] lines;
+
+    @Setup
+    public void setup() {
+        lines = BenchmarkData.generateCsvLines(lineCount);
+    }
+
+    @Benchmark
+    public void parseLines(Blackhole blackhole) throws IOException {
+        CSVParser parser = new CSVParser(',', '"', '\\');
+        for (String line : lines) {
+            blackhole.consume(parser.parseLine(line));
+        }
+    }
+
+    @Benchmark
+    public void parseLinesMulti(Blackhole blackhole) throws IOException {
+        CSVParser parser = new CSVParser(',', '"', '\\');
+        for (String line : lines) {
+            blackhole.consume(parser.parseLineMulti(line));
+        }
+    }
+
+}
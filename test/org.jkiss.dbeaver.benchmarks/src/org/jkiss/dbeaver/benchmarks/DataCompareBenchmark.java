@@ -0,0 +1,93 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.benchmarks;
+
+import org.jkiss.dbeaver.model.DBUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparison of result set values (client-side ordering and grouping of fetched rows)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DataCompareBenchmark {
+
+    @Param({"numbers", "mixedNumbers", "strings", "dates", "stringsAndNumbers"})
+    public String valueKind;
+
+    @Param({"10000"})
+    public int valueCount;
+
+    private Object[] values;
+
+    @Setup
+    public void setup() {
+        Random random = BenchmarkData.createRandom();
+        values = new Object[valueCount];
+        for (int i = 0; i < valueCount; i++) {
+            values[i] = random.nextInt(20) == 0 ? null : generateValue(random, i);
+        }
+    }
+
+    private Object generateValue(Random random, int index) {
+        switch (valueKind) {
+            case "numbers":
+                return random.nextLong();
+            case "mixedNumbers":
+                // Column values may be partially read from server and partially added on client side
+                switch (index % 3) {
+                    case 0: return random.nextInt();
+                    case 1: return (double) random.nextInt();
+                    default: return BigDecimal.valueOf(random.nextInt(), 2);
+                }
+            case "strings":
+                return BenchmarkData.randomWord(random) + random.nextInt(1000);
+            case "dates":
+                return new Timestamp(1600000000000L + random.nextInt(Integer.MAX_VALUE));
+            case "stringsAndNumbers":
+                return index % 2 == 0 ? (Object) random.nextInt(100000) : String.valueOf(random.nextInt(100000));
+            default:
+                throw new IllegalArgumentException("Bad value kind: " + valueKind);
+        }
+    }
+
+    @Benchmark
+    public int compareAdjacent() {
+        int result = 0;
+        for (int i = 1; i < values.length; i++) {
+            result += DBUtils.compareDataValues(values[i - 1], values[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Object[] sortValues() {
+        Object[] copy = Arrays.copyOf(values, values.length);
+        Arrays.sort(copy, DBUtils::compareDataValues);
+        return copy;
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.benchmarks;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporter;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterCSV;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterJSON;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Export of synthetic result set into CSV and JSON.
+ * Output is discarded, so only exporters formatting is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DataExporterBenchmark {
+
+    private static final DBPDataKind[] COLUMN_KINDS = {
+        DBPDataKind.NUMERIC, DBPDataKind.STRING, DBPDataKind.STRING, DBPDataKind.NUMERIC,
+        DBPDataKind.NUMERIC, DBPDataKind.BOOLEAN, DBPDataKind.DATETIME
+    };
+
+    @Param({"10000"})
+    public int rowCount;
+
+    private Object[][] rows;
+    private DBDAttributeBinding[] attributes;
+    private BenchmarkObject source;
+
+    @Setup
+    public void setup() {
+        rows = BenchmarkData.generateResultSetRows(rowCount);
+        attributes = new DBDAttributeBinding[BenchmarkData.RESULT_SET_COLUMNS.length];
+        for (int i = 0; i < attributes.length; i++) {
+            attributes[i] = new BenchmarkAttributeBinding(BenchmarkData.RESULT_SET_COLUMNS[i], i, COLUMN_KINDS[i]);
+        }
+        source = new BenchmarkObject(null, "BENCHMARK_TABLE");
+    }
+
+    @Benchmark
+    public long exportCSV() throws DBException, IOException {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("delimiter", ",");
+        properties.put("rowDelimiter", "default");
+        properties.put("header", "top");
+        properties.put("headerFormat", "label");
+        properties.put("quoteChar", "\"");
+        properties.put("quoteAlways", "disabled");
+        return export(new DataExporterCSV(), properties);
+    }
+
+    @Benchmark
+    public long exportJSON() throws DBException, IOException {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(DataExporterJSON.PROP_PRINT_TABLE_NAME, true);
+        properties.put(DataExporterJSON.PROP_FORMAT_DATE_ISO, true);
+        return export(new DataExporterJSON(), properties);
+    }
+
+    @Benchmark
+    public long exportJSONLines() throws DBException, IOException {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(DataExporterJSON.PROP_JSON_LINES, true);
+        properties.put(DataExporterJSON.PROP_FORMAT_DATE_ISO, true);
+        return export(new DataExporterJSON(), properties);
+    }
+
+    private long export(IStreamDataExporter exporter, Map<String, Object> properties) throws DBException, IOException {
+        BenchmarkExporterSite site = new BenchmarkExporterSite(source, attributes, properties);
+        exporter.init(site);
+        try {
+            // Synthetic values don't need session
+            exporter.exportHeader(null);
+            for (Object[] row : rows) {
+                exporter.exportRow(null, null, row);
+            }
+            exporter.exportFooter(new VoidProgressMonitor());
+        } finally {
+            exporter.dispose();
+        }
+        return site.getWrittenChars();
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.benchmarks;
+
+import org.jkiss.dbeaver.model.impl.data.formatters.DateTimeDataFormatter;
+import org.jkiss.dbeaver.model.impl.data.formatters.NumberDataFormatter;
+import org.jkiss.dbeaver.model.impl.data.formatters.NumberFormatSample;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Values formatting with data formatter profile formatters (result set presentation and data export)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DataFormatterBenchmark {
+
+    private static final int VALUE_COUNT = 1000;
+
+    private DateTimeDataFormatter timestampFormatter;
+    private DateTimeDataFormatter zonedTimestampFormatter;
+    private NumberDataFormatter numberFormatter;
+
+    private Timestamp[] timestamps;
+    private LocalDateTime[] localDateTimes;
+    private Double[] doubles;
+    private BigDecimal[] decimals;
+
+    @Setup
+    public void setup() {
+        timestampFormatter = createDateTimeFormatter(null);
+        zonedTimestampFormatter = createDateTimeFormatter("UTC");
+        numberFormatter = new NumberDataFormatter();
+        numberFormatter.init(null, Locale.ENGLISH, new NumberFormatSample().getDefaultProperties(Locale.ENGLISH));
+
+        Random random = BenchmarkData.createRandom();
+        timestamps = new Timestamp[VALUE_COUNT];
+        localDateTimes = new LocalDateTime[VALUE_COUNT];
+        doubles = new Double[VALUE_COUNT];
+        decimals = new BigDecimal[VALUE_COUNT];
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            timestamps[i] = new Timestamp(1600000000000L + random.nextInt(Integer.MAX_VALUE));
+            localDateTimes[i] = timestamps[i].toLocalDateTime();
+            doubles[i] = random.nextDouble() * 1000000;
+            decimals[i] = BigDecimal.valueOf(random.nextLong(), 4);
+        }
+    }
+
+    private static DateTimeDataFormatter createDateTimeFormatter(String timezone) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(DateTimeDataFormatter.PROP_PATTERN, "yyyy-MM-dd HH:mm:ss.SSS");
+        properties.put(DateTimeDataFormatter.PROP_TIMEZONE, timezone);
+        DateTimeDataFormatter formatter = new DateTimeDataFormatter();
+        formatter.init(null, Locale.ENGLISH, properties);
+        return formatter;
+    }
+
+    @Benchmark
+    public void formatTimestamps(Blackhole blackhole) {
+        for (Timestamp value : timestamps) {
+            blackhole.consume(timestampFormatter.formatValue(value));
+        }
+    }
+
+    @Benchmark
+    public void formatTimestampsWithTimezone(Blackhole blackhole) {
+        for (Timestamp value : timestamps) {
+            blackhole.consume(zonedTimestampFormatter.formatValue(value));
+        }
+    }
+
+    @Benchmark
+    public void formatLocalDateTimes(Blackhole blackhole) {
+        for (LocalDateTime value : localDateTimes) {
+            blackhole.consume(timestampFormatter.formatValue(value));
+        }
+    }
+
+    @Benchmark
+    public void formatDoubles(Blackhole blackhole) {
+        for (Double value : doubles) {
+            blackhole.consume(numberFormatter.formatValue(value));
+        }
+    }
+
+    @Benchmark
+    public void formatDecimals(Blackhole blackhole) {
+        for (BigDecimal value : decimals) {
+            blackhole.consume(numberFormatter.formatValue(value));
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.benchmarks;
+
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.cache.SimpleObjectCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Object cache lookups by name from several threads (e.g. navigator, SQL completion and metadata reading at once).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ObjectCacheBenchmark {
+
+    @Param({"10000"})
+    public int objectCount;
+
+    private SimpleObjectCache<BenchmarkObject, BenchmarkObject> cache;
+    private BenchmarkObject owner;
+    private String[] names;
+
+    @State(Scope.Thread)
+    public static class LookupCursor {
+        private final DBRProgressMonitor monitor = new VoidProgressMonitor();
+        private int position;
+
+        String nextName(String[] names) {
+            position = (position + 7) % names.length;
+            return names[position];
+        }
+    }
+
+    @Setup
+    public void setup() {
+        owner = new BenchmarkObject(null, "SCHEMA");
+        names = new String[objectCount];
+        List<BenchmarkObject> objects = new ArrayList<>(objectCount);
+        for (int i = 0; i < objectCount; i++) {
+            names[i] = "TABLE_" + i;
+            objects.add(new BenchmarkObject(owner, names[i]));
+        }
+        cache = new SimpleObjectCache<>();
+        cache.setCache(objects);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public BenchmarkObject lookupSingleThread(LookupCursor cursor) {
+        return cache.getObject(cursor.monitor, owner, cursor.nextName(names));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BenchmarkObject lookupContended(LookupCursor cursor) {
+        return cache.getObject(cursor.monitor, owner, cursor.nextName(names));
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public BenchmarkObject readWriteLookup(LookupCursor cursor) {
+        return cache.getObject(cursor.monitor, owner, cursor.nextName(names));
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public BenchmarkObject readWriteRefresh(LookupCursor cursor) {
+        // Object refresh: remove object and cache its new instance
+        BenchmarkObject object = cache.getCachedObject(cursor.nextName(names));
+        if (object != null) {
+            cache.removeObject(object, false);
+            object = new BenchmarkObject(owner, object.getName());
+            cache.cacheObject(object);
+        }
+        return object;
+    }
+
+}
@@ -0,0 +1,202 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec;
+
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.app.DBPPlatform;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.data.DBDRegistry;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+import org.jkiss.dbeaver.model.struct.rdb.DBSCatalog;
+import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DBCQueryResultCacheTest {
+    @Mock
+    private DBPDataSource dataSource;
+    @Mock
+    private DBPDataSourceContainer dataSourceContainer;
+    @Mock
+    private DBPPreferenceStore preferenceStore;
+    @Mock
+    private DBPPlatform platform;
+    @Mock
+    private DBDRegistry valueHandlerRegistry;
+    @Mock
+    private DBCSession session;
+    @Mock
+    private DBRProgressMonitor monitor;
+    @Mock
+    private DBDValueHandler valueHandler;
+    @Mock
+    private DBCResultSet resultSet;
+    @Mock
+    private DBCResultSetMetaData resultSetMeta;
+    @Mock
+    private DBCAttributeMetaData attribute;
+
+    private Object fetchedValue;
+
+    @Before
+    public void init() throws DBCException {
+        Mockito.when(dataSource.getContainer()).thenReturn(dataSourceContainer);
+        Mockito.when(dataSourceContainer.getId()).thenReturn("test-result-cache");
+        Mockito.when(dataSourceContainer.getPreferenceStore()).thenReturn(preferenceStore);
+        Mockito.when(dataSourceContainer.getPlatform()).thenReturn(platform);
+        Mockito.when(platform.getValueHandlerRegistry()).thenReturn(valueHandlerRegistry);
+        Mockito.when(preferenceStore.getBoolean(ModelPreferences.RESULT_CACHE_ENABLED)).thenReturn(true);
+        Mockito.when(preferenceStore.getInt(ModelPreferences.RESULT_CACHE_TTL)).thenReturn(300);
+        Mockito.when(preferenceStore.getLong(ModelPreferences.RESULT_CACHE_SIZE)).thenReturn(1000L);
+
+        Mockito.when(session.getDataSource()).thenReturn(dataSource);
+        Mockito.when(session.getProgressMonitor()).thenReturn(monitor);
+        Mockito.when(session.getDefaultValueHandler()).thenReturn(valueHandler);
+        Mockito.when(valueHandler.fetchValueObject(
+            Mockito.any(DBCSession.class), Mockito.any(DBCResultSet.class), Mockito.any(DBSTypedObject.class), Mockito.anyInt()))
+            .thenAnswer(invocation -> fetchedValue);
+
+        Mockito.when(resultSet.getFeature(DBCResultSet.FEATURE_NAME_JDBC)).thenReturn(true);
+        Mockito.when(resultSet.getMeta()).thenReturn(resultSetMeta);
+        Mockito.when(resultSetMeta.getAttributes()).thenReturn(Collections.singletonList(attribute));
+        Mockito.when(attribute.getName()).thenReturn("value");
+    }
+
+    @After
+    public void cleanup() {
+        DBCQueryResultCache.evict(dataSourceContainer);
+    }
+
+    @Test
+    public void shouldMakeKeyOfContextSchemaAndQuery() {
+        //given
+        DBCExecutionContext context = makeContext(1, "public");
+
+        //when
+        String key = DBCQueryResultCache.makeKey(context, "SELECT *\n  FROM test", 0, 200);
+
+        //then
+        Assert.assertEquals(key, DBCQueryResultCache.makeKey(context, "SELECT * FROM test", 0, 200));
+        Assert.assertEquals(key, DBCQueryResultCache.makeKey(makeContext(1, "public"), "SELECT * FROM test", 0, 200));
+        Assert.assertNotEquals(key, DBCQueryResultCache.makeKey(makeContext(2, "public"), "SELECT * FROM test", 0, 200));
+        Assert.assertNotEquals(key, DBCQueryResultCache.makeKey(makeContext(1, "other"), "SELECT * FROM test", 0, 200));
+        Assert.assertNotEquals(key, DBCQueryResultCache.makeKey(context, "SELECT * FROM test", 200, 200));
+        Assert.assertNotEquals(key, DBCQueryResultCache.makeKey(context, "SELECT * FROM test", 0, 100));
+    }
+
+    @Test
+    public void shouldReturnCopiesOfMutableValues() throws DBCException {
+        //given
+        DBCQueryResultCache cache = DBCQueryResultCache.getInstance(dataSource);
+        Assert.assertNotNull(cache);
+        byte[] bytes = {1, 2, 3};
+        Timestamp timestamp = Timestamp.valueOf("2021-12-27 10:00:00.123456789");
+        fetchResults(cache, "bytes", bytes);
+        fetchResults(cache, "timestamp", timestamp);
+
+        //when
+        bytes[0] = 9;
+        timestamp.setNanos(0);
+        byte[] cachedBytes = (byte[]) readCachedValue(cache, "bytes");
+        cachedBytes[1] = 9;
+        Object cachedTimestamp = readCachedValue(cache, "timestamp");
+
+        //then
+        Assert.assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) readCachedValue(cache, "bytes"));
+        Assert.assertTrue(cachedTimestamp instanceof Timestamp);
+        Assert.assertEquals(123456789, ((Timestamp) cachedTimestamp).getNanos());
+    }
+
+    @Test
+    public void shouldInvalidateDataSourceResults() throws DBCException {
+        //given
+        DBCQueryResultCache cache = DBCQueryResultCache.getInstance(dataSource);
+        Assert.assertNotNull(cache);
+        fetchResults(cache, "key", "value");
+        Assert.assertTrue(DBCQueryResultCache.hasResults(dataSourceContainer));
+
+        //when
+        DBCQueryResultCache.invalidate(dataSourceContainer);
+
+        //then
+        Assert.assertFalse(DBCQueryResultCache.hasResults(dataSourceContainer));
+        Assert.assertNull(cache.openResultSet(session, "key"));
+    }
+
+    @Test
+    public void shouldInvalidateOnlyContextResults() throws DBCException {
+        //given
+        DBCQueryResultCache cache = DBCQueryResultCache.getInstance(dataSource);
+        Assert.assertNotNull(cache);
+        DBCExecutionContext firstContext = makeContext(1, "public");
+        DBCExecutionContext secondContext = makeContext(2, "public");
+        String firstKey = DBCQueryResultCache.makeKey(firstContext, "SELECT 1", 0, 200);
+        String secondKey = DBCQueryResultCache.makeKey(secondContext, "SELECT 1", 0, 200);
+        fetchResults(cache, firstKey, 1);
+        fetchResults(cache, secondKey, 1);
+
+        //when
+        DBCQueryResultCache.invalidate(firstContext);
+
+        //then
+        Assert.assertNull(cache.openResultSet(session, firstKey));
+        Assert.assertNotNull(cache.openResultSet(session, secondKey));
+    }
+
+    private void fetchResults(DBCQueryResultCache cache, String key, Object value) throws DBCException {
+        DBDDataReceiver receiver = cache.cacheResults(key, Mockito.mock(DBDDataReceiver.class));
+        fetchedValue = value;
+        receiver.fetchStart(session, resultSet, 0, 200);
+        receiver.fetchRow(session, resultSet);
+        receiver.fetchEnd(session, resultSet);
+    }
+
+    private Object readCachedValue(DBCQueryResultCache cache, String key) throws DBCException {
+        DBCResultSet cachedResults = cache.openResultSet(session, key);
+        Assert.assertNotNull(cachedResults);
+        Assert.assertTrue(cachedResults.nextRow());
+        return cachedResults.getAttributeValue(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private DBCExecutionContext makeContext(long contextId, String schemaName) {
+        DBSSchema schema = Mockito.mock(DBSSchema.class);
+        Mockito.when(schema.getName()).thenReturn(schemaName);
+        DBCExecutionContextDefaults<DBSCatalog, DBSSchema> contextDefaults = Mockito.mock(DBCExecutionContextDefaults.class);
+        Mockito.when(contextDefaults.getDefaultSchema()).thenReturn(schema);
+        DBCExecutionContext context = Mockito.mock(DBCExecutionContext.class);
+        Mockito.when(context.getContextId()).thenReturn(contextId);
+        Mockito.when(context.getContextDefaults()).thenReturn(contextDefaults);
+        Mockito.when(context.getDataSource()).thenReturn(dataSource);
+        return context;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBPDataSourceInfo;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCStatement;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Map;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExecuteBatchImplTest {
+    @Mock
+    private DBCSession session;
+    @Mock
+    private DBPDataSource dataSource;
+    @Mock
+    private DBPDataSourceContainer dataSourceContainer;
+    @Mock
+    private DBPDataSourceInfo dataSourceInfo;
+    @Mock
+    private DBRProgressMonitor monitor;
+    @Mock
+    private DBCStatement statement;
+    @Mock
+    private DBDAttributeBinding attribute;
+    @Mock
+    private DBDValueHandler valueHandler;
+
+    @Before
+    public void init() throws DBCException {
+        Mockito.when(session.getDataSource()).thenReturn(dataSource);
+        Mockito.when(session.getProgressMonitor()).thenReturn(monitor);
+        Mockito.when(dataSource.getInfo()).thenReturn(dataSourceInfo);
+        Mockito.when(dataSource.getContainer()).thenReturn(dataSourceContainer);
+        Mockito.when(dataSourceContainer.getId()).thenReturn("test-batch");
+        Mockito.when(dataSourceInfo.supportsBatchUpdates()).thenReturn(true);
+        Mockito.when(attribute.getValueHandler()).thenReturn(valueHandler);
+        Mockito.when(statement.getQueryString()).thenReturn("UPDATE test SET value=?");
+        Mockito.when(statement.getUpdateRowCount()).thenReturn(1L);
+    }
+
+    @Test
+    public void shouldMarkOnlyExecutedRowsOnCancel() throws DBCException {
+        //given
+        Mockito.when(monitor.isCanceled()).thenReturn(false, false, true);
+        TestBatch batch = makeBatch(false, 3);
+
+        //when
+        batch.execute(session, Collections.emptyMap());
+
+        //then
+        Mockito.verify(statement, Mockito.times(2)).executeStatement();
+        Assert.assertArrayEquals(new boolean[] {true, true, false}, batch.getExecutedRows());
+    }
+
+    @Test
+    public void shouldFlushPartialBatchOnCancel() throws DBCException {
+        //given
+        Mockito.when(monitor.isCanceled()).thenReturn(false, false, true);
+        Mockito.when(statement.executeStatementBatch()).thenReturn(new int[] {1, 1});
+        TestBatch batch = makeBatch(true, 3);
+
+        //when
+        batch.execute(session, Collections.emptyMap());
+
+        //then
+        Mockito.verify(statement, Mockito.times(2)).addToBatch();
+        Assert.assertArrayEquals(new boolean[] {true, true, false}, batch.getExecutedRows());
+    }
+
+    @Test
+    public void shouldMarkFailedBatchRows() throws DBCException {
+        //given
+        Mockito.when(statement.executeStatementBatch()).thenThrow(new DBCException(
+            "Batch failed", new BatchUpdateException(new int[] {1, Statement.EXECUTE_FAILED, 1})));
+        TestBatch batch = makeBatch(true, 4);
+
+        //when
+        DBCException error = null;
+        try {
+            batch.execute(session, Collections.emptyMap());
+        } catch (DBCException e) {
+            error = e;
+        }
+
+        //then
+        Assert.assertNotNull(error);
+        Assert.assertArrayEquals(new boolean[] {true, false, true, false}, batch.getExecutedRows());
+    }
+
+    private TestBatch makeBatch(boolean reuseStatement, int rowCount) throws DBCException {
+        TestBatch batch = new TestBatch(new DBSAttributeBase[] {attribute}, reuseStatement);
+        for (int i = 0; i < rowCount; i++) {
+            batch.add(new Object[] {i});
+        }
+        return batch;
+    }
+
+    private class TestBatch extends ExecuteBatchImpl {
+        TestBatch(DBSAttributeBase[] attributes, boolean reuseStatement) {
+            super(attributes, null, reuseStatement);
+        }
+
+        @NotNull
+        @Override
+        protected DBCStatement prepareStatement(@NotNull DBCSession session, DBDValueHandler[] handlers, Object[] attributeValues, Map<String, Object> options) {
+            return statement;
+        }
+
+        @Override
+        protected void bindStatement(@NotNull DBDValueHandler[] handlers, @NotNull DBCStatement statement, Object[] attributeValues) {
+            // Values are not checked
+        }
+    }
+}
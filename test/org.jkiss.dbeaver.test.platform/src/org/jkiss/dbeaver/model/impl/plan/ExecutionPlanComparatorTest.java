@@ -0,0 +1,223 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanCostNode;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanNode;
+import org.jkiss.dbeaver.model.impl.plan.ExecutionPlanComparator.DiffKind;
+import org.jkiss.dbeaver.model.impl.plan.ExecutionPlanComparator.NodeDiff;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ExecutionPlanComparatorTest {
+
+    @Test
+    public void shouldMatchSamePlans() {
+        //given
+        List<TestPlanNode> oldPlan = Collections.singletonList(node("Hash Join", null, 10, 100, node("Seq Scan", "t1", 4, 100), node("Index Scan", "t2", 6, 10)));
+        List<TestPlanNode> newPlan = Collections.singletonList(node("Hash Join", null, 10, 100, node("Seq Scan", "t1", 4, 100), node("Index Scan", "t2", 6, 10)));
+
+        //when
+        List<NodeDiff> diffs = ExecutionPlanComparator.compare(oldPlan, newPlan);
+
+        //then
+        Assert.assertEquals(1, diffs.size());
+        Assert.assertEquals(DiffKind.SAME, diffs.get(0).getKind());
+        Assert.assertEquals(Arrays.asList(DiffKind.SAME, DiffKind.SAME), getKinds(diffs.get(0).getNested()));
+        Assert.assertEquals(0.0, diffs.get(0).getCostDelta(), 0.0);
+    }
+
+    @Test
+    public void shouldAlignNestedNodesAroundAddedAndRemovedSteps() {
+        //given
+        List<TestPlanNode> oldPlan = Collections.singletonList(node("Append", null, 10, 30,
+            node("Seq Scan", "t1", 1, 10), node("Seq Scan", "t2", 1, 10), node("Seq Scan", "t3", 1, 10)));
+        List<TestPlanNode> newPlan = Collections.singletonList(node("Append", null, 10, 30,
+            node("Seq Scan", "t1", 1, 10), node("Sort", null, 5, 10), node("Seq Scan", "t3", 1, 10)));
+
+        //when
+        List<NodeDiff> diffs = ExecutionPlanComparator.compare(oldPlan, newPlan);
+
+        //then
+        NodeDiff root = diffs.get(0);
+        Assert.assertEquals(DiffKind.CHANGED, root.getKind());
+        List<NodeDiff> nested = root.getNested();
+        Assert.assertEquals(Arrays.asList(DiffKind.SAME, DiffKind.REMOVED, DiffKind.ADDED, DiffKind.SAME), getKinds(nested));
+        Assert.assertEquals("t2", nested.get(1).getOldNode().getNodeName());
+        Assert.assertNull(nested.get(1).getNewNode());
+        Assert.assertEquals("Sort", nested.get(2).getNewNode().getNodeType());
+        Assert.assertNull(nested.get(2).getOldNode());
+        Assert.assertNull(nested.get(2).getCostDelta());
+        Assert.assertSame(root, nested.get(3).getParent());
+        Assert.assertEquals("t3", nested.get(3).getNode().getNodeName());
+    }
+
+    @Test
+    public void shouldMatchStepsAfterInsertedStep() {
+        //given
+        List<TestPlanNode> oldPlan = Arrays.asList(node("Seq Scan", "a", 1, 1), node("Seq Scan", "b", 1, 1));
+        List<TestPlanNode> newPlan = Arrays.asList(node("Index Scan", "x", 1, 1), node("Seq Scan", "a", 1, 1), node("Seq Scan", "b", 1, 1));
+
+        //when
+        List<NodeDiff> diffs = ExecutionPlanComparator.compare(oldPlan, newPlan);
+
+        //then
+        Assert.assertEquals(Arrays.asList(DiffKind.ADDED, DiffKind.SAME, DiffKind.SAME), getKinds(diffs));
+    }
+
+    @Test
+    public void shouldReportCostAndRowsChanges() {
+        //given
+        List<TestPlanNode> oldPlan = Collections.singletonList(node("Nested Loop", null, 20, 50, node("Seq Scan", "t1", 15, 50)));
+        List<TestPlanNode> newPlan = Collections.singletonList(node("Nested Loop", null, 20, 50, node("Seq Scan", "t1", 12.5, 40)));
+
+        //when
+        List<NodeDiff> diffs = ExecutionPlanComparator.compare(oldPlan, newPlan);
+
+        //then
+        NodeDiff root = diffs.get(0);
+        Assert.assertEquals("Nested step change must mark parent as changed", DiffKind.CHANGED, root.getKind());
+        NodeDiff scan = root.getNested().get(0);
+        Assert.assertEquals(DiffKind.CHANGED, scan.getKind());
+        Assert.assertEquals(15.0, scan.getOldCost(), 0.0);
+        Assert.assertEquals(12.5, scan.getNewCost(), 0.0);
+        Assert.assertEquals(-2.5, scan.getCostDelta(), 0.0);
+        Assert.assertEquals(-10.0, scan.getRowsDelta(), 0.0);
+    }
+
+    @Test
+    public void shouldReportChangedCondition() {
+        //given
+        TestPlanNode oldNode = node("Seq Scan", "t1", 1, 1);
+        oldNode.condition = "a = 1";
+        TestPlanNode newNode = node("Seq Scan", "t1", 1, 1);
+        newNode.condition = "a = 2";
+
+        //when
+        List<NodeDiff> diffs = ExecutionPlanComparator.compare(Collections.singletonList(oldNode), Collections.singletonList(newNode));
+
+        //then
+        Assert.assertEquals(DiffKind.CHANGED, diffs.get(0).getKind());
+    }
+
+    @Test
+    public void shouldDetectRegressionByThreshold() {
+        //given
+        ExecutionPlanHistoryEntry oldEntry = entry(node("Seq Scan", "t1", 100, 10));
+        ExecutionPlanHistoryEntry slightlySlower = entry(node("Seq Scan", "t1", 115, 10));
+        ExecutionPlanHistoryEntry muchSlower = entry(node("Seq Scan", "t1", 130, 10));
+        ExecutionPlanHistoryEntry noCost = entry(node("Seq Scan", "t1", null, null));
+
+        //then
+        Assert.assertFalse(ExecutionPlanComparator.isRegression(oldEntry, slightlySlower, 20));
+        Assert.assertTrue(ExecutionPlanComparator.isRegression(oldEntry, muchSlower, 20));
+        Assert.assertFalse(ExecutionPlanComparator.isRegression(muchSlower, oldEntry, 20));
+        Assert.assertFalse(ExecutionPlanComparator.isRegression(oldEntry, noCost, 20));
+    }
+
+    private static List<DiffKind> getKinds(List<NodeDiff> diffs) {
+        List<DiffKind> kinds = new ArrayList<>();
+        for (NodeDiff diff : diffs) {
+            kinds.add(diff.getKind());
+        }
+        return kinds;
+    }
+
+    private static ExecutionPlanHistoryEntry entry(DBCPlanNode... nodes) {
+        DBCPlan plan = Mockito.mock(DBCPlan.class);
+        Mockito.doReturn(Arrays.asList(nodes)).when(plan).getPlanNodes(null);
+        return new ExecutionPlanHistoryEntry("SELECT * FROM t1", plan);
+    }
+
+    private static TestPlanNode node(String type, String name, Number cost, Number rows, TestPlanNode... nested) {
+        TestPlanNode node = new TestPlanNode(type, name, cost, rows);
+        for (TestPlanNode child : nested) {
+            child.parent = node;
+            node.nested.add(child);
+        }
+        return node;
+    }
+
+    private static class TestPlanNode extends AbstractExecutionPlanNode implements DBCPlanCostNode {
+        private final String type;
+        private final String name;
+        private final Number cost;
+        private final Number rows;
+        private final List<TestPlanNode> nested = new ArrayList<>();
+        private TestPlanNode parent;
+        private String condition;
+
+        TestPlanNode(String type, String name, Number cost, Number rows) {
+            this.type = type;
+            this.name = name;
+            this.cost = cost;
+            this.rows = rows;
+        }
+
+        @Override
+        public String getNodeName() {
+            return name;
+        }
+
+        @Override
+        public String getNodeType() {
+            return type;
+        }
+
+        @Override
+        public String getNodeCondition() {
+            return condition;
+        }
+
+        @Override
+        public DBCPlanNode getParent() {
+            return parent;
+        }
+
+        @Override
+        public List<TestPlanNode> getNested() {
+            return nested;
+        }
+
+        @Override
+        public Number getNodeCost() {
+            return cost;
+        }
+
+        @Override
+        public Number getNodePercent() {
+            return null;
+        }
+
+        @Override
+        public Number getNodeDuration() {
+            return null;
+        }
+
+        @Override
+        public Number getNodeRowCount() {
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanCostNode;
+import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ExecutionPlanHistoryTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Path historyFolder;
+    private DBPPreferenceStore preferenceStore;
+
+    @Before
+    public void init() {
+        historyFolder = tempFolder.getRoot().toPath().resolve(ExecutionPlanHistory.HISTORY_FOLDER);
+        preferenceStore = Mockito.mock(DBPPreferenceStore.class);
+        Mockito.when(preferenceStore.getInt(ModelPreferences.PLAN_HISTORY_SIZE)).thenReturn(2);
+    }
+
+    @Test
+    public void shouldKeepLastPlansOfQuery() {
+        //given
+        DBPDataSource dataSource = makeDataSource("ds1");
+        ExecutionPlanHistory history = new ExecutionPlanHistory(historyFolder, 10);
+
+        //when
+        history.addPlan(dataSource, "SELECT * FROM t1", makePlan(1));
+        ExecutionPlanHistoryEntry second = history.addPlan(dataSource, "SELECT * FROM t1", makePlan(2));
+        ExecutionPlanHistoryEntry third = history.addPlan(dataSource, "SELECT * FROM t1", makePlan(3));
+
+        //then
+        Assert.assertEquals(listOf(2.0, 3.0), getCosts(history.getPlans(dataSource, "SELECT * FROM t1")));
+        Assert.assertSame(second, history.getPreviousPlan(dataSource, third));
+        Assert.assertNull(history.getPreviousPlan(dataSource, second));
+        Assert.assertEquals("Saved plans must be read back from disk", listOf(2.0, 3.0),
+            getCosts(new ExecutionPlanHistory(historyFolder, 10).getPlans(dataSource, "SELECT * FROM t1")));
+    }
+
+    @Test
+    public void shouldShareHistoryOfNormalizedQueries() {
+        //given
+        DBPDataSource dataSource = makeDataSource("ds1");
+        ExecutionPlanHistory history = new ExecutionPlanHistory(historyFolder, 10);
+
+        //when
+        history.addPlan(dataSource, "-- all rows\nSELECT *\n  FROM   t1 ", makePlan(1));
+
+        //then
+        Assert.assertEquals(listOf(1.0), getCosts(history.getPlans(dataSource, "SELECT * FROM t1")));
+        Assert.assertTrue(history.getPlans(dataSource, "SELECT * FROM t2").isEmpty());
+        Assert.assertTrue(history.getPlans(makeDataSource("ds2"), "SELECT * FROM t1").isEmpty());
+    }
+
+    @Test
+    public void shouldTrimLeastRecentlyUpdatedQueries() throws IOException {
+        //given
+        DBPDataSource dataSource1 = makeDataSource("ds1");
+        DBPDataSource dataSource2 = makeDataSource("ds2");
+        ExecutionPlanHistory history = new ExecutionPlanHistory(historyFolder, 2);
+        // Whole seconds, so file systems with coarse timestamps keep them as is
+        long now = System.currentTimeMillis() / 1000 * 1000;
+
+        history.addPlan(dataSource1, "SELECT * FROM t1", makePlan(1));
+        setModifiedTime(listHistoryFiles(), now - 60000);
+        history.addPlan(dataSource2, "SELECT * FROM t2", makePlan(2));
+        List<Path> newFiles = listHistoryFiles();
+        newFiles.removeIf(file -> getModifiedTime(file) == now - 60000);
+        setModifiedTime(newFiles, now - 30000);
+
+        //when
+        history.addPlan(dataSource1, "SELECT * FROM t3", makePlan(3));
+
+        //then
+        Assert.assertEquals(2, listHistoryFiles().size());
+        Assert.assertTrue(history.getPlans(dataSource1, "SELECT * FROM t1").isEmpty());
+        ExecutionPlanHistory reloaded = new ExecutionPlanHistory(historyFolder, 2);
+        Assert.assertTrue(reloaded.getPlans(dataSource1, "SELECT * FROM t1").isEmpty());
+        Assert.assertEquals(listOf(2.0), getCosts(reloaded.getPlans(dataSource2, "SELECT * FROM t2")));
+        Assert.assertEquals(listOf(3.0), getCosts(reloaded.getPlans(dataSource1, "SELECT * FROM t3")));
+    }
+
+    @Test
+    public void shouldClearDataSourcePlans() throws IOException {
+        //given
+        DBPDataSource dataSource1 = makeDataSource("ds1");
+        DBPDataSource dataSource2 = makeDataSource("ds2");
+        ExecutionPlanHistory history = new ExecutionPlanHistory(historyFolder, 10);
+        history.addPlan(dataSource1, "SELECT * FROM t1", makePlan(1));
+        history.addPlan(dataSource1, "SELECT * FROM t2", makePlan(2));
+        history.addPlan(dataSource2, "SELECT * FROM t1", makePlan(3));
+
+        //when
+        history.clearDataSourcePlans("ds1");
+
+        //then
+        Assert.assertTrue(history.getPlans(dataSource1, "SELECT * FROM t1").isEmpty());
+        Assert.assertTrue(history.getPlans(dataSource1, "SELECT * FROM t2").isEmpty());
+        Assert.assertEquals(listOf(3.0), getCosts(history.getPlans(dataSource2, "SELECT * FROM t1")));
+        Assert.assertEquals(1, listHistoryFiles().size());
+    }
+
+    private DBPDataSource makeDataSource(String id) {
+        DBPDataSourceContainer container = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.when(container.getId()).thenReturn(id);
+        Mockito.when(container.getPreferenceStore()).thenReturn(preferenceStore);
+        DBPDataSource dataSource = Mockito.mock(DBPDataSource.class);
+        Mockito.when(dataSource.getContainer()).thenReturn(container);
+        Mockito.when(dataSource.getSQLDialect()).thenReturn(BasicSQLDialect.INSTANCE);
+        return dataSource;
+    }
+
+    private static DBCPlan makePlan(double cost) {
+        DBCPlanCostNode node = Mockito.mock(DBCPlanCostNode.class);
+        Mockito.when(node.getNodeType()).thenReturn("Seq Scan");
+        Mockito.when(node.getNodeCost()).thenReturn(cost);
+        DBCPlan plan = Mockito.mock(DBCPlan.class);
+        Mockito.doReturn(Collections.singletonList(node)).when(plan).getPlanNodes(null);
+        return plan;
+    }
+
+    private static List<Double> getCosts(List<ExecutionPlanHistoryEntry> entries) {
+        List<Double> costs = new ArrayList<>();
+        for (ExecutionPlanHistoryEntry entry : entries) {
+            costs.add(entry.getTotalCost());
+        }
+        return costs;
+    }
+
+    private static List<Double> listOf(Double... values) {
+        List<Double> list = new ArrayList<>();
+        Collections.addAll(list, values);
+        return list;
+    }
+
+    private List<Path> listHistoryFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(historyFolder)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".json")).collect(Collectors.toList());
+        }
+    }
+
+    private static void setModifiedTime(List<Path> files, long time) throws IOException {
+        for (Path file : files) {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(time));
+        }
+    }
+
+    private static long getModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -441,4 +441,136 @@ public class SQLFormatterTokenizedTest {
             format(sql)
         );
     }
+
+    @Test
+    public void shouldBreakValuesListWithNestedBrackets() {
+        //given
+        String inputString = "insert into t1 (a, b, c) values (1, 'x', (select max(id) from t2)), (2, 'y', null), (3, 'z', coalesce(4, 5));";
+        String expectedString = "INSERT" + lineBreak + "\tINTO" + lineBreak + "\tt1 (a," + lineBreak + "\tb," + lineBreak + "\tc)" + lineBreak +
+            "VALUES (1," + lineBreak + "'x'," + lineBreak + "(" + lineBreak + "SELECT" + lineBreak + "\tmax(id)" + lineBreak + "FROM" + lineBreak + "\tt2))," + lineBreak +
+            "(2," + lineBreak + "'y'," + lineBreak + "NULL)," + lineBreak +
+            "(3," + lineBreak + "'z'," + lineBreak + "COALESCE(4," + lineBreak + "5));";
+
+        //when
+        String formattedString = format(inputString);
+
+        //then
+        assertEquals(expectedString, formattedString);
+    }
+
+    @Test
+    public void shouldIndentNestedBracketsInCondition() {
+        //given
+        String inputString = "select a from t where (b = 1 and (c = 2 or (d = 3 and e in (1, 2, (4)))));";
+        String expectedString = "SELECT" + lineBreak + "\ta" + lineBreak + "FROM" + lineBreak + "\tt" + lineBreak + "WHERE" + lineBreak +
+            "\t(b = 1" + lineBreak +
+            "\t\tAND (c = 2" + lineBreak +
+            "\t\t\tOR (d = 3" + lineBreak +
+            "\t\t\t\tAND e IN (1, 2, (4)))));";
+
+        //when
+        String formattedString = format(inputString);
+
+        //then
+        assertEquals(expectedString, formattedString);
+    }
+
+    @Test
+    public void shouldIndentValuesWithNestedSelectWhenBreakBeforeCloseBracketIsOn() {
+        //given
+        String inputString = "insert into t1 (a, b) values (1, (select max(id) from t2));";
+        String expectedString = "INSERT" + lineBreak + "\tINTO" + lineBreak + "\tt1 (" + lineBreak + "\t\ta," + lineBreak + "\t\tb" + lineBreak + "\t)" + lineBreak +
+            "VALUES (" + lineBreak +
+            "\t1," + lineBreak +
+            "\t(" + lineBreak +
+            "\t\tSELECT" + lineBreak + "\t\t\tmax(id)" + lineBreak + "\t\tFROM" + lineBreak + "\t\t\tt2" + lineBreak +
+            "\t)" + lineBreak +
+            ");";
+
+        Mockito.when(preferenceStore.getBoolean(Mockito.eq(ModelPreferences.SQL_FORMAT_BREAK_BEFORE_CLOSE_BRACKET))).thenReturn(true);
+
+        //when
+        String formattedString = format(inputString);
+
+        //then
+        assertEquals(expectedString, formattedString);
+    }
+
+    @Test
+    public void shouldPutCommaOnNewLineOnlyOutsideOfBrackets() {
+        //given
+        String inputString = "select a, b, c from t where x in (1, 2, 3);";
+        String expectedString = "SELECT" + lineBreak + "\ta" + lineBreak + "\t, b" + lineBreak + "\t, c" + lineBreak +
+            "FROM" + lineBreak + "\tt" + lineBreak + "WHERE" + lineBreak + "\tx IN (1, 2, 3);";
+
+        Mockito.when(preferenceStore.getBoolean(Mockito.eq(ModelPreferences.SQL_FORMAT_LF_BEFORE_COMMA))).thenReturn(true);
+
+        //when
+        String formattedString = format(inputString);
+
+        //then
+        assertEquals(expectedString, formattedString);
+    }
+
+    @Test
+    public void shouldKeepCommentsAtStatementEnds() {
+        //given
+        String inputString = "select a from t1;" + lineBreak + "-- trailing comment";
+        String expectedString = "SELECT" + lineBreak + "\ta" + lineBreak + "FROM" + lineBreak + "\tt1;" + lineBreak + "-- trailing comment";
+
+        //when
+        String formattedString = format(inputString);
+
+        //then
+        assertEquals(expectedString, formattedString);
+
+        //given
+        inputString = "select a from t1;\r\n-- first comment\r\nselect b from t2; -- second comment\r\n";
+        expectedString = "SELECT" + lineBreak + "\ta" + lineBreak + "FROM" + lineBreak + "\tt1;" + lineBreak + "-- first comment\r\n" +
+            "SELECT" + lineBreak + "\tb" + lineBreak + "FROM" + lineBreak + "\tt2;" + lineBreak + "-- second comment\r\n";
+
+        //when
+        formattedString = format(inputString);
+
+        //then
+        assertEquals(expectedString, formattedString);
+    }
+
+    @Test
+    public void shouldSeparateManyStatements() {
+        //given
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 1; i <= 50; i++) {
+            input.append("select ").append(i).append(" from t").append(i).append("; ");
+            if (i > 1) {
+                expected.append(lineBreak).append(lineBreak);
+            }
+            expected.append("SELECT").append(lineBreak).append("\t").append(i).append(lineBreak)
+                .append("FROM").append(lineBreak).append("\tt").append(i).append(";");
+        }
+
+        //when
+        String formattedString = format(input.toString().trim());
+
+        //then
+        assertEquals(expected.toString(), formattedString);
+    }
+
+    @Test
+    public void shouldInsertDelimitersInEmptyLinesBySpecialSetting() {
+        //given
+        String inputString = "select a from t1" + lineBreak + lineBreak + "select b from t2" + lineBreak + lineBreak + "update t3 set c = 1";
+        String expectedString = "SELECT" + lineBreak + "\ta" + lineBreak + "FROM" + lineBreak + "\tt1;" + lineBreak + lineBreak +
+            "SELECT" + lineBreak + "\tb" + lineBreak + "FROM" + lineBreak + "\tt2;" + lineBreak + lineBreak +
+            "UPDATE" + lineBreak + "\tt3" + lineBreak + "SET" + lineBreak + "\tc = 1";
+
+        Mockito.when(preferenceStore.getBoolean(Mockito.eq(ModelPreferences.SQL_FORMAT_INSERT_DELIMITERS_IN_EMPTY_LINES))).thenReturn(true);
+
+        //when
+        String formattedString = format(inputString);
+
+        //then
+        assertEquals(expectedString, formattedString);
+    }
 }
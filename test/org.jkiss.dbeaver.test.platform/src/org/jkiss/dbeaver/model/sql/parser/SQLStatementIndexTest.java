@@ -0,0 +1,149 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.parser;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+import org.jkiss.dbeaver.model.sql.registry.SQLDialectRegistry;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SQLStatementIndexTest {
+    // Statements span several lines, so the line of the cursor has no delimiter and the index is used
+    private static final String SCRIPT =
+        "SELECT 1\nFROM t1;\n" +
+        "SELECT 'a;b'\nFROM t2;\n" +
+        "SELECT 3\nFROM t3;\n" +
+        "SELECT 4\nFROM t4";
+
+    @Mock
+    private DBPDataSource dataSource;
+    @Mock
+    private DBPDataSourceContainer dataSourceContainer;
+
+    private SQLDialect dialect;
+
+    @Before
+    public void init() throws DBException {
+        DBPConnectionConfiguration connectionConfiguration = new DBPConnectionConfiguration();
+        DBPPreferenceStore preferenceStore = DBWorkbench.getPlatform().getPreferenceStore();
+        Mockito.when(dataSource.getContainer()).thenReturn(dataSourceContainer);
+        Mockito.when(dataSourceContainer.getConnectionConfiguration()).thenReturn(connectionConfiguration);
+        Mockito.when(dataSourceContainer.getActualConnectionConfiguration()).thenReturn(connectionConfiguration);
+        Mockito.when(dataSourceContainer.getPreferenceStore()).thenReturn(preferenceStore);
+        dialect = SQLDialectRegistry.getInstance().getDialect("postgresql").createInstance();
+        Mockito.when(dataSource.getSQLDialect()).thenReturn(dialect);
+    }
+
+    @Test
+    public void shouldRestartBeforePreviousStatement() {
+        //given
+        SQLParserContext context = createParserContext(SCRIPT, true);
+        int lastStatementStart = SCRIPT.indexOf("SELECT 4");
+        int previousStatementStart = SCRIPT.indexOf("SELECT 3");
+
+        //when
+        int firstRestartOffset = context.getStatementIndex().getRestartOffset(SCRIPT.indexOf("FROM t1"));
+        int lastRestartOffset = context.getStatementIndex().getRestartOffset(lastStatementStart);
+
+        //then
+        Assert.assertEquals(0, firstRestartOffset);
+        Assert.assertTrue(lastRestartOffset > 0);
+        Assert.assertTrue(lastRestartOffset <= previousStatementStart);
+    }
+
+    @Test
+    public void shouldExtractSameQueriesAsFullParse() {
+        //given
+        SQLParserContext context = createParserContext(SCRIPT, true);
+
+        //then
+        assertSameQueries(context);
+    }
+
+    @Test
+    public void shouldUpdateBoundariesOnDocumentChange() throws BadLocationException {
+        //given
+        SQLParserContext context = createParserContext(SCRIPT, true);
+        Document document = (Document) context.getDocument();
+        assertSameQueries(context);
+
+        //when
+        document.replace(document.get().indexOf("SELECT 3"), 0, "SELECT 0\nFROM t0;\n");
+
+        //then
+        assertSameQueries(context);
+
+        //when
+        // Removed delimiter merges statements, inserted delimiter splits them
+        document.replace(document.get().indexOf("t2;"), 3, "t2");
+        document.replace(document.get().indexOf("SELECT 4"), 0, "SELECT 5;\n");
+
+        //then
+        assertSameQueries(context);
+
+        //when
+        document.replace(0, document.get().indexOf("SELECT 0"), "");
+
+        //then
+        assertSameQueries(context);
+    }
+
+    /**
+     * Checks that queries extracted with the statement index are the same as extracted by parsing from the document start
+     */
+    private void assertSameQueries(SQLParserContext context) {
+        String text = context.getDocument().get();
+        SQLParserContext fullParseContext = createParserContext(text, false);
+        for (int pos = 0; pos < text.length(); pos++) {
+            SQLScriptElement expected = SQLScriptParser.extractQueryAtPos(fullParseContext, pos);
+            SQLScriptElement actual = SQLScriptParser.extractQueryAtPos(context, pos);
+            Assert.assertEquals(
+                "Query at " + pos,
+                expected == null ? null : expected.getText(),
+                actual == null ? null : actual.getText());
+        }
+    }
+
+    private SQLParserContext createParserContext(String query, boolean useIndex) {
+        SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+        syntaxManager.init(dialect, dataSourceContainer.getPreferenceStore());
+        SQLRuleManager ruleManager = new SQLRuleManager(syntaxManager);
+        ruleManager.loadRules(dataSource, false);
+        Document document = new Document(query);
+        SQLParserContext context = new SQLParserContext(dataSource, syntaxManager, ruleManager, document);
+        if (useIndex) {
+            context.setStatementIndex(new SQLStatementIndex(context));
+        }
+        return context;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ResultSetRowSorterTest {
+    @Mock
+    private ResultSetModel model;
+    @Mock
+    private DBDAttributeBinding firstColumn;
+    @Mock
+    private DBDAttributeBinding secondColumn;
+
+    private final Map<ResultSetRow, Object[]> rowValues = new HashMap<>();
+
+    @Before
+    public void init() {
+        Mockito.when(model.getCellValue(Mockito.any(DBDAttributeBinding.class), Mockito.any(ResultSetRow.class))).thenAnswer(invocation -> {
+            Object[] values = rowValues.get((ResultSetRow) invocation.getArguments()[1]);
+            return invocation.getArguments()[0] == firstColumn ? values[0] : values[1];
+        });
+    }
+
+    @Test
+    public void shouldSortIntegersWithNullsLast() {
+        //given
+        List<ResultSetRow> rows = makeRows(new Object[][] {{3, null}, {null, null}, {1L, null}, {(short) 2, null}});
+        ResultSetRowSorter sorter = new ResultSetRowSorter(model);
+        sorter.addColumn(firstColumn, false);
+
+        //when
+        sorter.sort(rows);
+
+        //then
+        Assert.assertEquals(Arrays.asList(1L, (short) 2, 3), getValues(rows, 3));
+        Assert.assertNull(rowValues.get(rows.get(3))[0]);
+    }
+
+    @Test
+    public void shouldCompareMixedNumbersAsDoubles() {
+        //given
+        List<ResultSetRow> rows = makeRows(new Object[][] {{2.5, null}, {1, null}, {2L, null}, {-0.5f, null}});
+        ResultSetRowSorter sorter = new ResultSetRowSorter(model);
+        sorter.addColumn(firstColumn, true);
+
+        //when
+        sorter.sort(rows);
+
+        //then
+        Assert.assertEquals(Arrays.asList(2.5, 2L, 1, -0.5f), getValues(rows, 4));
+    }
+
+    @Test
+    public void shouldCompareBigDecimalsExactly() {
+        //given
+        BigDecimal larger = new BigDecimal("0.10000000000000000000001");
+        BigDecimal smaller = new BigDecimal("0.1");
+        List<ResultSetRow> rows = makeRows(new Object[][] {{larger, null}, {smaller, null}});
+        ResultSetRowSorter sorter = new ResultSetRowSorter(model);
+        sorter.addColumn(firstColumn, false);
+
+        //when
+        sorter.sort(rows);
+
+        //then
+        Assert.assertEquals(Arrays.asList(smaller, larger), getValues(rows, 2));
+    }
+
+    @Test
+    public void shouldSortBySeveralColumnsAndKeepOrderOfEqualRows() {
+        //given
+        List<ResultSetRow> rows = makeRows(new Object[][] {{"b", 1}, {"a", 2}, {"b", 2}, {"a", 1}, {"a", 2}});
+        List<ResultSetRow> sourceRows = new ArrayList<>(rows);
+        ResultSetRowSorter sorter = new ResultSetRowSorter(model);
+        sorter.addColumn(firstColumn, false);
+        sorter.addColumn(secondColumn, true);
+
+        //when
+        sorter.sort(rows);
+
+        //then
+        Assert.assertEquals(
+            Arrays.asList(sourceRows.get(1), sourceRows.get(4), sourceRows.get(3), sourceRows.get(2), sourceRows.get(0)),
+            rows);
+    }
+
+    private List<ResultSetRow> makeRows(Object[][] values) {
+        List<ResultSetRow> rows = new ArrayList<>();
+        for (Object[] row : values) {
+            ResultSetRow resultSetRow = Mockito.mock(ResultSetRow.class);
+            rowValues.put(resultSetRow, row);
+            rows.add(resultSetRow);
+        }
+        return rows;
+    }
+
+    private List<Object> getValues(List<ResultSetRow> rows, int count) {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            values.add(rowValues.get(rows.get(i))[0]);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.binary;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class BinaryTextFinderTest {
+
+    @Test
+    public void shouldFindSameMatchesAsNaiveSearch() throws IOException {
+        //given
+        byte[] data = makeRandomData(20000, "abcAB");
+        byte[] sequence = "abcab".getBytes(StandardCharsets.US_ASCII);
+
+        //then
+        Assert.assertFalse(findNaive(data, sequence, true, true).isEmpty());
+        Assert.assertEquals(findNaive(data, sequence, true, true), findAll(data, sequence, true, true));
+        Assert.assertEquals(findNaive(data, sequence, true, false), findAll(data, sequence, true, false));
+        Assert.assertEquals(findNaive(data, sequence, false, true), findAll(data, sequence, false, true));
+        Assert.assertEquals(findNaive(data, sequence, false, false), findAll(data, sequence, false, false));
+    }
+
+    @Test
+    public void shouldFindOverlappingMatches() throws IOException {
+        //given
+        byte[] data = "xaaaaax".getBytes(StandardCharsets.US_ASCII);
+        byte[] sequence = "aaa".getBytes(StandardCharsets.US_ASCII);
+
+        //then
+        Assert.assertEquals(positions(1, 2, 3), findAll(data, sequence, true, true));
+        Assert.assertEquals(positions(3, 2, 1), findAll(data, sequence, true, false));
+    }
+
+    @Test
+    public void shouldFindTextInAsciiAndUnicode() throws IOException {
+        //given
+        byte[] ascii = "..hELLo..".getBytes(StandardCharsets.US_ASCII);
+        byte[] unicode = "Hello".getBytes(StandardCharsets.UTF_16BE);
+        byte[] data = new byte[ascii.length + unicode.length];
+        System.arraycopy(ascii, 0, data, 0, ascii.length);
+        System.arraycopy(unicode, 0, data, ascii.length, unicode.length);
+        BinaryTextFinder finder = new BinaryTextFinder("Hello", makeContent(data));
+
+        //when
+        Number[] caseSensitiveMatch = finder.getNextMatch();
+        finder.setNewStart(0);
+        finder.setCaseSensitive(false);
+        Number[] asciiMatch = finder.getNextMatch();
+        Number[] unicodeMatch = finder.getNextMatch();
+
+        //then
+        Assert.assertEquals((long) ascii.length, caseSensitiveMatch[0]);
+        Assert.assertEquals(unicode.length, caseSensitiveMatch[1]);
+        Assert.assertEquals(2L, asciiMatch[0]);
+        Assert.assertEquals(5, asciiMatch[1]);
+        Assert.assertEquals((long) ascii.length, unicodeMatch[0]);
+        Assert.assertNull(finder.getNextMatch());
+    }
+
+    @Test
+    public void shouldFindMatchesOnPartBoundaries() throws IOException {
+        //given
+        byte[] sequence = "boundary".getBytes(StandardCharsets.US_ASCII);
+        byte[] data = new byte[3 * BinaryTextFinder.MAP_SIZE];
+        List<Long> expected = positions(0, BinaryTextFinder.MAP_SIZE - 3, 2L * BinaryTextFinder.MAP_SIZE - sequence.length, data.length - sequence.length);
+        for (Long position : expected) {
+            System.arraycopy(sequence, 0, data, position.intValue(), sequence.length);
+        }
+
+        //then
+        Assert.assertEquals(expected, findAll(data, sequence, true, true));
+        Assert.assertEquals(reverse(expected), findAll(data, sequence, true, false));
+    }
+
+    @Test
+    public void shouldFindMatchesInParallelSearchedParts() throws IOException {
+        //given
+        byte[] sequence = "parallel".getBytes(StandardCharsets.US_ASCII);
+        byte[] data = new byte[17 * BinaryTextFinder.MAP_SIZE];
+        List<Long> expected = positions(5L * BinaryTextFinder.MAP_SIZE + 5, 6L * BinaryTextFinder.MAP_SIZE - 4, 16L * BinaryTextFinder.MAP_SIZE + 7);
+        for (Long position : expected) {
+            System.arraycopy(sequence, 0, data, position.intValue(), sequence.length);
+        }
+
+        //then
+        Assert.assertEquals(expected, findAll(data, sequence, true, true));
+    }
+
+    private static List<Long> findAll(byte[] data, byte[] sequence, boolean caseSensitive, boolean forward) throws IOException {
+        BinaryTextFinder finder = new BinaryTextFinder(sequence, makeContent(data));
+        finder.setCaseSensitive(caseSensitive);
+        finder.setDirectionForward(forward);
+        finder.setNewStart(forward ? 0 : data.length);
+        List<Long> result = new ArrayList<>();
+        for (Number[] match = finder.getNextMatch(); match != null; match = finder.getNextMatch()) {
+            Assert.assertEquals(sequence.length, match[1]);
+            result.add(match[0].longValue());
+        }
+        return result;
+    }
+
+    private static List<Long> findNaive(byte[] data, byte[] sequence, boolean caseSensitive, boolean forward) {
+        List<Long> result = new ArrayList<>();
+        for (int i = 0; i + sequence.length <= data.length; i++) {
+            int j = 0;
+            while (j < sequence.length && isSameByte(data[i + j], sequence[j], caseSensitive)) {
+                j++;
+            }
+            if (j == sequence.length) {
+                result.add((long) i);
+            }
+        }
+        return forward ? result : reverse(result);
+    }
+
+    private static boolean isSameByte(byte b1, byte b2, boolean caseSensitive) {
+        return caseSensitive ? b1 == b2 : Character.toLowerCase((char) b1) == Character.toLowerCase((char) b2);
+    }
+
+    private static BinaryContent makeContent(byte[] data) {
+        BinaryContent content = new BinaryContent();
+        content.insert(ByteBuffer.wrap(data), 0);
+        return content;
+    }
+
+    private static byte[] makeRandomData(int length, String alphabet) {
+        Random random = new Random(12345);
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        return data;
+    }
+
+    private static List<Long> positions(long... values) {
+        List<Long> result = new ArrayList<>();
+        for (long value : values) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    private static List<Long> reverse(List<Long> list) {
+        List<Long> result = new ArrayList<>(list);
+        Collections.reverse(result);
+        return result;
+    }
+}
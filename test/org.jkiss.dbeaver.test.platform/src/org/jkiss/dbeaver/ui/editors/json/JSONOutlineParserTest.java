@@ -0,0 +1,107 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.json;
+
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.ui.data.managers.ContentOutlineNode;
+import org.jkiss.dbeaver.ui.data.managers.ContentOutlineReader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+public class JSONOutlineParserTest {
+
+    private final JSONOutlineParser parser = new JSONOutlineParser();
+
+    @Test
+    public void shouldReadNestedObjectOnExpand() throws IOException {
+        //given
+        String json = "{\"a\": 1, \"b\": {\"c\": [1, 2, 3]}, \"d\": \"x,}\\\"y\"}";
+
+        //when
+        List<ContentOutlineNode> roots = readChildren(json, null, 100);
+        List<ContentOutlineNode> members = readChildren(json, roots.get(0), 100);
+
+        //then
+        Assert.assertEquals(1, roots.size());
+        Assert.assertEquals(ContentOutlineNode.Kind.OBJECT, roots.get(0).getKind());
+        Assert.assertEquals("{3}", roots.get(0).getPreview());
+        Assert.assertEquals(json.length(), roots.get(0).getEndOffset());
+
+        Assert.assertEquals(3, members.size());
+        Assert.assertEquals("a", members.get(0).getName());
+        Assert.assertEquals("1", members.get(0).getPreview());
+        Assert.assertEquals("b", members.get(1).getName());
+        Assert.assertEquals(ContentOutlineNode.Kind.OBJECT, members.get(1).getKind());
+        Assert.assertEquals("{1}", members.get(1).getPreview());
+        Assert.assertTrue(members.get(1).isContainer());
+        Assert.assertEquals("d", members.get(2).getName());
+        Assert.assertEquals("\"x,}\\\"y\"", members.get(2).getPreview());
+    }
+
+    @Test
+    public void shouldContinueFromMoreNode() throws IOException {
+        //given
+        String json = "[10, 20, 30, 40, 50]";
+        ContentOutlineNode array = readChildren(json, null, 100).get(0);
+
+        //when
+        List<ContentOutlineNode> firstPage = readChildren(json, array, 2);
+        List<ContentOutlineNode> secondPage = readChildren(json, firstPage.get(2), 2);
+        List<ContentOutlineNode> lastPage = readChildren(json, secondPage.get(2), 2);
+
+        //then
+        Assert.assertEquals("[5]", array.getPreview());
+        Assert.assertEquals(3, firstPage.size());
+        Assert.assertEquals("[1]", firstPage.get(1).getName());
+        Assert.assertEquals("20", firstPage.get(1).getPreview());
+        Assert.assertEquals(ContentOutlineNode.Kind.MORE, firstPage.get(2).getKind());
+        Assert.assertEquals(2, firstPage.get(2).getIndex());
+        Assert.assertEquals("[2]", secondPage.get(0).getName());
+        Assert.assertEquals("30", secondPage.get(0).getPreview());
+        Assert.assertEquals(1, lastPage.size());
+        Assert.assertEquals("[4]", lastPage.get(0).getName());
+        Assert.assertEquals("50", lastPage.get(0).getPreview());
+    }
+
+    @Test
+    public void shouldReadJsonLines() throws IOException {
+        //given
+        String json = "{\"a\": 1}\n{}\n[true, null]";
+
+        //when
+        List<ContentOutlineNode> roots = readChildren(json, null, 100);
+
+        //then
+        Assert.assertEquals(3, roots.size());
+        Assert.assertEquals("{1}", roots.get(0).getPreview());
+        Assert.assertEquals("{0}", roots.get(1).getPreview());
+        Assert.assertFalse(roots.get(1).isContainer());
+        Assert.assertEquals(ContentOutlineNode.Kind.ARRAY, roots.get(2).getKind());
+        Assert.assertEquals("[2]", roots.get(2).getPreview());
+    }
+
+    private List<ContentOutlineNode> readChildren(String json, ContentOutlineNode node, int maxChildren) throws IOException {
+        long offset = node == null ? 0 : node.getOffset();
+        try (ContentOutlineReader reader = new ContentOutlineReader(new StringReader(json.substring((int) offset)), offset)) {
+            return parser.readChildren(new VoidProgressMonitor(), reader, node, maxChildren);
+        }
+    }
+}
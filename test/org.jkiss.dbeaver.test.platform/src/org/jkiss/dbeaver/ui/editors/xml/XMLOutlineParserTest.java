@@ -0,0 +1,111 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2021 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.xml;
+
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.ui.data.managers.ContentOutlineNode;
+import org.jkiss.dbeaver.ui.data.managers.ContentOutlineReader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+public class XMLOutlineParserTest {
+
+    private final XMLOutlineParser parser = new XMLOutlineParser();
+
+    @Test
+    public void shouldReadElementOnExpand() throws IOException {
+        //given
+        String xml = "<?xml version=\"1.0\"?>\n<!-- <fake/> -->\n" +
+            "<root a=\"1\"><item id='x'/><item>text</item><!-- <skip/> --><![CDATA[<raw>]]></root>";
+
+        //when
+        List<ContentOutlineNode> roots = readChildren(xml, null, 100);
+        List<ContentOutlineNode> children = readChildren(xml, roots.get(0), 100);
+        List<ContentOutlineNode> itemChildren = readChildren(xml, children.get(2), 100);
+
+        //then
+        Assert.assertEquals(1, roots.size());
+        Assert.assertEquals("root", roots.get(0).getName());
+        Assert.assertEquals("a=\"1\"", roots.get(0).getPreview());
+        Assert.assertEquals(xml.length(), roots.get(0).getEndOffset());
+
+        Assert.assertEquals(4, children.size());
+        Assert.assertEquals("@a", children.get(0).getName());
+        Assert.assertEquals("1", children.get(0).getPreview());
+        Assert.assertEquals("item", children.get(1).getName());
+        Assert.assertEquals("id=\"x\"", children.get(1).getPreview());
+        Assert.assertTrue(children.get(1).isContainer());
+        Assert.assertEquals("item", children.get(2).getName());
+        Assert.assertNull(children.get(2).getPreview());
+        Assert.assertEquals(ContentOutlineNode.Kind.TEXT, children.get(3).getKind());
+        Assert.assertEquals("<raw>", children.get(3).getPreview());
+
+        Assert.assertEquals(1, itemChildren.size());
+        Assert.assertEquals("#text", itemChildren.get(0).getName());
+        Assert.assertEquals("text", itemChildren.get(0).getPreview());
+    }
+
+    @Test
+    public void shouldContinueFromMoreNode() throws IOException {
+        //given
+        String xml = "<list><i n=\"1\"/><i n=\"2\"/>\n<i n=\"3\"/></list>";
+        ContentOutlineNode list = readChildren(xml, null, 100).get(0);
+
+        //when
+        List<ContentOutlineNode> firstPage = readChildren(xml, list, 2);
+        List<ContentOutlineNode> lastPage = readChildren(xml, firstPage.get(2), 2);
+
+        //then
+        Assert.assertEquals(3, firstPage.size());
+        Assert.assertEquals("n=\"2\"", firstPage.get(1).getPreview());
+        Assert.assertEquals(ContentOutlineNode.Kind.MORE, firstPage.get(2).getKind());
+        Assert.assertEquals(2, firstPage.get(2).getIndex());
+        Assert.assertEquals(1, lastPage.size());
+        Assert.assertEquals("n=\"3\"", lastPage.get(0).getPreview());
+        Assert.assertEquals(2, lastPage.get(0).getIndex());
+    }
+
+    @Test
+    public void shouldSkipNestedElementsAndDeclarations() throws IOException {
+        //given
+        String xml = "<!DOCTYPE doc [<!ELEMENT doc ANY>]>\n<doc><a><b attr=\"</a>\"/></a><c/></doc>";
+
+        //when
+        List<ContentOutlineNode> roots = readChildren(xml, null, 100);
+        List<ContentOutlineNode> children = readChildren(xml, roots.get(0), 100);
+
+        //then
+        Assert.assertEquals(1, roots.size());
+        Assert.assertEquals("doc", roots.get(0).getName());
+        Assert.assertEquals(2, children.size());
+        Assert.assertEquals("a", children.get(0).getName());
+        Assert.assertTrue(children.get(0).isContainer());
+        Assert.assertEquals("c", children.get(1).getName());
+        Assert.assertFalse(children.get(1).isContainer());
+    }
+
+    private List<ContentOutlineNode> readChildren(String xml, ContentOutlineNode node, int maxChildren) throws IOException {
+        long offset = node == null ? 0 : node.getOffset();
+        try (ContentOutlineReader reader = new ContentOutlineReader(new StringReader(xml.substring((int) offset)), offset)) {
+            return parser.readChildren(new VoidProgressMonitor(), reader, node, maxChildren);
+        }
+    }
+}